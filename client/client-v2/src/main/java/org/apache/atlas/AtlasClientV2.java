@@ -80,12 +80,14 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 
 public class AtlasClientV2 extends AtlasBaseClient {
@@ -388,6 +390,35 @@ public class AtlasClientV2 extends AtlasBaseClient {
         return callAPI(API_V2.GET_ENTITIES_BY_GUIDS, AtlasEntitiesWithExtInfo.class, queryParams);
     }
 
+    public CompletableFuture<AtlasEntitiesWithExtInfo> getEntitiesByGuidsAsync(List<String> guids, boolean minExtInfo, boolean ignoreRelationships) {
+        return callAsync(() -> getEntitiesByGuids(guids, minExtInfo, ignoreRelationships));
+    }
+
+    /**
+     * Retrieves entities as a stream, for large number of entities; the returned reader must be closed by the caller.
+     */
+    public AtlasEntitiesStreamReader getEntitiesByGuidsStream(List<String> guids, boolean minExtInfo, boolean ignoreRelationships) throws AtlasServiceException {
+        MultivaluedMap<String, String> queryParams = new MultivaluedMapImpl();
+
+        queryParams.put("guid", guids);
+        queryParams.add("minExtInfo", String.valueOf(minExtInfo));
+        queryParams.add("ignoreRelationships", String.valueOf(ignoreRelationships));
+
+        InputStream inputStream = callAPI(API_V2.GET_ENTITIES_BY_GUIDS_STREAM, InputStream.class, queryParams);
+
+        try {
+            return new AtlasEntitiesStreamReader(inputStream);
+        } catch (IOException e) {
+            try {
+                inputStream.close();
+            } catch (IOException excp) {
+                e.addSuppressed(excp);
+            }
+
+            throw new AtlasServiceException(API_V2.GET_ENTITIES_BY_GUIDS_STREAM, e);
+        }
+    }
+
     public AtlasEntitiesWithExtInfo getEntitiesByAttribute(String typeName, List<Map<String,String>> uniqAttributesList) throws AtlasServiceException {
         return getEntitiesByAttribute(typeName, uniqAttributesList, false, false);
     }
@@ -433,6 +464,10 @@ public class AtlasClientV2 extends AtlasBaseClient {
         return callAPI(API_V2.CREATE_ENTITIES, EntityMutationResponse.class, atlasEntities);
     }
 
+    public CompletableFuture<EntityMutationResponse> createEntitiesAsync(AtlasEntitiesWithExtInfo atlasEntities) {
+        return callAsync(() -> createEntities(atlasEntities));
+    }
+
     public EntityMutationResponse updateEntity(AtlasEntityWithExtInfo entity) throws AtlasServiceException {
         return callAPI(API_V2.UPDATE_ENTITY, EntityMutationResponse.class, entity);
     }
@@ -441,6 +476,10 @@ public class AtlasClientV2 extends AtlasBaseClient {
         return callAPI(API_V2.UPDATE_ENTITIES, EntityMutationResponse.class, atlasEntities);
     }
 
+    public CompletableFuture<EntityMutationResponse> updateEntitiesAsync(AtlasEntitiesWithExtInfo atlasEntities) {
+        return callAsync(() -> updateEntities(atlasEntities));
+    }
+
     public EntityMutationResponse updateEntityByAttribute(String typeName, Map<String, String> uniqAttributes, AtlasEntityWithExtInfo entityInfo) throws AtlasServiceException {
         MultivaluedMap<String, String> queryParams = attributesToQueryParams(uniqAttributes);
 
@@ -469,6 +508,10 @@ public class AtlasClientV2 extends AtlasBaseClient {
         return callAPI(API_V2.DELETE_ENTITIES_BY_GUIDS, EntityMutationResponse.class, "guid", guids);
     }
 
+    public CompletableFuture<EntityMutationResponse> deleteEntitiesByGuidsAsync(List<String> guids) {
+        return callAsync(() -> deleteEntitiesByGuids(guids));
+    }
+
     public EntityMutationResponse purgeEntitiesByGuids(Set<String> guids) throws AtlasServiceException {
         return callAPI(API_V2.PURGE_ENTITIES_BY_GUIDS, EntityMutationResponse.class, guids);
     }
@@ -616,6 +659,10 @@ public class AtlasClientV2 extends AtlasBaseClient {
         return callAPI(API_V2.LINEAGE_INFO, AtlasLineageInfo.class, queryParams, guid);
     }
 
+    public CompletableFuture<AtlasLineageInfo> getLineageInfoAsync(String guid, LineageDirection direction, int depth) {
+        return callAsync(() -> getLineageInfo(guid, direction, depth));
+    }
+
     public AtlasLineageInfo getLineageInfo(String typeName, Map<String, String> attributes, LineageDirection direction, int depth) throws AtlasServiceException {
         MultivaluedMap<String, String> queryParams = attributesToQueryParams(attributes);
 
@@ -645,6 +692,10 @@ public class AtlasClientV2 extends AtlasBaseClient {
         return callAPI(API_V2.DSL_SEARCH, AtlasSearchResult.class, queryParams);
     }
 
+    public CompletableFuture<AtlasSearchResult> dslSearchWithParamsAsync(String query, int limit, int offset) {
+        return callAsync(() -> dslSearchWithParams(query, limit, offset));
+    }
+
     public AtlasSearchResult fullTextSearch(String query) throws AtlasServiceException {
         MultivaluedMap<String, String> queryParams = new MultivaluedMapImpl();
 
@@ -676,10 +727,18 @@ public class AtlasClientV2 extends AtlasBaseClient {
         return callAPI(API_V2.BASIC_SEARCH, AtlasSearchResult.class, queryParams);
     }
 
+    public CompletableFuture<AtlasSearchResult> basicSearchAsync(String typeName, String classification, String query, boolean excludeDeletedEntities, int limit, int offset) {
+        return callAsync(() -> basicSearch(typeName, classification, query, excludeDeletedEntities, limit, offset));
+    }
+
     public AtlasSearchResult facetedSearch(SearchParameters searchParameters) throws AtlasServiceException {
         return callAPI(API_V2.FACETED_SEARCH, AtlasSearchResult.class, searchParameters);
     }
 
+    public CompletableFuture<AtlasSearchResult> facetedSearchAsync(SearchParameters searchParameters) {
+        return callAsync(() -> facetedSearch(searchParameters));
+    }
+
     public AtlasSearchResult attributeSearch(String typeName, String attrName, String attrValuePrefix, int limit, int offset) throws AtlasServiceException {
         MultivaluedMap<String, String> queryParams = new MultivaluedMapImpl();
 
@@ -726,6 +785,10 @@ public class AtlasClientV2 extends AtlasBaseClient {
         return callAPI(API_V2.QUICK_SEARCH_WITH_POST, AtlasQuickSearchResult.class, quickSearchParameters);
     }
 
+    public CompletableFuture<AtlasQuickSearchResult> quickSearchAsync(QuickSearchParameters quickSearchParameters) {
+        return callAsync(() -> quickSearch(quickSearchParameters));
+    }
+
     // fieldName should be the parameter on which indexing is enabled such as "qualifiedName"
     public AtlasSuggestionsResult getSuggestions(String prefixString, String fieldName) throws AtlasServiceException {
         MultivaluedMap<String, String> queryParams = new MultivaluedMapImpl();
@@ -1151,6 +1214,7 @@ public class AtlasClientV2 extends AtlasBaseClient {
         public static final API_V2 GET_ENTITY_BY_GUID                    = new API_V2(ENTITY_API + "guid/", HttpMethod.GET, Response.Status.OK);
         public static final API_V2 GET_ENTITY_BY_UNIQUE_ATTRIBUTE        = new API_V2(ENTITY_API + "uniqueAttribute/type/", HttpMethod.GET, Response.Status.OK);
         public static final API_V2 GET_ENTITIES_BY_GUIDS                 = new API_V2(ENTITY_BULK_API, HttpMethod.GET, Response.Status.OK);
+        public static final API_V2 GET_ENTITIES_BY_GUIDS_STREAM          = new API_V2(ENTITY_BULK_API + "stream", HttpMethod.GET, Response.Status.OK);
         public static final API_V2 GET_ENTITIES_BY_UNIQUE_ATTRIBUTE      = new API_V2(ENTITY_BULK_API + "uniqueAttribute/type/", HttpMethod.GET, Response.Status.OK);
         public static final API_V2 GET_ENTITY_HEADER_BY_GUID             = new API_V2(ENTITY_API + "guid/%s/header", HttpMethod.GET, Response.Status.OK);
         public static final API_V2 GET_ENTITY_HEADER_BY_UNIQUE_ATTRIBUTE = new API_V2(ENTITY_API + "uniqueAttribute/type/%s/header", HttpMethod.GET, Response.Status.OK);
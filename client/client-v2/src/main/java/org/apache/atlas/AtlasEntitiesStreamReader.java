@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.utils.AtlasJson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads entities from a streamed AtlasEntitiesWithExtInfo response one at a time, without reading the whole response
+ * in memory. Entities are returned first, followed by the entities they refer to.
+ */
+public class AtlasEntitiesStreamReader implements Closeable {
+    private static final String FIELD_ENTITIES          = "entities";
+    private static final String FIELD_REFERRED_ENTITIES = "referredEntities";
+
+    private final JsonParser parser;
+    private       String     currentField;
+
+    public AtlasEntitiesStreamReader(InputStream in) throws IOException {
+        this.parser = AtlasJson.getMapper().getFactory().createParser(in);
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("invalid response: expected start of object, found " + parser.getCurrentToken());
+        }
+    }
+
+    /**
+     * @return next entity in the response; null after the last entity
+     */
+    public AtlasEntity next() throws IOException {
+        while (true) {
+            JsonToken token = parser.nextToken();
+
+            if (token == null) {
+                throw new IOException("incomplete response: " + currentField);
+            }
+
+            if (currentField == null) { // top-level of the response
+                if (token == JsonToken.END_OBJECT) {
+                    return null;
+                }
+
+                String field = parser.getCurrentName();
+
+                token = parser.nextToken();
+
+                if (FIELD_ENTITIES.equals(field) && token == JsonToken.START_ARRAY) {
+                    currentField = field;
+                } else if (FIELD_REFERRED_ENTITIES.equals(field) && token == JsonToken.START_OBJECT) {
+                    currentField = field;
+                } else {
+                    parser.skipChildren();
+                }
+            } else if (token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT) {
+                currentField = null;
+            } else if (token == JsonToken.FIELD_NAME) { // guid of a referred entity
+                continue;
+            } else {
+                return parser.readValueAs(AtlasEntity.class);
+            }
+        }
+    }
+
+    /**
+     * @return true if the entity last returned by next() is one of the referred entities
+     */
+    public boolean isReferredEntity() {
+        return FIELD_REFERRED_ENTITIES.equals(currentField);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -20,8 +20,11 @@ package org.apache.atlas;
 
 
 import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.GenericType;
 import com.sun.jersey.api.client.WebResource;
 import org.apache.atlas.model.instance.AtlasClassification;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.EntityMutationResponse;
 import org.apache.commons.configuration.Configuration;
 import org.mockito.Matchers;
 import org.mockito.Mock;
@@ -32,6 +35,8 @@ import org.testng.annotations.Test;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -124,6 +129,43 @@ public class AtlasClientV2Test {
 
     }
 
+    @Test
+    public void createEntitiesAsyncShouldCompleteWithResponse() throws Exception {
+        AtlasClientV2          atlasClient = new AtlasClientV2(service, configuration);
+        WebResource.Builder    builder     = setupBuilder(AtlasClientV2.API_V2.CREATE_ENTITIES, service);
+        ClientResponse         response    = mock(ClientResponse.class);
+        EntityMutationResponse expected    = new EntityMutationResponse();
 
-}
+        when(response.getStatus()).thenReturn(Response.Status.OK.getStatusCode());
+        when(response.getEntity(Matchers.<GenericType>any())).thenReturn(expected);
+        when(builder.method(anyString(), Matchers.<Class>any(), Matchers.anyObject())).thenReturn(response);
+
+        CompletableFuture<EntityMutationResponse> future = atlasClient.createEntitiesAsync(new AtlasEntitiesWithExtInfo());
+
+        Assert.assertSame(future.get(), expected);
+
+        atlasClient.close();
+    }
+
+    @Test
+    public void createEntitiesAsyncShouldCompleteExceptionallyOnFailure() throws Exception {
+        AtlasClientV2       atlasClient = new AtlasClientV2(service, configuration);
+        WebResource.Builder builder     = setupBuilder(AtlasClientV2.API_V2.CREATE_ENTITIES, service);
+        ClientResponse      response    = mock(ClientResponse.class);
 
+        when(response.getStatus()).thenReturn(Response.Status.BAD_REQUEST.getStatusCode());
+        when(response.getEntity(String.class)).thenReturn("invalid entity");
+        when(builder.method(anyString(), Matchers.<Class>any(), Matchers.anyObject())).thenReturn(response);
+
+        try {
+            atlasClient.createEntitiesAsync(new AtlasEntitiesWithExtInfo()).get();
+
+            Assert.fail("Failed with Exception");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof AtlasServiceException);
+            Assert.assertTrue(e.getCause().getMessage().contains(" failed with status 400 "));
+        }
+
+        atlasClient.close();
+    }
+}
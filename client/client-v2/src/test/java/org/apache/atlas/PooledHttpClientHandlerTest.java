@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas;
+
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.config.DefaultClientConfig;
+import com.sun.jersey.api.client.filter.GZIPContentEncodingFilter;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.MediaType;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.zip.GZIPInputStream;
+
+import static org.testng.Assert.assertEquals;
+
+public class PooledHttpClientHandlerTest {
+    private HttpServer              server;
+    private PooledHttpClientHandler handler;
+    private Client                  client;
+    private String                  baseUrl;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        // responds with the request body, decompressed if needed, its content-type and the client port
+        server.createContext("/echo", exchange -> {
+            InputStream in = exchange.getRequestBody();
+
+            if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                in = new GZIPInputStream(in);
+            }
+
+            byte[] body = IOUtils.toByteArray(in);
+
+            exchange.getResponseHeaders().add("X-Client-Port", String.valueOf(exchange.getRemoteAddress().getPort()));
+            exchange.getResponseHeaders().add("X-Request-Content-Type", String.valueOf(exchange.getRequestHeaders().getFirst("Content-Type")));
+
+            if (body.length == 0) {
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+
+            exchange.close();
+        });
+
+        server.start();
+
+        baseUrl = "http://localhost:" + server.getAddress().getPort() + "/echo";
+        handler = new PooledHttpClientHandler(4, 2, 60000, null);
+        client  = new Client(handler, new DefaultClientConfig());
+    }
+
+    @AfterClass
+    public void cleanup() {
+        handler.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void requestEntityAndHeadersAreSent() {
+        ClientResponse response = client.resource(baseUrl).type(MediaType.APPLICATION_JSON).post(ClientResponse.class, "{\"name\":\"test\"}");
+
+        assertEquals(response.getStatus(), 200);
+        assertEquals(response.getHeaders().getFirst("X-Request-Content-Type"), MediaType.APPLICATION_JSON);
+        assertEquals(response.getEntity(String.class), "{\"name\":\"test\"}");
+    }
+
+    @Test
+    public void compressedRequestEntityIsSent() {
+        Client gzipClient = new Client(handler, new DefaultClientConfig());
+
+        gzipClient.addFilter(new GZIPContentEncodingFilter(true));
+
+        ClientResponse response = gzipClient.resource(baseUrl).type(MediaType.TEXT_PLAIN).post(ClientResponse.class, "compressed body");
+
+        assertEquals(response.getStatus(), 200);
+        assertEquals(response.getEntity(String.class), "compressed body");
+    }
+
+    @Test
+    public void connectionIsReused() {
+        String clientPort = null;
+
+        for (int i = 0; i < 3; i++) {
+            ClientResponse response = client.resource(baseUrl).post(ClientResponse.class, "request-" + i);
+
+            assertEquals(response.getEntity(String.class), "request-" + i);
+
+            if (clientPort == null) {
+                clientPort = response.getHeaders().getFirst("X-Client-Port");
+            } else {
+                assertEquals(response.getHeaders().getFirst("X-Client-Port"), clientPort);
+            }
+        }
+
+        ClientResponse emptyResponse = client.resource(baseUrl).get(ClientResponse.class);
+
+        assertEquals(emptyResponse.getStatus(), 204);
+        assertEquals(emptyResponse.getHeaders().getFirst("X-Client-Port"), clientPort);
+
+        emptyResponse.close();
+
+        assertEquals(client.resource(baseUrl).post(String.class, "after empty response"), "after empty response");
+    }
+}
@@ -22,11 +22,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
 import com.google.common.annotations.VisibleForTesting;
 import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandler;
 import com.sun.jersey.api.client.ClientHandlerException;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.GenericType;
 import com.sun.jersey.api.client.WebResource;
 import com.sun.jersey.api.client.config.DefaultClientConfig;
+import com.sun.jersey.api.client.filter.GZIPContentEncodingFilter;
 import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
 import com.sun.jersey.api.json.JSONConfiguration;
 import com.sun.jersey.client.urlconnection.URLConnectionClientHandler;
@@ -68,6 +70,11 @@ import java.net.ConnectException;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.atlas.security.SecurityProperties.TLS_ENABLED;
 
@@ -99,6 +106,16 @@ public abstract class AtlasBaseClient {
     // Setting the default value based on testing failovers while client code like quickstart is running.
     // With number of retries, this gives a total time of about 20s for the server to start.
     static final int DEFAULT_SLEEP_BETWEEN_RETRIES_MS = 5000;
+    static final        String ATLAS_CLIENT_GZIP_ENABLED_KEY         = "atlas.client.gzip.enabled";
+    static final        String ATLAS_CLIENT_GZIP_REQUEST_ENABLED_KEY = "atlas.client.gzip.request.enabled";
+    static final        String ATLAS_CLIENT_ASYNC_THREADS_KEY        = "atlas.client.async.threads";
+    static final        int    DEFAULT_ASYNC_THREADS                 = 8;
+    static final        String ATLAS_CLIENT_HTTP_POOL_ENABLED_KEY    = "atlas.client.http.pool.enabled";
+    static final        String ATLAS_CLIENT_HTTP_MAX_CONNECTIONS_KEY = "atlas.client.http.pool.max.connections";
+    static final        String ATLAS_CLIENT_HTTP_MAX_PER_ROUTE_KEY   = "atlas.client.http.pool.max.connections.per.route";
+    static final        String ATLAS_CLIENT_HTTP_KEEPALIVE_MS_KEY    = "atlas.client.http.pool.keepalive.ms";
+    static final        int    DEFAULT_HTTP_MAX_CONNECTIONS          = 32;
+    static final        long   DEFAULT_HTTP_KEEPALIVE_MS             = 60000;
     private static final Logger LOG = LoggerFactory.getLogger(AtlasBaseClient.class);
     private static final API IMPORT = new API(BASE_URI + ADMIN_IMPORT, HttpMethod.POST, Response.Status.OK, MediaType.MULTIPART_FORM_DATA, MediaType.APPLICATION_JSON);
     private static final API EXPORT = new API(BASE_URI + ADMIN_EXPORT, HttpMethod.POST, Response.Status.OK, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM);
@@ -114,6 +131,8 @@ public abstract class AtlasBaseClient {
     private Cookie cookie = null;
 
     private SecureClientUtils clientUtils;
+    private ExecutorService asyncExecutor;
+    private PooledHttpClientHandler pooledHandler;
 
     protected AtlasBaseClient() {
     }
@@ -282,13 +301,42 @@ public abstract class AtlasBaseClient {
             }
         }
 
-        final URLConnectionClientHandler handler;
+        ClientHandler handler = getClientHandler(config, configuration, ugi, doAsUser);
+        Client client = new Client(handler, config);
+        client.setReadTimeout(readTimeout);
+        client.setConnectTimeout(connectTimeout);
+
+        if (configuration.getBoolean(ATLAS_CLIENT_GZIP_ENABLED_KEY, false)) {
+            // requests accept gzip encoded responses; request bodies are compressed only when enabled, as servers
+            // prior to 3.0 don't accept them
+            client.addFilter(new GZIPContentEncodingFilter(configuration.getBoolean(ATLAS_CLIENT_GZIP_REQUEST_ENABLED_KEY, false)));
+        }
+
+        return client;
+    }
+
+    /**
+     * Creates the handler that sends requests to Atlas server. By default, requests are sent over HttpURLConnection,
+     * which keeps idle connections to the server open for reuse - up to JVM system property http.maxConnections per
+     * server, 5 by default. With atlas.client.http.pool.enabled, requests are sent over a pool of Apache HttpClient
+     * connections, sized by atlas.client.http.pool.* properties; Kerberos authenticated clients continue to use
+     * HttpURLConnection. Subclasses can override to use another transport.
+     */
+    protected ClientHandler getClientHandler(DefaultClientConfig config, Configuration configuration, UserGroupInformation ugi, String doAsUser) {
+        final ClientHandler handler;
         clientUtils = new SecureClientUtils();
 
         boolean isKerberosEnabled = AuthenticationUtil.isKerberosAuthenticationEnabled(ugi);
 
         if (isKerberosEnabled) {
             handler = clientUtils.getClientConnectionHandler(config, configuration, doAsUser, ugi);
+        } else if (configuration.getBoolean(ATLAS_CLIENT_HTTP_POOL_ENABLED_KEY, false)) {
+            int  maxPerRoute    = configuration.getInt(ATLAS_CLIENT_HTTP_MAX_PER_ROUTE_KEY, getAsyncThreads(configuration));
+            int  maxConnections = configuration.getInt(ATLAS_CLIENT_HTTP_MAX_CONNECTIONS_KEY, Math.max(DEFAULT_HTTP_MAX_CONNECTIONS, maxPerRoute));
+            long keepAliveMs    = configuration.getLong(ATLAS_CLIENT_HTTP_KEEPALIVE_MS_KEY, DEFAULT_HTTP_KEEPALIVE_MS);
+
+            pooledHandler = new PooledHttpClientHandler(maxConnections, maxPerRoute, keepAliveMs, configuration.getBoolean(TLS_ENABLED, false) ? clientUtils.getSSLConnectionSocketFactory() : null);
+            handler       = pooledHandler;
         } else {
             if (configuration.getBoolean(TLS_ENABLED, false)) {
                 handler = clientUtils.getUrlConnectionClientHandler();
@@ -296,16 +344,70 @@ public abstract class AtlasBaseClient {
                 handler = new URLConnectionClientHandler();
             }
         }
-        Client client = new Client(handler, config);
-        client.setReadTimeout(readTimeout);
-        client.setConnectTimeout(connectTimeout);
-        return client;
+
+        return handler;
     }
 
     public void close() {
         if (clientUtils != null) {
             clientUtils.destroyFactory();
         }
+
+        if (pooledHandler != null) {
+            pooledHandler.close();
+
+            pooledHandler = null;
+        }
+
+        synchronized (this) {
+            if (asyncExecutor != null) {
+                asyncExecutor.shutdown();
+
+                asyncExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * Runs the given call in a thread from the async pool of this client, which has atlas.client.async.threads
+     * threads. The returned future completes exceptionally with AtlasServiceException if the call fails.
+     */
+    protected <T> CompletableFuture<T> callAsync(ServiceCall<T> call) {
+        CompletableFuture<T> ret = new CompletableFuture<>();
+
+        try {
+            getAsyncExecutor().execute(() -> {
+                try {
+                    ret.complete(call.call());
+                } catch (Throwable t) {
+                    ret.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ret.completeExceptionally(new AtlasServiceException(e));
+        }
+
+        return ret;
+    }
+
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            final AtomicInteger threadCount = new AtomicInteger();
+
+            asyncExecutor = Executors.newFixedThreadPool(getAsyncThreads(configuration), r -> {
+                Thread ret = new Thread(r, "atlas-client-async-" + threadCount.incrementAndGet());
+
+                ret.setDaemon(true);
+
+                return ret;
+            });
+        }
+
+        return asyncExecutor;
+    }
+
+    private int getAsyncThreads(Configuration configuration) {
+        return Math.max(configuration.getInt(ATLAS_CLIENT_ASYNC_THREADS_KEY, DEFAULT_ASYNC_THREADS), 1);
     }
 
     @VisibleForTesting
@@ -390,6 +492,9 @@ public abstract class AtlasBaseClient {
 
             if (clientResponse.getStatus() == api.getExpectedStatus().getStatusCode()) {
                 if (responseType == null) {
+                    // release the connection for reuse
+                    clientResponse.close();
+
                     return null;
                 }
                 try {
@@ -418,6 +523,9 @@ public abstract class AtlasBaseClient {
                 break;
             } else {
                 LOG.error("Got a service unavailable when calling: {}, will retry..", resource);
+                if (i + 1 < getNumberOfRetries()) {
+                    clientResponse.close();
+                }
                 sleepBetweenRetries();
             }
 
@@ -682,6 +790,14 @@ public abstract class AtlasBaseClient {
         return resource;
     }
 
+    /**
+     * An Atlas server call, for use with {@link #callAsync(ServiceCall)}.
+     */
+    @FunctionalInterface
+    protected interface ServiceCall<T> {
+        T call() throws AtlasServiceException;
+    }
+
     public static class API {
         private final String method;
         private final String path;
@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas;
+
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.TerminatingClientHandler;
+import com.sun.jersey.api.client.config.ClientConfig;
+import com.sun.jersey.core.header.InBoundHeaders;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jersey client handler that sends requests over Apache HttpClient, with a pool of connections to Atlas servers.
+ * Up to maxConnectionsPerRoute connections to each server are kept open for reuse; idle connections are closed after
+ * keepAliveMs, or earlier when the server asks so in its Keep-Alive response header.
+ *
+ * Reading the entity of the response to the end, or closing the response, returns its connection to the pool.
+ */
+public class PooledHttpClientHandler extends TerminatingClientHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(PooledHttpClientHandler.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient                httpClient;
+
+    public PooledHttpClientHandler(int maxConnections, int maxConnectionsPerRoute, long keepAliveMs, SSLConnectionSocketFactory sslSocketFactory) {
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                                                                           .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                                                                           .register("https", sslSocketFactory != null ? sslSocketFactory : SSLConnectionSocketFactory.getSystemSocketFactory())
+                                                                           .build();
+
+        connectionManager = new PoolingHttpClientConnectionManager(socketFactories);
+
+        connectionManager.setMaxTotal(Math.max(maxConnections, 1));
+        connectionManager.setDefaultMaxPerRoute(Math.max(maxConnectionsPerRoute, 1));
+
+        // content encoding and cookies are handled by Jersey filters and AtlasBaseClient, as with HttpURLConnection
+        httpClient = HttpClients.custom()
+                                .useSystemProperties()
+                                .setConnectionManager(connectionManager)
+                                .setKeepAliveStrategy((response, context) -> {
+                                    long serverKeepAliveMs = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+
+                                    return serverKeepAliveMs > 0 ? Math.min(serverKeepAliveMs, keepAliveMs) : keepAliveMs;
+                                })
+                                .evictIdleConnections(keepAliveMs, TimeUnit.MILLISECONDS)
+                                .evictExpiredConnections()
+                                .disableContentCompression()
+                                .disableCookieManagement()
+                                .build();
+
+        LOG.info("PooledHttpClientHandler: maxConnections={}, maxConnectionsPerRoute={}, keepAliveMs={}", connectionManager.getMaxTotal(), connectionManager.getDefaultMaxPerRoute(), keepAliveMs);
+    }
+
+    @Override
+    public ClientResponse handle(ClientRequest cr) throws ClientHandlerException {
+        RequestBuilder builder = RequestBuilder.create(cr.getMethod()).setUri(cr.getURI()).setConfig(getRequestConfig(cr));
+
+        if (cr.getEntity() != null) {
+            builder.setEntity(getHttpEntity(cr)); // before copying the headers, as the entity writer sets Content-Type
+        }
+
+        for (Map.Entry<String, List<Object>> header : cr.getHeaders().entrySet()) {
+            String name = header.getKey();
+
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) || HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+                continue; // set by HttpClient from the entity
+            }
+
+            for (Object value : header.getValue()) {
+                builder.addHeader(name, ClientRequest.getHeaderValue(value));
+            }
+        }
+
+        try {
+            CloseableHttpResponse response = httpClient.execute(builder.build());
+            InBoundHeaders        headers  = new InBoundHeaders();
+
+            for (Header header : response.getAllHeaders()) {
+                headers.add(header.getName(), header.getValue());
+            }
+
+            HttpEntity  entity = response.getEntity();
+            InputStream body   = entity != null ? entity.getContent() : new ByteArrayInputStream(new byte[0]);
+
+            return new ClientResponse(response.getStatusLine().getStatusCode(), headers, body, getMessageBodyWorkers());
+        } catch (IOException e) {
+            throw new ClientHandlerException(e);
+        }
+    }
+
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            LOG.warn("PooledHttpClientHandler: failed to close HTTP client", e);
+        }
+    }
+
+    private RequestConfig getRequestConfig(ClientRequest cr) {
+        RequestConfig.Builder ret            = RequestConfig.custom();
+        Object                readTimeout    = cr.getProperties().get(ClientConfig.PROPERTY_READ_TIMEOUT);
+        Object                connectTimeout = cr.getProperties().get(ClientConfig.PROPERTY_CONNECT_TIMEOUT);
+
+        if (readTimeout instanceof Integer) {
+            ret.setSocketTimeout((Integer) readTimeout);
+        }
+
+        if (connectTimeout instanceof Integer) {
+            ret.setConnectTimeout((Integer) connectTimeout);
+        }
+
+        return ret.build();
+    }
+
+    private HttpEntity getHttpEntity(ClientRequest cr) {
+        final RequestEntityWriter writer = getRequestEntityWriter(cr);
+        final AbstractHttpEntity  ret    = new AbstractHttpEntity() {
+            @Override
+            public boolean isRepeatable() {
+                return false;
+            }
+
+            @Override
+            public long getContentLength() {
+                return writer.getSize(); // -1 when unknown, as for compressed bodies: sent chunked
+            }
+
+            @Override
+            public InputStream getContent() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                writer.writeRequestEntity(out);
+            }
+
+            @Override
+            public boolean isStreaming() {
+                return false;
+            }
+        };
+
+        MediaType mediaType = writer.getMediaType();
+
+        if (mediaType != null) {
+            ret.setContentType(mediaType.toString());
+        }
+
+        return ret;
+    }
+}
@@ -30,6 +30,7 @@ import org.apache.hadoop.security.ssl.SSLFactory;
 import org.apache.hadoop.security.token.delegation.web.DelegationTokenAuthenticatedURL;
 import org.apache.hadoop.security.token.delegation.web.DelegationTokenAuthenticator;
 import org.apache.hadoop.security.token.delegation.web.KerberosDelegationTokenAuthenticator;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -259,4 +260,24 @@ public class SecureClientUtils {
             }
         });
     }
+
+    /**
+     * @return socket factory for HTTPS connections of Apache HttpClient, from the SSL client configuration; null, to use
+     * JDK properties, if the configuration can't be loaded
+     */
+    public SSLConnectionSocketFactory getSSLConnectionSocketFactory() {
+        try {
+            Configuration conf = new Configuration();
+            conf.addResource(conf.get(SSLFactory.SSL_CLIENT_CONF_KEY, SecurityProperties.SSL_CLIENT_PROPERTIES));
+            UserGroupInformation.setConfiguration(conf);
+
+            SSLFactory factory = getSSLFactory(conf);
+
+            return new SSLConnectionSocketFactory(factory.createSSLSocketFactory(), factory.getHostnameVerifier());
+        } catch (Exception e) {
+            LOG.info("Unable to configure HTTPS connection from configuration.  Leveraging JDK properties.");
+
+            return null;
+        }
+    }
 }
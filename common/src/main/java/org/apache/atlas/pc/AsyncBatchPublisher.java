@@ -0,0 +1,400 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.pc;
+
+import org.apache.curator.shaded.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes items from a bounded queue in a background thread, so that producers don't wait for the destination.
+ *
+ * Items are sent in batches, in the order they were published, by a single thread. Producers block when the queue
+ * is full. When a batch can't be sent, it is appended to a spill file - if one is configured; until the spill file
+ * is replayed completely, subsequent batches are appended to it as well, so that items are still sent in order.
+ * Replay of the spill file is attempted every retryIntervalMs. Items in the spill file are delivered at least once:
+ * after a restart, the spill file is replayed from the beginning.
+ *
+ * Statistics of active publishers are available via getAllStats().
+ */
+public class AsyncBatchPublisher<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncBatchPublisher.class);
+
+    public static final String STAT_QUEUE_SIZE        = "queueSize";
+    public static final String STAT_QUEUE_CAPACITY    = "queueCapacity";
+    public static final String STAT_ITEMS_PUBLISHED   = "itemsPublished";
+    public static final String STAT_ITEMS_SENT        = "itemsSent";
+    public static final String STAT_BATCHES_SENT      = "batchesSent";
+    public static final String STAT_SEND_FAILURES     = "sendFailures";
+    public static final String STAT_AVG_SEND_TIME_MS  = "avgSendTimeMs";
+    public static final String STAT_MAX_SEND_TIME_MS  = "maxSendTimeMs";
+    public static final String STAT_ITEMS_SPILLED     = "itemsSpilled";
+    public static final String STAT_ITEMS_IN_SPILL    = "itemsInSpill";
+    public static final String STAT_ITEMS_DROPPED     = "itemsDropped";
+
+    private static final Map<String, AsyncBatchPublisher> activePublishers = new ConcurrentHashMap<>();
+
+    public interface Sender<T> {
+        void send(List<T> items) throws Exception;
+    }
+
+    public interface Serializer<T> {
+        String serialize(T item);
+
+        T deserialize(String str);
+    }
+
+    private final String           name;
+    private final Sender<T>        sender;
+    private final Serializer<T>    serializer;
+    private final int              batchSize;
+    private final long             pollTimeoutMs;
+    private final long             retryIntervalMs;
+    private final File             spillFile;
+    private final BlockingQueue<T> queue;
+    private final Thread           publisherThread;
+    private final AtomicLong       publishedCount = new AtomicLong();
+    private final AtomicLong       sentCount      = new AtomicLong();
+    private final AtomicLong       batchCount     = new AtomicLong();
+    private final AtomicLong       failureCount   = new AtomicLong();
+    private final AtomicLong       sendTimeMs     = new AtomicLong();
+    private final AtomicLong       maxSendTimeMs  = new AtomicLong();
+    private final AtomicLong       spilledCount   = new AtomicLong();
+    private final AtomicLong       droppedCount   = new AtomicLong();
+    private volatile boolean       isStopped      = false;
+    private volatile long          spillCount     = 0;  // number of items in spill file
+    private          long          replayedCount  = 0;  // number of items from spill file sent
+    private          long          nextReplayTime = 0;
+
+    /**
+     * @param pollTimeoutMs maximum time the publisher thread waits for an item, before checking for the spill file replay
+     * @param spillFile     file to save items that couldn't be sent; null to drop such items
+     */
+    public AsyncBatchPublisher(String name, Sender<T> sender, Serializer<T> serializer, int queueCapacity, int batchSize,
+                               long pollTimeoutMs, long retryIntervalMs, File spillFile) {
+        this.name            = name;
+        this.sender          = sender;
+        this.serializer      = serializer;
+        this.batchSize       = Math.max(1, batchSize);
+        this.pollTimeoutMs   = pollTimeoutMs;
+        this.retryIntervalMs = retryIntervalMs;
+        this.spillFile       = serializer != null ? spillFile : null;
+        this.queue           = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.publisherThread = new ThreadFactoryBuilder().setNameFormat(name + "-publisher").setDaemon(true).build().newThread(this::run);
+
+        if (this.spillFile != null && this.spillFile.exists()) {
+            this.spillCount = countSpilledItems();
+
+            LOG.info("AsyncBatchPublisher({}): {} items found in spill file {}. These will be sent first", name, spillCount, this.spillFile);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void start() {
+        activePublishers.put(name, this);
+
+        publisherThread.start();
+
+        LOG.info("AsyncBatchPublisher({}): started. queueCapacity={}, batchSize={}, pollTimeoutMs={}, retryIntervalMs={}, spillFile={}",
+                 name, queue.remainingCapacity(), batchSize, pollTimeoutMs, retryIntervalMs, spillFile);
+    }
+
+    /**
+     * Adds the given items to the queue; blocks while the queue is full.
+     */
+    public void publish(List<T> items) throws InterruptedException {
+        if (isStopped) {
+            throw new IllegalStateException("AsyncBatchPublisher(" + name + ") is stopped");
+        }
+
+        for (T item : items) {
+            queue.put(item);
+
+            publishedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sends, or spills, items in the queue and stops the publisher thread; waits at most timeoutMs for this.
+     */
+    public void stop(long timeoutMs) {
+        isStopped = true;
+
+        try {
+            publisherThread.join(timeoutMs);
+
+            if (publisherThread.isAlive()) {
+                LOG.warn("AsyncBatchPublisher({}): publisher didn't complete in {}ms; interrupting", name, timeoutMs);
+
+                publisherThread.interrupt();
+                publisherThread.join(timeoutMs);
+            }
+        } catch (InterruptedException excp) {
+            Thread.currentThread().interrupt();
+        } finally {
+            activePublishers.remove(name);
+        }
+
+        LOG.info("AsyncBatchPublisher({}): stopped. stats={}", name, getStats());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> ret     = new LinkedHashMap<>();
+        long                batches = batchCount.get();
+
+        ret.put(STAT_QUEUE_SIZE, queue.size());
+        ret.put(STAT_QUEUE_CAPACITY, queue.size() + queue.remainingCapacity());
+        ret.put(STAT_ITEMS_PUBLISHED, publishedCount.get());
+        ret.put(STAT_ITEMS_SENT, sentCount.get());
+        ret.put(STAT_BATCHES_SENT, batches);
+        ret.put(STAT_SEND_FAILURES, failureCount.get());
+        ret.put(STAT_AVG_SEND_TIME_MS, batches > 0 ? sendTimeMs.get() / batches : 0);
+        ret.put(STAT_MAX_SEND_TIME_MS, maxSendTimeMs.get());
+        ret.put(STAT_ITEMS_SPILLED, spilledCount.get());
+        ret.put(STAT_ITEMS_IN_SPILL, spillCount);
+        ret.put(STAT_ITEMS_DROPPED, droppedCount.get());
+
+        return ret;
+    }
+
+    /**
+     * @return statistics of publishers that are not yet stopped, keyed by publisher name
+     */
+    public static Map<String, Object> getAllStats() {
+        Map<String, Object> ret = new TreeMap<>();
+
+        for (AsyncBatchPublisher publisher : activePublishers.values()) {
+            ret.put(publisher.getName(), publisher.getStats());
+        }
+
+        return ret;
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+
+        try {
+            while (!isStopped || !queue.isEmpty()) {
+                T item = queue.poll(pollTimeoutMs, TimeUnit.MILLISECONDS);
+
+                if (item != null) {
+                    batch.add(item);
+
+                    queue.drainTo(batch, batchSize - 1);
+                }
+
+                if (spillCount > 0) {
+                    spill(batch);
+
+                    if (isReplayDue()) {
+                        replaySpill();
+                    }
+                } else if (!batch.isEmpty() && !send(batch)) {
+                    spill(batch);
+                }
+
+                batch.clear();
+            }
+        } catch (InterruptedException excp) {
+            LOG.warn("AsyncBatchPublisher({}): interrupted", name);
+        } catch (Throwable t) {
+            LOG.error("AsyncBatchPublisher({}): unexpected error", name, t);
+        } finally {
+            batch.addAll(queue);
+            queue.clear();
+
+            spill(batch);
+        }
+    }
+
+    private boolean send(List<T> items) {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            sender.send(items);
+
+            long timeTaken = System.currentTimeMillis() - startTime;
+
+            sentCount.addAndGet(items.size());
+            batchCount.incrementAndGet();
+            sendTimeMs.addAndGet(timeTaken);
+            maxSendTimeMs.accumulateAndGet(timeTaken, Math::max);
+
+            return true;
+        } catch (Exception excp) {
+            failureCount.incrementAndGet();
+
+            LOG.error("AsyncBatchPublisher({}): failed to send {} items", name, items.size(), excp);
+
+            return false;
+        }
+    }
+
+    private boolean isReplayDue() {
+        return System.currentTimeMillis() >= nextReplayTime;
+    }
+
+    private void spill(List<T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        if (spillFile == null) {
+            droppedCount.addAndGet(items.size());
+
+            LOG.error("AsyncBatchPublisher({}): spill file not configured. Dropped {} items", name, items.size());
+
+            return;
+        }
+
+        try (FileOutputStream out = new FileOutputStream(spillFile, true); Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            for (T item : items) {
+                writer.write(serializer.serialize(item));
+                writer.write('\n');
+            }
+
+            writer.flush();
+            out.getFD().sync();
+
+            if (spillCount == 0) {
+                nextReplayTime = System.currentTimeMillis() + retryIntervalMs;
+            }
+
+            spillCount += items.size();
+
+            spilledCount.addAndGet(items.size());
+        } catch (IOException excp) {
+            droppedCount.addAndGet(items.size());
+
+            LOG.error("AsyncBatchPublisher({}): failed to write {} items to spill file {}. Items dropped", name, items.size(), spillFile, excp);
+        }
+    }
+
+    private void replaySpill() {
+        LOG.info("AsyncBatchPublisher({}): replaying spill file {}: {} items, {} already sent", name, spillFile, spillCount, replayedCount);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(spillFile), StandardCharsets.UTF_8))) {
+            List<T> batch        = new ArrayList<>(batchSize);
+            long    index        = 0;
+            int     lineCount    = 0; // lines read into batch, including invalid ones; replayedCount moves past them only after batch is sent
+            int     invalidCount = 0;
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isEmpty() || index++ < replayedCount) {
+                    continue;
+                }
+
+                lineCount++;
+
+                try {
+                    batch.add(serializer.deserialize(line));
+                } catch (Exception excp) { // for example, an item partially written before a crash
+                    invalidCount++;
+
+                    LOG.error("AsyncBatchPublisher({}): ignoring invalid item in spill file {}: {}", name, spillFile, line, excp);
+
+                    continue;
+                }
+
+                if (batch.size() >= batchSize) {
+                    if (!replayBatch(batch, lineCount, invalidCount)) {
+                        return;
+                    }
+
+                    lineCount    = 0;
+                    invalidCount = 0;
+                }
+            }
+
+            if (lineCount > 0 && !replayBatch(batch, lineCount, invalidCount)) {
+                return;
+            }
+        } catch (Exception excp) {
+            LOG.error("AsyncBatchPublisher({}): failed to read spill file {}", name, spillFile, excp);
+
+            nextReplayTime = System.currentTimeMillis() + retryIntervalMs;
+
+            return;
+        }
+
+        if (!spillFile.delete()) {
+            LOG.warn("AsyncBatchPublisher({}): failed to delete spill file {}", name, spillFile);
+        }
+
+        LOG.info("AsyncBatchPublisher({}): replayed {} items from spill file {}", name, replayedCount, spillFile);
+
+        spillCount    = 0;
+        replayedCount = 0;
+    }
+
+    private boolean replayBatch(List<T> batch, int lineCount, int invalidCount) {
+        if (!batch.isEmpty() && !send(batch)) {
+            nextReplayTime = System.currentTimeMillis() + retryIntervalMs;
+
+            return false;
+        }
+
+        replayedCount += lineCount;
+
+        droppedCount.addAndGet(invalidCount);
+
+        batch.clear();
+
+        return true;
+    }
+
+    private long countSpilledItems() {
+        long ret = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(spillFile), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isEmpty()) {
+                    ret++;
+                }
+            }
+        } catch (IOException excp) {
+            LOG.error("AsyncBatchPublisher({}): failed to read spill file {}", name, spillFile, excp);
+        }
+
+        return ret;
+    }
+}
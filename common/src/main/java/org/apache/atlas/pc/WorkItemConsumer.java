@@ -37,6 +37,12 @@ public abstract class WorkItemConsumer<T> implements Runnable {
     private final BlockingQueue<T> queue;
     private final AtomicBoolean    isDirty           = new AtomicBoolean(false);
     private final AtomicLong       maxCommitTimeInMs = new AtomicLong(DEFAULT_COMMIT_TIME_IN_MS);
+    private final AtomicLong       itemCount         = new AtomicLong();
+    private final AtomicLong       errorCount        = new AtomicLong();
+    private final AtomicLong       busyTimeInMs      = new AtomicLong();
+    private final AtomicLong       commitCount       = new AtomicLong();
+    private final AtomicLong       commitTimeInMs    = new AtomicLong();
+    private volatile boolean       isStopRequested   = false;
     private CountDownLatch         countdownLatch;
     private Queue<Object>          results;
 
@@ -48,6 +54,14 @@ public abstract class WorkItemConsumer<T> implements Runnable {
     public void run() {
         try {
             while (!Thread.currentThread().isInterrupted()) {
+                if (isStopRequested) {
+                    LOG.debug("WorkItemConsumer.run(): stop requested. Will exit after committing");
+
+                    commitDirty();
+
+                    return;
+                }
+
                 T item = queue.poll(POLLING_DURATION_SECONDS, TimeUnit.SECONDS);
 
                 if (item == null) {
@@ -60,7 +74,19 @@ public abstract class WorkItemConsumer<T> implements Runnable {
 
                 isDirty.set(true);
 
-                processItem(item);
+                long startTime = System.currentTimeMillis();
+
+                try {
+                    processItem(item);
+
+                    itemCount.incrementAndGet();
+                } catch (RuntimeException e) {
+                    errorCount.incrementAndGet();
+
+                    throw e;
+                } finally {
+                    busyTimeInMs.addAndGet(System.currentTimeMillis() - startTime);
+                }
             }
         } catch (InterruptedException e) {
             LOG.error("WorkItemConsumer: Interrupted: ", e);
@@ -86,15 +112,59 @@ public abstract class WorkItemConsumer<T> implements Runnable {
     }
 
     protected void commit() {
+        long commitTime = doCommitAndRecord();
+
+        busyTimeInMs.addAndGet(commitTime);
+
+        isDirty.set(false);
+    }
+
+    /**
+     * Calls doCommit() and records the commit in commit count and time. Subclasses that commit while processing an
+     * item, for example once a batch fills up, should call this instead of calling doCommit() directly.
+     *
+     * @return time taken to commit, in milliseconds
+     */
+    protected long doCommitAndRecord() {
         long start = System.currentTimeMillis();
 
         doCommit();
 
-        long end = System.currentTimeMillis();
+        long commitTime = System.currentTimeMillis() - start;
 
-        updateCommitTime((end - start));
+        updateCommitTime(commitTime);
 
-        isDirty.set(false);
+        commitCount.incrementAndGet();
+        commitTimeInMs.addAndGet(commitTime);
+
+        return commitTime;
+    }
+
+    /**
+     * Asks the consumer to exit after committing the items processed so far; used to reduce the number of workers.
+     */
+    public void requestStop() {
+        isStopRequested = true;
+    }
+
+    public long getItemCount() {
+        return itemCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    public long getBusyTimeInMs() {
+        return busyTimeInMs.get();
+    }
+
+    public long getCommitCount() {
+        return commitCount.get();
+    }
+
+    public long getCommitTimeInMs() {
+        return commitTimeInMs.get();
     }
 
     protected abstract void doCommit();
@@ -17,33 +17,105 @@
  */
 
 package org.apache.atlas.pc;
+import org.apache.atlas.AtlasConfiguration;
 import org.apache.curator.shaded.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.TreeMap;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Runs a pool of consumers that process items produced into a bounded queue.
+ *
+ * When maxWorkers is greater than minWorkers, the number of workers is adjusted periodically: a worker is added
+ * while the queue is mostly full, and one is removed when the queue is mostly empty or when the average commit
+ * time goes beyond atlas.workitem.manager.max.commit.time.ms - which indicates that the backend is overloaded.
+ * Statistics of active managers are available via getAllStats().
+ */
 public class WorkItemManager<T, U extends WorkItemConsumer> {
     private static final Logger LOG = LoggerFactory.getLogger(WorkItemManager.class);
 
-    private final int              numWorkers;
-    private final BlockingQueue<T> workQueue;
-    private final ExecutorService  service;
-    private final List<U>          consumers = new ArrayList<>();
-    private CountDownLatch         countdownLatch;
-    private Queue<Object>          resultsQueue;
+    public static final String STAT_WORKERS                = "workers";
+    public static final String STAT_MIN_WORKERS            = "minWorkers";
+    public static final String STAT_MAX_WORKERS            = "maxWorkers";
+    public static final String STAT_QUEUE_SIZE             = "queueSize";
+    public static final String STAT_QUEUE_CAPACITY         = "queueCapacity";
+    public static final String STAT_ITEMS_PRODUCED         = "itemsProduced";
+    public static final String STAT_ITEMS_PROCESSED        = "itemsProcessed";
+    public static final String STAT_ITEMS_PER_SECOND       = "itemsPerSecond";
+    public static final String STAT_ERRORS                 = "errors";
+    public static final String STAT_COMMITS                = "commits";
+    public static final String STAT_AVG_COMMIT_TIME_MS     = "avgCommitTimeMs";
+    public static final String STAT_WORKER_BUSY_TIME_MS    = "workerBusyTimeMs";
+
+    private static final float SCALE_UP_QUEUE_FILL_RATIO   = 0.75f;
+    private static final float SCALE_DOWN_QUEUE_FILL_RATIO = 0.1f;
+
+    private static final Map<String, WorkItemManager> activeManagers = new ConcurrentHashMap<>();
+    private static final AtomicLong                   managerSeq     = new AtomicLong();
+
+    private final String                      name;
+    private final WorkItemBuilder             builder;
+    private final int                         minWorkers;
+    private final int                         maxWorkers;
+    private final int                         queueCapacity;
+    private final boolean                     collectResults;
+    private final BlockingQueue<T>            workQueue;
+    private final ExecutorService             service;
+    private final ScheduledExecutorService    workerAdjuster;
+    private final List<U>                     consumers      = new CopyOnWriteArrayList<>();
+    private final List<U>                     allConsumers   = new CopyOnWriteArrayList<>(); // active workers, and removed workers yet to exit
+    private final Map<U, CountDownLatch>      consumerLatches = new ConcurrentHashMap<>();
+    private final AtomicLong                  producedCount  = new AtomicLong();
+    private final long                        startTime      = System.currentTimeMillis();
+    private final long                        maxCommitTimeMs;
+    private Queue<Object>                     resultsQueue;
+    private long                              lastCommitCount  = 0;
+    private long                              lastCommitTimeMs = 0;
+    private final WorkerTotals                retiredTotals    = new WorkerTotals(); // of removed workers that have exited
 
     public WorkItemManager(WorkItemBuilder builder, String namePrefix, int batchSize, int numWorkers, boolean collectResults) {
-        this.numWorkers = numWorkers;
-        this.workQueue  = new LinkedBlockingQueue<>(batchSize * numWorkers);
-        this.service    = Executors.newFixedThreadPool(numWorkers, new ThreadFactoryBuilder().setNameFormat(namePrefix + "-%d").build());
+        this(builder, namePrefix, batchSize, numWorkers, numWorkers, numWorkers, collectResults);
+    }
+
+    /**
+     * @param numWorkers initial number of workers
+     * @param minWorkers minimum number of workers, when the number of workers is adjusted
+     * @param maxWorkers maximum number of workers; workers are not adjusted when this is same as minWorkers
+     */
+    public WorkItemManager(WorkItemBuilder builder, String namePrefix, int batchSize, int numWorkers, int minWorkers, int maxWorkers, boolean collectResults) {
+        this.name           = namePrefix + "-" + managerSeq.incrementAndGet();
+        this.builder        = builder;
+        this.minWorkers     = Math.max(1, Math.min(minWorkers, numWorkers));
+        this.maxWorkers     = Math.max(maxWorkers, numWorkers);
+        this.queueCapacity  = batchSize * numWorkers;
+        this.collectResults = collectResults;
+        this.workQueue      = new LinkedBlockingQueue<>(queueCapacity);
+        this.service        = Executors.newFixedThreadPool(this.maxWorkers, new ThreadFactoryBuilder().setNameFormat(namePrefix + "-%d").build());
+
+        this.maxCommitTimeMs = this.minWorkers < this.maxWorkers ? AtlasConfiguration.WORK_ITEM_MANAGER_MAX_COMMIT_TIME_MS.getLong() : 0;
+        this.workerAdjuster  = this.minWorkers < this.maxWorkers ? Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat(namePrefix + "-adjuster").setDaemon(true).build()) : null;
 
-        createConsumers(builder, numWorkers, collectResults);
+        createConsumers(numWorkers, collectResults);
+
+        activeManagers.put(name, this);
 
         start();
+
+        if (workerAdjuster != null) {
+            long adjustIntervalMs = AtlasConfiguration.WORK_ITEM_MANAGER_ADJUST_INTERVAL_MS.getLong();
+
+            workerAdjuster.scheduleWithFixedDelay(this::adjustWorkers, adjustIntervalMs, adjustIntervalMs, TimeUnit.MILLISECONDS);
+
+            LOG.info("WorkItemManager({}): workers={}, minWorkers={}, maxWorkers={}, adjustIntervalMs={}, maxCommitTimeMs={}", name, numWorkers, this.minWorkers, this.maxWorkers, adjustIntervalMs, maxCommitTimeMs);
+        }
     }
 
     public WorkItemManager(WorkItemBuilder builder, int batchSize, int numWorkers) {
@@ -54,43 +126,64 @@ public class WorkItemManager<T, U extends WorkItemConsumer> {
         this.resultsQueue = resultsQueue;
     }
 
-    private void createConsumers(WorkItemBuilder builder, int numWorkers, boolean collectResults) {
+    private void createConsumers(int numWorkers, boolean collectResults) {
         if (collectResults) {
             setResultsCollection(new ConcurrentLinkedQueue<>());
         }
 
         for (int i = 0; i < numWorkers; i++) {
-            U c = (U) builder.build(workQueue);
+            consumers.add(createConsumer());
+        }
+    }
 
-            consumers.add(c);
+    private U createConsumer() {
+        U ret = (U) builder.build(workQueue);
 
-            if (collectResults) {
-                c.setResults(resultsQueue);
-            }
+        if (collectResults) {
+            ret.setResults(resultsQueue);
         }
+
+        allConsumers.add(ret);
+
+        return ret;
     }
 
-    public void start() {
-        this.countdownLatch = new CountDownLatch(numWorkers);
+    // consumers that are still running, including the ones added by adjustWorkers(), are not started again
+    public synchronized void start() {
+        consumerLatches.values().removeIf(latch -> latch.getCount() == 0);
 
         for (U c : consumers) {
-            c.setCountDownLatch(countdownLatch);
-
-            service.execute(c);
+            if (!consumerLatches.containsKey(c)) {
+                startConsumer(c);
+            }
         }
     }
 
+    private void startConsumer(U c) {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        c.setCountDownLatch(latch);
+
+        consumerLatches.put(c, latch);
+
+        service.execute(c);
+    }
+
     public void produce(T item) {
         try {
             workQueue.put(item);
+
+            producedCount.incrementAndGet();
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
         }
     }
 
     public void checkProduce(T item) {
-        if (countdownLatch.getCount() < numWorkers) {
-            LOG.info("Fewer workers detected: {}", countdownLatch.getCount());
+        int activeWorkers = getActiveWorkerCount();
+
+        if (activeWorkers < consumers.size()) {
+            LOG.info("Fewer workers detected: {}", activeWorkers);
 
             drain();
 
@@ -102,12 +195,16 @@ public class WorkItemManager<T, U extends WorkItemConsumer> {
 
     public void drain() {
         try {
-            if (countdownLatch == null || countdownLatch.getCount() == 0) {
+            if (getActiveWorkerCount() == 0) {
                 return;
             }
 
             LOG.debug("Drain: Stated! Queue size: {}", workQueue.size());
-            this.countdownLatch.await();
+
+            for (CountDownLatch latch : consumerLatches.values()) {
+                latch.await();
+            }
+
             LOG.debug("Drain: Done! Queue size: {}", workQueue.size());
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
@@ -119,16 +216,160 @@ public class WorkItemManager<T, U extends WorkItemConsumer> {
 
         LOG.info("WorkItemManager: Shutdown started. Will wait for: {} minutes...", avgCommitTimeSeconds);
 
+        if (workerAdjuster != null) {
+            workerAdjuster.shutdownNow();
+        }
+
         service.shutdown();
         service.awaitTermination(avgCommitTimeSeconds, TimeUnit.MINUTES);
 
-        LOG.info("WorkItemManager: Shutdown done!");
+        activeManagers.remove(name);
+
+        LOG.info("WorkItemManager: Shutdown done! {}", getStats());
     }
 
     public Queue getResults() {
         return this.resultsQueue;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public int getWorkerCount() {
+        return consumers.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> ret            = new LinkedHashMap<>();
+        WorkerTotals        totals         = getWorkerTotals();
+        long                itemsProcessed = totals.itemCount;
+        long                commits        = totals.commitCount;
+        List<Long>          busyTimeMs     = new ArrayList<>(consumers.size());
+        long                elapsedMs      = Math.max(System.currentTimeMillis() - startTime, 1);
+
+        for (U c : consumers) {
+            busyTimeMs.add(c.getBusyTimeInMs());
+        }
+
+        ret.put(STAT_WORKERS, consumers.size());
+        ret.put(STAT_MIN_WORKERS, minWorkers);
+        ret.put(STAT_MAX_WORKERS, maxWorkers);
+        ret.put(STAT_QUEUE_SIZE, workQueue.size());
+        ret.put(STAT_QUEUE_CAPACITY, queueCapacity);
+        ret.put(STAT_ITEMS_PRODUCED, producedCount.get());
+        ret.put(STAT_ITEMS_PROCESSED, itemsProcessed);
+        ret.put(STAT_ITEMS_PER_SECOND, itemsProcessed * 1000 / elapsedMs);
+        ret.put(STAT_ERRORS, totals.errorCount);
+        ret.put(STAT_COMMITS, commits);
+        ret.put(STAT_AVG_COMMIT_TIME_MS, commits > 0 ? totals.commitTimeMs / commits : 0);
+        ret.put(STAT_WORKER_BUSY_TIME_MS, busyTimeMs);
+
+        return ret;
+    }
+
+    /**
+     * @return statistics of managers that are not yet shutdown, keyed by manager name
+     */
+    public static Map<String, Object> getAllStats() {
+        Map<String, Object> ret = new TreeMap<>();
+
+        for (WorkItemManager manager : activeManagers.values()) {
+            ret.put(manager.getName(), manager.getStats());
+        }
+
+        return ret;
+    }
+
+    void adjustWorkers() {
+        try {
+            WorkerTotals totals       = getWorkerTotals();
+            long         commits      = totals.commitCount;
+            long         commitTimeMs = totals.commitTimeMs;
+
+            long  intervalCommits  = commits - lastCommitCount;
+            long  avgCommitTimeMs  = intervalCommits > 0 ? (commitTimeMs - lastCommitTimeMs) / intervalCommits : 0;
+            float queueFillRatio   = workQueue.size() / (float) queueCapacity;
+            int   workers          = consumers.size();
+
+            lastCommitCount  = commits;
+            lastCommitTimeMs = commitTimeMs;
+
+            if (maxCommitTimeMs > 0 && avgCommitTimeMs > maxCommitTimeMs) {
+                if (workers > minWorkers) {
+                    removeWorker("avgCommitTimeMs=" + avgCommitTimeMs);
+                }
+            } else if (queueFillRatio >= SCALE_UP_QUEUE_FILL_RATIO) {
+                if (workers < maxWorkers) {
+                    addWorker("queueFillRatio=" + queueFillRatio);
+                }
+            } else if (queueFillRatio <= SCALE_DOWN_QUEUE_FILL_RATIO) {
+                if (workers > minWorkers) {
+                    removeWorker("queueFillRatio=" + queueFillRatio);
+                }
+            }
+        } catch (Throwable t) {
+            LOG.warn("WorkItemManager({}): failed to adjust workers", name, t);
+        }
+    }
+
+    private synchronized void addWorker(String reason) {
+        U c = createConsumer();
+
+        consumers.add(c);
+
+        startConsumer(c);
+
+        LOG.info("WorkItemManager({}): added worker; workers={}, {}", name, consumers.size(), reason);
+    }
+
+    // the worker exits after committing items it has processed; drain() waits for it as its latch is retained
+    private synchronized void removeWorker(String reason) {
+        U c = consumers.remove(consumers.size() - 1);
+
+        c.requestStop();
+
+        LOG.info("WorkItemManager({}): removed worker; workers={}, {}", name, consumers.size(), reason);
+    }
+
+    // counts of removed workers that have exited are moved to retiredTotals, so that allConsumers doesn't grow as workers are added and removed
+    private synchronized WorkerTotals getWorkerTotals() {
+        WorkerTotals ret = new WorkerTotals();
+
+        for (U c : allConsumers) {
+            CountDownLatch latch = consumerLatches.get(c);
+
+            if (!consumers.contains(c) && (latch == null || latch.getCount() == 0)) {
+                retiredTotals.add(c);
+
+                allConsumers.remove(c);
+                consumerLatches.remove(c);
+            } else {
+                ret.add(c);
+            }
+        }
+
+        ret.add(retiredTotals);
+
+        return ret;
+    }
+
+    int getTrackedWorkerCount() {
+        return allConsumers.size();
+    }
+
+    private int getActiveWorkerCount() {
+        int ret = 0;
+
+        for (CountDownLatch latch : consumerLatches.values()) {
+            if (latch.getCount() > 0) {
+                ret++;
+            }
+        }
+
+        return ret;
+    }
+
     private int getAvgCommitTimeSeconds() {
         int commitTimeSeconds = 0;
 
@@ -138,4 +379,26 @@ public class WorkItemManager<T, U extends WorkItemConsumer> {
 
         return (commitTimeSeconds / consumers.size()) / 1000;
     }
+
+    private static class WorkerTotals {
+        private long itemCount;
+        private long errorCount;
+        private long commitCount;
+        private long commitTimeMs;
+
+        void add(WorkItemConsumer c) {
+            itemCount    += c.getItemCount();
+            errorCount   += c.getErrorCount();
+            commitCount  += c.getCommitCount();
+            commitTimeMs += c.getCommitTimeInMs();
+        }
+
+        void add(WorkerTotals other) {
+            itemCount    += other.itemCount;
+            errorCount   += other.errorCount;
+            commitCount  += other.commitCount;
+            commitTimeMs += other.commitTimeMs;
+        }
+    }
+
 }
@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.pc;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apache.atlas.pc.AsyncBatchPublisher.STAT_ITEMS_DROPPED;
+import static org.apache.atlas.pc.AsyncBatchPublisher.STAT_ITEMS_IN_SPILL;
+import static org.apache.atlas.pc.AsyncBatchPublisher.STAT_ITEMS_SENT;
+import static org.apache.atlas.pc.AsyncBatchPublisher.STAT_ITEMS_SPILLED;
+import static org.apache.atlas.pc.AsyncBatchPublisher.STAT_SEND_FAILURES;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class AsyncBatchPublisherTest {
+    private static final AsyncBatchPublisher.Serializer<Integer> SERIALIZER = new AsyncBatchPublisher.Serializer<Integer>() {
+        @Override
+        public String serialize(Integer item) {
+            return item.toString();
+        }
+
+        @Override
+        public Integer deserialize(String str) {
+            return Integer.valueOf(str);
+        }
+    };
+
+    @Test
+    public void sendsInOrder() throws Exception {
+        List<Integer>                sent      = Collections.synchronizedList(new ArrayList<>());
+        AsyncBatchPublisher<Integer> publisher = new AsyncBatchPublisher<>("sendsInOrder", sent::addAll, SERIALIZER, 5, 3, 10, 10, null);
+
+        publisher.start();
+
+        for (int i = 0; i < 20; i++) {
+            publisher.publish(Arrays.asList(i * 2, i * 2 + 1));
+        }
+
+        publisher.stop(10000);
+
+        assertEquals(sent, getRange(0, 40));
+        assertEquals(publisher.getStats().get(STAT_ITEMS_SENT), 40L);
+        assertFalse(AsyncBatchPublisher.getAllStats().containsKey("sendsInOrder"));
+    }
+
+    @Test
+    public void spillsAndReplaysInOrder() throws Exception {
+        File                         spillFile = new File(Files.createTempDirectory("asyncBatchPublisherTest").toFile(), "test.spill");
+        List<Integer>                sent      = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean                isDown    = new AtomicBoolean(true);
+        AsyncBatchPublisher<Integer> publisher = new AsyncBatchPublisher<>("spillsAndReplaysInOrder", items -> {
+            if (isDown.get()) {
+                throw new Exception("destination is down");
+            }
+
+            sent.addAll(items);
+        }, SERIALIZER, 100, 4, 10, 100, spillFile);
+
+        publisher.start();
+
+        publisher.publish(getRange(0, 10));
+        waitFor(() -> (Long) publisher.getStats().get(STAT_ITEMS_IN_SPILL) == 10L);
+
+        isDown.set(false);
+
+        publisher.publish(getRange(10, 20));
+        waitFor(() -> sent.size() == 20);
+
+        assertEquals(sent, getRange(0, 20));
+        assertFalse(spillFile.exists());
+
+        Map<String, Object> stats = publisher.getStats();
+
+        assertTrue((Long) stats.get(STAT_ITEMS_SPILLED) >= 10L);
+        assertTrue((Long) stats.get(STAT_SEND_FAILURES) > 0);
+        assertEquals(stats.get(STAT_ITEMS_IN_SPILL), 0L);
+
+        publisher.stop(10000);
+        spillFile.getParentFile().delete();
+    }
+
+    @Test
+    public void replaysSpillFromPreviousRun() throws Exception {
+        File spillFile = new File(Files.createTempDirectory("asyncBatchPublisherTest").toFile(), "test.spill");
+
+        Files.write(spillFile.toPath(), Arrays.asList("0", "1", "2", "not-a-number"));
+
+        List<Integer>                sent      = Collections.synchronizedList(new ArrayList<>());
+        AsyncBatchPublisher<Integer> publisher = new AsyncBatchPublisher<>("replaysSpillFromPreviousRun", sent::addAll, SERIALIZER, 10, 2, 10, 100, spillFile);
+
+        assertEquals(publisher.getStats().get(STAT_ITEMS_IN_SPILL), 4L);
+
+        publisher.start();
+        publisher.publish(getRange(3, 6));
+        publisher.stop(10000);
+
+        assertEquals(sent, getRange(0, 6));
+        assertFalse(spillFile.exists());
+
+        spillFile.getParentFile().delete();
+    }
+
+    // a failed replay must be retried from the first unsent item, even when the batch had an invalid item
+    @Test
+    public void retriesFailedReplayWithoutSkippingItems() throws Exception {
+        File spillFile = new File(Files.createTempDirectory("asyncBatchPublisherTest").toFile(), "test.spill");
+
+        Files.write(spillFile.toPath(), Arrays.asList("0", "not-a-number", "1", "2", "3"));
+
+        List<Integer>                sent      = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean                isDown    = new AtomicBoolean(true);
+        AsyncBatchPublisher<Integer> publisher = new AsyncBatchPublisher<>("retriesFailedReplayWithoutSkippingItems", items -> {
+            if (isDown.getAndSet(false)) { // only the first send fails
+                throw new Exception("destination is down");
+            }
+
+            sent.addAll(items);
+        }, SERIALIZER, 10, 3, 10, 100, spillFile);
+
+        publisher.start();
+
+        waitFor(() -> !spillFile.exists());
+
+        publisher.stop(10000);
+
+        assertEquals(sent, getRange(0, 4));
+        assertEquals(publisher.getStats().get(STAT_ITEMS_DROPPED), 1L);
+
+        spillFile.getParentFile().delete();
+    }
+
+    private static List<Integer> getRange(int start, int end) {
+        List<Integer> ret = new ArrayList<>();
+
+        for (int i = start; i < end; i++) {
+            ret.add(i);
+        }
+
+        return ret;
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.isTrue(); i++) {
+            Thread.sleep(20);
+        }
+
+        assertTrue(condition.isTrue());
+    }
+
+    private interface Condition {
+        boolean isTrue();
+    }
+}
@@ -26,6 +26,7 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
@@ -145,6 +146,15 @@ public interface AtlasGraph<V, E> {
      */
     Iterable<AtlasVertex<V, E>> getVertices(String key, Object value);
 
+    /**
+     * Loads properties, and edges with the given labels, of the given vertices with a single query to the backend. Reads
+     * of these from the vertices in the current transaction will then be served without further backend queries.
+     *
+     * @param vertices vertices to load
+     * @param edgeLabels labels of edges to load, in both directions; can be empty
+     */
+    void prefetchVertices(Collection<? extends AtlasVertex> vertices, Set<String> edgeLabels);
+
     /**
      * Creates a graph query.
      *
@@ -84,4 +84,12 @@ public interface AtlasVertexQuery<V, E> {
      * @return
      */
     AtlasVertexQuery<V, E> has(String key, Object value);
+
+    /**
+     * Restricts the query to edges connecting to the given vertex.
+     *
+     * @param vertex
+     * @return
+     */
+    AtlasVertexQuery<V, E> adjacent(AtlasVertex<V, E> vertex);
 }
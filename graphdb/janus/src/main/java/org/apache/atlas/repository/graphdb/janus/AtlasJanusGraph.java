@@ -51,6 +51,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -59,8 +60,10 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
 import org.janusgraph.core.Cardinality;
 import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphEdge;
 import org.janusgraph.core.JanusGraphFactory;
 import org.janusgraph.core.JanusGraphIndexQuery;
+import org.janusgraph.core.JanusGraphVertex;
 import org.janusgraph.core.PropertyKey;
 import org.janusgraph.core.SchemaViolationException;
 import org.janusgraph.core.schema.JanusGraphIndex;
@@ -76,6 +79,7 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -175,12 +179,15 @@ public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusE
 
     @Override
     public AtlasEdge getEdgeBetweenVertices(AtlasVertex fromVertex, AtlasVertex toVertex, String edgeLabel) {
-        GraphTraversal gt = V(fromVertex.getId()).outE(edgeLabel).where(__.otherV().hasId(toVertex.getId()));
+        // with the adjacent vertex and state constraints, the edge is looked up in the adjacency list of fromVertex
+        // instead of iterating over all its edges with the label - which can be very large for some vertices
+        JanusGraphVertex from = (JanusGraphVertex) ((AtlasJanusVertex) fromVertex.getV()).getWrappedElement();
+        Vertex           to   = ((AtlasJanusVertex) toVertex.getV()).getWrappedElement();
 
-        Edge gremlinEdge = getFirstActiveEdge(gt);
-        return (gremlinEdge != null)
-                ? GraphDbObjectFactory.createEdge(this, gremlinEdge)
-                : null;
+        Iterator<JanusGraphEdge> edges = from.query().direction(Direction.OUT).labels(edgeLabel).adjacent(to)
+                                             .has(STATE_PROPERTY_KEY, AtlasEntity.Status.ACTIVE.name()).limit(1).edges().iterator();
+
+        return edges.hasNext() ? GraphDbObjectFactory.createEdge(this, edges.next()) : null;
     }
 
     @Override
@@ -327,6 +334,34 @@ public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusE
         return query.vertices();
     }
 
+    @Override
+    public void prefetchVertices(Collection<? extends AtlasVertex> vertices, Set<String> edgeLabels) {
+        if (vertices == null || vertices.isEmpty()) {
+            return;
+        }
+
+        List<JanusGraphVertex> janusVertices = new ArrayList<>(vertices.size());
+
+        for (AtlasVertex vertex : vertices) {
+            Object wrapped = vertex.getWrappedElement();
+
+            if (wrapped instanceof JanusGraphVertex) {
+                janusVertices.add((JanusGraphVertex) wrapped);
+            }
+        }
+
+        if (janusVertices.isEmpty()) {
+            return;
+        }
+
+        // results are cached in each vertex in the transaction; later reads of individual properties/edges are served from this cache
+        getGraph().multiQuery(janusVertices).properties();
+
+        if (edgeLabels != null && !edgeLabels.isEmpty()) {
+            getGraph().multiQuery(janusVertices).labels(edgeLabels.toArray(new String[edgeLabels.size()])).edges();
+        }
+    }
+
     @Override
     public GremlinVersion getSupportedGremlinVersion() {
         return GremlinVersion.THREE;
@@ -574,16 +609,4 @@ public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusE
             return convertGremlinValue(input);
         }
     }
-    private Edge getFirstActiveEdge(GraphTraversal gt) {
-        while (gt.hasNext()) {
-            Edge gremlinEdge = (Edge) gt.next();
-            if (gremlinEdge != null && gremlinEdge.property(STATE_PROPERTY_KEY).isPresent() &&
-                    gremlinEdge.property(STATE_PROPERTY_KEY).value().equals(AtlasEntity.Status.ACTIVE.toString())
-            ) {
-                return gremlinEdge;
-            }
-        }
-
-        return null;
-    }
 }
@@ -87,4 +87,10 @@ public class AtlasJanusVertexQuery implements AtlasVertexQuery<AtlasJanusVertex,
         query.has(key, value);
         return this;
     }
+
+    @Override
+    public AtlasVertexQuery<AtlasJanusVertex, AtlasJanusEdge> adjacent(AtlasVertex<AtlasJanusVertex, AtlasJanusEdge> vertex) {
+        query.adjacent(vertex.getV().getWrappedElement());
+        return this;
+    }
 }
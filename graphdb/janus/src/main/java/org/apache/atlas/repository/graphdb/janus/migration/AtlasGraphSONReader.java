@@ -21,6 +21,7 @@ import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.repository.graphdb.janus.migration.JsonNodeParsers.ParseElement;
 import org.apache.atlas.repository.graphdb.janus.migration.JsonNodeProcessManager.WorkItemManager;
+import org.apache.commons.lang.StringUtils;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -35,6 +36,7 @@ import org.janusgraph.core.JanusGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.concurrent.atomic.AtomicLong;
@@ -45,6 +47,9 @@ public final class AtlasGraphSONReader {
     private static String APPLICATION_PROPERTY_MIGRATION_START_INDEX      = "atlas.migration.mode.start.index";
     private static String APPLICATION_PROPERTY_MIGRATION_NUMER_OF_WORKERS = "atlas.migration.mode.workers";
     private static String APPLICATION_PROPERTY_MIGRATION_BATCH_SIZE       = "atlas.migration.mode.batch.size";
+    private static String APPLICATION_PROPERTY_MIGRATION_ID_MAP_ENABLED   = "atlas.migration.mode.vertex.id.map.enabled";
+    private static String APPLICATION_PROPERTY_MIGRATION_ID_MAP_SIZE      = "atlas.migration.mode.vertex.id.map.expected.size";
+    private static String APPLICATION_PROPERTY_MIGRATION_ID_MAP_DIRECTORY = "atlas.migration.mode.vertex.id.map.directory";
 
     private final ObjectMapper        mapper;
     private final ElementProcessors   relationshipCache;
@@ -53,20 +58,28 @@ public final class AtlasGraphSONReader {
     private final int                 numWorkers;
     private final int                 batchSize;
     private final long                suppliedStartIndex;
+    private final boolean             isVertexIdMapEnabled;
+    private final long                vertexIdMapExpectedSize;
+    private final String              vertexIdMapDirectory;
     private final GraphSONUtility     graphSONUtility;
     private       ReaderStatusManager readerStatusManager;
     private       AtomicLong          counter;
+    private       VertexIdMap         vertexIdMap;
 
     private AtlasGraphSONReader(ObjectMapper mapper, ElementProcessors relationshipLookup, Graph graph,
-                                Graph bulkLoadGraph, int numWorkers, int batchSize, long suppliedStartIndex) {
-        this.mapper                 = mapper;
-        this.relationshipCache      = relationshipLookup;
-        this.graph                  = graph;
-        this.bulkLoadGraph          = bulkLoadGraph;
-        this.numWorkers             = numWorkers;
-        this.batchSize              = batchSize;
-        this.suppliedStartIndex     = suppliedStartIndex;
-        this.graphSONUtility        = new GraphSONUtility(relationshipCache);
+                                Graph bulkLoadGraph, int numWorkers, int batchSize, long suppliedStartIndex,
+                                boolean isVertexIdMapEnabled, long vertexIdMapExpectedSize, String vertexIdMapDirectory) {
+        this.mapper                  = mapper;
+        this.relationshipCache       = relationshipLookup;
+        this.graph                   = graph;
+        this.bulkLoadGraph           = bulkLoadGraph;
+        this.numWorkers              = numWorkers;
+        this.batchSize               = batchSize;
+        this.suppliedStartIndex      = suppliedStartIndex;
+        this.isVertexIdMapEnabled    = isVertexIdMapEnabled;
+        this.vertexIdMapExpectedSize = vertexIdMapExpectedSize;
+        this.vertexIdMapDirectory    = vertexIdMapDirectory;
+        this.graphSONUtility         = new GraphSONUtility(relationshipCache);
     }
 
     public void readGraph(final InputStream inputStream) throws IOException {
@@ -77,6 +90,10 @@ public final class AtlasGraphSONReader {
 
         LOG.info("AtlasGraphSONReader.readGraph: numWorkers: {}: batchSize: {}: startIndex: {}", numWorkers, batchSize, startIndex);
 
+        if (isVertexIdMapEnabled) {
+            vertexIdMap = new VertexIdMap(vertexIdMapExpectedSize, StringUtils.isEmpty(vertexIdMapDirectory) ? null : new File(vertexIdMapDirectory));
+        }
+
         try (JsonParser parser = factory.createParser(inputStream)) {
             if (parser.nextToken() != JsonToken.START_OBJECT) {
                 throw new IOException("Expected data to start with an Object");
@@ -130,6 +147,14 @@ public final class AtlasGraphSONReader {
             readerStatusManager.end(bulkLoadGraph, counter.get(), ReaderStatusManager.STATUS_FAILED);
             throw new IOException(ex);
         } finally {
+            if (vertexIdMap != null) {
+                LOG.info("AtlasGraphSONReader.readGraph: vertexIdMap size: {}", vertexIdMap.size());
+
+                vertexIdMap.close();
+
+                vertexIdMap = null;
+            }
+
             LOG.info("AtlasGraphSONReader.readGraph: Done!: {}", counter.get());
         }
     }
@@ -149,7 +174,7 @@ public final class AtlasGraphSONReader {
             parseElement.setContext(graphSONUtility);
 
             WorkItemManager wim = JsonNodeProcessManager.create(graph, bulkLoadGraph, parseElement,
-                                                                numWorkers, batchSize, shouldSkip(startIndex, counter.get()));
+                                                                numWorkers, batchSize, shouldSkip(startIndex, counter.get()), vertexIdMap);
 
             parser.nextToken();
 
@@ -241,6 +266,9 @@ public final class AtlasGraphSONReader {
         private Graph             bulkLoadGraph;
         private int               numWorkers;
         private long              suppliedStartIndex;
+        private boolean           isVertexIdMapEnabled = true;
+        private long              vertexIdMapExpectedSize = 1000000L;
+        private String            vertexIdMapDirectory;
 
         private Builder() {
         }
@@ -249,7 +277,10 @@ public final class AtlasGraphSONReader {
             try {
                 this.startIndex(ApplicationProperties.get().getLong(APPLICATION_PROPERTY_MIGRATION_START_INDEX, 0L))
                         .numWorkers(ApplicationProperties.get().getInt(APPLICATION_PROPERTY_MIGRATION_NUMER_OF_WORKERS, 4))
-                        .batchSize(ApplicationProperties.get().getInt(APPLICATION_PROPERTY_MIGRATION_BATCH_SIZE, 3000));
+                        .batchSize(ApplicationProperties.get().getInt(APPLICATION_PROPERTY_MIGRATION_BATCH_SIZE, 3000))
+                        .vertexIdMap(ApplicationProperties.get().getBoolean(APPLICATION_PROPERTY_MIGRATION_ID_MAP_ENABLED, true),
+                                     ApplicationProperties.get().getLong(APPLICATION_PROPERTY_MIGRATION_ID_MAP_SIZE, 1000000L),
+                                     ApplicationProperties.get().getString(APPLICATION_PROPERTY_MIGRATION_ID_MAP_DIRECTORY, null));
             } catch (AtlasException ex) {
                 LOG.error("setDefaults: failed!", ex);
             }
@@ -265,7 +296,8 @@ public final class AtlasGraphSONReader {
             final GraphSONMapper         mapper  = builder.typeInfo(TypeInfo.NO_TYPES).create();
 
             return new AtlasGraphSONReader(mapper.createMapper(), relationshipCache, graph, bulkLoadGraph,
-                                                                    numWorkers, batchSize, suppliedStartIndex);
+                                                                    numWorkers, batchSize, suppliedStartIndex,
+                                                                    isVertexIdMapEnabled, vertexIdMapExpectedSize, vertexIdMapDirectory);
         }
 
         public Builder relationshipCache(ElementProcessors relationshipCache) {
@@ -309,5 +341,13 @@ public final class AtlasGraphSONReader {
 
             return this;
         }
+
+        public Builder vertexIdMap(boolean isEnabled, long expectedSize, String directory) {
+            this.isVertexIdMapEnabled    = isEnabled;
+            this.vertexIdMapExpectedSize = expectedSize;
+            this.vertexIdMapDirectory    = directory;
+
+            return this;
+        }
     }
 }
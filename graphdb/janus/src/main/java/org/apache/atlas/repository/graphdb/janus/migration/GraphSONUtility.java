@@ -50,6 +50,10 @@ class GraphSONUtility {
     }
 
     public Map<String, Object> vertexFromJson(Graph g, final JsonNode json) {
+        return vertexFromJson(g, null, json);
+    }
+
+    public Map<String, Object> vertexFromJson(Graph g, MappedElementCache cache, final JsonNode json) {
         final Map<String, Object> props = readProperties(json);
 
         if (props.containsKey(Constants.TYPENAME_PROPERTY_KEY)) {
@@ -61,6 +65,10 @@ class GraphSONUtility {
         Object              vertexId       = getTypedValueFromJsonNode(json.get(GraphSONTokensTP2._ID));
         Vertex              vertex         = vertexFeatures.willAllowId(vertexId) ? g.addVertex(T.id, vertexId) : g.addVertex();
 
+        if (cache != null) {
+            cache.recordMappedVertex(vertexId, vertex);
+        }
+
         props.put(Constants.VERTEX_ID_IN_IMPORT_KEY, vertexId);
         elementProcessors.processCollections(Constants.ENTITY_TYPE_PROPERTY_KEY, props);
 
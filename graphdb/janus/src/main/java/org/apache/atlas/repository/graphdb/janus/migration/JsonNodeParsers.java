@@ -143,7 +143,7 @@ public class JsonNodeParsers {
 
         @Override
         public Map<String, Object> parse(Graph graph, MappedElementCache cache, JsonNode node) {
-            return utility.vertexFromJson(graph, node);
+            return utility.vertexFromJson(graph, cache, node);
         }
 
         @Override
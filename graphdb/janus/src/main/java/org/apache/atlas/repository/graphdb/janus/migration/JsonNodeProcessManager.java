@@ -47,7 +47,7 @@ public class JsonNodeProcessManager {
         private   final MappedElementCache cache;
         private   static ThreadLocal<List<JsonNode>> nodes = ThreadLocal.withInitial(() -> new ArrayList<>());
 
-        public Consumer(BlockingQueue<JsonNode> workQueue, Graph graph, Graph bulkLoadGraph, ParseElement parseElement, long batchSize) {
+        public Consumer(BlockingQueue<JsonNode> workQueue, Graph graph, Graph bulkLoadGraph, ParseElement parseElement, long batchSize, VertexIdMap vertexIdMap) {
             super(workQueue);
 
             this.graph         = graph;
@@ -55,7 +55,7 @@ public class JsonNodeProcessManager {
             this.parseElement  = parseElement;
             this.batchSize     = batchSize;
             this.counter       = new AtomicLong(0);
-            this.cache         = new MappedElementCache();
+            this.cache         = new MappedElementCache(vertexIdMap);
         }
 
         @Override
@@ -73,6 +73,7 @@ public class JsonNodeProcessManager {
                 }
             } catch (Exception ex) {
                 bulkLoadGraph.tx().rollback();
+                cache.onRollback();
                 error("Failed! Retrying...", ex);
                 retryBatchCommit();
             }
@@ -111,6 +112,7 @@ public class JsonNodeProcessManager {
 
         private void commit(Graph g, int size) {
             parseElement.commit(g);
+            cache.onCommit();
             display("commit-size: {}: Done!", size);
         }
 
@@ -138,6 +140,7 @@ public class JsonNodeProcessManager {
                     display("updateSchema: NoSuchElementException processed!: type: {}: Done!", typeName);
                 } catch (Exception ex) {
                     graph.tx().rollback();
+                    cache.onRollback();
                     error("updateSchema: failed!: type: " + typeName, ex);
                 }
             }
@@ -172,8 +175,8 @@ public class JsonNodeProcessManager {
     }
 
     private static class ResumingConsumer extends Consumer {
-        public ResumingConsumer(BlockingQueue<JsonNode> workQueue, Graph graph, Graph bulkLoadGraph, ParseElement parseElement, long batchSize) {
-            super(workQueue, graph, bulkLoadGraph, parseElement, batchSize);
+        public ResumingConsumer(BlockingQueue<JsonNode> workQueue, Graph graph, Graph bulkLoadGraph, ParseElement parseElement, long batchSize, VertexIdMap vertexIdMap) {
+            super(workQueue, graph, bulkLoadGraph, parseElement, batchSize, vertexIdMap);
         }
 
         @Override
@@ -194,20 +197,22 @@ public class JsonNodeProcessManager {
         private final ParseElement parseElement;
         private final int          batchSize;
         private final boolean      isResuming;
+        private final VertexIdMap  vertexIdMap;
 
-        public ConsumerBuilder(Graph graph, Graph bulkLoadGraph, ParseElement parseElement, int batchSize, boolean isResuming) {
+        public ConsumerBuilder(Graph graph, Graph bulkLoadGraph, ParseElement parseElement, int batchSize, boolean isResuming, VertexIdMap vertexIdMap) {
             this.graph         = graph;
             this.bulkLoadGraph = bulkLoadGraph;
             this.batchSize     = batchSize;
             this.parseElement  = parseElement;
             this.isResuming    = isResuming;
+            this.vertexIdMap   = vertexIdMap;
         }
 
         @Override
         public Consumer build(BlockingQueue<JsonNode> queue) {
             return (isResuming)
-                    ? new ResumingConsumer(queue, graph, bulkLoadGraph, parseElement, batchSize)
-                    : new Consumer(queue, graph, bulkLoadGraph, parseElement, batchSize);
+                    ? new ResumingConsumer(queue, graph, bulkLoadGraph, parseElement, batchSize, vertexIdMap)
+                    : new Consumer(queue, graph, bulkLoadGraph, parseElement, batchSize, vertexIdMap);
         }
     }
 
@@ -219,7 +224,12 @@ public class JsonNodeProcessManager {
 
     public static WorkItemManager create(Graph rGraph, Graph bGraph,
                                          ParseElement parseElement, int numWorkers, int batchSize, boolean isResuming) {
-        ConsumerBuilder cb = new ConsumerBuilder(rGraph, bGraph, parseElement, batchSize, isResuming);
+        return create(rGraph, bGraph, parseElement, numWorkers, batchSize, isResuming, null);
+    }
+
+    public static WorkItemManager create(Graph rGraph, Graph bGraph, ParseElement parseElement, int numWorkers,
+                                         int batchSize, boolean isResuming, VertexIdMap vertexIdMap) {
+        ConsumerBuilder cb = new ConsumerBuilder(rGraph, bGraph, parseElement, batchSize, isResuming, vertexIdMap);
 
         return new WorkItemManager(cb, batchSize, numWorkers);
     }
@@ -24,6 +24,8 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
 
 import static org.apache.atlas.repository.Constants.VERTEX_ID_IN_IMPORT_KEY;
@@ -33,9 +35,27 @@ public class MappedElementCache {
 
     final Map<Object, Vertex> lruVertexCache = new LruCache<>(500, 100000);
 
+    private final VertexIdMap vertexIdMap;
+    private       long[]      uncommittedIds = new long[64]; // pairs of (original-id, id)
+    private       int         uncommittedCount;
+
+    public MappedElementCache() {
+        this(null);
+    }
+
+    public MappedElementCache(VertexIdMap vertexIdMap) {
+        this.vertexIdMap = vertexIdMap;
+    }
+
     public Vertex getMappedVertex(Graph gr, Object key) {
         try {
-            Vertex ret = lruVertexCache.get(key);
+            Vertex ret = getFromVertexIdMap(gr, key);
+
+            if (ret != null) {
+                return ret;
+            }
+
+            ret = lruVertexCache.get(key);
 
             if (ret == null) {
                 synchronized (lruVertexCache) {
@@ -44,6 +64,10 @@ public class MappedElementCache {
                     if(ret == null) {
                         ret = fetchVertex(gr, key);
                         lruVertexCache.put(key, ret);
+
+                        if (ret != null && vertexIdMap != null) {
+                            vertexIdMap.put(toLong(key), toLong(ret.id()));
+                        }
                     }
                 }
             }
@@ -64,7 +88,65 @@ public class MappedElementCache {
         }
     }
 
+    /**
+     * Records the mapping for a vertex created in the current transaction. The mapping is made visible to other
+     * workers by onCommit() only, so that vertices from a rolled back transaction are never handed out.
+     */
+    public void recordMappedVertex(Object key, Vertex vertex) {
+        if (vertexIdMap == null) {
+            return;
+        }
+
+        long originalId = toLong(key);
+        long id         = toLong(vertex.id());
+
+        if (originalId == VertexIdMap.NO_VALUE || id <= VertexIdMap.NO_VALUE) { // ids not yet assigned by the graph are negative
+            return;
+        }
+
+        if (uncommittedCount + 2 > uncommittedIds.length) {
+            uncommittedIds = Arrays.copyOf(uncommittedIds, uncommittedIds.length * 2);
+        }
+
+        uncommittedIds[uncommittedCount++] = originalId;
+        uncommittedIds[uncommittedCount++] = id;
+    }
+
+    public void onCommit() {
+        if (vertexIdMap != null) {
+            for (int i = 0; i < uncommittedCount; i += 2) {
+                vertexIdMap.put(uncommittedIds[i], uncommittedIds[i + 1]);
+            }
+        }
+
+        uncommittedCount = 0;
+    }
+
+    public void onRollback() {
+        uncommittedCount = 0;
+    }
+
     public void clearAll() {
         lruVertexCache.clear();
     }
+
+    private Vertex getFromVertexIdMap(Graph gr, Object key) {
+        if (vertexIdMap == null) {
+            return null;
+        }
+
+        long id = vertexIdMap.get(toLong(key));
+
+        if (id == VertexIdMap.NO_VALUE) {
+            return null;
+        }
+
+        Iterator<Vertex> iter = gr.vertices(id);
+
+        return iter.hasNext() ? iter.next() : null;
+    }
+
+    private static long toLong(Object id) {
+        return (id instanceof Long || id instanceof Integer) ? ((Number) id).longValue() : VertexIdMap.NO_VALUE;
+    }
 }
@@ -0,0 +1,265 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.repository.graphdb.janus.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Maps vertex-ids in the GraphSON being imported to ids of the vertices created for them.
+ *
+ * Entries are kept outside of the Java heap in open-addressing tables of (long, long) pairs, split into
+ * segments that grow independently. When a directory is given, the tables are backed by memory-mapped files
+ * in that directory; this allows mapping graphs that don't fit in the heap or in direct memory.
+ *
+ * Writes to a segment are serialized; reads don't take any lock. A reader might not see an entry that is
+ * being added concurrently, in which case get() returns NO_VALUE - callers are expected to fall back to
+ * looking up the vertex in the graph.
+ */
+public class VertexIdMap implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(VertexIdMap.class);
+
+    public  static final long   NO_VALUE          = 0L;
+    private static final int    SEGMENT_BITS      = 6;
+    private static final int    SEGMENT_COUNT     = 1 << SEGMENT_BITS;
+    private static final int    ENTRY_SIZE        = 16;
+    private static final int    MIN_SLOTS         = 1024;
+    private static final int    MAX_SLOTS         = 1 << 26; // ENTRY_SIZE * MAX_SLOTS must fit in a ByteBuffer
+    private static final float  LOAD_FACTOR       = 0.7f;
+    private static final String FILE_NAME_PREFIX  = "atlas-vertex-id-map-";
+
+    private final File      directory;
+    private final Segment[] segments;
+
+    public VertexIdMap(long expectedSize) {
+        this(expectedSize, null);
+    }
+
+    public VertexIdMap(long expectedSize, File directory) {
+        this.directory = directory;
+        this.segments  = new Segment[SEGMENT_COUNT];
+
+        int slotsPerSegment = getSlotCount((long) (expectedSize / LOAD_FACTOR) / SEGMENT_COUNT + 1);
+
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(slotsPerSegment);
+        }
+
+        LOG.info("VertexIdMap: expectedSize={}, slotsPerSegment={}, directory={}", expectedSize, slotsPerSegment, directory);
+    }
+
+    /**
+     * @return id of the vertex mapped to the given original id; NO_VALUE if no mapping is found
+     */
+    public long get(long originalId) {
+        if (originalId == NO_VALUE) {
+            return NO_VALUE;
+        }
+
+        long hash = hash(originalId);
+
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))].get(originalId, hash);
+    }
+
+    /**
+     * Adds or replaces the mapping for the given original id. Ids equal to NO_VALUE can't be mapped.
+     *
+     * @return true if the mapping was recorded
+     */
+    public boolean put(long originalId, long id) {
+        if (originalId == NO_VALUE || id == NO_VALUE) {
+            return false;
+        }
+
+        long hash = hash(originalId);
+
+        segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))].put(originalId, id, hash);
+
+        return true;
+    }
+
+    public long size() {
+        long ret = 0;
+
+        for (Segment segment : segments) {
+            ret += segment.size;
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void close() {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+
+        LOG.info("VertexIdMap: closed");
+    }
+
+    private ByteBuffer allocate(int slotCount) {
+        final int size = slotCount * ENTRY_SIZE;
+
+        if (directory == null) {
+            return ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        }
+
+        try {
+            File file = File.createTempFile(FILE_NAME_PREFIX, ".dat", directory);
+
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(size);
+
+                return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size).order(ByteOrder.nativeOrder());
+            } finally {
+                // the mapping stays valid after the file is deleted, and is released when the buffer is collected
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
+            }
+        } catch (IOException excp) {
+            throw new IllegalStateException("failed to create memory-mapped file in " + directory, excp);
+        }
+    }
+
+    private static int getSlotCount(long minSlots) {
+        if (minSlots > MAX_SLOTS) {
+            return MAX_SLOTS;
+        }
+
+        return Math.max(MIN_SLOTS, Integer.highestOneBit((int) minSlots - 1) << 1);
+    }
+
+    private static long hash(long key) { // finalizer from MurmurHash3
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+
+        return key;
+    }
+
+    private class Segment {
+        private volatile ByteBuffer table;
+        private volatile int        size;
+        private          int        resizeThreshold;
+
+        Segment(int slotCount) {
+            this.table           = allocate(slotCount);
+            this.resizeThreshold = (int) (slotCount * LOAD_FACTOR);
+        }
+
+        long get(long key, long hash) {
+            final ByteBuffer table = this.table;
+
+            if (table == null) {
+                return NO_VALUE;
+            }
+
+            final int mask = table.capacity() / ENTRY_SIZE - 1;
+
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                final int  offset  = slot * ENTRY_SIZE;
+                final long slotKey = table.getLong(offset);
+
+                if (slotKey == key) {
+                    return table.getLong(offset + 8);
+                } else if (slotKey == NO_VALUE) {
+                    return NO_VALUE;
+                }
+            }
+        }
+
+        synchronized void put(long key, long value, long hash) {
+            if (table == null) {
+                throw new IllegalStateException("VertexIdMap is closed");
+            }
+
+            if (size >= resizeThreshold) {
+                resize();
+            }
+
+            if (insert(table, key, value, hash)) {
+                size++;
+            }
+        }
+
+        synchronized void close() {
+            table = null;
+            size  = 0;
+        }
+
+        private boolean insert(ByteBuffer table, long key, long value, long hash) {
+            final int mask = table.capacity() / ENTRY_SIZE - 1;
+
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                final int  offset  = slot * ENTRY_SIZE;
+                final long slotKey = table.getLong(offset);
+
+                if (slotKey == key) {
+                    table.putLong(offset + 8, value);
+
+                    return false;
+                } else if (slotKey == NO_VALUE) {
+                    // value is written before the key, so that a concurrent reader never sees a key without its value
+                    table.putLong(offset + 8, value);
+                    table.putLong(offset, key);
+
+                    return true;
+                }
+            }
+        }
+
+        private void resize() {
+            final ByteBuffer oldTable  = table;
+            final int        slotCount = oldTable.capacity() / ENTRY_SIZE;
+
+            if (slotCount >= MAX_SLOTS) {
+                if (size >= slotCount - 1) {
+                    throw new IllegalStateException("VertexIdMap: segment is full; slotCount=" + slotCount);
+                }
+
+                return;
+            }
+
+            final ByteBuffer newTable = allocate(slotCount * 2);
+
+            for (int slot = 0; slot < slotCount; slot++) {
+                final int  offset = slot * ENTRY_SIZE;
+                final long key    = oldTable.getLong(offset);
+
+                if (key != NO_VALUE) {
+                    insert(newTable, key, oldTable.getLong(offset + 8), hash(key));
+                }
+            }
+
+            table           = newTable; // readers see either the old or the fully populated new table
+            resizeThreshold = (int) (slotCount * 2 * LOAD_FACTOR);
+        }
+    }
+}
@@ -18,6 +18,8 @@
 
 package org.apache.atlas.repository.graphdb.janus.migration;
 
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.shaded.jackson.databind.JsonNode;
@@ -53,4 +55,32 @@ public class MappedElementCacheTest extends BaseUtils {
 
         assertEquals(cache.lruVertexCache.size(), 4);
     }
+
+    @Test
+    public void vertexFetchFromIdMap() {
+        JsonNode           node  = getCol1();
+        TinkerGraph        tg    = TinkerGraph.open(getLongIdConfiguration());
+        VertexIdMap        idMap = new VertexIdMap(10);
+        MappedElementCache cache = new MappedElementCache(idMap);
+
+        new GraphSONUtility(emptyRelationshipCache).vertexFromJson(tg, cache, node);
+        assertEquals(idMap.get(98336), VertexIdMap.NO_VALUE);
+
+        cache.onCommit();
+        assertEquals(idMap.get(98336), 98336);
+
+        Vertex vx = cache.getMappedVertex(tg, 98336);
+        assertNotNull(vx);
+        assertEquals(cache.lruVertexCache.size(), 0);
+
+        idMap.close();
+    }
+
+    private Configuration getLongIdConfiguration() {
+        Configuration ret = new BaseConfiguration();
+
+        ret.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+
+        return ret;
+    }
 }
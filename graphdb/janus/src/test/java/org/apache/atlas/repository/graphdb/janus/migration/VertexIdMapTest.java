@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.repository.graphdb.janus.migration;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class VertexIdMapTest {
+    @Test
+    public void putGetAndGrow() {
+        try (VertexIdMap map = new VertexIdMap(10)) {
+            verifyPutGet(map, 200000);
+        }
+    }
+
+    @Test
+    public void memoryMapped() throws Exception {
+        File dir = Files.createTempDirectory("vertexIdMapTest").toFile();
+
+        try (VertexIdMap map = new VertexIdMap(1000, dir)) {
+            verifyPutGet(map, 100000);
+        } finally {
+            dir.delete();
+        }
+    }
+
+    @Test
+    public void noValue() {
+        try (VertexIdMap map = new VertexIdMap(10)) {
+            assertFalse(map.put(VertexIdMap.NO_VALUE, 10));
+            assertFalse(map.put(10, VertexIdMap.NO_VALUE));
+            assertEquals(map.get(VertexIdMap.NO_VALUE), VertexIdMap.NO_VALUE);
+            assertEquals(map.get(10), VertexIdMap.NO_VALUE);
+
+            assertTrue(map.put(10, 20));
+            assertTrue(map.put(10, 30));
+            assertEquals(map.get(10), 30);
+            assertEquals(map.size(), 1);
+        }
+    }
+
+    private void verifyPutGet(VertexIdMap map, int count) {
+        for (long i = 1; i <= count; i++) {
+            map.put(i * 4096, -i);
+        }
+
+        assertEquals(map.size(), count);
+
+        for (long i = 1; i <= count; i++) {
+            assertEquals(map.get(i * 4096), -i);
+        }
+
+        assertEquals(map.get(4095), VertexIdMap.NO_VALUE);
+    }
+}
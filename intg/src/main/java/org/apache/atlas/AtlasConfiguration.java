@@ -47,6 +47,8 @@ public enum AtlasConfiguration {
     NOTIFICATION_MESSAGE_COMPRESSION_ENABLED("atlas.notification.message.compression.enabled", true),
     NOTIFICATION_SPLIT_MESSAGE_SEGMENTS_WAIT_TIME_SECONDS("atlas.notification.split.message.segments.wait.time.seconds", 15 * 60),
     NOTIFICATION_SPLIT_MESSAGE_BUFFER_PURGE_INTERVAL_SECONDS("atlas.notification.split.message.buffer.purge.interval.seconds", 5 * 60),
+    NOTIFICATION_SPLIT_MESSAGE_BUFFER_MAX_BYTES("atlas.notification.split.message.buffer.max.bytes", 64 * 1024 * 1024),
+    NOTIFICATION_SPLIT_MESSAGE_SPILL_DIRECTORY("atlas.notification.split.message.spill.directory", System.getProperty("java.io.tmpdir")),
     NOTIFICATION_FIXED_BUFFER_ITEMS_INCREMENT_COUNT("atlas.notification.fixed.buffer.items.increment.count", 10),
 
     NOTIFICATION_CREATE_SHELL_ENTITY_FOR_NON_EXISTING_REF("atlas.notification.consumer.create.shell.entity.for.non-existing.ref", true),
@@ -59,9 +61,24 @@ public enum AtlasConfiguration {
 
     CLASSIFICATION_PROPAGATION_DEFAULT("atlas.classification.propagation.default", true),
 
+    BULK_DELETE_CHUNK_SIZE("atlas.entity.bulk.delete.chunk.size", 1000),
+    ENTITY_COMPACT_ATTRIBUTES_ENABLED("atlas.entity.compact.attributes.enabled", false),
+
     //search configuration
     SEARCH_MAX_LIMIT("atlas.search.maxlimit", 10000),
     SEARCH_DEFAULT_LIMIT("atlas.search.defaultlimit", 100),
+    SEARCH_RESULT_CACHE_ENABLED("atlas.search.result.cache.enabled", false),
+    SEARCH_RESULT_CACHE_MAX_ENTRIES("atlas.search.result.cache.max.entries", 1000),
+    SEARCH_RESULT_CACHE_TTL_SECONDS("atlas.search.result.cache.ttl.seconds", 60),
+    SEARCH_RESULT_PREFETCH_ENABLED("atlas.search.result.prefetch.enabled", true),
+    SUGGESTIONS_INDEX_ENABLED("atlas.search.suggestions.index.enabled", false),
+    SUGGESTIONS_INDEX_MAX_TERMS("atlas.search.suggestions.index.max.terms", 1000000),
+    SUGGESTIONS_INDEX_PAGE_SIZE("atlas.search.suggestions.index.page.size", 10000),
+    SUGGESTIONS_INDEX_SNAPSHOT_MAX_AGE_HOURS("atlas.search.suggestions.index.snapshot.max.age.hours", 168),
+    FULLTEXT_ASYNC_ENABLED("atlas.search.fulltext.async.enabled", false),
+    FULLTEXT_ASYNC_LINGER_MS("atlas.search.fulltext.async.linger.ms", 1000),
+    FULLTEXT_ASYNC_BATCH_SIZE("atlas.search.fulltext.async.batch.size", 100),
+    FULLTEXT_ASYNC_MAX_STALENESS_MS("atlas.search.fulltext.async.max.staleness.ms", 30 * 1000),
 
     CUSTOM_ATTRIBUTE_KEY_MAX_LENGTH("atlas.custom.attribute.key.max.length", 50),
     CUSTOM_ATTRIBUTE_VALUE_MAX_LENGTH("atlas.custom.attribute.value.max.length", 500),
@@ -69,9 +86,21 @@ public enum AtlasConfiguration {
 
     LABEL_MAX_LENGTH("atlas.entity.label.max.length", 50),
     IMPORT_TEMP_DIRECTORY("atlas.import.temp.directory", ""),
+    IMPEXP_GUIDS_MAX_HEAP_ENTRIES("atlas.impexp.guids.max.heap.entries", 1000000),
     MIGRATION_IMPORT_START_POSITION("atlas.migration.import.start.position", 0),
     LINEAGE_USING_GREMLIN("atlas.lineage.query.use.gremlin", false),
 
+    PATCH_BACKGROUND_ENABLED("atlas.patch.background.enabled", false),
+    PATCH_CHECKPOINT_INTERVAL_SECONDS("atlas.patch.checkpoint.interval.seconds", 30),
+    PATCH_VERTEX_ID_CHUNK_SIZE("atlas.patch.vertex.id.chunk.size", 1000000),
+    WORK_ITEM_MANAGER_ADJUST_INTERVAL_MS("atlas.workitem.manager.adjust.interval.ms", 10 * 1000),
+    WORK_ITEM_MANAGER_MAX_COMMIT_TIME_MS("atlas.workitem.manager.max.commit.time.ms", 30 * 1000),
+
+    HA_PASSIVE_READ_ENABLED("atlas.server.ha.passive.read.enabled", false),
+    HA_PASSIVE_READ_TYPEDEF_REFRESH_INTERVAL_MS("atlas.server.ha.passive.read.typedef.refresh.interval.ms", 30 * 1000),
+    HA_PASSIVE_READ_URIS("atlas.server.ha.passive.read.uris", "/v2/search/,/v2/lineage/,/v2/entity/,/v2/types/"), //  a comma separated list of URI parts
+    HA_PASSIVE_READ_EXCLUDED_URIS("atlas.server.ha.passive.read.excluded.uris", "/v2/entity/bulk/delete/job"), //  a comma separated list of URI parts
+
     HTTP_HEADER_SERVER_VALUE("atlas.http.header.server.value","Apache Atlas"),
     STORAGE_CONSISTENCY_LOCK_ENABLED("atlas.graph.storage.consistency-lock.enabled", true);
 
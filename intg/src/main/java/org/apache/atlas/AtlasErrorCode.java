@@ -170,6 +170,8 @@ public enum AtlasErrorCode {
     INVALID_FILE_TYPE(400, "ATLAS-400-00-098", "The provided file type {0} is not supported."),
     INVALID_BUSINESS_ATTRIBUTES_IMPORT_DATA(400, "ATLAS-400-00-099","The uploaded file was not processed due to following errors : {0}"),
     ATTRIBUTE_NAME_INVALID_CHARS(400, "ATLAS-400-00-09A", "{0}: invalid name. Attribute names must begin with a letter followed by a sequence of letters, numbers, or '_' characters"),
+    INVALID_SEARCH_CURSOR(400, "ATLAS-400-00-09B", "Invalid search cursor: {0}"),
+    BULK_DELETE_JOB_NOT_RESTARTABLE(400, "ATLAS-400-00-09C", "Bulk delete job {0} can not be restarted in status {1}"),
 
     UNAUTHORIZED_ACCESS(403, "ATLAS-403-00-001", "{0} is not authorized to perform {1}"),
 
@@ -195,6 +197,7 @@ public enum AtlasErrorCode {
     NO_PROPAGATED_CLASSIFICATIONS_FOUND_FOR_ENTITY(404, "ATLAS-404-00-013", "No propagated classifications associated with entity: {0}"),
     NO_DATA_FOUND(404, "ATLAS-404-00-014", "No data found in the uploaded file"),
     FILE_NAME_NOT_FOUND(404, "ATLAS-404-00-015", "File name should not be blank"),
+    BULK_DELETE_JOB_NOT_FOUND(404, "ATLAS-404-00-016", "Given bulk delete job {0} was not found"),
 
     // All data conflict errors go here
     TYPE_ALREADY_EXISTS(409, "ATLAS-409-00-001", "Given type {0} already exists"),
@@ -228,7 +231,9 @@ public enum AtlasErrorCode {
     DATA_ACCESS_LOAD_FAILED(500, "ATLAS-500-00-013", "Load failed: {0}"),
     ENTITY_NOTIFICATION_FAILED(500, "ATLAS-500-00-014", "Notification failed for operation: {0} : {1}"),
     FAILED_TO_UPLOAD(500, "ATLAS-500-00-015", "Error occurred while uploading the file: {0}"),
-    FAILED_TO_CREATE_GLOSSARY_TERM(500, "ATLAS-500-00-016", "Error occurred while creating glossary term: {0}");
+    FAILED_TO_CREATE_GLOSSARY_TERM(500, "ATLAS-500-00-016", "Error occurred while creating glossary term: {0}"),
+    BULK_DELETE_JOB_FAILED(500, "ATLAS-500-00-017", "Bulk delete of entities {0} failed: {1}"),
+    PATCH_INTERRUPTED(500, "ATLAS-500-00-018", "{0}: patch interrupted. It will be resumed from the last checkpoint");
 
     private String errorCode;
     private String errorMessage;
@@ -46,6 +46,7 @@ public class QuickSearchParameters implements Serializable {
     private boolean        excludeDeletedEntities;
     private int            offset;
     private int            limit;
+    private String         cursor;
     private Set<String>    attributes;
 
     /**
@@ -128,6 +129,14 @@ public class QuickSearchParameters implements Serializable {
         this.limit = limit;
     }
 
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
     public Set<String> getAttributes() {
         return attributes;
     }
@@ -47,6 +47,7 @@ public class AtlasImportRequest implements Serializable {
     public  static final String OPTION_KEY_MIGRATION_FILE_NAME = "migrationFileName";
     public  static final String OPTION_KEY_MIGRATION       = "migration";
     public  static final String OPTION_KEY_NUM_WORKERS     = "numWorkers";
+    public  static final String OPTION_KEY_MAX_WORKERS     = "maxWorkers";
     public  static final String OPTION_KEY_BATCH_SIZE      = "batchSize";
     public  static final String OPTION_KEY_FORMAT          = "format";
     public  static final String OPTION_KEY_FORMAT_ZIP_DIRECT = "zipDirect";
@@ -133,6 +134,11 @@ public class AtlasImportRequest implements Serializable {
         return getOptionsValue(OPTION_KEY_NUM_WORKERS, 1);
     }
 
+    @JsonIgnore
+    public int getOptionKeyMaxWorkers() {
+        return getOptionsValue(OPTION_KEY_MAX_WORKERS, getOptionKeyNumWorkers());
+    }
+
     @JsonIgnore
     public int getOptionKeyBatchSize() {
         return getOptionsValue(OPTION_KEY_BATCH_SIZE, 1);
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.model.instance;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * Status of a bulk delete/purge job, which deletes given entities and the entities owned by them in chunks.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonSerialize(include=JsonSerialize.Inclusion.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.PROPERTY)
+public class AtlasBulkDeleteJob implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public enum JobStatus { PENDING, IN_PROGRESS, COMPLETED, FAILED }
+
+    private String       jobId;
+    private List<String> guids;
+    private boolean      purge;
+    private String       userName;
+    private JobStatus    status               = JobStatus.PENDING;
+    private int          chunkSize;
+    private int          totalEntityCount     = 0;
+    private int          processedEntityCount = 0;
+    private int          chunkCount           = 0;
+    private int          processedChunkCount  = 0;
+    private long         startTime            = 0;
+    private long         endTime              = 0;
+    private String       errorMessage;
+
+
+    public AtlasBulkDeleteJob() {
+    }
+
+    public AtlasBulkDeleteJob(String jobId, List<String> guids, boolean purge, String userName, int chunkSize) {
+        this.jobId     = jobId;
+        this.guids     = guids;
+        this.purge     = purge;
+        this.userName  = userName;
+        this.chunkSize = chunkSize;
+    }
+
+    public String getJobId() { return jobId; }
+
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public List<String> getGuids() { return guids; }
+
+    public void setGuids(List<String> guids) { this.guids = guids; }
+
+    public boolean isPurge() { return purge; }
+
+    public void setPurge(boolean purge) { this.purge = purge; }
+
+    public String getUserName() { return userName; }
+
+    public void setUserName(String userName) { this.userName = userName; }
+
+    public JobStatus getStatus() { return status; }
+
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    public int getChunkSize() { return chunkSize; }
+
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public int getTotalEntityCount() { return totalEntityCount; }
+
+    public void setTotalEntityCount(int totalEntityCount) { this.totalEntityCount = totalEntityCount; }
+
+    public int getProcessedEntityCount() { return processedEntityCount; }
+
+    public void setProcessedEntityCount(int processedEntityCount) { this.processedEntityCount = processedEntityCount; }
+
+    public int getChunkCount() { return chunkCount; }
+
+    public void setChunkCount(int chunkCount) { this.chunkCount = chunkCount; }
+
+    public int getProcessedChunkCount() { return processedChunkCount; }
+
+    public void setProcessedChunkCount(int processedChunkCount) { this.processedChunkCount = processedChunkCount; }
+
+    public long getStartTime() { return startTime; }
+
+    public void setStartTime(long startTime) { this.startTime = startTime; }
+
+    public long getEndTime() { return endTime; }
+
+    public void setEndTime(long endTime) { this.endTime = endTime; }
+
+    public String getErrorMessage() { return errorMessage; }
+
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public StringBuilder toString(StringBuilder sb) {
+        if (sb == null) {
+            sb = new StringBuilder();
+        }
+
+        sb.append("AtlasBulkDeleteJob{");
+        sb.append("jobId=").append(jobId);
+        sb.append(", guids=").append(guids);
+        sb.append(", purge=").append(purge);
+        sb.append(", userName=").append(userName);
+        sb.append(", status=").append(status);
+        sb.append(", chunkSize=").append(chunkSize);
+        sb.append(", totalEntityCount=").append(totalEntityCount);
+        sb.append(", processedEntityCount=").append(processedEntityCount);
+        sb.append(", chunkCount=").append(chunkCount);
+        sb.append(", processedChunkCount=").append(processedChunkCount);
+        sb.append(", startTime=").append(startTime);
+        sb.append(", endTime=").append(endTime);
+        sb.append(", errorMessage=").append(errorMessage);
+        sb.append("}");
+
+        return sb;
+    }
+
+    @Override
+    public String toString() {
+        return toString(new StringBuilder()).toString();
+    }
+}
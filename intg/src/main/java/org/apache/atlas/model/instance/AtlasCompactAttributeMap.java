@@ -0,0 +1,429 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.model.instance;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import org.apache.atlas.AtlasConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map of attribute values, with smaller memory footprint than HashMap: names and values are held in arrays, in the
+ * order added; names are interned, so that entities of a type share name strings; int and long values outside the
+ * range cached by Integer/Long are held as primitives.
+ *
+ * Lookups scan the names, hence this is meant for maps with a few tens of entries - like attributes of an entity.
+ */
+public class AtlasCompactAttributeMap extends AbstractMap<String, Object> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasCompactAttributeMap.class);
+
+    private static final int      INITIAL_CAPACITY = 8;
+    private static final String[] EMPTY_NAMES      = new String[0];
+    private static final Object[] EMPTY_VALUES     = new Object[0];
+
+    // markers for values held in numbers[]
+    private static final Object LONG_VALUE = new Object();
+    private static final Object INT_VALUE  = new Object();
+
+    private static volatile Boolean isEnabled = null; // null: to be read from configuration on first use
+
+    private String[] names   = EMPTY_NAMES;
+    private Object[] values  = EMPTY_VALUES;
+    private long[]   numbers = null;
+    private int      size    = 0;
+    private int      modCount = 0;
+
+    public AtlasCompactAttributeMap() {
+    }
+
+    public AtlasCompactAttributeMap(Map<String, ?> other) {
+        if (other != null) {
+            ensureCapacity(other.size());
+
+            for (Map.Entry<String, ?> entry : other.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return true if attributes of entities, classifications and structs are to be deserialized into AtlasCompactAttributeMap
+     */
+    public static boolean isEnabled() {
+        Boolean ret = isEnabled;
+
+        if (ret == null) {
+            ret       = getIsEnabled();
+            isEnabled = ret;
+        }
+
+        return ret;
+    }
+
+    /**
+     * For tests: overrides the configured value; null to read the configured value again
+     */
+    static void setEnabled(Boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int idx = indexOf(key);
+
+        return idx != -1 ? valueAt(idx) : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int    idx = indexOf(key);
+        Object ret = null;
+
+        if (idx == -1) {
+            ensureCapacity(size + 1);
+
+            idx        = size++;
+            names[idx] = key != null ? key.intern() : null;
+
+            modCount++;
+        } else {
+            ret = valueAt(idx);
+        }
+
+        setValueAt(idx, value);
+
+        return ret;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int idx = indexOf(key);
+
+        if (idx == -1) {
+            return null;
+        }
+
+        Object ret = valueAt(idx);
+
+        removeAt(idx);
+
+        return ret;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+
+        size = 0;
+
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new EntrySet();
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < size; i++) {
+            if (names[i] == key) {
+                return i;
+            }
+        }
+
+        if (key != null) {
+            for (int i = 0; i < size; i++) {
+                if (key.equals(names[i])) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    private Object valueAt(int idx) {
+        Object ret = values[idx];
+
+        if (ret == LONG_VALUE) {
+            ret = numbers[idx];
+        } else if (ret == INT_VALUE) {
+            ret = (int) numbers[idx];
+        }
+
+        return ret;
+    }
+
+    private void setValueAt(int idx, Object value) {
+        if (value instanceof Long) {
+            long val = (Long) value;
+
+            if (val < -128 || val > 127) { // boxed values in this range are cached, no need to hold them as primitive
+                setNumberAt(idx, val);
+
+                value = LONG_VALUE;
+            }
+        } else if (value instanceof Integer) {
+            int val = (Integer) value;
+
+            if (val < -128 || val > 127) {
+                setNumberAt(idx, val);
+
+                value = INT_VALUE;
+            }
+        } else if (value instanceof Boolean) {
+            value = (Boolean) value ? Boolean.TRUE : Boolean.FALSE;
+        }
+
+        values[idx] = value;
+    }
+
+    private void setNumberAt(int idx, long val) {
+        if (numbers == null) {
+            numbers = new long[names.length];
+        }
+
+        numbers[idx] = val;
+    }
+
+    private void removeAt(int idx) {
+        int numToMove = size - idx - 1;
+
+        if (numToMove > 0) {
+            System.arraycopy(names, idx + 1, names, idx, numToMove);
+            System.arraycopy(values, idx + 1, values, idx, numToMove);
+
+            if (numbers != null) {
+                System.arraycopy(numbers, idx + 1, numbers, idx, numToMove);
+            }
+        }
+
+        size--;
+
+        names[size]  = null;
+        values[size] = null;
+
+        modCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > names.length) {
+            int newCapacity = Math.max(capacity, names.length == 0 ? INITIAL_CAPACITY : names.length + (names.length >> 1));
+
+            names  = Arrays.copyOf(names, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+
+            if (numbers != null) {
+                numbers = Arrays.copyOf(numbers, newCapacity);
+            }
+        }
+    }
+
+    // markers used for primitive values can't be serialized; hence serialize as HashMap
+    private Object writeReplace() {
+        return new HashMap<>(this);
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            AtlasCompactAttributeMap.this.clear();
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next             = 0;
+        private int last             = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+
+            last = next++;
+
+            return new Entry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            removeAt(last);
+
+            next             = last;
+            last             = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private class Entry implements Map.Entry<String, Object> {
+        private final int idx;
+
+        Entry(int idx) {
+            this.idx = idx;
+        }
+
+        @Override
+        public String getKey() {
+            return names[idx];
+        }
+
+        @Override
+        public Object getValue() {
+            return valueAt(idx);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object ret = valueAt(idx);
+
+            setValueAt(idx, value);
+
+            return ret;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+
+            return eq(getKey(), other.getKey()) && eq(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            Object key   = getKey();
+            Object value = getValue();
+
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+
+        private boolean eq(Object o1, Object o2) {
+            return o1 == null ? o2 == null : o1.equals(o2);
+        }
+    }
+
+    /**
+     * Deserializes attributes into AtlasCompactAttributeMap when enabled, and into LinkedHashMap otherwise - like
+     * the default deserialization of Map.
+     */
+    public static class AttributesDeserializer extends JsonDeserializer<Map<String, Object>> {
+        @Override
+        public Map<String, Object> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.getCurrentToken();
+
+            if (token == JsonToken.START_OBJECT) {
+                token = parser.nextToken();
+            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+                return (Map<String, Object>) context.handleUnexpectedToken(Map.class, parser);
+            }
+
+            Map<String, Object> ret = isEnabled() ? new AtlasCompactAttributeMap() : new LinkedHashMap<>();
+
+            for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String name = parser.getCurrentName();
+                Object value;
+
+                if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                    value = null;
+                } else {
+                    value = context.readValue(parser, Object.class);
+                }
+
+                ret.put(name, value);
+            }
+
+            return ret;
+        }
+    }
+
+    private static boolean getIsEnabled() {
+        try {
+            return AtlasConfiguration.ENTITY_COMPACT_ATTRIBUTES_ENABLED.getBoolean();
+        } catch (Throwable t) { // application properties might not be available, like in clients
+            LOG.debug("failed to read {}; compact attributes disabled", AtlasConfiguration.class.getName(), t);
+
+            return false;
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.atlas.model.instance;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.apache.atlas.model.PList;
 import org.apache.atlas.model.SearchFilter.SortType;
@@ -313,6 +314,7 @@ public class AtlasEntity extends AtlasStruct implements Serializable {
 
     public Map<String, Object> getRelationshipAttributes() { return relationshipAttributes; }
 
+    @JsonDeserialize(using = AtlasCompactAttributeMap.AttributesDeserializer.class)
     public void setRelationshipAttributes(Map<String, Object> relationshipAttributes) {
         this.relationshipAttributes = relationshipAttributes;
     }
@@ -20,6 +20,7 @@ package org.apache.atlas.model.instance;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.io.Serializable;
@@ -118,6 +119,7 @@ public class AtlasStruct implements Serializable {
         return attributes;
     }
 
+    @JsonDeserialize(using = AtlasCompactAttributeMap.AttributesDeserializer.class)
     public void setAttributes(Map<String, Object> attributes) {
         this.attributes = attributes;
     }
@@ -39,6 +39,7 @@ public class AtlasMetrics {
     public static final String PREFIX_CONNECTION_STATUS = "ConnectionStatus:";
     public static final String PREFIX_NOTIFICATION      = "Notification:";
     public static final String PREFIX_SERVER            = "Server:";
+    public static final String PREFIX_SEARCH_CACHE      = "SearchResultCache:";
 
     public static final String STAT_NOTIFY_COUNT_CURR_DAY              = PREFIX_NOTIFICATION + "currentDay";
     public static final String STAT_NOTIFY_AVG_TIME_CURR_DAY           = PREFIX_NOTIFICATION + "currentDayAvgTime";
@@ -74,11 +75,25 @@ public class AtlasMetrics {
     public static final String STAT_NOTIFY_UPDATES_COUNT_TOTAL         = PREFIX_NOTIFICATION + "totalUpdates";
     public static final String STAT_NOTIFY_DELETES_COUNT_TOTAL         = PREFIX_NOTIFICATION + "totalDeletes";
     public static final String STAT_NOTIFY_FAILED_COUNT_TOTAL          = PREFIX_NOTIFICATION + "totalFailed";
+    public static final String STAT_NOTIFY_SPLIT_PENDING_MESSAGES      = PREFIX_NOTIFICATION + "splitPendingMessages";
+    public static final String STAT_NOTIFY_SPLIT_BUFFERED_BYTES        = PREFIX_NOTIFICATION + "splitBufferedBytes";
+    public static final String STAT_NOTIFY_SPLIT_BUFFER_MAX_BYTES      = PREFIX_NOTIFICATION + "splitBufferMaxBytes";
+    public static final String STAT_NOTIFY_SPLIT_SPILLED_BYTES         = PREFIX_NOTIFICATION + "splitSpilledBytes";
+    public static final String STAT_NOTIFY_SPLIT_SPILL_COUNT_TOTAL     = PREFIX_NOTIFICATION + "splitSpillCountTotal";
     public static final String STAT_SERVER_ACTIVE_TIMESTAMP            = PREFIX_SERVER + "activeTimeStamp";
     public static final String STAT_SERVER_START_TIMESTAMP             = PREFIX_SERVER + "startTimeStamp";
     public static final String STAT_SERVER_STATUS_BACKEND_STORE        = PREFIX_SERVER + "statusBackendStore";
     public static final String STAT_SERVER_STATUS_INDEX_STORE          = PREFIX_SERVER + "statusIndexStore";
     public static final String STAT_SERVER_UP_TIME                     = PREFIX_SERVER + "upTime";
+    public static final String STAT_SERVER_WORK_ITEM_MANAGERS          = PREFIX_SERVER + "workItemManagers";
+    public static final String STAT_SERVER_NOTIFICATION_PUBLISHERS     = PREFIX_SERVER + "notificationPublishers";
+    public static final String STAT_SEARCH_CACHE_ENABLED               = PREFIX_SEARCH_CACHE + "enabled";
+    public static final String STAT_SEARCH_CACHE_SIZE                  = PREFIX_SEARCH_CACHE + "size";
+    public static final String STAT_SEARCH_CACHE_HITS                  = PREFIX_SEARCH_CACHE + "hits";
+    public static final String STAT_SEARCH_CACHE_MISSES                = PREFIX_SEARCH_CACHE + "misses";
+    public static final String STAT_SEARCH_CACHE_EXPIRED               = PREFIX_SEARCH_CACHE + "expired";
+    public static final String STAT_SEARCH_CACHE_EVICTIONS             = PREFIX_SEARCH_CACHE + "evictions";
+    public static final String STAT_SEARCH_CACHE_INVALIDATIONS         = PREFIX_SEARCH_CACHE + "invalidations";
 
     private Map<String, Map<String, Object>> data;
 
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.model.notification;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Notification message in binary wire format: a header followed by UTF-8 JSON of AtlasNotificationMessage - or a part
+ * of it, for split messages. Unlike AtlasNotificationStringMessage, the payload is not base64 encoded and is not
+ * wrapped in another JSON envelope; compression is expected to be done by the transport, like Kafka lz4 compression.
+ *
+ * Header layout:
+ *   magic (2 bytes), format version (1 byte), compression kind (1 byte), split index (4 bytes), split count (4 bytes),
+ *   message-id length (2 bytes), message-id (UTF-8 bytes)
+ */
+public class AtlasNotificationBinaryMessage extends AtlasNotificationBaseMessage {
+    public static final byte FORMAT_VERSION = 1;
+
+    // 0xA7 is not a valid first byte of UTF-8 text, hence binary messages can't be confused with JSON messages
+    private static final byte MAGIC_BYTE_0 = (byte) 0xA7;
+    private static final byte MAGIC_BYTE_1 = (byte) 0x1A;
+
+    private static final int HEADER_FIXED_LENGTH = 14;
+
+    private static final byte COMPRESSION_CODE_NONE = 0;
+    private static final byte COMPRESSION_CODE_GZIP = 1;
+
+    private final byte   formatVersion;
+    private final byte[] bytes;
+    private final int    payloadOffset;
+    private final int    payloadLength;
+
+
+    private AtlasNotificationBinaryMessage(byte formatVersion, String msgId, CompressionKind compressionKind, int msgSplitIdx, int msgSplitCount, byte[] bytes, int payloadOffset, int payloadLength) {
+        super(MessageVersion.CURRENT_VERSION, msgId, compressionKind, msgSplitIdx, msgSplitCount);
+
+        this.formatVersion = formatVersion;
+        this.bytes         = bytes;
+        this.payloadOffset = payloadOffset;
+        this.payloadLength = payloadLength;
+    }
+
+    public byte getFormatVersion() {
+        return formatVersion;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int getPayloadOffset() {
+        return payloadOffset;
+    }
+
+    public int getPayloadLength() {
+        return payloadLength;
+    }
+
+    public void copyPayload(byte[] dest, int destOffset) {
+        System.arraycopy(bytes, payloadOffset, dest, destOffset, payloadLength);
+    }
+
+    public String getPayloadString() {
+        return new String(bytes, payloadOffset, payloadLength, StandardCharsets.UTF_8);
+    }
+
+    public static boolean isBinaryMessage(byte[] bytes) {
+        return bytes != null && bytes.length >= HEADER_FIXED_LENGTH && bytes[0] == MAGIC_BYTE_0 && bytes[1] == MAGIC_BYTE_1;
+    }
+
+    /**
+     * Create a binary message with the given part of payload.
+     *
+     * @param payload          UTF-8 JSON of AtlasNotificationMessage, optionally compressed
+     * @param offset           offset of the part in payload
+     * @param length           length of the part
+     * @param msgId            ID of the message; can be null for messages that are not split
+     * @param compressionKind  compression of the payload
+     * @param msgSplitIdx      index of the part
+     * @param msgSplitCount    number of parts the payload is split into
+     *
+     * @return bytes of the binary message
+     */
+    public static byte[] encode(byte[] payload, int offset, int length, String msgId, CompressionKind compressionKind, int msgSplitIdx, int msgSplitCount) {
+        byte[]     msgIdBytes = msgId != null ? msgId.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        ByteBuffer buffer     = ByteBuffer.allocate(HEADER_FIXED_LENGTH + msgIdBytes.length + length);
+
+        buffer.put(MAGIC_BYTE_0);
+        buffer.put(MAGIC_BYTE_1);
+        buffer.put(FORMAT_VERSION);
+        buffer.put(getCompressionCode(compressionKind));
+        buffer.putInt(msgSplitIdx);
+        buffer.putInt(msgSplitCount);
+        buffer.putShort((short) msgIdBytes.length);
+        buffer.put(msgIdBytes);
+        buffer.put(payload, offset, length);
+
+        return buffer.array();
+    }
+
+    /**
+     * Decode the header of the given binary message. The payload is not copied; it is accessed from the given bytes.
+     *
+     * @throws IllegalArgumentException if the bytes are not a valid binary message
+     */
+    public static AtlasNotificationBinaryMessage decode(byte[] bytes) {
+        if (!isBinaryMessage(bytes)) {
+            throw new IllegalArgumentException("not a binary notification message");
+        }
+
+        ByteBuffer      buffer          = ByteBuffer.wrap(bytes);
+        byte            formatVersion   = buffer.get(2);
+        CompressionKind compressionKind = getCompressionKind(buffer.get(3));
+        int             msgSplitIdx     = buffer.getInt(4);
+        int             msgSplitCount   = buffer.getInt(8);
+        int             msgIdLength     = buffer.getShort(12) & 0xFFFF;
+        int             payloadOffset   = HEADER_FIXED_LENGTH + msgIdLength;
+
+        if (payloadOffset > bytes.length || compressionKind == null) {
+            throw new IllegalArgumentException("invalid binary notification message header");
+        }
+
+        String msgId = msgIdLength > 0 ? new String(bytes, HEADER_FIXED_LENGTH, msgIdLength, StandardCharsets.UTF_8) : null;
+
+        return new AtlasNotificationBinaryMessage(formatVersion, msgId, compressionKind, msgSplitIdx, msgSplitCount, bytes, payloadOffset, bytes.length - payloadOffset);
+    }
+
+    // codes are part of the wire format; don't depend on ordinal() of CompressionKind, which can change
+    private static byte getCompressionCode(CompressionKind compressionKind) {
+        switch (compressionKind) {
+            case NONE:
+                return COMPRESSION_CODE_NONE;
+            case GZIP:
+                return COMPRESSION_CODE_GZIP;
+        }
+
+        throw new IllegalArgumentException("unsupported compression kind: " + compressionKind);
+    }
+
+    private static CompressionKind getCompressionKind(byte compressionCode) {
+        switch (compressionCode) {
+            case COMPRESSION_CODE_NONE:
+                return CompressionKind.NONE;
+            case COMPRESSION_CODE_GZIP:
+                return CompressionKind.GZIP;
+        }
+
+        return null;
+    }
+}
@@ -1000,6 +1000,11 @@ public class AtlasEntityType extends AtlasStructType {
 
                 for (String attributeName : relationshipAttributes.keySet()) {
                     Object            attributeValue   = entityObj.getRelationshipAttribute(attributeName);
+
+                    if (attributeValue == null) { // absent values are assignable
+                        continue;
+                    }
+
                     String            relationshipType = AtlasEntityUtil.getRelationshipType(attributeValue);
                     AtlasAttribute    attribute        = getRelationshipAttribute(attributeName, relationshipType);
                     AtlasAttributeDef attributeDef     = attribute.getAttributeDef();
@@ -1013,6 +1018,11 @@ public class AtlasEntityType extends AtlasStructType {
 
                 for (String attributeName : relationshipAttributes.keySet()) {
                     Object            attributeValue   = map.get(attributeName);
+
+                    if (attributeValue == null) { // absent values are assignable
+                        continue;
+                    }
+
                     String            relationshipType = AtlasEntityUtil.getRelationshipType(attributeValue);
                     AtlasAttribute    attribute        = getRelationshipAttribute(attributeName, relationshipType);
                     AtlasAttributeDef attributeDef     = attribute.getAttributeDef();
@@ -1175,6 +1185,11 @@ public class AtlasEntityType extends AtlasStructType {
 
                 for (String attributeName : relationshipAttributes.keySet()) {
                     Object         value            = attributes.get(attributeName);
+
+                    if (value == null) {
+                        continue;
+                    }
+
                     String         relationshipType = AtlasEntityUtil.getRelationshipType(value);
                     AtlasAttribute attribute        = getRelationshipAttribute(attributeName, relationshipType);
 
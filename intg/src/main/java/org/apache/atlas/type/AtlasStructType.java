@@ -19,6 +19,7 @@ package org.apache.atlas.type;
 
 import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.TypeCategory;
 import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.instance.AtlasStruct;
 import org.apache.atlas.model.typedef.AtlasStructDef;
@@ -50,6 +51,9 @@ public class AtlasStructType extends AtlasType {
     protected Map<String, AtlasAttribute> allAttributes  = Collections.emptyMap();
     protected Map<String, AtlasAttribute> uniqAttributes = Collections.emptyMap();
 
+    // attributes of structDef, in definition order, with types resolved; used to validate/normalize values
+    private AttributeSlot[] attributeSlots = new AttributeSlot[0];
+
     public AtlasStructType(AtlasStructDef structDef) {
         super(structDef);
 
@@ -123,6 +127,8 @@ public class AtlasStructType extends AtlasType {
 
         this.allAttributes  = Collections.unmodifiableMap(a);
         this.uniqAttributes = getUniqueAttributes(this.allAttributes);
+
+        resolveAttributeSlots();
     }
 
     private void resolveConstraints(AtlasTypeRegistry typeRegistry) throws AtlasBaseException {
@@ -191,6 +197,9 @@ public class AtlasStructType extends AtlasType {
 
             attribute.setInverseRefAttribute(inverseReference);
          }
+
+        // subtypes might have replaced allAttributes after resolveReferences()
+        resolveAttributeSlots();
     }
 
     @Override
@@ -247,16 +256,16 @@ public class AtlasStructType extends AtlasType {
             if (obj instanceof AtlasStruct) {
                 AtlasStruct structObj = (AtlasStruct) obj;
 
-                for (AtlasAttributeDef attributeDef : structDef.getAttributeDefs()) {
-                    if (!isAssignableValue(structObj.getAttribute(attributeDef.getName()), attributeDef)) {
+                for (AttributeSlot slot : attributeSlots) {
+                    if (!slot.isAssignableValue(structObj.getAttribute(slot.name))) {
                         return false;
                     }
                 }
             } else if (obj instanceof Map) {
                 Map map = AtlasTypeUtil.toStructAttributes((Map) obj);
 
-                for (AtlasAttributeDef attributeDef : structDef.getAttributeDefs()) {
-                    if (!isAssignableValue(map.get(attributeDef.getName()), attributeDef)) {
+                for (AttributeSlot slot : attributeSlots) {
+                    if (!slot.isAssignableValue(map.get(slot.name))) {
                         return false; // no value for non-optinal attribute
                     }
                 }
@@ -323,16 +332,10 @@ public class AtlasStructType extends AtlasType {
             }
 
             if (MapUtils.isNotEmpty(attributes)) {
-                for (Map.Entry<String, Object> e : attributes.entrySet()) {
-                    String            attrName  = e.getKey();
-                    Object            attrValue = e.getValue();
-                    AtlasAttributeDef attrDef   = structDef.getAttribute(attrName);
-
-                    if (attrValue == null || attrDef == null) {
-                        continue;
-                    }
+                for (AttributeSlot slot : attributeSlots) {
+                    Object attrValue = attributes.get(slot.name);
 
-                    if (!isAssignableValueForUpdate(attrValue, attrDef)) {
+                    if (attrValue != null && !slot.attributeType.isValidValueForUpdate(attrValue)) {
                         return false;
                     }
                 }
@@ -388,30 +391,26 @@ public class AtlasStructType extends AtlasType {
             if (obj instanceof AtlasStruct) {
                 AtlasStruct structObj = (AtlasStruct) obj;
 
-                for (AtlasAttributeDef attributeDef : structDef.getAttributeDefs()) {
-                    String         attrName  = attributeDef.getName();
-                    AtlasAttribute attribute = allAttributes.get(attributeDef.getName());
+                for (AttributeSlot slot : attributeSlots) {
+                    String attrName = slot.name;
+                    Object value    = structObj.getAttribute(attrName);
 
-                    if (attribute != null) {
-                        AtlasType dataType  = attribute.getAttributeType();
-                        Object    value     = structObj.getAttribute(attrName);
-                        String    fieldName = objName + "." + attrName;
+                    if (value != null) {
+                        if (!slot.isValidPrimitiveValue(value)) {
+                            ret = slot.attributeType.validateValue(value, objName + "." + attrName, messages) && ret;
+                        }
+                    } else if (!slot.isOptional) {
+                        // if required attribute is null, check if attribute value specified in relationship
+                        if (structObj instanceof AtlasEntity) {
+                            AtlasEntity entityObj = (AtlasEntity) structObj;
 
-                        if (value != null) {
-                            ret = dataType.validateValue(value, fieldName, messages) && ret;
-                        } else if (!attributeDef.getIsOptional()) {
-                            // if required attribute is null, check if attribute value specified in relationship
-                            if (structObj instanceof AtlasEntity) {
-                                AtlasEntity entityObj = (AtlasEntity) structObj;
-
-                                if (entityObj.getRelationshipAttribute(attrName) == null) {
-                                    ret = false;
-                                    messages.add(fieldName + ": mandatory attribute value missing in type " + getTypeName());
-                                }
-                            } else {
+                            if (entityObj.getRelationshipAttribute(attrName) == null) {
                                 ret = false;
-                                messages.add(fieldName + ": mandatory attribute value missing in type " + getTypeName());
+                                messages.add(objName + "." + attrName + ": mandatory attribute value missing in type " + getTypeName());
                             }
+                        } else {
+                            ret = false;
+                            messages.add(objName + "." + attrName + ": mandatory attribute value missing in type " + getTypeName());
                         }
                     }
                 }
@@ -419,23 +418,19 @@ public class AtlasStructType extends AtlasType {
                 Map attributes             = AtlasTypeUtil.toStructAttributes((Map)obj);
                 Map relationshipAttributes = AtlasTypeUtil.toRelationshipAttributes((Map)obj);
 
-                for (AtlasAttributeDef attributeDef : structDef.getAttributeDefs()) {
-                    String             attrName  = attributeDef.getName();
-                    AtlasAttribute     attribute = allAttributes.get(attributeDef.getName());
-
-                    if (attribute != null) {
-                        AtlasType dataType  = attribute.getAttributeType();
-                        Object    value     = attributes.get(attrName);
-                        String    fieldName = objName + "." + attrName;
+                for (AttributeSlot slot : attributeSlots) {
+                    String attrName = slot.name;
+                    Object value    = attributes.get(attrName);
 
-                        if (value != null) {
-                            ret = dataType.validateValue(value, fieldName, messages) && ret;
-                        } else if (!attributeDef.getIsOptional()) {
-                            // if required attribute is null, check if attribute value specified in relationship
-                            if (MapUtils.isEmpty(relationshipAttributes) || !relationshipAttributes.containsKey(attrName)) {
-                                ret = false;
-                                messages.add(fieldName + ": mandatory attribute value missing in type " + getTypeName());
-                            }
+                    if (value != null) {
+                        if (!slot.isValidPrimitiveValue(value)) {
+                            ret = slot.attributeType.validateValue(value, objName + "." + attrName, messages) && ret;
+                        }
+                    } else if (!slot.isOptional) {
+                        // if required attribute is null, check if attribute value specified in relationship
+                        if (MapUtils.isEmpty(relationshipAttributes) || !relationshipAttributes.containsKey(attrName)) {
+                            ret = false;
+                            messages.add(objName + "." + attrName + ": mandatory attribute value missing in type " + getTypeName());
                         }
                     }
                 }
@@ -491,15 +486,15 @@ public class AtlasStructType extends AtlasType {
 
     public void normalizeAttributeValues(AtlasStruct obj) {
         if (obj != null) {
-            for (AtlasAttributeDef attributeDef : structDef.getAttributeDefs()) {
-                String attributeName = attributeDef.getName();
+            for (AttributeSlot slot : attributeSlots) {
+                String attributeName = slot.name;
 
                 if (obj.hasAttribute(attributeName)) {
-                    Object attributeValue = getNormalizedValue(obj.getAttribute(attributeName), attributeDef);
+                    Object attributeValue = slot.getNormalizedValue(obj.getAttribute(attributeName));
 
                     obj.setAttribute(attributeName, attributeValue);
-                } else if (!attributeDef.getIsOptional()) {
-                    obj.setAttribute(attributeName, createDefaultValue(attributeDef));
+                } else if (!slot.isOptional) {
+                    obj.setAttribute(attributeName, slot.createDefaultValue());
                 }
             }
         }
@@ -507,11 +502,11 @@ public class AtlasStructType extends AtlasType {
 
     public void normalizeAttributeValuesForUpdate(AtlasStruct obj) {
         if (obj != null) {
-            for (AtlasAttributeDef attributeDef : structDef.getAttributeDefs()) {
-                String attributeName = attributeDef.getName();
+            for (AttributeSlot slot : attributeSlots) {
+                String attributeName = slot.name;
 
                 if (obj.hasAttribute(attributeName)) {
-                    Object attributeValue = getNormalizedValueForUpdate(obj.getAttribute(attributeName), attributeDef);
+                    Object attributeValue = slot.getNormalizedValueForUpdate(obj.getAttribute(attributeName));
                     obj.setAttribute(attributeName, attributeValue);
                 }
             }
@@ -520,15 +515,15 @@ public class AtlasStructType extends AtlasType {
 
     public void normalizeAttributeValues(Map<String, Object> obj) {
         if (obj != null) {
-            for (AtlasAttributeDef attributeDef : structDef.getAttributeDefs()) {
-                String attributeName = attributeDef.getName();
+            for (AttributeSlot slot : attributeSlots) {
+                String attributeName = slot.name;
 
                 if (obj.containsKey(attributeName)) {
-                    Object attributeValue = getNormalizedValue(obj.get(attributeName), attributeDef);
+                    Object attributeValue = slot.getNormalizedValue(obj.get(attributeName));
 
                     obj.put(attributeName, attributeValue);
-                } else if (!attributeDef.getIsOptional()) {
-                    obj.put(attributeName, createDefaultValue(attributeDef));
+                } else if (!slot.isOptional) {
+                    obj.put(attributeName, slot.createDefaultValue());
                 }
             }
         }
@@ -536,13 +531,11 @@ public class AtlasStructType extends AtlasType {
 
     public void normalizeAttributeValuesForUpdate(Map<String, Object> obj) {
         if (obj != null) {
-            for (AtlasAttributeDef attrDef : structDef.getAttributeDefs()) {
-                String attrName  = attrDef.getName();
-                Object attrValue = obj.get(attrName);
+            for (AttributeSlot slot : attributeSlots) {
+                String attrName = slot.name;
 
                 if (obj.containsKey(attrName)) {
-                    attrValue = getNormalizedValueForUpdate(attrValue, attrDef);
-                    obj.put(attrName, attrValue);
+                    obj.put(attrName, slot.getNormalizedValueForUpdate(obj.get(attrName)));
                 }
             }
         }
@@ -556,9 +549,9 @@ public class AtlasStructType extends AtlasType {
                 attributes = new HashMap<>();
             }
 
-            for (AtlasAttributeDef attributeDef : structDef.getAttributeDefs()) {
-                if (!attributeDef.getIsOptional()) {
-                    attributes.put(attributeDef.getName(), createDefaultValue(attributeDef));
+            for (AttributeSlot slot : attributeSlots) {
+                if (!slot.isOptional) {
+                    attributes.put(slot.name, slot.createDefaultValue());
                 }
             }
 
@@ -566,92 +559,6 @@ public class AtlasStructType extends AtlasType {
         }
     }
 
-    private Object createDefaultValue(AtlasAttributeDef attributeDef) {
-        Object ret = null;
-
-        if (attributeDef != null) {
-            AtlasAttribute attribute = allAttributes.get(attributeDef.getName());
-
-            if (attribute != null) {
-                AtlasType dataType = attribute.getAttributeType();
-
-                ret = dataType.createDefaultValue(attributeDef.getDefaultValue());
-            }
-        }
-
-        return ret;
-    }
-
-    private boolean isAssignableValue(Object value, AtlasAttributeDef attributeDef) {
-        boolean ret = true;
-
-        if (value != null) {
-            AtlasAttribute attribute = allAttributes.get(attributeDef.getName());
-
-            if (attribute != null) {
-                AtlasType attrType = attribute.getAttributeType();
-
-                    if (!attrType.isValidValue(value)) {
-                        ret = false; // invalid value
-                    }
-            }
-        } else if (!attributeDef.getIsOptional()) {
-            ret = false; // mandatory attribute not present
-        }
-
-        return ret;
-    }
-
-    private boolean isAssignableValueForUpdate(Object value, AtlasAttributeDef attributeDef) {
-        boolean ret = true;
-
-        if (value != null) {
-            AtlasAttribute attribute = allAttributes.get(attributeDef.getName());
-
-            if (attribute != null) {
-                AtlasType attrType = attribute.getAttributeType();
-
-                if (!attrType.isValidValueForUpdate(value)) {
-                    ret = false; // invalid value
-                }
-            }
-        }
-
-        return ret;
-    }
-
-    private Object getNormalizedValue(Object value, AtlasAttributeDef attributeDef) {
-        AtlasAttribute attribute = allAttributes.get(attributeDef.getName());
-
-        if (attribute != null) {
-            AtlasType attrType = attribute.getAttributeType();
-
-            if (value == null) {
-                if (!attributeDef.getIsOptional()) {
-                    return attrType.createDefaultValue();
-                }
-            } else {
-                return attrType.getNormalizedValue(value);
-            }
-        }
-
-        return null;
-    }
-
-    private Object getNormalizedValueForUpdate(Object value, AtlasAttributeDef attributeDef) {
-        AtlasAttribute attribute = allAttributes.get(attributeDef.getName());
-
-        if (attribute != null) {
-            AtlasType attrType = attribute.getAttributeType();
-
-            if (value != null) {
-                return attrType.getNormalizedValueForUpdate(value);
-            }
-        }
-
-        return null;
-    }
-
     public String getVertexPropertyName(String attrName) throws AtlasBaseException {
         AtlasAttribute attribute = getAttribute(attrName);
 
@@ -696,6 +603,20 @@ public class AtlasStructType extends AtlasType {
         return Collections.unmodifiableMap(ret);
     }
 
+    private void resolveAttributeSlots() {
+        List<AttributeSlot> slots = new ArrayList<>(structDef.getAttributeDefs().size());
+
+        for (AtlasAttributeDef attributeDef : structDef.getAttributeDefs()) {
+            AtlasAttribute attribute = allAttributes.get(attributeDef.getName());
+
+            if (attribute != null) {
+                slots.add(new AttributeSlot(attribute));
+            }
+        }
+
+        this.attributeSlots = slots.toArray(new AttributeSlot[slots.size()]);
+    }
+
     private AtlasStruct getStructFromValue(Object val) {
         final AtlasStruct ret;
 
@@ -718,6 +639,55 @@ public class AtlasStructType extends AtlasType {
         return ret;
     }
 
+    /**
+     * An attribute with its definition and type resolved, to validate/normalize values without lookups by name.
+     */
+    private static final class AttributeSlot {
+        final String            name;
+        final AtlasAttributeDef attributeDef;
+        final AtlasType         attributeType;
+        final boolean           isOptional;
+        final boolean           isPrimitive; // validateValue() of primitive and enum types only calls isValidValue()
+
+        AttributeSlot(AtlasAttribute attribute) {
+            TypeCategory typeCategory = attribute.getAttributeType().getTypeCategory();
+
+            this.name          = attribute.getName();
+            this.attributeDef  = attribute.getAttributeDef();
+            this.attributeType = attribute.getAttributeType();
+            this.isOptional    = attributeDef.getIsOptional();
+            this.isPrimitive   = typeCategory == TypeCategory.PRIMITIVE || typeCategory == TypeCategory.ENUM;
+        }
+
+        boolean isValidPrimitiveValue(Object value) {
+            return isPrimitive && attributeType.isValidValue(value);
+        }
+
+        boolean isAssignableValue(Object value) {
+            if (value == null) {
+                return isOptional; // mandatory attribute not present
+            }
+
+            return attributeType.isValidValue(value);
+        }
+
+        Object getNormalizedValue(Object value) {
+            if (value == null) {
+                return isOptional ? null : attributeType.createDefaultValue();
+            }
+
+            return attributeType.getNormalizedValue(value);
+        }
+
+        Object getNormalizedValueForUpdate(Object value) {
+            return value != null ? attributeType.getNormalizedValueForUpdate(value) : null;
+        }
+
+        Object createDefaultValue() {
+            return attributeType.createDefaultValue(attributeDef.getDefaultValue());
+        }
+    }
+
     public static class AtlasAttribute {
         public static final Object VERTEX_PROPERTY_PREFIX_STRING_INDEX_TYPE = "__s_";
         private final AtlasStructType          definedInType;
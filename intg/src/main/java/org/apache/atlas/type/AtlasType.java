@@ -26,6 +26,8 @@ import org.apache.atlas.utils.AtlasJson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -154,4 +156,16 @@ public abstract class AtlasType {
     public static <T> T fromV1Json(String jsonStr, TypeReference<T> type) {
         return AtlasJson.fromV1Json(jsonStr, type);
     }
+
+    public static <T> T fromV1Json(InputStream inputStream, TypeReference<T> type) throws IOException {
+        return AtlasJson.fromV1Json(inputStream, type);
+    }
+
+    public static byte[] toV1JsonBytes(Object obj) {
+        return AtlasJson.toV1JsonBytes(obj);
+    }
+
+    public static <T> T fromV1Json(byte[] jsonBytes, int offset, int length, TypeReference<T> type) {
+        return AtlasJson.fromV1Json(jsonBytes, offset, length, type);
+    }
 }
@@ -20,10 +20,12 @@ package org.apache.atlas.utils;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.apache.atlas.model.discovery.AtlasSearchResult.AtlasFullTextResult;
 import org.apache.atlas.model.notification.EntityNotification;
 import org.apache.atlas.model.notification.EntityNotification.EntityNotificationType;
@@ -183,6 +185,54 @@ public class AtlasJson {
         return fromJson(jsonStr, type);
     }
 
+    public static byte[] toV1JsonBytes(Object obj) {
+        byte[] ret;
+
+        try {
+            ret = mapper.writeValueAsBytes(obj);
+        } catch (IOException e) {
+            LOG.error("AtlasJson.toV1JsonBytes()", e);
+
+            ret = null;
+        }
+
+        return ret;
+    }
+
+    public static <T> T fromV1Json(byte[] jsonBytes, int offset, int length, TypeReference<T> type) {
+        T ret = null;
+
+        if (jsonBytes != null) {
+            try {
+                ret = mapper.readValue(jsonBytes, offset, length, type);
+
+                if (ret instanceof Struct) {
+                    ((Struct) ret).normalize();
+                }
+            } catch (IOException e) {
+                LOG.error("AtlasJson.fromV1Json()", e);
+
+                ret = null;
+            }
+        }
+
+        return ret;
+    }
+
+    public static <T> T fromV1Json(InputStream inputStream, TypeReference<T> type) throws IOException {
+        T ret = null;
+
+        if (inputStream != null) {
+            ret = mapper.readValue(inputStream, type);
+
+            if (ret instanceof Struct) {
+                ((Struct) ret).normalize();
+            }
+        }
+
+        return ret;
+    }
+
     public static String toV1SearchJson(Object obj) {
         String ret;
         try {
@@ -336,53 +386,98 @@ public class AtlasJson {
         }
     }
 
+    /**
+     * Deserializes HookNotification in a single pass, without building a tree of the message: fields that appear
+     * before "type" (usually none) are buffered, and the rest is read directly into the class for the type.
+     */
     static class HookNotificationDeserializer extends JsonDeserializer<HookNotification> {
         @Override
         public HookNotification deserialize(JsonParser parser, DeserializationContext context) throws IOException {
-            HookNotification     ret              = null;
-            ObjectCodec          mapper           = parser.getCodec();
-            TreeNode             root             = mapper.readTree(parser);
-            JsonNode             typeNode         = root != null ? (JsonNode) root.get("type") : null;
-            String               strType          = typeNode != null ? typeNode.asText() : null;
-            HookNotificationType notificationType = strType != null ? HookNotificationType.valueOf(strType) : null;
+            TokenBuffer buffer = null;
+            JsonToken   token  = parser.getCurrentToken();
+
+            if (token == JsonToken.START_OBJECT) {
+                token = parser.nextToken();
+            }
+
+            for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String fieldName = parser.getCurrentName();
+
+                parser.nextToken();
+
+                if ("type".equals(fieldName)) {
+                    String                            strType           = parser.getValueAsString();
+                    HookNotificationType              notificationType  = strType != null ? HookNotificationType.valueOf(strType) : null;
+                    Class<? extends HookNotification> notificationClass = getNotificationClass(notificationType);
+
+                    if (notificationClass != null) {
+                        if (buffer != null) {
+                            parser.clearCurrentToken();
+
+                            parser = JsonParserSequence.createFlattened(false, buffer.asParser(parser), parser);
+                        }
+
+                        parser.nextToken(); // move to the field after "type"
+
+                        HookNotification ret = context.readValue(parser, notificationClass);
+
+                        ret.setType(notificationType);
+
+                        return ret;
+                    }
+                } else {
+                    if (buffer == null) {
+                        buffer = new TokenBuffer(parser, context);
+                    }
+
+                    buffer.writeFieldName(fieldName);
+                    buffer.copyCurrentStructure(parser);
+                }
+            }
+
+            return null;
+        }
+
+        private static Class<? extends HookNotification> getNotificationClass(HookNotificationType notificationType) {
+            Class<? extends HookNotification> ret = null;
 
             if (notificationType != null) {
                 switch (notificationType) {
                     case TYPE_CREATE:
                     case TYPE_UPDATE:
-                        ret = mapper.treeToValue(root, TypeRequest.class);
+                        ret = TypeRequest.class;
                         break;
 
                     case ENTITY_CREATE:
-                        ret = mapper.treeToValue(root, EntityCreateRequest.class);
+                        ret = EntityCreateRequest.class;
                         break;
 
                     case ENTITY_PARTIAL_UPDATE:
-                        ret = mapper.treeToValue(root, EntityPartialUpdateRequest.class);
+                        ret = EntityPartialUpdateRequest.class;
                         break;
 
                     case ENTITY_FULL_UPDATE:
-                        ret = mapper.treeToValue(root, EntityUpdateRequest.class);
+                        ret = EntityUpdateRequest.class;
                         break;
 
                     case ENTITY_DELETE:
-                        ret = mapper.treeToValue(root, EntityDeleteRequest.class);
+                        ret = EntityDeleteRequest.class;
                         break;
 
                     case ENTITY_CREATE_V2:
-                        ret = mapper.treeToValue(root, EntityCreateRequestV2.class);
+                        ret = EntityCreateRequestV2.class;
                         break;
 
                     case ENTITY_PARTIAL_UPDATE_V2:
-                        ret = mapper.treeToValue(root, EntityPartialUpdateRequestV2.class);
+                        ret = EntityPartialUpdateRequestV2.class;
                         break;
 
                     case ENTITY_FULL_UPDATE_V2:
-                        ret = mapper.treeToValue(root, EntityUpdateRequestV2.class);
+                        ret = EntityUpdateRequestV2.class;
                         break;
 
                     case ENTITY_DELETE_V2:
-                        ret = mapper.treeToValue(root, EntityDeleteRequestV2.class);
+                        ret = EntityDeleteRequestV2.class;
                         break;
                 }
             }
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.model.instance;
+
+import org.apache.atlas.type.AtlasType;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+
+public class TestAtlasCompactAttributeMap {
+    @BeforeClass
+    public void setup() {
+        // compact attributes are disabled by default; enabled for tests in this class only
+        AtlasCompactAttributeMap.setEnabled(true);
+    }
+
+    @AfterClass
+    public void cleanup() {
+        AtlasCompactAttributeMap.setEnabled(null);
+    }
+
+    @Test
+    public void testMapOperations() {
+        AtlasCompactAttributeMap map      = new AtlasCompactAttributeMap();
+        Map<String, Object>      expected = new HashMap<>();
+
+        for (int i = 0; i < 20; i++) {
+            Object value = (i % 4 == 0) ? Long.valueOf(i * 100000L) : (i % 4 == 1) ? Integer.valueOf(-i * 1000) : (i % 4 == 2) ? (i % 3 == 0) : "value-" + i;
+
+            assertNull(map.put("attr" + i, value));
+
+            expected.put("attr" + i, value);
+        }
+
+        assertEquals(map, expected);
+        assertEquals(expected, map);
+        assertEquals(map.hashCode(), expected.hashCode());
+        assertEquals(map.get("attr4"), 400000L);
+        assertEquals(map.get("attr5"), -5000);
+        assertTrue(map.containsKey("attr19"));
+        assertFalse(map.containsKey("attr20"));
+
+        assertEquals(map.put("attr4", "updated"), 400000L);
+        assertEquals(map.remove("attr5"), -5000);
+        assertNull(map.remove("attr5"));
+
+        expected.put("attr4", "updated");
+        expected.remove("attr5");
+
+        assertEquals(map, expected);
+
+        map.put("attr4", null);
+
+        assertTrue(map.containsKey("attr4"));
+        assertNull(map.get("attr4"));
+
+        for (Iterator<Map.Entry<String, Object>> iter = map.entrySet().iterator(); iter.hasNext(); ) {
+            Map.Entry<String, Object> entry = iter.next();
+
+            if (entry.getValue() == null) {
+                iter.remove();
+            } else if (entry.getValue() instanceof Long) {
+                entry.setValue((Long) entry.getValue() + 1);
+            }
+        }
+
+        assertFalse(map.containsKey("attr4"));
+        assertEquals(map.size(), 18);
+        assertEquals(map.get("attr8"), 800001L);
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testNamesAreShared() {
+        AtlasCompactAttributeMap map1 = new AtlasCompactAttributeMap();
+        AtlasCompactAttributeMap map2 = new AtlasCompactAttributeMap();
+
+        map1.put(new String("qualifiedName"), "db1@cl1");
+        map2.put(new String("qualifiedName"), "db2@cl1");
+
+        assertSame(map1.keySet().iterator().next(), map2.keySet().iterator().next());
+    }
+
+    @Test
+    public void testJavaSerialization() throws Exception {
+        AtlasCompactAttributeMap map = new AtlasCompactAttributeMap();
+
+        map.put("name", "db1");
+        map.put("createTime", 1594067220000L);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(in.readObject(), map);
+        }
+    }
+
+    @Test
+    public void testEntitySerDe() {
+        assertTrue(AtlasCompactAttributeMap.isEnabled());
+
+        AtlasEntity entity = new AtlasEntity("hive_table");
+
+        entity.setAttribute("name", "table1");
+        entity.setAttribute("createTime", 1594067220000L);
+        entity.setAttribute("retention", 0);
+        entity.setAttribute("temporary", false);
+        entity.setAttribute("columns", Arrays.asList(new AtlasObjectId("hive_column", "qualifiedName", "table1.col1")));
+        entity.setRelationshipAttribute("db", new AtlasObjectId("hive_db", "qualifiedName", "db1@cl1"));
+
+        AtlasEntity entity2 = AtlasType.fromJson(AtlasType.toJson(entity), AtlasEntity.class);
+
+        assertTrue(entity2.getAttributes() instanceof AtlasCompactAttributeMap);
+        assertTrue(entity2.getRelationshipAttributes() instanceof AtlasCompactAttributeMap);
+        assertEquals(entity2.getAttribute("name"), "table1");
+        assertEquals(entity2.getAttribute("createTime"), 1594067220000L);
+        assertEquals(entity2.getAttribute("retention"), 0);
+        assertEquals(entity2.getAttribute("temporary"), false);
+        assertEquals(AtlasType.fromJson(AtlasType.toJson(entity2), Map.class), AtlasType.fromJson(AtlasType.toJson(entity), Map.class));
+    }
+}
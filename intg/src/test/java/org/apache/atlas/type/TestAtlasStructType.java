@@ -18,6 +18,7 @@
 package org.apache.atlas.type;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -181,6 +182,30 @@ public class TestAtlasStructType {
         }
     }
 
+    @Test
+    public void testStructTypeValidateValueMessages() {
+        List<String> messages = new ArrayList<>();
+        AtlasStruct  value    = structType.createDefaultValue();
+        String       intAttr  = ModelTestUtil.getDefaultAttributeName(ATLAS_TYPE_INT);
+
+        value.setAttribute(intAttr, "xyz");
+
+        assertFalse(structType.validateValue(value, "testObj", messages));
+        assertEquals(messages.size(), 1);
+        assertTrue(messages.get(0).startsWith("testObj." + intAttr + "=xyz"), messages.get(0));
+
+        messages.clear();
+
+        value.setAttribute(intAttr, null);
+
+        assertFalse(structType.validateValue(value, "testObj", messages));
+        assertEquals(messages, Collections.singletonList("testObj." + intAttr + ": mandatory attribute value missing in type " + structType.getTypeName()));
+
+        structType.normalizeAttributeValues(value);
+
+        assertEquals(value.getAttribute(intAttr), 0);
+    }
+
     @Test
     public void testInvalidStructDef_MultiValuedAttributeNotArray() {
         AtlasAttributeDef invalidMultiValuedAttrib = new AtlasAttributeDef("invalidAttributeDef", ATLAS_TYPE_INT);
@@ -78,7 +78,9 @@ public class AtlasKafkaConsumer<T> extends AbstractNotificationConsumer<T> {
                 T message = null;
 
                 try {
-                    message = deserializer.deserialize(record.value().toString());
+                    Object value = record.value();
+
+                    message = value instanceof byte[] ? deserializer.deserialize((byte[]) value) : deserializer.deserialize(value.toString());
                 } catch (OutOfMemoryError excp) {
                     LOG.error("Ignoring message that failed to deserialize: topic={}, partition={}, offset={}, key={}, value={}",
                               record.topic(), record.partition(), record.offset(), record.key(), record.value(), excp);
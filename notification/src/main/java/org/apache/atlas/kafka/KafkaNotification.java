@@ -21,6 +21,7 @@ import com.google.common.annotations.VisibleForTesting;
 import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasConfiguration;
 import org.apache.atlas.AtlasException;
+import org.apache.atlas.model.notification.AtlasNotificationBinaryMessage;
 import org.apache.atlas.notification.AbstractNotification;
 import org.apache.atlas.notification.NotificationConsumer;
 import org.apache.atlas.notification.NotificationException;
@@ -78,6 +79,7 @@ public class KafkaNotification extends AbstractNotification implements Service {
     private   static final String[] ATLAS_ENTITIES_CONSUMER_TOPICS = AtlasConfiguration.NOTIFICATION_ENTITIES_CONSUMER_TOPIC_NAMES.getStringArray(ATLAS_ENTITIES_TOPIC);
 
     private static final String DEFAULT_CONSUMER_CLOSED_ERROR_MESSAGE = "This consumer has already been closed.";
+    private static final String DEFAULT_BINARY_FORMAT_COMPRESSION_TYPE = "lz4";
 
     private static final Map<NotificationType, String> PRODUCER_TOPIC_MAP = new HashMap<NotificationType, String>() {
         {
@@ -122,11 +124,22 @@ public class KafkaNotification extends AbstractNotification implements Service {
 
         //Override default configs
         properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringSerializer");
         properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringDeserializer");
-        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringDeserializer");
+        // values are received as bytes, so that messages in both json and binary formats can be consumed
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.ByteArrayDeserializer");
         properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
 
+        if (isBinaryFormat()) {
+            properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.ByteArraySerializer");
+
+            // binary messages are not compressed by Atlas (except large ones); use Kafka compression unless configured otherwise
+            if (StringUtils.isEmpty(properties.getProperty(ProducerConfig.COMPRESSION_TYPE_CONFIG))) {
+                properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, DEFAULT_BINARY_FORMAT_COMPRESSION_TYPE);
+            }
+        } else {
+            properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringSerializer");
+        }
+
         boolean oldApiCommitEnableFlag = kafkaConf.getBoolean("auto.commit.enable", false);
 
         //set old autocommit value if new autoCommit property is not set.
@@ -259,21 +272,49 @@ public class KafkaNotification extends AbstractNotification implements Service {
     // ----- AbstractNotification --------------------------------------------
     @Override
     public void sendInternal(NotificationType notificationType, List<String> messages) throws NotificationException {
+        sendInternal(notificationType, messages, null);
+    }
+
+    @Override
+    public void sendInternal(NotificationType notificationType, List<String> messages, List<String> msgKeys) throws NotificationException {
         KafkaProducer producer = getOrCreateProducer(notificationType);
 
-        sendInternalToProducer(producer, notificationType, messages);
+        sendInternalToProducer(producer, notificationType, messages, msgKeys);
     }
 
     @VisibleForTesting
     void sendInternalToProducer(Producer p, NotificationType notificationType, List<String> messages) throws NotificationException {
+        sendInternalToProducer(p, notificationType, messages, null);
+    }
+
+    @Override
+    protected void sendBinaryInternal(NotificationType notificationType, List<byte[]> messages, List<String> msgKeys) throws NotificationException {
+        KafkaProducer producer = getOrCreateProducer(notificationType);
+
+        sendBinaryInternalToProducer(producer, notificationType, messages, msgKeys);
+    }
+
+    @VisibleForTesting
+    void sendInternalToProducer(Producer p, NotificationType notificationType, List<String> messages, List<String> msgKeys) throws NotificationException {
+        sendToProducer(p, notificationType, messages, msgKeys);
+    }
+
+    @VisibleForTesting
+    void sendBinaryInternalToProducer(Producer p, NotificationType notificationType, List<byte[]> messages, List<String> msgKeys) throws NotificationException {
+        sendToProducer(p, notificationType, messages, msgKeys);
+    }
+
+    private void sendToProducer(Producer p, NotificationType notificationType, List<?> messages, List<String> msgKeys) throws NotificationException {
         String               topic           = PRODUCER_TOPIC_MAP.get(notificationType);
         List<MessageContext> messageContexts = new ArrayList<>();
 
-        for (String message : messages) {
-            ProducerRecord record = new ProducerRecord(topic, message);
+        for (int i = 0; i < messages.size(); i++) {
+            Object         message = messages.get(i);
+            String         msgKey  = msgKeys != null ? msgKeys.get(i) : null;
+            ProducerRecord record  = new ProducerRecord(topic, msgKey, message);
 
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Sending message for topic {}: {}", topic, message);
+                LOG.debug("Sending message for topic {}: key={}, message={}", topic, msgKey, toMessageString(message));
             }
 
             Future future = p.send(record);
@@ -294,7 +335,7 @@ public class KafkaNotification extends AbstractNotification implements Service {
             } catch (Exception e) {
                 lastFailureException = e;
 
-                failedMessages.add(context.getMessage());
+                failedMessages.add(toMessageString(context.getMessage()));
             }
         }
 
@@ -381,11 +422,16 @@ public class KafkaNotification extends AbstractNotification implements Service {
         return ret.toArray(new String[ret.size()]);
     }
 
+    // binary messages are logged/reported with their payload, which is json unless the message is compressed
+    private static String toMessageString(Object message) {
+        return message instanceof byte[] ? AtlasNotificationBinaryMessage.decode((byte[]) message).getPayloadString() : (String) message;
+    }
+
     private class MessageContext {
         private final Future<RecordMetadata> future;
-        private final String                 message;
+        private final Object                 message;
 
-        public MessageContext(Future<RecordMetadata> future, String message) {
+        public MessageContext(Future<RecordMetadata> future, Object message) {
             this.future  = future;
             this.message = message;
         }
@@ -394,7 +440,7 @@ public class KafkaNotification extends AbstractNotification implements Service {
             return future;
         }
 
-        public String getMessage() {
+        public Object getMessage() {
             return message;
         }
     }
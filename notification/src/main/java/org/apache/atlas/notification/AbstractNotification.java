@@ -20,6 +20,7 @@ package org.apache.atlas.notification;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.model.notification.AtlasNotificationBaseMessage;
+import org.apache.atlas.model.notification.AtlasNotificationBinaryMessage;
 import org.apache.atlas.model.notification.AtlasNotificationMessage;
 import org.apache.atlas.model.notification.AtlasNotificationStringMessage;
 import org.apache.atlas.model.notification.AtlasNotificationBaseMessage.CompressionKind;
@@ -57,6 +58,24 @@ public abstract class AbstractNotification implements NotificationInterface {
 
     public static final int MAX_BYTES_PER_CHAR = 4;  // each char can encode upto 4 bytes in UTF-8
 
+    /**
+     * Set to true to send messages with keys computed by the configured MessageKeyStrategy. Disabled by default, as
+     * keys change how messages are distributed across partitions of existing topics
+     */
+    public static final String MESSAGE_KEY_ENABLED_PROPERTY  = PROPERTY_PREFIX + ".message.key.enabled";
+
+    /**
+     * Class name of the MessageKeyStrategy used to compute keys of messages, when keys are enabled
+     */
+    public static final String MESSAGE_KEY_STRATEGY_PROPERTY = PROPERTY_PREFIX + ".message.key.strategy";
+
+    /**
+     * Wire format of messages sent: json (default) or binary. Consumers accept messages in either format
+     */
+    public static final String MESSAGE_FORMAT_PROPERTY = PROPERTY_PREFIX + ".message.format";
+    public static final String MESSAGE_FORMAT_JSON     = "json";
+    public static final String MESSAGE_FORMAT_BINARY   = "binary";
+
     /**
      * IP address of the host in which this process has started
      */
@@ -67,26 +86,56 @@ public abstract class AbstractNotification implements NotificationInterface {
      */
     private static String currentUser = "";
 
+    private final MessageKeyStrategy messageKeyStrategy;
+    private final boolean            isBinaryFormat;
+
     // ----- Constructors ----------------------------------------------------
 
     public AbstractNotification(Configuration applicationProperties) throws AtlasException {
+        this.messageKeyStrategy = createMessageKeyStrategy(applicationProperties);
+        this.isBinaryFormat     = isBinaryFormatEnabled(applicationProperties);
     }
 
     @VisibleForTesting
     protected AbstractNotification() {
+        this.messageKeyStrategy = null;
+        this.isBinaryFormat     = false;
     }
 
     // ----- NotificationInterface -------------------------------------------
 
     @Override
     public <T> void send(NotificationType type, List<T> messages) throws NotificationException {
-        List<String> strMessages = new ArrayList<>(messages.size());
+        List<String> strMessages = isBinaryFormat ? null : new ArrayList<>(messages.size());
+        List<byte[]> binMessages = isBinaryFormat ? new ArrayList<>(messages.size()) : null;
+        List<String> msgKeys     = messageKeyStrategy != null ? new ArrayList<>(messages.size()) : null;
 
         for (int index = 0; index < messages.size(); index++) {
-            createNotificationMessages(messages.get(index), strMessages);
+            T   message     = messages.get(index);
+            int idxFirstMsg = isBinaryFormat ? binMessages.size() : strMessages.size();
+
+            if (isBinaryFormat) {
+                createBinaryNotificationMessages(message, binMessages);
+            } else {
+                createNotificationMessages(message, strMessages);
+            }
+
+            if (msgKeys != null) {
+                String msgKey   = messageKeyStrategy.getKey(type, message);
+                int    msgCount = isBinaryFormat ? binMessages.size() : strMessages.size();
+
+                // all parts of a split message use the same key, so that they are received in order by the same consumer
+                for (int i = idxFirstMsg; i < msgCount; i++) {
+                    msgKeys.add(msgKey);
+                }
+            }
         }
 
-        sendInternal(type, strMessages);
+        if (isBinaryFormat) {
+            sendBinaryInternal(type, binMessages, msgKeys);
+        } else {
+            sendInternal(type, strMessages, msgKeys);
+        }
     }
 
     @Override
@@ -110,6 +159,34 @@ public abstract class AbstractNotification implements NotificationInterface {
      */
     protected abstract void sendInternal(NotificationType type, List<String> messages) throws NotificationException;
 
+    /**
+     * Send the given messages with the given keys. Implementations that don't support message keys ignore the keys.
+     *
+     * @param type      the message type
+     * @param messages  the array of messages to send
+     * @param msgKeys   keys of the messages, in the same order as messages; null if messages have no keys
+     *
+     * @throws NotificationException if an error occurs while sending
+     */
+    protected void sendInternal(NotificationType type, List<String> messages, List<String> msgKeys) throws NotificationException {
+        sendInternal(type, messages);
+    }
+
+    /**
+     * Send the given messages in binary format. Called instead of sendInternal() when binary format is configured.
+     *
+     * @param type      the message type
+     * @param messages  the messages to send, created by createBinaryNotificationMessages()
+     * @param msgKeys   keys of the messages, in the same order as messages; null if messages have no keys
+     *
+     * @throws NotificationException if an error occurs while sending
+     */
+    protected abstract void sendBinaryInternal(NotificationType type, List<byte[]> messages, List<String> msgKeys) throws NotificationException;
+
+    protected boolean isBinaryFormat() {
+        return isBinaryFormat;
+    }
+
 
     // ----- utility methods -------------------------------------------------
 
@@ -119,6 +196,46 @@ public abstract class AbstractNotification implements NotificationInterface {
         return AtlasType.toV1Json(notificationMsg);
     }
 
+    private static MessageKeyStrategy createMessageKeyStrategy(Configuration applicationProperties) {
+        if (applicationProperties == null || !applicationProperties.getBoolean(MESSAGE_KEY_ENABLED_PROPERTY, false)) {
+            LOG.info("{}=false: notification messages will be sent without key", MESSAGE_KEY_ENABLED_PROPERTY);
+
+            return null;
+        }
+
+        String className = applicationProperties.getString(MESSAGE_KEY_STRATEGY_PROPERTY, EntityMessageKeyStrategy.class.getName());
+
+        if (StringUtils.isBlank(className)) {
+            LOG.info("{} not set: notification messages will be sent without key", MESSAGE_KEY_STRATEGY_PROPERTY);
+
+            return null;
+        }
+
+        try {
+            return (MessageKeyStrategy) Class.forName(className.trim()).newInstance();
+        } catch (Exception excp) {
+            LOG.error("failed to create message key strategy {}. Using {}", className, EntityMessageKeyStrategy.class.getName(), excp);
+
+            return new EntityMessageKeyStrategy();
+        }
+    }
+
+    private static boolean isBinaryFormatEnabled(Configuration applicationProperties) {
+        String format = applicationProperties != null ? applicationProperties.getString(MESSAGE_FORMAT_PROPERTY, MESSAGE_FORMAT_JSON) : MESSAGE_FORMAT_JSON;
+
+        if (!MESSAGE_FORMAT_BINARY.equalsIgnoreCase(StringUtils.trim(format))) {
+            if (!MESSAGE_FORMAT_JSON.equalsIgnoreCase(StringUtils.trim(format))) {
+                LOG.warn("{}: invalid value '{}'. Messages will be sent in {} format", MESSAGE_FORMAT_PROPERTY, format, MESSAGE_FORMAT_JSON);
+            }
+
+            return false;
+        }
+
+        LOG.info("notification messages will be sent in {} format", MESSAGE_FORMAT_BINARY);
+
+        return true;
+    }
+
     private static String getHostAddress() {
         if (StringUtils.isEmpty(localHostAddress)) {
             try {
@@ -214,6 +331,54 @@ public abstract class AbstractNotification implements NotificationInterface {
         }
     }
 
+    /**
+     * Create binary notification messages for the given object. Messages larger than the length limit are compressed,
+     * if compression is enabled, and then split into multiple messages if still larger than the limit.
+     *
+     * @param message      the message in object form
+     * @param msgBytesList list to add the binary messages to
+     */
+    public static void createBinaryNotificationMessages(Object message, List<byte[]> msgBytesList) {
+        AtlasNotificationMessage<?> notificationMsg = new AtlasNotificationMessage<>(CURRENT_MESSAGE_VERSION, message, getHostAddress(), getCurrentUser());
+        byte[]                      msgBytes        = AtlasType.toV1JsonBytes(notificationMsg);
+
+        if (msgBytes.length <= MESSAGE_MAX_LENGTH_BYTES) {
+            msgBytesList.add(AtlasNotificationBinaryMessage.encode(msgBytes, 0, msgBytes.length, null, CompressionKind.NONE, 0, 1));
+
+            return;
+        }
+
+        String          msgId           = getNextMessageId();
+        CompressionKind compressionKind = CompressionKind.NONE;
+
+        if (MESSAGE_COMPRESSION_ENABLED) {
+            byte[] compressedBytes = AtlasNotificationBaseMessage.gzipCompress(msgBytes);
+
+            LOG.info("Compressed large message: msgID={}, uncompressed={} bytes, compressed={} bytes", msgId, msgBytes.length, compressedBytes.length);
+
+            msgBytes        = compressedBytes;
+            compressionKind = CompressionKind.GZIP;
+        }
+
+        int splitCount = msgBytes.length / MESSAGE_MAX_LENGTH_BYTES;
+
+        if ((msgBytes.length % MESSAGE_MAX_LENGTH_BYTES) != 0) {
+            splitCount++;
+        }
+
+        for (int i = 0, offset = 0; i < splitCount; i++) {
+            int length = Math.min(MESSAGE_MAX_LENGTH_BYTES, msgBytes.length - offset);
+
+            msgBytesList.add(AtlasNotificationBinaryMessage.encode(msgBytes, offset, length, msgId, compressionKind, i, splitCount));
+
+            offset += length;
+        }
+
+        if (splitCount > 1) {
+            LOG.info("Split large message: msgID={}, splitCount={}, length={} bytes", msgId, splitCount, msgBytes.length);
+        }
+    }
+
     private static String getNextMessageId() {
         String nextMsgIdPrefix = msgIdPrefix;
         int    nextMsgIdSuffix = msgIdSuffix.getAndIncrement();
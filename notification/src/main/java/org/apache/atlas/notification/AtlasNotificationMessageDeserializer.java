@@ -18,23 +18,35 @@
 
 package org.apache.atlas.notification;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.atlas.model.notification.AtlasNotificationBaseMessage;
 import org.apache.atlas.model.notification.AtlasNotificationBaseMessage.CompressionKind;
+import org.apache.atlas.model.notification.AtlasNotificationBinaryMessage;
 import org.apache.atlas.model.notification.AtlasNotificationMessage;
 import org.apache.atlas.model.notification.AtlasNotificationStringMessage;
 import org.apache.atlas.type.AtlasType;
 import org.apache.atlas.model.notification.MessageVersion;
+import org.apache.atlas.utils.AtlasJson;
+import org.apache.commons.codec.binary.Base64InputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 import static org.apache.atlas.AtlasConfiguration.NOTIFICATION_SPLIT_MESSAGE_BUFFER_PURGE_INTERVAL_SECONDS;
 import static org.apache.atlas.AtlasConfiguration.NOTIFICATION_SPLIT_MESSAGE_SEGMENTS_WAIT_TIME_SECONDS;
@@ -108,135 +120,92 @@ public abstract class AtlasNotificationMessageDeserializer<T> implements Message
         messageCountTotal.incrementAndGet();
         messageCountSinceLastInterval.incrementAndGet();
 
-        AtlasNotificationBaseMessage msg = AtlasType.fromV1Json(messageJson, AtlasNotificationBaseMessage.class);
+        try (JsonParser parser = AtlasJson.getMapper().getFactory().createParser(messageJson)) {
+            ret = readJsonMessage(parser, () -> messageJson);
+        } catch (IOException excp) {
+            LOG.error("failed to read notification message. Ignoring message", excp);
 
-        if (msg == null || msg.getVersion() == null) { // older style messages not wrapped with AtlasNotificationMessage
-            ret = AtlasType.fromV1Json(messageJson, messageType);
-        } else  {
-            String msgJson = messageJson;
-
-            if (msg.getMsgSplitCount() > 1) { // multi-part message
-                AtlasNotificationStringMessage splitMsg = AtlasType.fromV1Json(msgJson, AtlasNotificationStringMessage.class);
-
-                checkVersion(splitMsg, msgJson);
-
-                String msgId = splitMsg.getMsgId();
-
-                if (StringUtils.isEmpty(msgId)) {
-                    LOG.error("Received multi-part message with no message ID. Ignoring message");
-
-                    msg = null;
-                } else {
-                    final int splitIdx   = splitMsg.getMsgSplitIdx();
-                    final int splitCount = splitMsg.getMsgSplitCount();
-
-                    final SplitMessageAggregator splitMsgs;
-
-                    if (splitIdx == 0) {
-                        splitMsgs = new SplitMessageAggregator(splitMsg);
-
-                        splitMsgBuffer.put(splitMsgs.getMsgId(), splitMsgs);
-                    } else {
-                        splitMsgs = splitMsgBuffer.get(msgId);
-                    }
-
-                    if (splitMsgs == null) {
-                        LOG.error("Received msgID={}: {} of {}, but first message didn't arrive. Ignoring message", msgId, splitIdx + 1, splitCount);
-
-                        msg = null;
-                    } else if (splitMsgs.getTotalSplitCount() <= splitIdx) {
-                        LOG.error("Received msgID={}: {} of {} - out of bounds. Ignoring message", msgId, splitIdx + 1, splitCount);
-
-                        msg = null;
-                    } else {
-                        LOG.info("Received msgID={}: {} of {}", msgId, splitIdx + 1, splitCount);
+            return null;
+        }
 
-                        boolean isReady = splitMsgs.add(splitMsg);
+        purgeStaleMessagesIfNeeded();
 
-                        if (isReady) { // last message
-                            splitMsgBuffer.remove(msgId);
+        return ret;
+    }
 
-                            boolean isValidMessage = true;
+    /**
+     * Deserialize the given message, which can be in binary format or in json format (as UTF-8 bytes). Binary messages
+     * are decoded without converting to String and without base64 decoding.
+     *
+     * @param messageBytes  the message bytes
+     *
+     * @return the deserialized message; null if more parts of a split message are yet to be received
+     */
+    public T deserialize(byte[] messageBytes) {
+        final T ret;
 
-                            StringBuilder sb = new StringBuilder();
+        messageCountTotal.incrementAndGet();
+        messageCountSinceLastInterval.incrementAndGet();
 
-                            for (int i = 0; i < splitMsgs.getTotalSplitCount(); i++) {
-                                splitMsg = splitMsgs.get(i);
+        if (!AtlasNotificationBinaryMessage.isBinaryMessage(messageBytes)) {
+            try (JsonParser parser = AtlasJson.getMapper().getFactory().createParser(messageBytes)) {
+                ret = readJsonMessage(parser, () -> AtlasNotificationBaseMessage.getStringUtf8(messageBytes));
+            } catch (IOException excp) {
+                LOG.error("failed to read notification message. Ignoring message", excp);
 
-                                if (splitMsg == null) {
-                                    LOG.warn("MsgID={}: message {} of {} is missing. Ignoring message", msgId, i + 1, splitCount);
+                return null;
+            }
 
-                                    isValidMessage = false;
+            purgeStaleMessagesIfNeeded();
 
-                                    break;
-                                }
+            return ret;
+        }
 
-                                sb.append(splitMsg.getMessage());
-                            }
+        final AtlasNotificationBinaryMessage msg;
 
-                            if (isValidMessage) {
-                                msgJson = sb.toString();
+        try {
+            msg = AtlasNotificationBinaryMessage.decode(messageBytes);
+        } catch (IllegalArgumentException excp) {
+            LOG.error("failed to decode binary notification message. Ignoring message", excp);
 
-                                if (CompressionKind.GZIP.equals(splitMsg.getMsgCompressionKind())) {
-                                    byte[] encodedBytes = AtlasNotificationBaseMessage.getBytesUtf8(msgJson);
-                                    byte[] bytes        = AtlasNotificationBaseMessage.decodeBase64AndGzipUncompress(encodedBytes);
+            purgeStaleMessagesIfNeeded();
 
-                                    msgJson = AtlasNotificationBaseMessage.getStringUtf8(bytes);
+            return null;
+        }
 
-                                    LOG.info("Received msgID={}: splitCount={}, compressed={} bytes, uncompressed={} bytes", msgId, splitCount, encodedBytes.length, bytes.length);
-                                } else {
-                                    byte[] encodedBytes = AtlasNotificationBaseMessage.getBytesUtf8(msgJson);
-                                    byte[] bytes        = AtlasNotificationBaseMessage.decodeBase64(encodedBytes);
+        if (msg.getFormatVersion() > AtlasNotificationBinaryMessage.FORMAT_VERSION) {
+            String errMsg = String.format(VERSION_MISMATCH_MSG, "binary format " + AtlasNotificationBinaryMessage.FORMAT_VERSION, "binary format " + msg.getFormatVersion(), msg.getMsgId());
 
-                                    msgJson = AtlasNotificationBaseMessage.getStringUtf8(bytes);
+            notificationLogger.error(errMsg);
 
-                                    LOG.info("Received msgID={}: splitCount={}, length={} bytes", msgId, splitCount, bytes.length);
-                                }
+            throw new IncompatibleVersionException(errMsg);
+        }
 
-                                msg = AtlasType.fromV1Json(msgJson, AtlasNotificationBaseMessage.class);
-                            } else {
-                                msg = null;
-                            }
-                        } else { // more messages to arrive
-                            msg = null;
-                        }
-                    }
-                }
-            }
+        if (msg.getMsgSplitCount() > 1) { // multi-part message
+            SplitMessageAggregator splitMsgs = addSplitMessage(msg);
 
-            if (msg != null) {
-                if (CompressionKind.GZIP.equals(msg.getMsgCompressionKind())) {
-                    AtlasNotificationStringMessage compressedMsg = AtlasType.fromV1Json(msgJson, AtlasNotificationStringMessage.class);
+            ret = splitMsgs != null ? readSplitMessage(splitMsgs) : null; // null: more messages to arrive, or invalid message
+        } else if (CompressionKind.GZIP.equals(msg.getMsgCompressionKind())) {
+            LOG.info("Received msgID={}: compressed={} bytes", msg.getMsgId(), msg.getPayloadLength());
 
-                    byte[] encodedBytes = AtlasNotificationBaseMessage.getBytesUtf8(compressedMsg.getMessage());
-                    byte[] bytes        = AtlasNotificationBaseMessage.decodeBase64AndGzipUncompress(encodedBytes);
+            ret = readCompressedMessage(new ByteArrayInputStream(msg.getBytes(), msg.getPayloadOffset(), msg.getPayloadLength()), msg.getMsgId());
+        } else {
+            AtlasNotificationMessage<T> atlasNotificationMessage = AtlasType.fromV1Json(msg.getBytes(), msg.getPayloadOffset(), msg.getPayloadLength(), notificationMessageType);
 
-                    msgJson = AtlasNotificationBaseMessage.getStringUtf8(bytes);
+            if (atlasNotificationMessage == null) { // fromV1Json() returns null on parse failure
+                LOG.error("msgID={}: failed to read message. Ignoring message", msg.getMsgId());
 
-                    LOG.info("Received msgID={}: compressed={} bytes, uncompressed={} bytes", compressedMsg.getMsgId(), encodedBytes.length, bytes.length);
+                ret = null;
+            } else {
+                if (atlasNotificationMessage.compareVersion(expectedVersion) != 0) { // avoid creating the string, unless needed for logging
+                    checkVersion(atlasNotificationMessage, msg.getPayloadString());
                 }
 
-                AtlasNotificationMessage<T> atlasNotificationMessage = AtlasType.fromV1Json(msgJson, notificationMessageType);
-
-                checkVersion(atlasNotificationMessage, msgJson);
-
                 ret = atlasNotificationMessage.getMessage();
-            } else {
-                ret = null;
             }
         }
 
-
-        long now                = System.currentTimeMillis();
-        long timeSinceLastPurge = now - splitMessagesLastPurgeTime;
-
-        if(timeSinceLastPurge >= splitMessageBufferPurgeIntervalMs) {
-            purgeStaleMessages(splitMsgBuffer, now, splitMessageSegmentsWaitTimeMs);
-
-            LOG.info("Notification processing stats: total={}, sinceLastStatsReport={}", messageCountTotal.get(), messageCountSinceLastInterval.getAndSet(0));
-
-            splitMessagesLastPurgeTime = now;
-        }
+        purgeStaleMessagesIfNeeded();
 
         return ret;
     }
@@ -267,6 +236,7 @@ public abstract class AtlasNotificationMessageDeserializer<T> implements Message
             for (SplitMessageAggregator aggregrator : evictionList) {
                 LOG.error("evicting notification msgID={}, totalSplitCount={}, receivedSplitCount={}", aggregrator.getMsgId(), aggregrator.getTotalSplitCount(), aggregrator.getReceivedSplitCount());
                 splitMsgBuffer.remove(aggregrator.getMsgId());
+                aggregrator.release();
             }
         }
 
@@ -277,6 +247,235 @@ public abstract class AtlasNotificationMessageDeserializer<T> implements Message
 
     // ----- helper methods --------------------------------------------------
 
+    /**
+     * Read json notification message from the given parser in a single pass: envelope attributes are read as they
+     * appear, and the message is deserialized directly from the parser - instead of first reading the envelope and
+     * then parsing the json again for the message.
+     *
+     * @param parser       parser positioned before the start of the message
+     * @param messageJson  supplies the message json; used only to read older style messages and in version mismatch logs
+     *
+     * @return the deserialized message; null if more parts of a split message are yet to be received
+     */
+    private T readJsonMessage(JsonParser parser, Supplier<String> messageJson) throws IOException {
+        ObjectCodec                 codec        = parser.getCodec();
+        AtlasNotificationMessage<T> notification = new AtlasNotificationMessage<>();
+        String                      strMessage   = null;
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "notification message must be a json object");
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String    fieldName = parser.getCurrentName();
+            JsonToken token     = parser.nextToken();
+
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (fieldName) {
+                case "version":
+                    notification.setVersion(codec.readValue(parser, MessageVersion.class));
+                break;
+
+                case "msgId":
+                    notification.setMsgId(parser.getValueAsString());
+                break;
+
+                case "msgCompressionKind":
+                    notification.setMsgCompressed(codec.readValue(parser, CompressionKind.class));
+                break;
+
+                case "msgSplitIdx":
+                    notification.setMsgSplitIdx(parser.getValueAsInt());
+                break;
+
+                case "msgSplitCount":
+                    notification.setMsgSplitCount(parser.getValueAsInt());
+                break;
+
+                case "msgSourceIP":
+                    notification.setMsgSourceIP(parser.getValueAsString());
+                break;
+
+                case "msgCreatedBy":
+                    notification.setMsgCreatedBy(parser.getValueAsString());
+                break;
+
+                case "msgCreationTime":
+                    notification.setMsgCreationTime(parser.getValueAsLong());
+                break;
+
+                case "message":
+                    if (token == JsonToken.VALUE_STRING) { // compressed or split message
+                        strMessage = parser.getText();
+                    } else {
+                        notification.setMessage(codec.readValue(parser, messageType));
+                    }
+                break;
+
+                default:
+                    parser.skipChildren();
+                break;
+            }
+        }
+
+        final T ret;
+
+        if (notification.getVersion() == null) { // older style messages not wrapped with AtlasNotificationMessage
+            ret = AtlasType.fromV1Json(messageJson.get(), messageType);
+        } else if (notification.getMsgSplitCount() > 1) { // multi-part message
+            AtlasNotificationStringMessage splitMsg = new AtlasNotificationStringMessage(strMessage, notification.getMsgId(), notification.getMsgCompressionKind(), notification.getMsgSplitIdx(), notification.getMsgSplitCount());
+
+            splitMsg.setVersion(notification.getVersion());
+
+            checkVersion(splitMsg, messageJson);
+
+            SplitMessageAggregator splitMsgs = addSplitMessage(splitMsg);
+
+            ret = splitMsgs != null ? readSplitMessage(splitMsgs) : null; // null: more messages to arrive, or invalid message
+        } else if (CompressionKind.GZIP.equals(notification.getMsgCompressionKind())) {
+            byte[] encodedBytes = AtlasNotificationBaseMessage.getBytesUtf8(strMessage);
+
+            LOG.info("Received msgID={}: compressed={} bytes", notification.getMsgId(), encodedBytes.length);
+
+            ret = readCompressedMessage(new Base64InputStream(new ByteArrayInputStream(encodedBytes)), notification.getMsgId());
+        } else {
+            checkVersion(notification, messageJson);
+
+            ret = notification.getMessage();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Add the given part of a split message to the buffer.
+     *
+     * @return aggregator with all parts of the message, if the given part is the last one; otherwise null
+     */
+    private SplitMessageAggregator addSplitMessage(AtlasNotificationBaseMessage splitMsg) {
+        final String msgId      = splitMsg.getMsgId();
+        final int    splitIdx   = splitMsg.getMsgSplitIdx();
+        final int    splitCount = splitMsg.getMsgSplitCount();
+
+        if (StringUtils.isEmpty(msgId)) {
+            LOG.error("Received multi-part message with no message ID. Ignoring message");
+
+            return null;
+        }
+
+        final SplitMessageAggregator splitMsgs;
+
+        if (splitIdx == 0) {
+            splitMsgs = new SplitMessageAggregator(splitMsg);
+
+            SplitMessageAggregator prevSplitMsgs = splitMsgBuffer.put(splitMsgs.getMsgId(), splitMsgs);
+
+            if (prevSplitMsgs != null) { // first part received again; discard parts received earlier
+                prevSplitMsgs.release();
+            }
+        } else {
+            splitMsgs = splitMsgBuffer.get(msgId);
+        }
+
+        if (splitMsgs == null) {
+            LOG.error("Received msgID={}: {} of {}, but first message didn't arrive. Ignoring message", msgId, splitIdx + 1, splitCount);
+
+            return null;
+        } else if (splitMsgs.getTotalSplitCount() <= splitIdx) {
+            LOG.error("Received msgID={}: {} of {} - out of bounds. Ignoring message", msgId, splitIdx + 1, splitCount);
+
+            return null;
+        }
+
+        LOG.info("Received msgID={}: {} of {}", msgId, splitIdx + 1, splitCount);
+
+        boolean isReady = splitMsgs.add(splitMsg);
+
+        if (!isReady) { // more messages to arrive
+            return null;
+        }
+
+        splitMsgBuffer.remove(msgId);
+
+        for (int i = 0; i < splitMsgs.getTotalSplitCount(); i++) {
+            if (!splitMsgs.isReceived(i)) {
+                LOG.warn("MsgID={}: message {} of {} is missing. Ignoring message", msgId, i + 1, splitCount);
+
+                splitMsgs.release();
+
+                return null;
+            }
+        }
+
+        return splitMsgs;
+    }
+
+    /**
+     * Read the message reassembled from the parts in the given aggregator, and release the aggregator.
+     */
+    private T readSplitMessage(SplitMessageAggregator splitMsgs) {
+        try {
+            LOG.info("Received msgID={}: splitCount={}, length={} bytes", splitMsgs.getMsgId(), splitMsgs.getTotalSplitCount(), splitMsgs.getLength());
+
+            return readMessage(splitMsgs.getMessageStream(), splitMsgs.getMsgId());
+        } catch (IOException excp) {
+            LOG.error("msgID={}: failed to read split message. Ignoring message", splitMsgs.getMsgId(), excp);
+
+            return null;
+        } finally {
+            splitMsgs.release();
+        }
+    }
+
+    private T readCompressedMessage(InputStream compressedStream, String msgId) {
+        try {
+            return readMessage(new GZIPInputStream(compressedStream), msgId);
+        } catch (IOException excp) {
+            LOG.error("msgID={}: failed to uncompress message. Ignoring message", msgId, excp);
+
+            return null;
+        }
+    }
+
+    /**
+     * Read AtlasNotificationMessage json from the given stream, without building the json string in memory.
+     */
+    private T readMessage(InputStream inputStream, String msgId) {
+        try (InputStream in = inputStream) {
+            AtlasNotificationMessage<T> atlasNotificationMessage = AtlasType.fromV1Json(in, notificationMessageType);
+
+            if (atlasNotificationMessage == null) {
+                LOG.error("msgID={}: message is empty. Ignoring message", msgId);
+
+                return null;
+            }
+
+            checkVersion(atlasNotificationMessage, "msgID=" + msgId);
+
+            return atlasNotificationMessage.getMessage();
+        } catch (IOException | IllegalStateException excp) {
+            LOG.error("msgID={}: failed to read message. Ignoring message", msgId, excp);
+
+            return null;
+        }
+    }
+
+    private void purgeStaleMessagesIfNeeded() {
+        long now                = System.currentTimeMillis();
+        long timeSinceLastPurge = now - splitMessagesLastPurgeTime;
+
+        if(timeSinceLastPurge >= splitMessageBufferPurgeIntervalMs) {
+            purgeStaleMessages(splitMsgBuffer, now, splitMessageSegmentsWaitTimeMs);
+
+            LOG.info("Notification processing stats: total={}, sinceLastStatsReport={}", messageCountTotal.get(), messageCountSinceLastInterval.getAndSet(0));
+
+            splitMessagesLastPurgeTime = now;
+        }
+    }
+
     /**
      * Check the message version against the expected version.
      *
@@ -286,11 +485,15 @@ public abstract class AtlasNotificationMessageDeserializer<T> implements Message
      * @throws IncompatibleVersionException  if the message version is incompatable with the expected version
      */
     protected void checkVersion(AtlasNotificationBaseMessage notificationMessage, String messageJson) {
+        checkVersion(notificationMessage, () -> messageJson);
+    }
+
+    private void checkVersion(AtlasNotificationBaseMessage notificationMessage, Supplier<String> messageJson) {
         int comp = notificationMessage.compareVersion(expectedVersion);
 
         // message has newer version
         if (comp > 0) {
-            String msg = String.format(VERSION_MISMATCH_MSG, expectedVersion, notificationMessage.getVersion(), messageJson);
+            String msg = String.format(VERSION_MISMATCH_MSG, expectedVersion, notificationMessage.getVersion(), messageJson.get());
 
             notificationLogger.error(msg);
 
@@ -299,7 +502,7 @@ public abstract class AtlasNotificationMessageDeserializer<T> implements Message
 
         // message has older version
         if (comp < 0) {
-            notificationLogger.info(String.format(VERSION_MISMATCH_MSG, expectedVersion, notificationMessage.getVersion(), messageJson));
+            notificationLogger.info(String.format(VERSION_MISMATCH_MSG, expectedVersion, notificationMessage.getVersion(), messageJson.get()));
         }
     }
 }
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.notification;
+
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.AtlasObjectId;
+import org.apache.atlas.model.notification.EntityNotification.EntityNotificationV2;
+import org.apache.atlas.model.notification.HookNotification.EntityCreateRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityDeleteRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityPartialUpdateRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityUpdateRequestV2;
+import org.apache.atlas.notification.NotificationInterface.NotificationType;
+import org.apache.atlas.v1.model.instance.Referenceable;
+import org.apache.atlas.v1.model.notification.EntityNotificationV1;
+import org.apache.atlas.v1.model.notification.HookNotificationV1.EntityCreateRequest;
+import org.apache.atlas.v1.model.notification.HookNotificationV1.EntityDeleteRequest;
+import org.apache.atlas.v1.model.notification.HookNotificationV1.EntityPartialUpdateRequest;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
+
+import java.util.List;
+
+import static org.apache.atlas.type.AtlasTypeUtil.ATTRIBUTE_QUALIFIED_NAME;
+
+/**
+ * Keys hook and entity notifications with the qualifiedName of the primary entity in the message - i.e. the first
+ * entity - or with its guid when qualifiedName is not available. Messages for an entity are thereby consumed in
+ * the order they were sent, even when the topic has multiple partitions consumed by multiple threads.
+ */
+public class EntityMessageKeyStrategy implements MessageKeyStrategy {
+    @Override
+    public String getKey(NotificationType notificationType, Object message) {
+        final String ret;
+
+        if (message instanceof EntityCreateRequestV2) {
+            ret = getKey(((EntityCreateRequestV2) message).getEntities());
+        } else if (message instanceof EntityUpdateRequestV2) {
+            ret = getKey(((EntityUpdateRequestV2) message).getEntities());
+        } else if (message instanceof EntityPartialUpdateRequestV2) {
+            ret = getKey(((EntityPartialUpdateRequestV2) message).getEntityId());
+        } else if (message instanceof EntityDeleteRequestV2) {
+            List<AtlasObjectId> objectIds = ((EntityDeleteRequestV2) message).getEntities();
+
+            ret = CollectionUtils.isNotEmpty(objectIds) ? getKey(objectIds.get(0)) : null;
+        } else if (message instanceof EntityCreateRequest) { // includes EntityUpdateRequest
+            List<Referenceable> entities = ((EntityCreateRequest) message).getEntities();
+
+            ret = CollectionUtils.isNotEmpty(entities) ? getKey(entities.get(0)) : null;
+        } else if (message instanceof EntityPartialUpdateRequest) {
+            ret = ((EntityPartialUpdateRequest) message).getAttributeValue();
+        } else if (message instanceof EntityDeleteRequest) {
+            ret = ((EntityDeleteRequest) message).getAttributeValue();
+        } else if (message instanceof EntityNotificationV2) {
+            EntityNotificationV2 notification = (EntityNotificationV2) message;
+
+            if (notification.getEntity() != null) {
+                ret = getKey(notification.getEntity());
+            } else {
+                ret = notification.getRelationship() != null ? notification.getRelationship().getGuid() : null;
+            }
+        } else if (message instanceof EntityNotificationV1) {
+            ret = getKey(((EntityNotificationV1) message).getEntity());
+        } else {
+            ret = null;
+        }
+
+        return ret;
+    }
+
+    private String getKey(AtlasEntitiesWithExtInfo entities) {
+        List<AtlasEntity> entityList = entities != null ? entities.getEntities() : null;
+
+        if (CollectionUtils.isEmpty(entityList) || entityList.get(0) == null) {
+            return null;
+        }
+
+        AtlasEntity entity = entityList.get(0);
+
+        return getKey(entity.getAttribute(ATTRIBUTE_QUALIFIED_NAME), entity.getGuid());
+    }
+
+    private String getKey(AtlasEntityHeader entity) {
+        return getKey(entity.getAttribute(ATTRIBUTE_QUALIFIED_NAME), entity.getGuid());
+    }
+
+    private String getKey(AtlasObjectId objectId) {
+        if (objectId == null) {
+            return null;
+        }
+
+        Object qualifiedName = MapUtils.isNotEmpty(objectId.getUniqueAttributes()) ? objectId.getUniqueAttributes().get(ATTRIBUTE_QUALIFIED_NAME) : null;
+
+        return getKey(qualifiedName, objectId.getGuid());
+    }
+
+    private String getKey(Referenceable entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return getKey(entity.get(ATTRIBUTE_QUALIFIED_NAME), entity.getId() != null ? entity.getId()._getId() : null);
+    }
+
+    private String getKey(Object qualifiedName, String guid) {
+        return qualifiedName != null ? qualifiedName.toString() : guid;
+    }
+}
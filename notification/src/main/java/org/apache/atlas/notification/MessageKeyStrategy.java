@@ -0,0 +1,36 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.notification;
+
+import org.apache.atlas.notification.NotificationInterface.NotificationType;
+
+/**
+ * Strategy to compute the key of notification messages. Messages having the same key are delivered, in order, to
+ * the same partition of the topic; messages with null key are distributed across partitions.
+ * <p>
+ * Implementations must have a no-arg constructor, and are configured with property
+ * atlas.notification.message.key.strategy.
+ */
+public interface MessageKeyStrategy {
+    /**
+     * @param notificationType type of the notification
+     * @param message          the message to be sent
+     * @return key for the message; null if the message need not be ordered with respect to other messages
+     */
+    String getKey(NotificationType notificationType, Object message);
+}
@@ -18,18 +18,82 @@
 package org.apache.atlas.notification;
 
 
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.model.notification.AtlasNotificationBaseMessage;
+import org.apache.atlas.model.notification.AtlasNotificationBaseMessage.CompressionKind;
+import org.apache.atlas.model.notification.AtlasNotificationBinaryMessage;
 import org.apache.atlas.model.notification.AtlasNotificationStringMessage;
+import org.apache.commons.codec.binary.Base64InputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.SequenceInputStream;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_NOTIFY_SPLIT_BUFFERED_BYTES;
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_NOTIFY_SPLIT_BUFFER_MAX_BYTES;
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_NOTIFY_SPLIT_PENDING_MESSAGES;
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_NOTIFY_SPLIT_SPILLED_BYTES;
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_NOTIFY_SPLIT_SPILL_COUNT_TOTAL;
+
+/**
+ * Holds parts of a split message until all parts are received.
+ *
+ * Parts are held as bytes - base64 text of json messages, or payload of binary messages. Bytes held in memory, across
+ * all aggregators in the process, are limited by atlas.notification.split.message.buffer.max.bytes; parts that don't
+ * fit are spilled to a temporary file, which is removed when the aggregator is released. The reassembled message is
+ * read as a stream, without building the complete message in memory.
+ */
 public class SplitMessageAggregator {
-    private final String                           msgId;
-    private final AtlasNotificationStringMessage[] splitMessagesBuffer;
-    private final long                             firstSplitTimestamp;
+    private static final Logger LOG = LoggerFactory.getLogger(SplitMessageAggregator.class);
+
+    private static final File       SPILL_DIRECTORY  = new File(AtlasConfiguration.NOTIFICATION_SPLIT_MESSAGE_SPILL_DIRECTORY.getString());
+    private static final AtomicLong bufferedBytes    = new AtomicLong(0);
+    private static final AtomicLong spilledBytes     = new AtomicLong(0);
+    private static final AtomicLong spillCountTotal  = new AtomicLong(0);
+    private static final AtomicLong pendingMessages  = new AtomicLong(0);
+    private static volatile long    maxBufferedBytes = AtlasConfiguration.NOTIFICATION_SPLIT_MESSAGE_BUFFER_MAX_BYTES.getLong();
 
-    public SplitMessageAggregator(AtlasNotificationStringMessage message) {
+    private final String          msgId;
+    private final CompressionKind compressionKind;
+    private final boolean         isBase64Encoded;
+    private final byte[][]        splitBuffer;       // parts held in memory
+    private final long[]          splitSpillOffsets; // offset of spilled parts in spillFile; -1 for parts not spilled
+    private final int[]           splitLengths;
+    private final long            firstSplitTimestamp;
+    private       File            spillFile;
+    private       long            spillFileLength = 0;
+    private       boolean         isReleased      = false;
+
+    public SplitMessageAggregator(AtlasNotificationBaseMessage message) {
         msgId               = message.getMsgId();
-        splitMessagesBuffer = new AtlasNotificationStringMessage[message.getMsgSplitCount()];
+        compressionKind     = message.getMsgCompressionKind();
+        isBase64Encoded     = !(message instanceof AtlasNotificationBinaryMessage);
+        splitBuffer         = new byte[message.getMsgSplitCount()][];
+        splitSpillOffsets   = new long[message.getMsgSplitCount()];
+        splitLengths        = new int[message.getMsgSplitCount()];
         firstSplitTimestamp = System.currentTimeMillis();
 
+        for (int i = 0; i < splitSpillOffsets.length; i++) {
+            splitSpillOffsets[i] = -1;
+            splitLengths[i]      = -1;
+        }
+
+        pendingMessages.incrementAndGet();
+
         add(message);
     }
 
@@ -38,14 +102,14 @@ public class SplitMessageAggregator {
     }
 
     public long getTotalSplitCount() {
-        return splitMessagesBuffer.length;
+        return splitLengths.length;
     }
 
     public long getReceivedSplitCount() {
         long ret = 0;
 
-        for (AtlasNotificationStringMessage split : splitMessagesBuffer) {
-            if (split != null) {
+        for (int length : splitLengths) {
+            if (length != -1) {
                 ret++;
             }
         }
@@ -57,15 +121,202 @@ public class SplitMessageAggregator {
         return firstSplitTimestamp;
     }
 
-    public boolean add(AtlasNotificationStringMessage message) {
-        if (message.getMsgSplitIdx() < splitMessagesBuffer.length) {
-            splitMessagesBuffer[message.getMsgSplitIdx()] = message;
+    public CompressionKind getCompressionKind() {
+        return compressionKind;
+    }
+
+    public boolean isReceived(int splitIdx) {
+        return splitLengths[splitIdx] != -1;
+    }
+
+    /**
+     * @return total length of the parts received, in bytes
+     */
+    public long getLength() {
+        long ret = 0;
+
+        for (int length : splitLengths) {
+            if (length != -1) {
+                ret += length;
+            }
         }
 
-        return message.getMsgSplitIdx() == (message.getMsgSplitCount() - 1);
+        return ret;
     }
 
-    public AtlasNotificationStringMessage get(int i) {
-        return splitMessagesBuffer[i];
+    public boolean add(AtlasNotificationBaseMessage message) {
+        int splitIdx = message.getMsgSplitIdx();
+
+        if (splitIdx >= 0 && splitIdx < splitLengths.length && !isReceived(splitIdx) && !isReleased) {
+            if (message instanceof AtlasNotificationBinaryMessage) {
+                AtlasNotificationBinaryMessage binaryMsg = (AtlasNotificationBinaryMessage) message;
+                byte[]                         bytes     = new byte[binaryMsg.getPayloadLength()];
+
+                binaryMsg.copyPayload(bytes, 0);
+
+                addPart(splitIdx, bytes);
+            } else {
+                addPart(splitIdx, AtlasNotificationBaseMessage.getBytesUtf8(((AtlasNotificationStringMessage) message).getMessage()));
+            }
+        }
+
+        return splitIdx == (message.getMsgSplitCount() - 1);
+    }
+
+    /**
+     * Stream to read the reassembled message, after decoding base64 and uncompressing if necessary. All parts must
+     * have been received.
+     */
+    public InputStream getMessageStream() throws IOException {
+        InputStream ret = new SequenceInputStream(new PartStreams());
+
+        if (isBase64Encoded) {
+            ret = new Base64InputStream(ret);
+        }
+
+        if (CompressionKind.GZIP.equals(compressionKind)) {
+            ret = new GZIPInputStream(ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Releases the memory and the spill file used by this aggregator. Must be called after the message is read, or
+     * when the message is discarded.
+     */
+    public synchronized void release() {
+        if (isReleased) {
+            return;
+        }
+
+        isReleased = true;
+
+        for (int i = 0; i < splitBuffer.length; i++) {
+            if (splitBuffer[i] != null) {
+                bufferedBytes.addAndGet(-splitBuffer[i].length);
+
+                splitBuffer[i] = null;
+            }
+        }
+
+        if (spillFile != null) {
+            spilledBytes.addAndGet(-spillFileLength);
+
+            if (!spillFile.delete()) {
+                LOG.warn("msgID={}: failed to delete spill file {}", msgId, spillFile);
+            }
+
+            spillFile = null;
+        }
+
+        pendingMessages.decrementAndGet();
+    }
+
+    public static Map<String, Object> getBufferStats() {
+        Map<String, Object> ret = new HashMap<>();
+
+        ret.put(STAT_NOTIFY_SPLIT_PENDING_MESSAGES, pendingMessages.get());
+        ret.put(STAT_NOTIFY_SPLIT_BUFFERED_BYTES, bufferedBytes.get());
+        ret.put(STAT_NOTIFY_SPLIT_BUFFER_MAX_BYTES, maxBufferedBytes);
+        ret.put(STAT_NOTIFY_SPLIT_SPILLED_BYTES, spilledBytes.get());
+        ret.put(STAT_NOTIFY_SPLIT_SPILL_COUNT_TOTAL, spillCountTotal.get());
+
+        return ret;
+    }
+
+    @VisibleForTesting
+    static void setMaxBufferedBytes(long maxBytes) {
+        maxBufferedBytes = maxBytes;
+    }
+
+    private synchronized void addPart(int splitIdx, byte[] bytes) {
+        splitLengths[splitIdx] = bytes.length;
+
+        if (bufferedBytes.addAndGet(bytes.length) <= maxBufferedBytes) {
+            splitBuffer[splitIdx] = bytes;
+        } else {
+            bufferedBytes.addAndGet(-bytes.length);
+
+            try {
+                spill(splitIdx, bytes);
+            } catch (IOException excp) { // hold in memory, as the part can't be dropped
+                LOG.error("msgID={}: failed to spill part {} of {} ({} bytes) to directory {}. Holding in memory", msgId, splitIdx + 1, splitLengths.length, bytes.length, SPILL_DIRECTORY, excp);
+
+                bufferedBytes.addAndGet(bytes.length);
+
+                splitBuffer[splitIdx] = bytes;
+            }
+        }
+    }
+
+    private void spill(int splitIdx, byte[] bytes) throws IOException {
+        if (spillFile == null) {
+            if (!SPILL_DIRECTORY.exists() && !SPILL_DIRECTORY.mkdirs()) {
+                throw new IOException("failed to create directory " + SPILL_DIRECTORY);
+            }
+
+            spillFile = File.createTempFile("atlas-split-msg-", ".tmp", SPILL_DIRECTORY);
+
+            spillFile.deleteOnExit();
+        }
+
+        try (OutputStream out = new FileOutputStream(spillFile, true)) {
+            out.write(bytes);
+        }
+
+        splitSpillOffsets[splitIdx] = spillFileLength;
+        spillFileLength            += bytes.length;
+
+        spilledBytes.addAndGet(bytes.length);
+        spillCountTotal.incrementAndGet();
+
+        LOG.info("msgID={}: spilled part {} of {} ({} bytes) to {}", msgId, splitIdx + 1, splitLengths.length, bytes.length, spillFile);
+    }
+
+    private synchronized byte[] readPart(int splitIdx) throws IOException {
+        if (isReleased) {
+            throw new IOException("msgID=" + msgId + ": already released");
+        }
+
+        byte[] ret = splitBuffer[splitIdx];
+
+        if (ret == null) {
+            if (splitSpillOffsets[splitIdx] == -1) {
+                throw new IOException("msgID=" + msgId + ": part " + (splitIdx + 1) + " of " + splitLengths.length + " is missing");
+            }
+
+            ret = new byte[splitLengths[splitIdx]];
+
+            try (RandomAccessFile file = new RandomAccessFile(spillFile, "r")) {
+                file.seek(splitSpillOffsets[splitIdx]);
+                file.readFully(ret);
+            }
+        }
+
+        return ret;
+    }
+
+    // streams of parts are created only when read, so that at most one spilled part is in memory at a time
+    private class PartStreams implements Enumeration<InputStream> {
+        private int nextIdx = 0;
+
+        @Override
+        public boolean hasMoreElements() {
+            return nextIdx < splitLengths.length;
+        }
+
+        @Override
+        public InputStream nextElement() {
+            if (!hasMoreElements()) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                return new ByteArrayInputStream(readPart(nextIdx++));
+            } catch (IOException excp) {
+                throw new IllegalStateException(excp);
+            }
+        }
     }
 }
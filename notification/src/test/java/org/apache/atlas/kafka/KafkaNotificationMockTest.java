@@ -23,10 +23,15 @@ import org.apache.atlas.notification.NotificationException;
 import org.apache.atlas.notification.NotificationInterface;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.mockito.Mockito;
 import org.testng.annotations.Test;
 
@@ -95,6 +100,32 @@ public class KafkaNotificationMockTest {
         verify(producer).send(expectedRecord);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSendMessagesWithKeys() throws NotificationException,
+            ExecutionException, InterruptedException {
+        Properties configProperties = mock(Properties.class);
+        KafkaNotification kafkaNotification = new KafkaNotification(configProperties);
+
+        Producer producer = mock(Producer.class);
+        String topicName = kafkaNotification.getProducerTopicName(NotificationInterface.NotificationType.HOOK);
+        String message1 = "This is a test message1";
+        String message2 = "This is a test message2";
+        Future returnValue = mock(Future.class);
+        TopicPartition topicPartition = new TopicPartition(topicName, 0);
+        when(returnValue.get()).thenReturn(new RecordMetadata(topicPartition, 0, 0, 0, Long.valueOf(0), 0, 0));
+        ProducerRecord expectedRecord1 = new ProducerRecord(topicName, "key1", message1);
+        ProducerRecord expectedRecord2 = new ProducerRecord(topicName, message2);
+        when(producer.send(expectedRecord1)).thenReturn(returnValue);
+        when(producer.send(expectedRecord2)).thenReturn(returnValue);
+
+        kafkaNotification.sendInternalToProducer(producer,
+                NotificationInterface.NotificationType.HOOK, Arrays.asList(message1, message2), Arrays.asList("key1", null));
+
+        verify(producer).send(expectedRecord1);
+        verify(producer).send(expectedRecord2);
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void shouldThrowExceptionIfProducerFails() throws NotificationException,
@@ -151,6 +182,29 @@ public class KafkaNotificationMockTest {
         }
     }
 
+    @Test
+    public void testBinaryMessageFormatConfig() throws Exception {
+        Configuration configuration = new PropertiesConfiguration();
+
+        configuration.setProperty("atlas.kafka.hook.group.id", "atlas");
+        configuration.setProperty(KafkaNotification.MESSAGE_FORMAT_PROPERTY, KafkaNotification.MESSAGE_FORMAT_BINARY);
+
+        Properties properties = new KafkaNotification(configuration).getConsumerProperties(NotificationInterface.NotificationType.HOOK);
+
+        assertEquals(properties.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG), ByteArraySerializer.class.getName());
+        assertEquals(properties.get(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG), ByteArrayDeserializer.class.getName());
+        assertEquals(properties.get(ProducerConfig.COMPRESSION_TYPE_CONFIG), "lz4");
+
+        configuration.setProperty("atlas.kafka." + ProducerConfig.COMPRESSION_TYPE_CONFIG, "gzip");
+        configuration.setProperty(KafkaNotification.MESSAGE_FORMAT_PROPERTY, KafkaNotification.MESSAGE_FORMAT_JSON);
+
+        properties = new KafkaNotification(configuration).getConsumerProperties(NotificationInterface.NotificationType.HOOK);
+
+        assertEquals(properties.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG), StringSerializer.class.getName());
+        assertEquals(properties.get(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG), ByteArrayDeserializer.class.getName());
+        assertEquals(properties.get(ProducerConfig.COMPRESSION_TYPE_CONFIG), "gzip");
+    }
+
     @Test
     public void testSetKafkaJAASPropertiesForAllProperValues() {
         Properties properties = new Properties();
@@ -23,6 +23,7 @@ import org.apache.atlas.model.notification.HookNotification;
 import org.apache.atlas.model.notification.HookNotification.HookNotificationType;
 import org.apache.atlas.notification.NotificationInterface.NotificationType;
 import org.apache.atlas.type.AtlasType;
+import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 
 import java.util.ArrayList;
@@ -85,6 +86,26 @@ public class AbstractNotificationTest {
         }
     }
 
+    @org.testng.annotations.Test
+    public void testSendWithKeysIsOptIn() throws Exception {
+        Configuration    configuration = new BaseConfiguration();
+        TestNotification notification  = new TestNotification(configuration);
+        Test             message       = new Test(HookNotificationType.ENTITY_CREATE, "user1");
+
+        notification.send(NotificationType.HOOK, message);
+
+        assertNull(notification.msgKeys);
+
+        configuration.setProperty(AbstractNotification.MESSAGE_KEY_ENABLED_PROPERTY, true);
+
+        notification = new TestNotification(configuration);
+
+        notification.send(NotificationType.HOOK, message);
+
+        assertNotNull(notification.msgKeys);
+        assertEquals(notification.msgKeys.size(), notification.messages.size());
+    }
+
     public static class Test extends HookNotification {
 
         public Test(HookNotificationType type, String user) {
@@ -106,6 +127,8 @@ public class AbstractNotificationTest {
     public static class TestNotification extends AbstractNotification {
         private NotificationType type;
         private List<String>     messages;
+        private List<byte[]>     binMessages;
+        private List<String>     msgKeys;
 
         public TestNotification(Configuration applicationProperties) throws AtlasException {
             super(applicationProperties);
@@ -119,6 +142,23 @@ public class AbstractNotificationTest {
             messages = notificationMessages;
         }
 
+        @Override
+        protected void sendInternal(NotificationType notificationType, List<String> notificationMessages, List<String> notificationMsgKeys)
+            throws NotificationException {
+
+            sendInternal(notificationType, notificationMessages);
+
+            msgKeys = notificationMsgKeys;
+        }
+
+        @Override
+        protected void sendBinaryInternal(NotificationType notificationType, List<byte[]> notificationMessages, List<String> msgKeys)
+            throws NotificationException {
+
+            type        = notificationType;
+            binMessages = notificationMessages;
+        }
+
         @Override
         public <T> List<NotificationConsumer<T>> createConsumers(NotificationType notificationType, int numConsumers) {
             return null;
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.notification;
+
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.AtlasObjectId;
+import org.apache.atlas.model.notification.EntityNotification.EntityNotificationV2;
+import org.apache.atlas.model.notification.EntityNotification.EntityNotificationV2.OperationType;
+import org.apache.atlas.model.notification.HookNotification.EntityCreateRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityDeleteRequestV2;
+import org.apache.atlas.notification.NotificationInterface.NotificationType;
+import org.apache.atlas.v1.model.instance.Referenceable;
+import org.apache.atlas.v1.model.notification.HookNotificationV1.EntityCreateRequest;
+import org.apache.atlas.v1.model.notification.HookNotificationV1.EntityDeleteRequest;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class EntityMessageKeyStrategyTest {
+    private static final String QUALIFIED_NAME = "default.table1@cl1";
+
+    private final MessageKeyStrategy strategy = new EntityMessageKeyStrategy();
+
+    @Test
+    public void testHookMessageV2() {
+        AtlasEntity table = new AtlasEntity("hive_table");
+
+        table.setAttribute("qualifiedName", QUALIFIED_NAME);
+
+        EntityCreateRequestV2 createRequest = new EntityCreateRequestV2("user1", new AtlasEntitiesWithExtInfo(table));
+        EntityDeleteRequestV2 deleteRequest = new EntityDeleteRequestV2("user1", Collections.singletonList(new AtlasObjectId("hive_table", "qualifiedName", QUALIFIED_NAME)));
+
+        assertEquals(strategy.getKey(NotificationType.HOOK, createRequest), QUALIFIED_NAME);
+        assertEquals(strategy.getKey(NotificationType.HOOK, deleteRequest), QUALIFIED_NAME);
+    }
+
+    @Test
+    public void testHookMessageV1() {
+        Referenceable table = new Referenceable("hive_table", Collections.singletonMap("qualifiedName", QUALIFIED_NAME));
+
+        assertEquals(strategy.getKey(NotificationType.HOOK, new EntityCreateRequest("user1", table)), QUALIFIED_NAME);
+        assertEquals(strategy.getKey(NotificationType.HOOK, new EntityDeleteRequest("user1", "hive_table", "qualifiedName", QUALIFIED_NAME)), QUALIFIED_NAME);
+    }
+
+    @Test
+    public void testEntityNotification() {
+        AtlasEntityHeader header = new AtlasEntityHeader("hive_table");
+
+        header.setGuid("guid-1");
+
+        assertEquals(strategy.getKey(NotificationType.ENTITIES, new EntityNotificationV2(header, OperationType.ENTITY_UPDATE)), "guid-1");
+
+        header.setAttribute("qualifiedName", QUALIFIED_NAME);
+
+        assertEquals(strategy.getKey(NotificationType.ENTITIES, new EntityNotificationV2(header, OperationType.ENTITY_UPDATE)), QUALIFIED_NAME);
+    }
+
+    @Test
+    public void testUnknownMessage() {
+        assertNull(strategy.getKey(NotificationType.HOOK, "message"));
+        assertNull(strategy.getKey(NotificationType.HOOK, new EntityCreateRequestV2("user1", new AtlasEntitiesWithExtInfo())));
+    }
+}
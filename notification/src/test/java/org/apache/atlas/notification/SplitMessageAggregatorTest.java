@@ -17,14 +17,24 @@
  */
 package org.apache.atlas.notification;
 
+import org.apache.atlas.AtlasConfiguration;
 import org.apache.atlas.model.notification.AtlasNotificationBaseMessage.CompressionKind;
+import org.apache.atlas.model.notification.AtlasNotificationBinaryMessage;
 import org.apache.atlas.model.notification.AtlasNotificationStringMessage;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.RandomStringUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_NOTIFY_SPLIT_BUFFERED_BYTES;
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_NOTIFY_SPLIT_SPILLED_BYTES;
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_NOTIFY_SPLIT_SPILL_COUNT_TOTAL;
+
 public class SplitMessageAggregatorTest {
     @Test
     public void verifyEviction() throws InterruptedException {
@@ -51,6 +61,53 @@ public class SplitMessageAggregatorTest {
         Assert.assertEquals(map.size(), expectedSize);
     }
 
+    @Test
+    public void verifySpillBeyondBufferLimit() throws Exception {
+        byte[] payload    = RandomStringUtils.randomAlphanumeric(3000).getBytes(StandardCharsets.UTF_8);
+        int    splitCount = 3;
+        int    splitSize  = payload.length / splitCount;
+        long   buffered   = (Long) SplitMessageAggregator.getBufferStats().get(STAT_NOTIFY_SPLIT_BUFFERED_BYTES);
+        long   spilled    = (Long) SplitMessageAggregator.getBufferStats().get(STAT_NOTIFY_SPLIT_SPILLED_BYTES);
+        long   spillCount = (Long) SplitMessageAggregator.getBufferStats().get(STAT_NOTIFY_SPLIT_SPILL_COUNT_TOTAL);
+
+        SplitMessageAggregator.setMaxBufferedBytes(buffered + splitSize); // only the first part fits in the buffer
+
+        try {
+            SplitMessageAggregator sma = null;
+
+            for (int i = 0; i < splitCount; i++) {
+                byte[]                         bytes = AtlasNotificationBinaryMessage.encode(payload, i * splitSize, splitSize, "spill-test", CompressionKind.NONE, i, splitCount);
+                AtlasNotificationBinaryMessage sm    = AtlasNotificationBinaryMessage.decode(bytes);
+
+                if (sma == null) {
+                    sma = new SplitMessageAggregator(sm);
+                } else {
+                    Assert.assertEquals(sma.add(sm), i == splitCount - 1);
+                }
+            }
+
+            Map<String, Object> stats = SplitMessageAggregator.getBufferStats();
+
+            Assert.assertEquals(stats.get(STAT_NOTIFY_SPLIT_BUFFERED_BYTES), buffered + splitSize);
+            Assert.assertEquals(stats.get(STAT_NOTIFY_SPLIT_SPILLED_BYTES), spilled + splitSize * (splitCount - 1));
+            Assert.assertEquals(stats.get(STAT_NOTIFY_SPLIT_SPILL_COUNT_TOTAL), spillCount + splitCount - 1);
+            Assert.assertEquals(sma.getLength(), payload.length);
+
+            try (InputStream in = sma.getMessageStream()) {
+                Assert.assertEquals(IOUtils.toByteArray(in), payload);
+            }
+
+            sma.release();
+
+            stats = SplitMessageAggregator.getBufferStats();
+
+            Assert.assertEquals(stats.get(STAT_NOTIFY_SPLIT_BUFFERED_BYTES), buffered);
+            Assert.assertEquals(stats.get(STAT_NOTIFY_SPLIT_SPILLED_BYTES), spilled);
+        } finally {
+            SplitMessageAggregator.setMaxBufferedBytes(AtlasConfiguration.NOTIFICATION_SPLIT_MESSAGE_BUFFER_MAX_BYTES.getLong());
+        }
+    }
+
     private Map<String, SplitMessageAggregator> getStringSplitMessageAggregatorMap() {
         Map<String, SplitMessageAggregator> map = new HashMap<>();
 
@@ -18,6 +18,9 @@
 
 package org.apache.atlas.notification.hook;
 
+import org.apache.atlas.model.notification.AtlasNotificationBaseMessage.CompressionKind;
+import org.apache.atlas.model.notification.AtlasNotificationBinaryMessage;
+import org.apache.atlas.model.notification.AtlasNotificationMessage;
 import org.apache.atlas.model.notification.HookNotification;
 import org.apache.atlas.notification.entity.EntityNotificationTest;
 import org.apache.atlas.v1.model.instance.Referenceable;
@@ -28,12 +31,17 @@ import org.apache.atlas.type.AtlasType;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.testng.annotations.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -101,6 +109,126 @@ public class HookNotificationDeserializerTest {
         assertEqualMessage(deserializedMessage, message);
     }
 
+    @Test
+    public void testDeserializeBinaryMessage() throws Exception {
+        Referenceable       entity     = generateEntityWithTrait();
+        EntityUpdateRequest message    = new EntityUpdateRequest("user1", entity);
+        List<byte[]>        binMsgList = new ArrayList<>();
+
+        AbstractNotification.createBinaryNotificationMessages(message, binMsgList);
+
+        assertEquals(binMsgList.size(), 1);
+        assertTrue(AtlasNotificationBinaryMessage.isBinaryMessage(binMsgList.get(0)));
+
+        HookNotification deserializedMessage = deserializeBinary(binMsgList);
+
+        assertEqualMessage(deserializedMessage, message);
+    }
+
+    @Test
+    public void testDeserializeCompressedBinaryMessage() throws Exception {
+        Referenceable       entity     = generateLargeEntityWithTrait();
+        EntityUpdateRequest message    = new EntityUpdateRequest("user1", entity);
+        List<byte[]>        binMsgList = new ArrayList<>();
+
+        AbstractNotification.createBinaryNotificationMessages(message, binMsgList);
+
+        assertEquals(binMsgList.size(), 1);
+        assertEquals(AtlasNotificationBinaryMessage.decode(binMsgList.get(0)).getMsgCompressionKind(), CompressionKind.GZIP);
+        assertEquals(binMsgList.get(0)[3], (byte) 1); // wire code of GZIP; must not change across releases
+
+        HookNotification deserializedMessage = deserializeBinary(binMsgList);
+
+        assertEqualMessage(deserializedMessage, message);
+    }
+
+    @Test
+    public void testDeserializeSplitBinaryMessage() throws Exception {
+        Referenceable       entity     = generateVeryLargeEntityWithTrait();
+        EntityUpdateRequest message    = new EntityUpdateRequest("user1", entity);
+        List<byte[]>        binMsgList = new ArrayList<>();
+
+        AbstractNotification.createBinaryNotificationMessages(message, binMsgList);
+
+        assertTrue(binMsgList.size() > 1);
+
+        HookNotification deserializedMessage = deserializeBinary(binMsgList);
+
+        assertEqualMessage(deserializedMessage, message);
+    }
+
+    // corrupt messages must be skipped, without failing the consumer
+    @Test
+    public void testDeserializeCorruptBinaryMessage() throws Exception {
+        Referenceable       entity     = generateEntityWithTrait();
+        EntityUpdateRequest message    = new EntityUpdateRequest("user1", entity);
+        List<byte[]>        binMsgList = new ArrayList<>();
+
+        AbstractNotification.createBinaryNotificationMessages(message, binMsgList);
+
+        byte[] invalidHeader    = binMsgList.get(0).clone();
+        byte[] truncatedPayload = Arrays.copyOf(binMsgList.get(0), binMsgList.get(0).length / 2);
+        byte[] invalidPayload   = "{ not json".getBytes(StandardCharsets.UTF_8);
+        byte[] emptyPayload     = "null".getBytes(StandardCharsets.UTF_8);
+
+        invalidHeader[3] = Byte.MAX_VALUE; // unknown compression
+
+        assertNull(deserializer.deserialize(invalidHeader));
+        assertNull(deserializer.deserialize(truncatedPayload));
+        assertNull(deserializer.deserialize(AtlasNotificationBinaryMessage.encode(invalidPayload, 0, invalidPayload.length, null, CompressionKind.NONE, 0, 1)));
+        assertNull(deserializer.deserialize(AtlasNotificationBinaryMessage.encode(emptyPayload, 0, emptyPayload.length, null, CompressionKind.NONE, 0, 1)));
+        assertNull(deserializer.deserialize(AtlasNotificationBinaryMessage.encode(invalidPayload, 0, invalidPayload.length, null, CompressionKind.GZIP, 0, 1)));
+
+        assertEqualMessage(deserializeBinary(binMsgList), message); // subsequent messages are processed
+    }
+
+    // consumers receive bytes of messages; messages sent in json format by older hooks must continue to be accepted
+    @Test
+    public void testDeserializeJsonMessageBytes() throws Exception {
+        Referenceable       entity      = generateEntityWithTrait();
+        EntityUpdateRequest message     = new EntityUpdateRequest("user1", entity);
+        List<String>        jsonMsgList = new ArrayList<>();
+
+        AbstractNotification.createNotificationMessages(message, jsonMsgList);
+
+        List<byte[]> binMsgList = new ArrayList<>();
+
+        for (String jsonMsg : jsonMsgList) {
+            binMsgList.add(jsonMsg.getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertTrue(!AtlasNotificationBinaryMessage.isBinaryMessage(binMsgList.get(0)));
+
+        HookNotification deserializedMessage = deserializeBinary(binMsgList);
+
+        assertEqualMessage(deserializedMessage, message);
+    }
+
+    // message is read in a single pass; fields can be in any order in the envelope and in the message
+    @Test
+    public void testDeserializeMessageWithReorderedFields() throws Exception {
+        Referenceable       entity       = generateEntityWithTrait();
+        EntityUpdateRequest message      = new EntityUpdateRequest("user1", entity);
+        String              jsonMsg      = AtlasType.toV1Json(new AtlasNotificationMessage<>(AbstractNotification.CURRENT_MESSAGE_VERSION, message));
+        Map<String, Object> envelope     = AtlasType.fromV1Json(jsonMsg, Map.class);
+        Map<String, Object> notification = (Map<String, Object>) envelope.remove("message");
+        Object              type         = notification.remove("type");
+
+        notification.put("type", type);    // move type to the end
+
+        Map<String, Object> reordered = new LinkedHashMap<>();
+
+        reordered.put("message", notification);
+        reordered.putAll(envelope);
+
+        String reorderedJsonMsg = AtlasType.toV1Json(reordered);
+
+        assertTrue(reorderedJsonMsg.startsWith("{\"message\":{"), reorderedJsonMsg);
+
+        assertEqualMessage(deserialize(Collections.singletonList(reorderedJsonMsg)), message);
+        assertEqualMessage(deserializeBinary(Collections.singletonList(reorderedJsonMsg.getBytes(StandardCharsets.UTF_8))), message);
+    }
+
     private Referenceable generateEntityWithTrait() {
         Referenceable ret = EntityNotificationTest.getEntity("id", new Struct("MyTrait", Collections.<String, Object>emptyMap()));
 
@@ -121,6 +249,20 @@ public class HookNotificationDeserializerTest {
         return deserializedMessage;
     }
 
+    private HookNotification deserializeBinary(List<byte[]> binMsgList) {
+        HookNotification deserializedMessage = null;
+
+        for (byte[] binMsg : binMsgList) {
+            deserializedMessage = deserializer.deserialize(binMsg);
+
+            if (deserializedMessage != null) {
+                break;
+            }
+        }
+
+        return deserializedMessage;
+    }
+
     private void assertEqualMessage(HookNotification deserializedMessage, EntityUpdateRequest message) throws Exception {
         assertNotNull(deserializedMessage);
         assertEquals(deserializedMessage.getType(), message.getType());
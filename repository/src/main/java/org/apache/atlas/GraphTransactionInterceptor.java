@@ -203,6 +203,14 @@ public class GraphTransactionInterceptor implements MethodInterceptor {
         guidVertexCache.get().clear();
     }
 
+    /**
+     * @return true if the current thread is in a transaction started by this interceptor; post-transaction hooks
+     *         registered outside such a transaction are never called
+     */
+    public static boolean isTxnOpen() {
+        return isTxnOpen.get();
+    }
+
     boolean logException(Throwable t) {
         if (t instanceof AtlasBaseException) {
             Response.Status httpCode = ((AtlasBaseException) t).getAtlasErrorCode().getHttpCode();
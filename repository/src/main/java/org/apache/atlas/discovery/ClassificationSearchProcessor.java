@@ -212,16 +212,24 @@ public class ClassificationSearchProcessor extends SearchProcessor {
         }
 
         try {
-            final int     startIdx   = context.getSearchParameters().getOffset();
-            final int     limit      = context.getSearchParameters().getLimit();
+            final SearchCursor cursor   = context.getCursor();
+            final int          startIdx = cursor != null ? cursor.getSkipCount() : context.getSearchParameters().getOffset();
+            final int          limit    = context.getSearchParameters().getLimit();
 
             // query to start at 0, even though startIdx can be higher - because few results in earlier retrieval could
             // have been dropped: like non-active-entities or duplicate-entities (same entity pointed to by multiple
             // classifications in the result)
             //
             // first 'startIdx' number of entries will be ignored
-            int qryOffset = 0;
-            int resultIdx = qryOffset;
+            //
+            // with a cursor, query resumes from the chunk where previous page stopped. When entities are collected
+            // from classification vertices, duplicate-entities are eliminated across all chunks; as processedGuids of
+            // earlier pages can't be carried in the cursor, such a cursor resumes the query from 0 and skips the
+            // number of results already returned
+            final boolean isDedupAcrossChunks = indexQuery == null;
+
+            int qryOffset = cursor != null && !isDedupAcrossChunks ? cursor.getQueryOffset() : 0;
+            int resultIdx = 0;
 
             final Set<String>       processedGuids         = new HashSet<>();
             final List<AtlasVertex> entityVertices         = new ArrayList<>();
@@ -313,12 +321,20 @@ public class ClassificationSearchProcessor extends SearchProcessor {
 
                 super.filter(entityVertices);
 
+                int chunkStartIdx = resultIdx;
+
                 resultIdx = collectResultVertices(ret, startIdx, limit, resultIdx, entityVertices);
 
+                updateNextCursor(qryOffset, limit, entityVertices.size(), resultIdx - chunkStartIdx, isLastResultPage);
+
                 if (isLastResultPage) {
                     break;
                 }
             }
+
+            if (isDedupAcrossChunks && context.getNextCursor() != null) {
+                context.setNextCursor(new SearchCursor(context.getCursorFingerprint(), 0, startIdx + ret.size()));
+            }
         } finally {
             AtlasPerfTracer.log(perf);
         }
@@ -19,6 +19,7 @@ package org.apache.atlas.discovery;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasConfiguration;
 import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.SortOrder;
@@ -90,23 +91,28 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
     private final AtlasTypeRegistry               typeRegistry;
     private final GraphBackedSearchIndexer        indexer;
     private final SearchTracker                   searchTracker;
+    private final SearchResultCache               searchResultCache;
     private final int                             maxResultSetSize;
     private final int                             maxTypesLengthInIdxQuery;
     private final int                             maxTagsLengthInIdxQuery;
     private final String                          indexSearchPrefix;
     private final UserProfileService              userProfileService;
     private final SuggestionsProvider             suggestionsProvider;
+    private final boolean                         prefetchResults;
 
     @Inject
     EntityDiscoveryService(AtlasTypeRegistry typeRegistry,
                            AtlasGraph graph,
                            GraphBackedSearchIndexer indexer,
                            SearchTracker searchTracker,
+                           SearchResultCache searchResultCache,
+                           SuggestionsIndexService suggestionsIndexService,
                            UserProfileService userProfileService) throws AtlasException {
         this.graph                    = graph;
         this.entityRetriever          = new EntityGraphRetriever(this.graph, typeRegistry);
         this.indexer                  = indexer;
         this.searchTracker            = searchTracker;
+        this.searchResultCache        = searchResultCache;
         this.gremlinQueryProvider     = AtlasGremlinQueryProvider.INSTANCE;
         this.typeRegistry             = typeRegistry;
         this.maxResultSetSize         = ApplicationProperties.get().getInt(Constants.INDEX_SEARCH_MAX_RESULT_SET_SIZE, 150);
@@ -114,7 +120,8 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         this.maxTagsLengthInIdxQuery  = ApplicationProperties.get().getInt(Constants.INDEX_SEARCH_TAGS_MAX_QUERY_STR_LENGTH, 512);
         this.indexSearchPrefix        = AtlasGraphUtilsV2.getIndexSearchPrefix();
         this.userProfileService       = userProfileService;
-        this.suggestionsProvider      = new SuggestionsProviderImpl(graph, typeRegistry);
+        this.suggestionsProvider      = new SuggestionsProviderImpl(graph, typeRegistry, suggestionsIndexService);
+        this.prefetchResults          = AtlasConfiguration.SEARCH_RESULT_PREFETCH_ENABLED.getBoolean();
     }
 
     @Override
@@ -135,6 +142,8 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
             Object firstElement = queryResult.get(0);
 
             if (firstElement instanceof AtlasVertex) {
+                prefetchResults(queryResult, Collections.emptySet(), true);
+
                 for (Object element : queryResult) {
                     if (element instanceof AtlasVertex) {
                         ret.addEntity(entityRetriever.toAtlasEntityHeaderWithClassifications((AtlasVertex)element));
@@ -402,6 +411,8 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
                     Object firstElement = queryResult.get(0);
 
                     if (firstElement instanceof AtlasVertex) {
+                        prefetchResults(queryResult, Collections.emptySet(), false);
+
                         for (Object element : queryResult) {
                             if (element instanceof AtlasVertex) {
                                 ret.addEntity(entityRetriever.toAtlasEntityHeader((AtlasVertex) element));
@@ -473,9 +484,43 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         searchParameters.setOffset(params.offset());
 
         try {
-            List<AtlasVertex> resultList = searchContext.getSearchProcessor().execute();
+            SearchResultCache.CachedResult cachedResult = searchResultCache.get(searchContext);
+            List<AtlasVertex>              resultList;
+
+            if (cachedResult != null) {
+                resultList = new ArrayList<>(cachedResult.getGuids().size());
+
+                for (String guid : cachedResult.getGuids()) {
+                    AtlasVertex vertex = AtlasGraphUtilsV2.findByGuid(graph, guid);
+
+                    if (vertex != null) {
+                        resultList.add(vertex);
+                    }
+                }
 
-            ret.setApproximateCount(searchContext.getSearchProcessor().getResultCount());
+                ret.setApproximateCount(cachedResult.getApproximateCount());
+                ret.setNextCursor(cachedResult.getNextCursor());
+            } else {
+                long cacheGeneration = searchResultCache.getGeneration();
+
+                resultList = searchContext.getSearchProcessor().execute();
+
+                ret.setApproximateCount(searchContext.getSearchProcessor().getResultCount());
+
+                if (searchContext.getNextCursor() != null) {
+                    ret.setNextCursor(searchContext.getNextCursor().encode());
+                }
+
+                if (searchResultCache.isEnabled()) {
+                    List<String> guids = new ArrayList<>(resultList.size());
+
+                    for (AtlasVertex vertex : resultList) {
+                        guids.add(AtlasGraphUtilsV2.getIdFromVertex(vertex));
+                    }
+
+                    searchResultCache.put(searchContext, cacheGeneration, guids, ret.getApproximateCount(), ret.getNextCursor());
+                }
+            }
 
             // By default any attribute that shows up in the search parameter should be sent back in the response
             // If additional values are requested then the entityAttributes will be a superset of the all search attributes
@@ -516,6 +561,8 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
                 }
             }
 
+            prefetchResults(resultList, resultAttributes, searchParameters.getIncludeClassificationAttributes());
+
             for (AtlasVertex atlasVertex : resultList) {
                 AtlasEntityHeader entity = entityRetriever.toAtlasEntityHeader(atlasVertex, resultAttributes);
 
@@ -731,6 +778,22 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         return String.format(indexSearchPrefix + "\"%s\":(%s)", Constants.ENTITY_TEXT_PROPERTY_KEY, queryText.toString());
     }
 
+    private void prefetchResults(List<?> queryResult, Set<String> attributes, boolean includeClassifications) {
+        if (!prefetchResults) {
+            return;
+        }
+
+        List<AtlasVertex> vertices = new ArrayList<>(queryResult.size());
+
+        for (Object element : queryResult) {
+            if (element instanceof AtlasVertex) {
+                vertices.add((AtlasVertex) element);
+            }
+        }
+
+        entityRetriever.prefetchEntityHeaders(vertices, attributes, includeClassifications);
+    }
+
     private List<AtlasFullTextResult> getIndexQueryResults(AtlasIndexQuery query, QueryParams params, boolean excludeDeletedEntities) throws AtlasBaseException {
         List<AtlasFullTextResult> ret  = new ArrayList<>();
         Iterator<Result>          iter = query.vertices();
@@ -986,6 +1049,7 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         searchParameters.setIncludeSubTypes(quickSearchParameters.getIncludeSubTypes());
         searchParameters.setLimit(quickSearchParameters.getLimit());
         searchParameters.setOffset(quickSearchParameters.getOffset());
+        searchParameters.setCursor(quickSearchParameters.getCursor());
         searchParameters.setEntityFilters(quickSearchParameters.getEntityFilters());
         searchParameters.setAttributes(quickSearchParameters.getAttributes());
 
@@ -240,14 +240,25 @@ public class EntitySearchProcessor extends SearchProcessor {
         }
 
         try {
-            final int startIdx = context.getSearchParameters().getOffset();
-            final int limit    = context.getSearchParameters().getLimit();
+            final SearchCursor cursor   = context.getCursor();
+            final int          startIdx = cursor != null ? cursor.getSkipCount() : context.getSearchParameters().getOffset();
+            final int          limit    = context.getSearchParameters().getLimit();
 
             // when subsequent filtering stages are involved, query should start at 0 even though startIdx can be higher
             //
             // first 'startIdx' number of entries will be ignored
-            int qryOffset = (nextProcessor != null || (graphQuery != null && indexQuery != null)) ? 0 : startIdx;
-            int resultIdx = qryOffset;
+            //
+            // with a cursor, query resumes from the chunk where previous page stopped; startIdx is the count of
+            // matches in that chunk already returned in earlier pages
+            int qryOffset;
+
+            if (cursor != null) {
+                qryOffset = cursor.getQueryOffset();
+            } else {
+                qryOffset = (nextProcessor != null || (graphQuery != null && indexQuery != null)) ? 0 : startIdx;
+            }
+
+            int resultIdx = cursor != null ? 0 : qryOffset;
 
             final List<AtlasVertex> entityVertices = new ArrayList<>();
 
@@ -306,8 +317,12 @@ public class EntitySearchProcessor extends SearchProcessor {
 
                 super.filter(entityVertices);
 
+                int chunkStartIdx = resultIdx;
+
                 resultIdx = collectResultVertices(ret, startIdx, limit, resultIdx, entityVertices);
 
+                updateNextCursor(qryOffset, limit, entityVertices.size(), resultIdx - chunkStartIdx, isLastResultPage);
+
                 if (isLastResultPage) {
                     break;
                 }
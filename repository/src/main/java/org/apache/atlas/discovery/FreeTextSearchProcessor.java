@@ -91,15 +91,18 @@ public class FreeTextSearchProcessor extends SearchProcessor {
         }
 
         try {
-            final int startIdx = context.getSearchParameters().getOffset();
-            final int limit    = context.getSearchParameters().getLimit();
+            final SearchCursor cursor   = context.getCursor();
+            final int          startIdx = cursor != null ? cursor.getSkipCount() : context.getSearchParameters().getOffset();
+            final int          limit    = context.getSearchParameters().getLimit();
 
             // query to start at 0, even though startIdx can be higher - because few results in earlier retrieval could
             // have been dropped: like vertices of non-entity or non-active-entity
             //
             // first 'startIdx' number of entries will be ignored
-            int qryOffset = 0;
-            int resultIdx = qryOffset;
+            //
+            // with a cursor, query resumes from the chunk where previous page stopped
+            int qryOffset = cursor != null ? cursor.getQueryOffset() : 0;
+            int resultIdx = 0;
 
             final List<AtlasVertex> entityVertices = new ArrayList<>();
             try {
@@ -152,8 +155,12 @@ public class FreeTextSearchProcessor extends SearchProcessor {
 
                     super.filter(entityVertices);
 
+                    int chunkStartIdx = resultIdx;
+
                     resultIdx = collectResultVertices(ret, startIdx, limit, resultIdx, entityVertices);
 
+                    updateNextCursor(qryOffset, limit, entityVertices.size(), resultIdx - chunkStartIdx, isLastResultPage);
+
                     if (isLastResultPage) {
                         break;
                     }
@@ -69,8 +69,10 @@ public class SearchContext {
     private final Set<String>             classificationTypeAndSubTypes;
     private final String                  typeAndSubTypesQryStr;
     private final String                  classificationTypeAndSubTypesQryStr;
+    private final SearchCursor            cursor;
     private boolean                       terminateSearch = false;
     private SearchProcessor               searchProcessor;
+    private SearchCursor                  nextCursor;
 
     public final static AtlasClassificationType MATCH_ALL_WILDCARD_CLASSIFICATION = new AtlasClassificationType(new AtlasClassificationDef(WILDCARD_CLASSIFICATIONS));
     public final static AtlasClassificationType MATCH_ALL_CLASSIFIED              = new AtlasClassificationType(new AtlasClassificationDef(ALL_CLASSIFICATIONS));
@@ -89,6 +91,7 @@ public class SearchContext {
         this.entityTypes        = getEntityTypes(searchParameters.getTypeName());
         this.classificationNames = getClassificationNames(searchParameters.getClassification());
         this.classificationTypes = getClassificationTypes(this.classificationNames);
+        this.cursor              = StringUtils.isNotEmpty(searchParameters.getCursor()) ? SearchCursor.decode(searchParameters.getCursor(), searchParameters) : null;
 
         AtlasVertex glossaryTermVertex = getGlossaryTermVertex(searchParameters.getTermName());
 
@@ -231,6 +234,16 @@ public class SearchContext {
 
     public Set<String> getClassificationNames() {return classificationNames;}
 
+    public SearchCursor getCursor() { return cursor; }
+
+    public SearchCursor getNextCursor() { return nextCursor; }
+
+    public void setNextCursor(SearchCursor nextCursor) { this.nextCursor = nextCursor; }
+
+    public String getCursorFingerprint() {
+        return cursor != null ? cursor.getFingerprint() : SearchCursor.getFingerprint(searchParameters);
+    }
+
     public boolean includeEntityType(String entityType) {
         return typeAndSubTypes.isEmpty() || typeAndSubTypes.contains(entityType);
     }
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.discovery.SearchParameters;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * Opaque position in the result stream of a basic/quick search.
+ *
+ * A search processor pages through the underlying index/graph query in chunks and filters each chunk in memory.
+ * The cursor records the offset of the chunk in which the previous page stopped and the number of matching
+ * results already consumed from that chunk, so that the next page can resume from there instead of re-running
+ * (and re-filtering) the query from offset 0. The fingerprint ties a cursor to the filter state it was created for.
+ */
+public class SearchCursor {
+    private static final String VERSION   = "1";
+    private static final char   SEPARATOR = ':';
+
+    private final String fingerprint;
+    private final int    queryOffset;
+    private final int    skipCount;
+
+    public SearchCursor(String fingerprint, int queryOffset, int skipCount) {
+        this.fingerprint = fingerprint;
+        this.queryOffset = queryOffset;
+        this.skipCount   = skipCount;
+    }
+
+    public String getFingerprint() { return fingerprint; }
+
+    public int getQueryOffset() { return queryOffset; }
+
+    public int getSkipCount() { return skipCount; }
+
+    public String encode() {
+        String value = VERSION + SEPARATOR + fingerprint + SEPARATOR + queryOffset + SEPARATOR + skipCount;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor, SearchParameters searchParameters) throws AtlasBaseException {
+        final String[] parts;
+
+        try {
+            parts = StringUtils.split(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8), SEPARATOR);
+        } catch (IllegalArgumentException excp) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_SEARCH_CURSOR, cursor);
+        }
+
+        if (parts == null || parts.length != 4 || !VERSION.equals(parts[0])) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_SEARCH_CURSOR, cursor);
+        }
+
+        if (!StringUtils.equals(parts[1], getFingerprint(searchParameters))) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_SEARCH_CURSOR, "search parameters do not match the cursor");
+        }
+
+        final SearchCursor ret;
+
+        try {
+            ret = new SearchCursor(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+        } catch (NumberFormatException excp) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_SEARCH_CURSOR, cursor);
+        }
+
+        if (ret.queryOffset < 0 || ret.skipCount < 0) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_SEARCH_CURSOR, cursor);
+        }
+
+        return ret;
+    }
+
+    // limit, offset and cursor do not change the result stream, hence are not part of the fingerprint
+    public static String getFingerprint(SearchParameters searchParameters) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(searchParameters.getQuery()).append(SEPARATOR)
+          .append(searchParameters.getTypeName()).append(SEPARATOR)
+          .append(searchParameters.getClassification()).append(SEPARATOR)
+          .append(searchParameters.getTermName()).append(SEPARATOR)
+          .append(searchParameters.getExcludeDeletedEntities()).append(SEPARATOR)
+          .append(searchParameters.getIncludeSubTypes()).append(SEPARATOR)
+          .append(searchParameters.getIncludeSubClassifications()).append(SEPARATOR)
+          .append(searchParameters.getEntityFilters()).append(SEPARATOR)
+          .append(searchParameters.getTagFilters()).append(SEPARATOR)
+          .append(searchParameters.getSortBy()).append(SEPARATOR)
+          .append(searchParameters.getSortOrder());
+
+        return DigestUtils.md5Hex(sb.toString());
+    }
+
+    @Override
+    public String toString() {
+        return "SearchCursor{fingerprint=" + fingerprint + ", queryOffset=" + queryOffset + ", skipCount=" + skipCount + "}";
+    }
+}
@@ -189,6 +189,25 @@ public abstract class SearchProcessor {
         return resultIdx;
     }
 
+    /*
+     * Records where the next page should resume, after a chunk of query results (starting at qryOffset) has been
+     * passed to collectResultVertices(). chunkMatchCount is the number of vertices that matched the filters in this
+     * chunk and chunkConsumedCount is how many of them were consumed, either skipped for startIdx or collected.
+     */
+    protected void updateNextCursor(int qryOffset, int limit, int chunkMatchCount, int chunkConsumedCount, boolean isLastResultPage) {
+        final SearchCursor nextCursor;
+
+        if (chunkConsumedCount < chunkMatchCount) {
+            nextCursor = new SearchCursor(context.getCursorFingerprint(), qryOffset, chunkConsumedCount);
+        } else if (!isLastResultPage) {
+            nextCursor = new SearchCursor(context.getCursorFingerprint(), qryOffset + limit, 0);
+        } else {
+            nextCursor = null;
+        }
+
+        context.setNextCursor(nextCursor);
+    }
+
     public void filter(List<AtlasVertex> entityVertices) {
         if (nextProcessor != null && CollectionUtils.isNotEmpty(entityVertices)) {
             nextProcessor.filter(entityVertices);
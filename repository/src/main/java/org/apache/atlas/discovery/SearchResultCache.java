@@ -0,0 +1,351 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.authorize.AtlasAuthorizationUtils;
+import org.apache.atlas.model.discovery.SearchParameters;
+import org.apache.atlas.type.AtlasClassificationType;
+import org.apache.atlas.utils.LruCache;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.atlas.discovery.SearchContext.MATCH_ALL_CLASSIFICATION_TYPES;
+import static org.apache.atlas.discovery.SearchContext.MATCH_ALL_CLASSIFIED;
+import static org.apache.atlas.discovery.SearchContext.MATCH_ALL_NOT_CLASSIFIED;
+import static org.apache.atlas.discovery.SearchContext.MATCH_ALL_WILDCARD_CLASSIFICATION;
+import static org.apache.atlas.model.metrics.AtlasMetrics.*;
+
+/*
+ * Caches the result of basic/quick searches, as list of entity GUIDs and approximate count, keyed by the search
+ * parameters and the user/groups performing the search.
+ *
+ * Cached results are invalidated, after the transaction commits, by entity/classification/term changes that can
+ * change the results of the search; see AtlasEntityChangeNotifier. Results are also expired after a configured TTL,
+ * which bounds staleness for changes that are not tracked (like type-def updates).
+ */
+@Component
+public class SearchResultCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private static final ThreadLocal<PendingInvalidationHook> pendingInvalidations = new ThreadLocal<>();
+
+    private final boolean                           isEnabled;
+    private final long                              ttlMs;
+    private final LruCache<String, CachedResult>    cache;
+    private final AtomicLong                        generation    = new AtomicLong();
+    private final AtomicLong                        hitCount      = new AtomicLong();
+    private final AtomicLong                        missCount     = new AtomicLong();
+    private final AtomicLong                        expiredCount  = new AtomicLong();
+    private final AtomicLong                        evictionCount = new AtomicLong();
+    private final AtomicLong                        invalidationCount = new AtomicLong();
+
+    public SearchResultCache() {
+        this(AtlasConfiguration.SEARCH_RESULT_CACHE_ENABLED.getBoolean(),
+             AtlasConfiguration.SEARCH_RESULT_CACHE_MAX_ENTRIES.getInt(),
+             AtlasConfiguration.SEARCH_RESULT_CACHE_TTL_SECONDS.getLong() * 1000);
+    }
+
+    SearchResultCache(boolean isEnabled, int maxEntries, long ttlMs) {
+        this.isEnabled = isEnabled && maxEntries > 0 && ttlMs > 0;
+        this.ttlMs     = ttlMs;
+        this.cache     = new LruCache<String, CachedResult>(Math.max(maxEntries, 1), 0) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                boolean ret = super.removeEldestEntry(eldest);
+
+                if (ret) {
+                    evictionCount.incrementAndGet();
+                }
+
+                return ret;
+            }
+        };
+
+        LOG.info("SearchResultCache: enabled={}, maxEntries={}, ttlMs={}", this.isEnabled, maxEntries, ttlMs);
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * @return value to be passed to put(), to detect invalidations that happen while the search is executed
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public CachedResult get(SearchContext context) {
+        if (!isEnabled) {
+            return null;
+        }
+
+        String       key = getCacheKey(context);
+        CachedResult ret;
+
+        synchronized (cache) {
+            ret = cache.get(key);
+
+            if (ret != null && ret.isExpired(ttlMs)) {
+                cache.remove(key);
+
+                expiredCount.incrementAndGet();
+
+                ret = null;
+            }
+        }
+
+        if (ret != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+
+        return ret;
+    }
+
+    public void put(SearchContext context, long searchGeneration, List<String> guids, long approximateCount, String nextCursor) {
+        if (!isEnabled) {
+            return;
+        }
+
+        CachedResult result = new CachedResult(context, guids, approximateCount, nextCursor);
+
+        synchronized (cache) {
+            // skip caching if there were invalidations while the search was executed; the result might be stale
+            if (searchGeneration == generation.get()) {
+                cache.put(getCacheKey(context), result);
+            }
+        }
+    }
+
+    /**
+     * Records the change of an entity, to invalidate cached results after the current transaction commits.
+     * @param entityTypeName    type of the entity changed
+     * @param classificationNames classifications of the entity, or the classifications added/updated/removed; null if not known
+     */
+    public void onEntityChange(String entityTypeName, Collection<String> classificationNames) {
+        if (!isEnabled || StringUtils.isEmpty(entityTypeName)) {
+            return;
+        }
+
+        getPendingInvalidationHook().addEntityChange(entityTypeName, classificationNames);
+    }
+
+    public void onTermChange() {
+        if (!isEnabled) {
+            return;
+        }
+
+        getPendingInvalidationHook().addTermChange();
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            generation.incrementAndGet();
+
+            invalidationCount.addAndGet(cache.size());
+
+            cache.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> ret = new HashMap<>();
+
+        synchronized (cache) {
+            ret.put(STAT_SEARCH_CACHE_SIZE, cache.size());
+        }
+
+        ret.put(STAT_SEARCH_CACHE_ENABLED, isEnabled);
+        ret.put(STAT_SEARCH_CACHE_HITS, hitCount.get());
+        ret.put(STAT_SEARCH_CACHE_MISSES, missCount.get());
+        ret.put(STAT_SEARCH_CACHE_EXPIRED, expiredCount.get());
+        ret.put(STAT_SEARCH_CACHE_EVICTIONS, evictionCount.get());
+        ret.put(STAT_SEARCH_CACHE_INVALIDATIONS, invalidationCount.get());
+
+        return ret;
+    }
+
+    void invalidate(Map<String, Set<String>> changedEntityTypes, boolean isTermChanged) {
+        int count = 0;
+
+        synchronized (cache) {
+            generation.incrementAndGet();
+
+            for (Iterator<CachedResult> iter = cache.values().iterator(); iter.hasNext(); ) {
+                CachedResult result = iter.next();
+
+                if (result.isAffectedBy(changedEntityTypes, isTermChanged)) {
+                    iter.remove();
+
+                    count++;
+                }
+            }
+        }
+
+        invalidationCount.addAndGet(count);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SearchResultCache.invalidate(changedEntityTypes={}, isTermChanged={}): invalidated {} results", changedEntityTypes.keySet(), isTermChanged, count);
+        }
+    }
+
+    // limit/offset/cursor are included in the key, as the cached value is the list of GUIDs in a page
+    static String getCacheKey(SearchContext context) {
+        SearchParameters params = context.getSearchParameters();
+        StringBuilder    sb     = new StringBuilder();
+
+        sb.append(SearchCursor.getFingerprint(params))
+          .append('|').append(params.getLimit())
+          .append('|').append(params.getOffset())
+          .append('|').append(params.getCursor())
+          .append('|').append(AtlasAuthorizationUtils.getCurrentUserName());
+
+        Set<String> userGroups = AtlasAuthorizationUtils.getCurrentUserGroups();
+
+        if (CollectionUtils.isNotEmpty(userGroups)) {
+            sb.append('|').append(new TreeSet<>(userGroups));
+        }
+
+        return sb.toString();
+    }
+
+    private PendingInvalidationHook getPendingInvalidationHook() {
+        PendingInvalidationHook ret = pendingInvalidations.get();
+
+        if (ret == null) {
+            ret = new PendingInvalidationHook();
+
+            pendingInvalidations.set(ret);
+        }
+
+        return ret;
+    }
+
+    public static class CachedResult {
+        private final List<String> guids;
+        private final long         approximateCount;
+        private final String       nextCursor;
+        private final Set<String>  entityTypeNames;         // empty: all entity types
+        private final Set<String>  classificationTypeNames; // null: no classification filter; empty: any classification
+        private final boolean      hasTermFilter;
+        private final long         createTime = System.currentTimeMillis();
+
+        CachedResult(SearchContext context, List<String> guids, long approximateCount, String nextCursor) {
+            this.guids            = Collections.unmodifiableList(new ArrayList<>(guids));
+            this.approximateCount = approximateCount;
+            this.nextCursor       = nextCursor;
+            this.entityTypeNames  = new HashSet<>(context.getEntityTypeNames());
+            this.hasTermFilter    = StringUtils.isNotEmpty(context.getSearchParameters().getTermName());
+
+            Set<AtlasClassificationType> classificationTypes = context.getClassificationTypes();
+
+            if (CollectionUtils.isEmpty(context.getClassificationNames())) {
+                classificationTypeNames = null;
+            } else if (context.isWildCardSearch() || CollectionUtils.isEmpty(classificationTypes) || isMatchAll(classificationTypes)) {
+                classificationTypeNames = Collections.emptySet();
+            } else {
+                classificationTypeNames = new HashSet<>(context.getClassificationTypeNames());
+            }
+        }
+
+        public List<String> getGuids() { return guids; }
+
+        public long getApproximateCount() { return approximateCount; }
+
+        public String getNextCursor() { return nextCursor; }
+
+        boolean isExpired(long ttlMs) {
+            return (System.currentTimeMillis() - createTime) > ttlMs;
+        }
+
+        boolean isAffectedBy(Map<String, Set<String>> changedEntityTypes, boolean isTermChanged) {
+            if (isTermChanged && hasTermFilter) {
+                return true;
+            }
+
+            for (Map.Entry<String, Set<String>> entry : changedEntityTypes.entrySet()) {
+                if (!entityTypeNames.isEmpty() && !entityTypeNames.contains(entry.getKey())) {
+                    continue;
+                }
+
+                if (classificationTypeNames == null || classificationTypeNames.isEmpty() || entry.getValue() == null || CollectionUtils.containsAny(classificationTypeNames, entry.getValue())) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private static boolean isMatchAll(Set<AtlasClassificationType> classificationTypes) {
+            for (AtlasClassificationType classificationType : classificationTypes) {
+                if (classificationType == MATCH_ALL_CLASSIFICATION_TYPES || classificationType == MATCH_ALL_CLASSIFIED ||
+                    classificationType == MATCH_ALL_NOT_CLASSIFIED || classificationType == MATCH_ALL_WILDCARD_CLASSIFICATION) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    private class PendingInvalidationHook extends GraphTransactionInterceptor.PostTransactionHook {
+        private final Map<String, Set<String>> changedEntityTypes = new HashMap<>();
+        private       boolean                  isTermChanged      = false;
+
+        // null classificationNames: classifications of the entity are not known, hence treated as matching all
+        void addEntityChange(String entityTypeName, Collection<String> classificationNames) {
+            if (classificationNames == null) {
+                changedEntityTypes.put(entityTypeName, null);
+            } else if (!changedEntityTypes.containsKey(entityTypeName) || changedEntityTypes.get(entityTypeName) != null) {
+                changedEntityTypes.computeIfAbsent(entityTypeName, k -> new HashSet<>()).addAll(classificationNames);
+            }
+        }
+
+        void addTermChange() {
+            isTermChanged = true;
+        }
+
+        @Override
+        public void onComplete(boolean isSuccess) {
+            pendingInvalidations.remove();
+
+            if (isSuccess) {
+                invalidate(changedEntityTypes, isTermChanged);
+            }
+        }
+    }
+}
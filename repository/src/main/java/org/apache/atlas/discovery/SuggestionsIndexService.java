@@ -0,0 +1,620 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.ha.HAConfiguration;
+import org.apache.atlas.listener.ActiveStateChangeHandler;
+import org.apache.atlas.listener.EntityChangeListenerV2;
+import org.apache.atlas.model.glossary.AtlasGlossaryTerm;
+import org.apache.atlas.model.instance.AtlasClassification;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasRelatedObjectId;
+import org.apache.atlas.model.instance.AtlasRelationship;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.service.Service;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.apache.atlas.model.instance.AtlasEntity.Status.ACTIVE;
+import static org.apache.atlas.model.instance.AtlasEntity.Status.DELETED;
+import static org.apache.atlas.repository.Constants.ENTITY_TYPE_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.STATE_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TIMESTAMP_PROPERTY_KEY;
+import static org.apache.atlas.type.AtlasTypeUtil.ATTRIBUTE_QUALIFIED_NAME;
+
+/*
+ * In-memory index of name/qualifiedName tokens of active entities, to serve type-ahead suggestions without
+ * a round-trip to the index store for every keystroke.
+ *
+ * The index is built in background when the instance becomes active, and is kept current with entity create/delete
+ * notifications after the transaction commits. Changes to name/qualifiedName of existing entities are not tracked,
+ * hence frequencies are approximate until the index is fully rebuilt. Until the index is built, and for suggestions on
+ * a specific field, the caller is expected to fall back to the index store.
+ *
+ * Entities are read from the index store in pages ordered by timestamp, committing the graph transaction after each
+ * page. The index is saved to a snapshot file under the Atlas data directory when built and on stop; when a snapshot
+ * is available, the index is loaded from it and only entities modified since the snapshot are read. A full rebuild is
+ * done when the snapshot is older than atlas.search.suggestions.index.snapshot.max.age.hours.
+ */
+@Component
+@Order(6)
+public class SuggestionsIndexService implements Service, ActiveStateChangeHandler, EntityChangeListenerV2 {
+    private static final Logger LOG = LoggerFactory.getLogger(SuggestionsIndexService.class);
+
+    private static final String   ATTRIBUTE_NAME     = "name";
+    private static final String[] INDEXED_ATTRIBUTES = new String[] { ATTRIBUTE_NAME, ATTRIBUTE_QUALIFIED_NAME };
+    private static final String   ATLAS_DATA         = "atlas.data";
+    private static final String   SNAPSHOT_FILE_NAME = "suggestions-index.snapshot";
+
+    private static final ThreadLocal<PendingChangesHook> pendingChanges = new ThreadLocal<>();
+
+    private final Configuration     configuration;
+    private final AtlasGraph        graph;
+    private final AtlasTypeRegistry typeRegistry;
+    private final boolean           isEnabled;
+    private final SuggestionsTrie   trie;
+    private final int               pageSize;
+    private final File              snapshotFile;
+    private final long              snapshotMaxAgeMs;
+    private volatile boolean        isReady = false;
+    private          Thread         builderThread;
+
+    @Inject
+    public SuggestionsIndexService(Configuration configuration, AtlasGraph graph, AtlasTypeRegistry typeRegistry) {
+        this(configuration, graph, typeRegistry, AtlasConfiguration.SUGGESTIONS_INDEX_PAGE_SIZE.getInt(), getDefaultSnapshotFile());
+    }
+
+    SuggestionsIndexService(Configuration configuration, AtlasGraph graph, AtlasTypeRegistry typeRegistry, int pageSize, File snapshotFile) {
+        this.configuration    = configuration;
+        this.graph            = graph;
+        this.typeRegistry     = typeRegistry;
+        this.isEnabled        = AtlasConfiguration.SUGGESTIONS_INDEX_ENABLED.getBoolean();
+        this.trie             = new SuggestionsTrie(AtlasConfiguration.SUGGESTIONS_INDEX_MAX_TERMS.getInt());
+        this.pageSize         = Math.max(pageSize, 1);
+        this.snapshotFile     = snapshotFile;
+        this.snapshotMaxAgeMs = TimeUnit.HOURS.toMillis(AtlasConfiguration.SUGGESTIONS_INDEX_SNAPSHOT_MAX_AGE_HOURS.getLong());
+    }
+
+    /**
+     * @return top suggestions for the prefix; null if the index is not ready, in which case the index store should be used
+     */
+    public List<String> getSuggestions(String prefixString, int maxCount) {
+        if (!isReady || StringUtils.isEmpty(prefixString)) {
+            return null;
+        }
+
+        return trie.getTopTerms(prefixString.toLowerCase(), maxCount);
+    }
+
+    public boolean isReady() {
+        return isReady;
+    }
+
+    @Override
+    public void start() throws AtlasException {
+        if (!isEnabled) {
+            LOG.info("SuggestionsIndexService: disabled");
+
+            return;
+        }
+
+        if (!HAConfiguration.isHAEnabled(configuration)) {
+            startBuild();
+        } else {
+            LOG.info("SuggestionsIndexService.start(): deferring build until instance activation");
+        }
+    }
+
+    @Override
+    public void stop() {
+        saveSnapshot();
+        stopBuild();
+    }
+
+    @Override
+    public void instanceIsActive() {
+        if (isEnabled) {
+            startBuild();
+        }
+    }
+
+    @Override
+    public void instanceIsPassive() {
+        saveSnapshot();
+        stopBuild();
+    }
+
+    @Override
+    public int getHandlerOrder() {
+        return HandlerOrder.SUGGESTIONS_INDEX.getOrder();
+    }
+
+    @Override
+    public void onEntitiesAdded(List<AtlasEntity> entities, boolean isImport) {
+        recordChanges(entities, true);
+    }
+
+    @Override
+    public void onEntitiesDeleted(List<AtlasEntity> entities, boolean isImport) {
+        recordChanges(entities, false);
+    }
+
+    // entities are removed from the index on delete; nothing to do on purge of deleted entities
+    @Override
+    public void onEntitiesPurged(List<AtlasEntity> entities) { }
+
+    @Override
+    public void onEntitiesUpdated(List<AtlasEntity> entities, boolean isImport) { }
+
+    @Override
+    public void onClassificationsAdded(AtlasEntity entity, List<AtlasClassification> classifications) { }
+
+    @Override
+    public void onClassificationsAdded(List<AtlasEntity> entities, List<AtlasClassification> classifications) { }
+
+    @Override
+    public void onClassificationsUpdated(AtlasEntity entity, List<AtlasClassification> classifications) { }
+
+    @Override
+    public void onClassificationsDeleted(AtlasEntity entity, List<AtlasClassification> classifications) { }
+
+    @Override
+    public void onClassificationsDeleted(List<AtlasEntity> entities, List<AtlasClassification> classifications) { }
+
+    @Override
+    public void onTermAdded(AtlasGlossaryTerm term, List<AtlasRelatedObjectId> entities) { }
+
+    @Override
+    public void onTermDeleted(AtlasGlossaryTerm term, List<AtlasRelatedObjectId> entities) { }
+
+    @Override
+    public void onRelationshipsAdded(List<AtlasRelationship> relationships, boolean isImport) { }
+
+    @Override
+    public void onRelationshipsUpdated(List<AtlasRelationship> relationships, boolean isImport) { }
+
+    @Override
+    public void onRelationshipsDeleted(List<AtlasRelationship> relationships, boolean isImport) { }
+
+    @Override
+    public void onRelationshipsPurged(List<AtlasRelationship> relationships) { }
+
+    @Override
+    public void onLabelsAdded(AtlasEntity entity, Set<String> labels) { }
+
+    @Override
+    public void onLabelsDeleted(AtlasEntity entity, Set<String> labels) { }
+
+    @Override
+    public void onBusinessAttributesUpdated(AtlasEntity entity, Map<String, Map<String, Object>> updatedBusinessAttributes) { }
+
+    static List<String> getTokens(String value) {
+        List<String> ret = new ArrayList<>();
+
+        if (StringUtils.isEmpty(value)) {
+            return ret;
+        }
+
+        int tokenStart = -1;
+
+        for (int i = 0; i <= value.length(); i++) {
+            boolean isTokenChar = i < value.length() && Character.isLetterOrDigit(value.charAt(i));
+
+            if (isTokenChar) {
+                if (tokenStart == -1) {
+                    tokenStart = i;
+                }
+            } else if (tokenStart != -1) {
+                ret.add(value.substring(tokenStart, i).toLowerCase());
+
+                tokenStart = -1;
+            }
+        }
+
+        return ret;
+    }
+
+    private void recordChanges(List<AtlasEntity> entities, boolean isAdd) {
+        if (!isEnabled || CollectionUtils.isEmpty(entities)) {
+            return;
+        }
+
+        PendingChangesHook hook = pendingChanges.get();
+
+        if (hook == null) {
+            hook = new PendingChangesHook();
+
+            pendingChanges.set(hook);
+        }
+
+        for (AtlasEntity entity : entities) {
+            for (String attrName : INDEXED_ATTRIBUTES) {
+                Object attrValue = entity.getAttribute(attrName);
+
+                if (attrValue instanceof String) {
+                    for (String token : getTokens((String) attrValue)) {
+                        hook.addChange(token, isAdd ? 1 : -1);
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized void startBuild() {
+        stopBuild();
+
+        builderThread = new Thread(this::buildIndex, "atlas-suggestions-index-builder");
+
+        builderThread.setDaemon(true);
+        builderThread.start();
+    }
+
+    private synchronized void stopBuild() {
+        isReady = false;
+
+        if (builderThread != null) {
+            builderThread.interrupt();
+
+            builderThread = null;
+        }
+    }
+
+    private void buildIndex() {
+        LOG.info("==> SuggestionsIndexService.buildIndex()");
+
+        long   startTime    = System.currentTimeMillis();
+        long[] entityCount  = new long[1];
+        Long   snapshotTime = null;
+
+        trie.clear();
+
+        try {
+            snapshotTime = loadSnapshot();
+
+            for (AtlasEntityType entityType : typeRegistry.getAllEntityTypes()) {
+                List<String> propertyNames = new ArrayList<>(INDEXED_ATTRIBUTES.length);
+
+                for (String attrName : INDEXED_ATTRIBUTES) {
+                    AtlasAttribute attribute = entityType.getAttribute(attrName);
+
+                    if (attribute != null) {
+                        propertyNames.add(attribute.getVertexPropertyName());
+                    }
+                }
+
+                if (propertyNames.isEmpty()) {
+                    continue;
+                }
+
+                final boolean isComplete;
+
+                if (snapshotTime == null) {
+                    isComplete = visitVertices(entityType.getTypeName(), ACTIVE.name(), TIMESTAMP_PROPERTY_KEY, 0, vertex -> {
+                        addTokens(vertex, propertyNames, 1);
+
+                        entityCount[0]++;
+                    });
+                } else {
+                    final long sinceTime = snapshotTime;
+
+                    // entities created since the snapshot are added; entities deleted since the snapshot are removed
+                    isComplete = visitVertices(entityType.getTypeName(), null, MODIFICATION_TIMESTAMP_PROPERTY_KEY, sinceTime, vertex -> {
+                        String  state         = vertex.getProperty(STATE_PROPERTY_KEY, String.class);
+                        Long    createTime    = vertex.getProperty(TIMESTAMP_PROPERTY_KEY, Long.class);
+                        boolean isNewerEntity = createTime != null && createTime >= sinceTime;
+
+                        if (ACTIVE.name().equals(state) && isNewerEntity) {
+                            addTokens(vertex, propertyNames, 1);
+                        } else if (DELETED.name().equals(state) && !isNewerEntity) {
+                            addTokens(vertex, propertyNames, -1);
+                        }
+
+                        entityCount[0]++;
+                    });
+                }
+
+                if (!isComplete) {
+                    LOG.info("SuggestionsIndexService.buildIndex(): interrupted");
+
+                    return;
+                }
+            }
+
+            isReady = !Thread.currentThread().isInterrupted();
+
+            if (isReady) {
+                writeSnapshot(startTime);
+            }
+        } catch (Throwable t) {
+            LOG.error("SuggestionsIndexService.buildIndex(): failed. Suggestions will be served from the index store", t);
+        }
+
+        LOG.info("<== SuggestionsIndexService.buildIndex(): snapshotTime={}, entities={}, terms={}, timeTakenMs={}", snapshotTime, entityCount[0], trie.getTermCount(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Visits vertices of the given type - and state, if not null - whose timestampKey is fromTime or later. Vertices
+     * are read in pages of pageSize ordered by timestampKey, which the index store serves without reading earlier
+     * pages; the graph transaction is committed after each page, so that vertices read are not held in the transaction.
+     * Vertices having the same timestamp as the last vertex of a page are skipped in the next page. All vertices having
+     * the same timestamp, like entities created in one bulk request, are read in one transaction.
+     *
+     * @return false if interrupted
+     */
+    boolean visitVertices(String typeName, String state, String timestampKey, long fromTime, Consumer<AtlasVertex> visitor) {
+        long        pageStart      = fromTime;
+        Set<Object> visitedAtStart = new HashSet<>(); // vertices having timestamp pageStart, visited in earlier pages
+
+        while (!Thread.currentThread().isInterrupted()) {
+            long        lastTime      = pageStart;
+            Set<Object> visitedAtLast = new HashSet<>(visitedAtStart);
+            int         pageCount     = 0;
+
+            try {
+                AtlasGraphQuery query = getQuery(typeName, state).has(timestampKey, AtlasGraphQuery.ComparisionOperator.GREATER_THAN_EQUAL, pageStart)
+                                                                 .orderBy(timestampKey, AtlasGraphQuery.SortOrder.ASC);
+
+                for (AtlasVertex vertex : (Iterable<AtlasVertex>) query.vertices(pageSize)) {
+                    Long time = vertex.getProperty(timestampKey, Long.class);
+
+                    pageCount++;
+
+                    if (time == null) {
+                        continue;
+                    }
+
+                    if (time != lastTime) {
+                        lastTime = time;
+
+                        visitedAtLast.clear();
+                    }
+
+                    if (visitedAtLast.add(vertex.getId())) {
+                        visitor.accept(vertex);
+                    }
+                }
+            } finally {
+                graph.commit();
+            }
+
+            if (pageCount < pageSize) {
+                return true;
+            }
+
+            if (lastTime == pageStart) { // the page has only vertices having timestamp pageStart
+                try {
+                    for (AtlasVertex vertex : (Iterable<AtlasVertex>) getQuery(typeName, state).has(timestampKey, pageStart).vertices()) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            return false;
+                        }
+
+                        if (visitedAtLast.add(vertex.getId())) {
+                            visitor.accept(vertex);
+                        }
+                    }
+                } finally {
+                    graph.commit();
+                }
+
+                pageStart      = pageStart + 1;
+                visitedAtStart = new HashSet<>();
+            } else {
+                pageStart      = lastTime;
+                visitedAtStart = visitedAtLast;
+            }
+        }
+
+        return false;
+    }
+
+    private AtlasGraphQuery getQuery(String typeName, String state) {
+        AtlasGraphQuery ret = graph.query().has(ENTITY_TYPE_PROPERTY_KEY, typeName);
+
+        if (state != null) {
+            ret = ret.has(STATE_PROPERTY_KEY, state);
+        }
+
+        return ret;
+    }
+
+    private void addTokens(AtlasVertex vertex, List<String> propertyNames, int delta) {
+        for (String propertyName : propertyNames) {
+            for (String token : getTokens(vertex.getProperty(propertyName, String.class))) {
+                if (delta > 0) {
+                    trie.add(token, delta);
+                } else {
+                    trie.remove(token, -delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the index from the snapshot file, if one is available and is not older than snapshotMaxAgeMs.
+     * @return time of the snapshot; null if the index was not loaded
+     */
+    private Long loadSnapshot() {
+        if (snapshotFile == null || !snapshotFile.exists()) {
+            return null;
+        }
+
+        try {
+            Long ret = readSnapshot(trie, snapshotFile);
+
+            if (ret != null && System.currentTimeMillis() - ret <= snapshotMaxAgeMs) {
+                LOG.info("SuggestionsIndexService: loaded {} terms from snapshot {}, taken at {}", trie.getTermCount(), snapshotFile, ret);
+
+                return ret;
+            }
+
+            LOG.info("SuggestionsIndexService: snapshot {} taken at {} is older than {} ms. Index will be rebuilt", snapshotFile, ret, snapshotMaxAgeMs);
+        } catch (IOException | RuntimeException excp) {
+            LOG.warn("SuggestionsIndexService: failed to read snapshot {}. Index will be rebuilt", snapshotFile, excp);
+        }
+
+        trie.clear();
+
+        return null;
+    }
+
+    private void saveSnapshot() {
+        if (isReady) {
+            writeSnapshot(System.currentTimeMillis());
+        }
+    }
+
+    private void writeSnapshot(long snapshotTime) {
+        if (snapshotFile == null) {
+            return;
+        }
+
+        try {
+            writeSnapshot(trie, snapshotTime, snapshotFile);
+
+            LOG.info("SuggestionsIndexService: saved {} terms to snapshot {}", trie.getTermCount(), snapshotFile);
+        } catch (IOException | RuntimeException excp) {
+            LOG.warn("SuggestionsIndexService: failed to write snapshot {}", snapshotFile, excp);
+        }
+    }
+
+    // snapshot format: first line has the snapshot time; each following line has a term and its frequency, separated by a space
+    static void writeSnapshot(SuggestionsTrie trie, long snapshotTime, File file) throws IOException {
+        File tmpFile = new File(file.getPath() + ".tmp");
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmpFile), StandardCharsets.UTF_8))) {
+            writer.write(Long.toString(snapshotTime));
+            writer.write('\n');
+
+            trie.forEachTerm((term, count) -> {
+                try {
+                    writer.write(term);
+                    writer.write(' ');
+                    writer.write(Integer.toString(count));
+                    writer.write('\n');
+                } catch (IOException excp) {
+                    throw new UncheckedIOException(excp);
+                }
+            });
+        } catch (UncheckedIOException excp) {
+            throw excp.getCause();
+        }
+
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return time of the snapshot; null if the file is empty
+     */
+    static Long readSnapshot(SuggestionsTrie trie, File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+
+            if (StringUtils.isBlank(header)) {
+                return null;
+            }
+
+            Long ret = Long.parseLong(header.trim());
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                int idx = line.lastIndexOf(' ');
+
+                if (idx > 0) {
+                    trie.add(line.substring(0, idx), Integer.parseInt(line.substring(idx + 1)));
+                }
+            }
+
+            return ret;
+        }
+    }
+
+    private static File getDefaultSnapshotFile() {
+        String dataDirectory = System.getProperty(ATLAS_DATA);
+
+        if (StringUtils.isBlank(dataDirectory)) {
+            LOG.info("SuggestionsIndexService: {} not set. Index will not be saved to snapshot", ATLAS_DATA);
+
+            return null;
+        }
+
+        return new File(dataDirectory, SNAPSHOT_FILE_NAME);
+    }
+
+    private class PendingChangesHook extends GraphTransactionInterceptor.PostTransactionHook {
+        private final Map<String, Integer> tokenCounts = new HashMap<>();
+
+        void addChange(String token, int delta) {
+            tokenCounts.merge(token, delta, Integer::sum);
+        }
+
+        @Override
+        public void onComplete(boolean isSuccess) {
+            pendingChanges.remove();
+
+            if (!isSuccess) {
+                return;
+            }
+
+            for (Map.Entry<String, Integer> entry : tokenCounts.entrySet()) {
+                int delta = entry.getValue();
+
+                if (delta > 0) {
+                    trie.add(entry.getKey(), delta);
+                } else if (delta < 0) {
+                    trie.remove(entry.getKey(), -delta);
+                }
+            }
+        }
+    }
+}
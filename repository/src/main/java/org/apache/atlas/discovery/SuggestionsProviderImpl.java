@@ -26,23 +26,43 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
+import java.util.List;
 
 
 public class SuggestionsProviderImpl implements SuggestionsProvider {
     private static final Logger LOG = LoggerFactory.getLogger(SuggestionsProviderImpl.class);
 
-    private final AtlasGraph        graph;
-    private final AtlasTypeRegistry typeRegistry;
+    private static final int DEFAULT_SUGGESTION_COUNT = 5;
+
+    private final AtlasGraph              graph;
+    private final AtlasTypeRegistry       typeRegistry;
+    private final SuggestionsIndexService suggestionsIndex;
 
     public SuggestionsProviderImpl(AtlasGraph graph, AtlasTypeRegistry typeRegistry) {
-        this.graph        = graph;
-        this.typeRegistry = typeRegistry;
+        this(graph, typeRegistry, null);
+    }
+
+    public SuggestionsProviderImpl(AtlasGraph graph, AtlasTypeRegistry typeRegistry, SuggestionsIndexService suggestionsIndex) {
+        this.graph            = graph;
+        this.typeRegistry     = typeRegistry;
+        this.suggestionsIndex = suggestionsIndex;
     }
 
     @Override
     public AtlasSuggestionsResult getSuggestions(String prefixString, String fieldName) {
         AtlasSuggestionsResult result = new AtlasSuggestionsResult(prefixString, fieldName);
 
+        // in-memory index covers suggestions across fields; suggestions for a specific field are served by the index store
+        if (suggestionsIndex != null && fieldName == null) {
+            List<String> suggestions = suggestionsIndex.getSuggestions(prefixString, DEFAULT_SUGGESTION_COUNT);
+
+            if (suggestions != null) {
+                result.setSuggestions(suggestions);
+
+                return result;
+            }
+        }
+
         try {
             AtlasGraphIndexClient graphIndexClient = graph.getGraphIndexClient();
             String                indexFieldName   = (fieldName == null) ? null : typeRegistry.getIndexFieldName(fieldName);
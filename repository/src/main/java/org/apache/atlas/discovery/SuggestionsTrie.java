@@ -0,0 +1,354 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/*
+ * Trie of terms with their frequencies, to find the most frequent terms starting with a given prefix.
+ *
+ * Each node tracks the highest term frequency in its subtree, which lets getTopTerms() visit nodes in best-first
+ * order and stop as soon as the requested number of terms are found - independent of the number of terms
+ * matching the prefix.
+ */
+public class SuggestionsTrie {
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final ReadWriteLock lock      = new ReentrantReadWriteLock();
+    private final int           maxTerms;
+    private       Node          root      = new Node();
+    private       int           termCount = 0;
+
+    public SuggestionsTrie(int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    /**
+     * Adds given count to the frequency of the term. Terms not already in the trie are not added once the
+     * trie has maxTerms terms.
+     * @return false if the term was not added due to maxTerms limit
+     */
+    public boolean add(String term, int count) {
+        if (term == null || term.isEmpty() || count <= 0) {
+            return true;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            Node[] path = new Node[term.length() + 1];
+            Node   node = root;
+
+            path[0] = node;
+
+            for (int i = 0; i < term.length(); i++) {
+                Node child = node.getChild(term.charAt(i));
+
+                if (child == null) {
+                    if (termCount >= maxTerms) {
+                        return false;
+                    }
+
+                    child = node.addChild(term.charAt(i));
+                }
+
+                node        = child;
+                path[i + 1] = node;
+            }
+
+            if (node.count == 0) {
+                if (termCount >= maxTerms) {
+                    return false;
+                }
+
+                termCount++;
+            }
+
+            node.count += count;
+
+            updateMaxCount(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Subtracts given count from the frequency of the term; the term is removed when its frequency drops to 0.
+     */
+    public void remove(String term, int count) {
+        if (term == null || term.isEmpty() || count <= 0) {
+            return;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            Node[] path = new Node[term.length() + 1];
+            Node   node = root;
+
+            path[0] = node;
+
+            for (int i = 0; i < term.length(); i++) {
+                node = node.getChild(term.charAt(i));
+
+                if (node == null) {
+                    return;
+                }
+
+                path[i + 1] = node;
+            }
+
+            if (node.count == 0) {
+                return;
+            }
+
+            node.count = Math.max(node.count - count, 0);
+
+            if (node.count == 0) {
+                termCount--;
+            }
+
+            // prune nodes that no longer lead to any term
+            for (int i = term.length(); i > 0 && path[i].count == 0 && path[i].children.length == 0; i--) {
+                path[i - 1].removeChild(term.charAt(i - 1));
+            }
+
+            updateMaxCount(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> getTopTerms(String prefix, int maxCount) {
+        if (prefix == null || maxCount <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+
+        try {
+            Node node = root;
+
+            for (int i = 0; node != null && i < prefix.length(); i++) {
+                node = node.getChild(prefix.charAt(i));
+            }
+
+            if (node == null || node.maxCount == 0) {
+                return Collections.emptyList();
+            }
+
+            List<String>           ret   = new ArrayList<>(maxCount);
+            PriorityQueue<Visit>   queue = new PriorityQueue<>();
+
+            queue.add(new Visit(node, prefix, node.maxCount, false));
+
+            while (!queue.isEmpty() && ret.size() < maxCount) {
+                Visit visit = queue.poll();
+
+                if (visit.isTerm) {
+                    ret.add(visit.term);
+
+                    continue;
+                }
+
+                Node visitNode = visit.node;
+
+                if (visitNode.count > 0) {
+                    queue.add(new Visit(null, visit.term, visitNode.count, true));
+                }
+
+                for (int i = 0; i < visitNode.children.length; i++) {
+                    Node child = visitNode.children[i];
+
+                    queue.add(new Visit(child, visit.term + visitNode.chars[i], child.maxCount, false));
+                }
+            }
+
+            return ret;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+
+        try {
+            return termCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calls the consumer with each term and its frequency, in lexical order. Updates to the trie wait until this returns.
+     */
+    public void forEachTerm(BiConsumer<String, Integer> consumer) {
+        lock.readLock().lock();
+
+        try {
+            forEachTerm(root, new StringBuilder(), consumer);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+
+        try {
+            root      = new Node();
+            termCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void forEachTerm(Node node, StringBuilder term, BiConsumer<String, Integer> consumer) {
+        if (node.count > 0) {
+            consumer.accept(term.toString(), node.count);
+        }
+
+        for (int i = 0; i < node.children.length; i++) {
+            term.append(node.chars[i]);
+
+            forEachTerm(node.children[i], term, consumer);
+
+            term.setLength(term.length() - 1);
+        }
+    }
+
+    private static void updateMaxCount(Node[] path) {
+        for (int i = path.length - 1; i >= 0; i--) {
+            Node node = path[i];
+
+            if (node == null) {
+                continue;
+            }
+
+            int maxCount = node.count;
+
+            for (Node child : node.children) {
+                if (child.maxCount > maxCount) {
+                    maxCount = child.maxCount;
+                }
+            }
+
+            node.maxCount = maxCount;
+        }
+    }
+
+    // children are kept in parallel arrays sorted by char, to keep memory usage low for large number of terms
+    private static class Node {
+        private char[] chars    = NO_CHARS;
+        private Node[] children = NO_NODES;
+        private int    count;
+        private int    maxCount;
+
+        Node getChild(char c) {
+            int idx = Arrays.binarySearch(chars, c);
+
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        Node addChild(char c) {
+            int  idx   = -(Arrays.binarySearch(chars, c) + 1);
+            Node child = new Node();
+
+            char[] newChars    = new char[chars.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+
+            System.arraycopy(chars, 0, newChars, 0, idx);
+            System.arraycopy(children, 0, newChildren, 0, idx);
+            System.arraycopy(chars, idx, newChars, idx + 1, chars.length - idx);
+            System.arraycopy(children, idx, newChildren, idx + 1, children.length - idx);
+
+            newChars[idx]    = c;
+            newChildren[idx] = child;
+
+            chars    = newChars;
+            children = newChildren;
+
+            return child;
+        }
+
+        void removeChild(char c) {
+            int idx = Arrays.binarySearch(chars, c);
+
+            if (idx < 0) {
+                return;
+            }
+
+            if (chars.length == 1) {
+                chars    = NO_CHARS;
+                children = NO_NODES;
+            } else {
+                char[] newChars    = new char[chars.length - 1];
+                Node[] newChildren = new Node[children.length - 1];
+
+                System.arraycopy(chars, 0, newChars, 0, idx);
+                System.arraycopy(children, 0, newChildren, 0, idx);
+                System.arraycopy(chars, idx + 1, newChars, idx, chars.length - idx - 1);
+                System.arraycopy(children, idx + 1, newChildren, idx, children.length - idx - 1);
+
+                chars    = newChars;
+                children = newChildren;
+            }
+        }
+    }
+
+    // higher count first; for same count, terms before subtrees and then in lexical order
+    private static class Visit implements Comparable<Visit> {
+        private final Node    node;
+        private final String  term;
+        private final int     count;
+        private final boolean isTerm;
+
+        Visit(Node node, String term, int count, boolean isTerm) {
+            this.node   = node;
+            this.term   = term;
+            this.count  = count;
+            this.isTerm = isTerm;
+        }
+
+        @Override
+        public int compareTo(Visit other) {
+            int ret = Integer.compare(other.count, count);
+
+            if (ret == 0) {
+                ret = Boolean.compare(other.isTerm, isTerm);
+            }
+
+            if (ret == 0) {
+                ret = term.compareTo(other.term);
+            }
+
+            return ret;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.listener;
+
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.model.instance.EntityMutations.EntityOperation;
+import org.apache.atlas.repository.converters.AtlasInstanceConverter;
+import org.apache.atlas.repository.graph.IFullTextMapper;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.v1.model.instance.Referenceable;
+import org.apache.commons.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entities created, updated, deleted or purged by an entity mutation, in the representations needed by change
+ * listeners. Each representation of an entity is materialized on first access and shared by all listeners: AtlasEntity
+ * and AtlasEntityWithExtInfo are loaded from the graph through the request-scoped cache in RequestContext, shared with
+ * full-text mapping; Referenceable is converted once from the AtlasEntityWithExtInfo.
+ *
+ * Delete and purge don't need all attributes; for these operations entities are built from the entity headers.
+ */
+public class ChangedEntities {
+    private static final Logger LOG = LoggerFactory.getLogger(ChangedEntities.class);
+
+    private final EntityMutationResponse                    mutationResponse;
+    private final AtlasTypeRegistry                         typeRegistry;
+    private final IFullTextMapper                           entityLoader;
+    private final AtlasInstanceConverter                    instanceConverter;
+    private final Map<EntityOperation, List<AtlasEntity>>   entities       = new EnumMap<>(EntityOperation.class);
+    private final Map<EntityOperation, List<Referenceable>> referenceables = new EnumMap<>(EntityOperation.class);
+    private final Map<String, Referenceable>                guidRefs       = new HashMap<>();
+
+    public ChangedEntities(EntityMutationResponse mutationResponse, AtlasTypeRegistry typeRegistry, IFullTextMapper entityLoader, AtlasInstanceConverter instanceConverter) {
+        this.mutationResponse  = mutationResponse;
+        this.typeRegistry      = typeRegistry;
+        this.entityLoader      = entityLoader;
+        this.instanceConverter = instanceConverter;
+    }
+
+    public EntityMutationResponse getMutationResponse() {
+        return mutationResponse;
+    }
+
+    public List<AtlasEntityHeader> getEntityHeaders(EntityOperation operation) {
+        List<AtlasEntityHeader> ret = mutationResponse != null ? mutationResponse.getEntitiesByOperation(operation) : null;
+
+        return ret != null ? ret : Collections.emptyList();
+    }
+
+    /**
+     * @return entities changed by the operation, excluding entities of internal types
+     */
+    public List<AtlasEntity> getEntities(EntityOperation operation) throws AtlasBaseException {
+        List<AtlasEntity> ret = entities.get(operation);
+
+        if (ret == null) {
+            List<AtlasEntityHeader> entityHeaders = getEntityHeaders(operation);
+
+            ret = new ArrayList<>(entityHeaders.size());
+
+            for (AtlasEntityHeader entityHeader : entityHeaders) {
+                String          typeName   = entityHeader.getTypeName();
+                AtlasEntityType entityType = typeRegistry.getEntityTypeByName(typeName);
+
+                if (entityType == null) {
+                    continue;
+                }
+
+                // Skip all internal types as the HARD DELETE will cause lookup errors
+                if (entityType.isInternalType()) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Skipping internal type = {}", typeName);
+                    }
+
+                    continue;
+                }
+
+                final AtlasEntity entity;
+
+                if (operation == EntityOperation.DELETE || operation == EntityOperation.PURGE) {
+                    entity = new AtlasEntity(entityHeader);
+                } else {
+                    entity = getEntity(entityHeader.getGuid());
+                }
+
+                if (entity != null) {
+                    ret.add(entity);
+                }
+            }
+
+            entities.put(operation, ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * @return V1 representation of entities changed by the operation; empty if AtlasInstanceConverter is not available
+     */
+    public List<Referenceable> getReferenceables(EntityOperation operation) throws AtlasBaseException {
+        List<Referenceable> ret = referenceables.get(operation);
+
+        if (ret == null) {
+            List<AtlasEntityHeader> entityHeaders = getEntityHeaders(operation);
+
+            ret = new ArrayList<>(entityHeaders.size());
+
+            if (instanceConverter != null) {
+                for (AtlasEntityHeader entityHeader : entityHeaders) {
+                    if (operation == EntityOperation.DELETE) {
+                        ret.add(new Referenceable(entityHeader.getGuid(), entityHeader.getTypeName(), entityHeader.getAttributes()));
+                    } else {
+                        ret.add(getReferenceable(entityHeader.getGuid()));
+                    }
+                }
+            }
+
+            referenceables.put(operation, ret);
+        }
+
+        return ret;
+    }
+
+    public AtlasEntity getEntity(String guid) throws AtlasBaseException {
+        return entityLoader.getAndCacheEntity(guid);
+    }
+
+    public AtlasEntityWithExtInfo getEntityWithExtInfo(String guid) throws AtlasBaseException {
+        return instanceConverter.getAndCacheEntityExtInfo(guid);
+    }
+
+    public Referenceable getReferenceable(String guid) throws AtlasBaseException {
+        Referenceable ret = guidRefs.get(guid);
+
+        if (ret == null && !guidRefs.containsKey(guid)) {
+            AtlasEntityWithExtInfo entityWithExtInfo = getEntityWithExtInfo(guid);
+
+            ret = entityWithExtInfo != null ? instanceConverter.getReferenceable(entityWithExtInfo) : null;
+
+            guidRefs.put(guid, ret);
+        }
+
+        return ret;
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.atlas.model.instance.AtlasClassification;
 import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.instance.AtlasRelatedObjectId;
 import org.apache.atlas.model.instance.AtlasRelationship;
+import org.apache.atlas.model.instance.EntityMutations.EntityOperation;
 
 import java.util.List;
 import java.util.Map;
@@ -33,6 +34,43 @@ import java.util.Set;
  * Entity change notification listener V2.
  */
 public interface EntityChangeListenerV2 {
+    /**
+     * This is upon creating, updating, deleting or purging entities in an entity mutation. Entities in changedEntities
+     * are materialized on first access, and are shared with other listeners.
+     * Default implementation calls onEntitiesAdded(), onEntitiesUpdated(), onEntitiesDeleted() and onEntitiesPurged().
+     *
+     * @param changedEntities the entities changed, by operation
+     * @param isImport
+     */
+    default void onEntitiesMutated(ChangedEntities changedEntities, boolean isImport) throws AtlasBaseException {
+        for (EntityOperation operation : EntityOperation.values()) {
+            if (changedEntities.getEntityHeaders(operation).isEmpty()) {
+                continue;
+            }
+
+            List<AtlasEntity> entities = changedEntities.getEntities(operation);
+
+            switch (operation) {
+                case CREATE:
+                    onEntitiesAdded(entities, isImport);
+                    break;
+
+                case UPDATE:
+                case PARTIAL_UPDATE:
+                    onEntitiesUpdated(entities, isImport);
+                    break;
+
+                case DELETE:
+                    onEntitiesDeleted(entities, isImport);
+                    break;
+
+                case PURGE:
+                    onEntitiesPurged(entities);
+                    break;
+            }
+        }
+    }
+
     /**
      * This is upon adding new entities to the repository.
      *
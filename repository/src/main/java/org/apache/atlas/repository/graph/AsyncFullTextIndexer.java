@@ -0,0 +1,371 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.ha.HAConfiguration;
+import org.apache.atlas.listener.ActiveStateChangeHandler;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
+import org.apache.atlas.service.Service;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.atlas.repository.Constants.ENTITY_TEXT_PROPERTY_KEY;
+
+/*
+ * Maintains full-text (entityText) of entities in background, instead of in the transaction that creates/updates them.
+ *
+ * Guids of entities changed in a transaction are queued after the transaction commits; an entity changed again
+ * while queued is queued only once. A background thread waits for lingerMs after the oldest queued change, to let
+ * changes coalesce, and then recomputes the text of queued entities in batches, committing each batch. The text is
+ * computed from the entity as of the batch, hence it includes all changes committed earlier.
+ *
+ * Staleness is bounded: while the oldest queued change is older than maxStalenessMs, canDefer() returns false and
+ * the caller is expected to compute the text in its own transaction, as done when this indexer is disabled. On stop,
+ * and when the instance becomes passive, queued entities are processed before the background thread exits.
+ */
+@Component
+@Order(3)
+public class AsyncFullTextIndexer implements Service, ActiveStateChangeHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncFullTextIndexer.class);
+
+    private static final ThreadLocal<PendingGuidsHook> pendingGuids = new ThreadLocal<>();
+
+    private final Configuration               configuration;
+    private final AtlasGraph                  graph;
+    private final FullTextMapperV2            fullTextMapper;
+    private final boolean                     isEnabled;
+    private final long                        lingerMs;
+    private final int                         batchSize;
+    private final long                        maxStalenessMs;
+    private final LinkedHashMap<String, Long> queue          = new LinkedHashMap<>(); // guid -> time queued, in order queued
+    private final AtomicLong                  processedCount = new AtomicLong();
+    private final AtomicLong                  failedCount    = new AtomicLong();
+    private volatile boolean                  isRunning      = false;
+    private          Thread                   indexerThread;
+
+    @Inject
+    public AsyncFullTextIndexer(Configuration configuration, AtlasGraph graph, FullTextMapperV2 fullTextMapper) {
+        this(configuration, graph, fullTextMapper, AtlasConfiguration.FULLTEXT_ASYNC_ENABLED.getBoolean(), AtlasConfiguration.FULLTEXT_ASYNC_LINGER_MS.getLong(),
+             AtlasConfiguration.FULLTEXT_ASYNC_BATCH_SIZE.getInt(), AtlasConfiguration.FULLTEXT_ASYNC_MAX_STALENESS_MS.getLong());
+    }
+
+    AsyncFullTextIndexer(Configuration configuration, AtlasGraph graph, FullTextMapperV2 fullTextMapper, boolean isEnabled, long lingerMs, int batchSize, long maxStalenessMs) {
+        this.configuration  = configuration;
+        this.graph          = graph;
+        this.fullTextMapper = fullTextMapper;
+        this.isEnabled      = isEnabled;
+        this.lingerMs       = Math.max(lingerMs, 0);
+        this.batchSize      = Math.max(batchSize, 1);
+        this.maxStalenessMs = Math.max(maxStalenessMs, this.lingerMs);
+    }
+
+    @Override
+    public void start() throws AtlasException {
+        if (!isEnabled) {
+            LOG.info("AsyncFullTextIndexer: disabled");
+
+            return;
+        }
+
+        if (!HAConfiguration.isHAEnabled(configuration)) {
+            startIndexer();
+        } else {
+            LOG.info("AsyncFullTextIndexer.start(): deferring until instance activation");
+        }
+    }
+
+    @Override
+    public void stop() {
+        stopIndexer();
+    }
+
+    @Override
+    public void instanceIsActive() {
+        if (isEnabled) {
+            startIndexer();
+        }
+    }
+
+    @Override
+    public void instanceIsPassive() {
+        stopIndexer();
+    }
+
+    @Override
+    public int getHandlerOrder() {
+        return HandlerOrder.FULL_TEXT_INDEXER.getOrder();
+    }
+
+    /**
+     * @return true if full-text of entities changed in the current transaction can be computed in background, by
+     *         calling defer(); false if the indexer is not running, is behind by more than maxStalenessMs, or if the
+     *         caller is not in a graph transaction - deferred entities are queued only when such a transaction commits
+     */
+    public boolean canDefer() {
+        if (!isRunning || !GraphTransactionInterceptor.isTxnOpen()) {
+            return false;
+        }
+
+        synchronized (queue) {
+            return queue.isEmpty() || (System.currentTimeMillis() - queue.values().iterator().next()) < maxStalenessMs;
+        }
+    }
+
+    /**
+     * Records the entity to be queued for full-text mapping once the current transaction commits successfully.
+     */
+    public void defer(String guid) {
+        PendingGuidsHook hook = pendingGuids.get();
+
+        if (hook == null) {
+            hook = new PendingGuidsHook();
+
+            pendingGuids.set(hook);
+        }
+
+        hook.guids.add(guid);
+    }
+
+    public int getQueueSize() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    void enqueue(Collection<String> guids) {
+        synchronized (queue) {
+            if (isRunning) {
+                Long now = System.currentTimeMillis();
+
+                for (String guid : guids) {
+                    queue.putIfAbsent(guid, now);
+                }
+
+                queue.notifyAll();
+
+                return;
+            }
+        }
+
+        // indexer stopped after the changes were deferred - map in the caller's thread, so that the changes aren't lost
+        mapFullText(new ArrayList<>(guids));
+    }
+
+    private synchronized void startIndexer() {
+        if (indexerThread != null) {
+            return;
+        }
+
+        isRunning     = true;
+        indexerThread = new Thread(this::runIndexer, "atlas-fulltext-indexer");
+
+        indexerThread.setDaemon(true);
+        indexerThread.start();
+
+        LOG.info("AsyncFullTextIndexer: started. lingerMs={}, batchSize={}, maxStalenessMs={}", lingerMs, batchSize, maxStalenessMs);
+    }
+
+    private synchronized void stopIndexer() {
+        if (indexerThread == null) {
+            return;
+        }
+
+        synchronized (queue) {
+            isRunning = false;
+
+            queue.notifyAll();
+        }
+
+        LOG.info("AsyncFullTextIndexer: stopping; processing {} queued entities", getQueueSize());
+
+        try {
+            indexerThread.join();
+        } catch (InterruptedException excp) {
+            LOG.warn("AsyncFullTextIndexer: interrupted while waiting for queued entities to be processed. {} entities not processed", getQueueSize());
+
+            Thread.currentThread().interrupt();
+        }
+
+        indexerThread = null;
+
+        LOG.info("AsyncFullTextIndexer: stopped. processedCount={}, failedCount={}", processedCount.get(), failedCount.get());
+    }
+
+    private void runIndexer() {
+        while (true) {
+            List<String> guids;
+
+            try {
+                guids = nextBatch();
+            } catch (InterruptedException excp) {
+                LOG.warn("AsyncFullTextIndexer: interrupted. {} entities not processed", getQueueSize());
+
+                break;
+            }
+
+            if (guids.isEmpty()) { // stopped, with empty queue
+                break;
+            }
+
+            try {
+                mapFullText(guids);
+            } finally {
+                RequestContext.clear();
+            }
+        }
+    }
+
+    private List<String> nextBatch() throws InterruptedException {
+        synchronized (queue) {
+            while (true) {
+                if (queue.isEmpty()) {
+                    if (!isRunning) {
+                        return Collections.emptyList();
+                    }
+
+                    queue.wait();
+
+                    continue;
+                }
+
+                long waitMs = queue.values().iterator().next() + lingerMs - System.currentTimeMillis();
+
+                if (!isRunning || waitMs <= 0 || queue.size() >= batchSize) {
+                    break;
+                }
+
+                queue.wait(waitMs);
+            }
+
+            List<String>                      ret  = new ArrayList<>(Math.min(queue.size(), batchSize));
+            Iterator<Map.Entry<String, Long>> iter = queue.entrySet().iterator();
+
+            while (iter.hasNext() && ret.size() < batchSize) {
+                ret.add(iter.next().getKey());
+
+                iter.remove();
+            }
+
+            return ret;
+        }
+    }
+
+    private void mapFullText(List<String> guids) {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            for (String guid : guids) {
+                setFullText(guid);
+            }
+
+            graph.commit();
+
+            processedCount.addAndGet(guids.size());
+        } catch (Throwable t) {
+            LOG.warn("AsyncFullTextIndexer: failed to update full-text of {} entities together; retrying one at a time", guids.size(), t);
+
+            rollback();
+
+            for (String guid : guids) {
+                try {
+                    setFullText(guid);
+
+                    graph.commit();
+
+                    processedCount.incrementAndGet();
+                } catch (Throwable t2) {
+                    LOG.error("FullText mapping failed for Vertex[ guid = {} ]", guid, t2);
+
+                    failedCount.incrementAndGet();
+
+                    rollback();
+                }
+            }
+        } finally {
+            GraphTransactionInterceptor.clearCache();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("AsyncFullTextIndexer: updated full-text of {} entities in {} ms", guids.size(), System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private void setFullText(String guid) throws Exception {
+        AtlasVertex vertex = AtlasGraphUtilsV2.findByGuid(graph, guid);
+
+        if (vertex == null || GraphHelper.isInternalType(vertex)) { // purged since queued
+            return;
+        }
+
+        String fullText = fullTextMapper.getIndexTextForEntity(guid);
+
+        if (fullText != null) {
+            AtlasGraphUtilsV2.setEncodedProperty(vertex, ENTITY_TEXT_PROPERTY_KEY, fullText);
+        }
+    }
+
+    private void rollback() {
+        try {
+            graph.rollback();
+        } catch (Throwable t) {
+            LOG.warn("AsyncFullTextIndexer: rollback failed", t);
+        }
+    }
+
+    private class PendingGuidsHook extends GraphTransactionInterceptor.PostTransactionHook {
+        private final Set<String> guids = new LinkedHashSet<>();
+
+        @Override
+        public void onComplete(boolean isSuccess) {
+            pendingGuids.remove();
+
+            if (isSuccess && !guids.isEmpty()) {
+                enqueue(guids);
+            }
+        }
+    }
+}
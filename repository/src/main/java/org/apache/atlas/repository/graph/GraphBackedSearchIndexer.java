@@ -229,6 +229,9 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
             //resolve index fields names
             resolveIndexFieldNames(management, changedTypeDefs);
 
+            //create vertex-centric indexes for relationships created before these indexes were introduced
+            createEdgeLabels(management, new ArrayList<>(typeRegistry.getAllRelationshipDefs()));
+
             //Commit indexes
             commit(management);
 
@@ -239,6 +242,39 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         }
     }
 
+    /**
+     * Resolves index field names of attributes of all entity and business-metadata types in the type registry, without
+     * updating the graph schema. Used by passive instances after reloading types from the typedef store; index updates
+     * are done only in the active instance.
+     */
+    public void resolveIndexFieldNames() throws AtlasBaseException {
+        AtlasGraphManagement management = null;
+
+        try {
+            management = provider.get().getManagementSystem();
+
+            for (AtlasEntityType entityType : typeRegistry.getAllEntityTypes()) {
+                resolveIndexFieldNames(management, entityType);
+            }
+
+            for (AtlasBusinessMetadataType businessMetadataType : typeRegistry.getAllBusinessMetadataTypes()) {
+                resolveIndexFieldNames(management, businessMetadataType);
+            }
+        } catch (RepositoryException e) {
+            LOG.error("Failed to resolve index field names", e);
+
+            throw new AtlasBaseException(e);
+        } finally {
+            if (management != null) {
+                try {
+                    rollback(management);
+                } catch (IndexException e) {
+                    LOG.warn("Index rollback failed after resolving index field names", e);
+                }
+            }
+        }
+    }
+
     public Set<String> getVertexIndexKeys() {
         if (recomputeIndexedKeys) {
             AtlasGraphManagement management = null;
@@ -791,7 +827,8 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         }
     }
 
-    private void createVertexCentricIndex(AtlasGraphManagement management, String edgeLabel, AtlasEdgeDirection edgeDirection, List<String> propertyNames) {
+    // returns true if the index was created
+    private boolean createVertexCentricIndex(AtlasGraphManagement management, String edgeLabel, AtlasEdgeDirection edgeDirection, List<String> propertyNames) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Creating vertex-centric index for edge label: {} direction: {} for properties: {}",
                     edgeLabel, edgeDirection.name(), propertyNames);
@@ -813,7 +850,11 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
             management.createEdgeIndex(edgeLabel, indexName, edgeDirection, propertyKeys);
 
             LOG.info("Created vertex-centric index for edge label: {} direction: {} for properties: {}", edgeLabel, edgeDirection.name(), propertyNames);
+
+            return true;
         }
+
+        return false;
     }
 
 
@@ -1058,7 +1099,17 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         String relationshipTypeName = relationshipDef.getName();
         AtlasRelationshipType relationshipType = typeRegistry.getRelationshipTypeByName(relationshipTypeName);
         String relationshipLabel = relationshipType.getRelationshipLabel();
+        boolean isExistingLabel = !StringUtils.isEmpty(relationshipLabel) && management.getEdgeLabel(relationshipLabel) != null;
 
         createEdgeLabelUsingLabelName(management, relationshipLabel);
+
+        // vertex-centric index to look up edges by state (and relationship-guid) without iterating over all edges of the
+        // label - vertices like databases, directories and glossary terms can have a very large number of edges. An index
+        // added to a label that already has edges is not used until existing edges are reindexed by atlas-index-repair
+        boolean isIndexCreated = createVertexCentricIndex(management, relationshipLabel, AtlasEdgeDirection.BOTH, Arrays.asList(STATE_PROPERTY_KEY, RELATIONSHIP_GUID_PROPERTY_KEY));
+
+        if (isIndexCreated && isExistingLabel) {
+            LOG.warn("vertex-centric index on existing edge label {} is not used until enabled with: atlas-index-repair/repair_index.py -e", relationshipLabel);
+        }
     }
 }
@@ -495,6 +495,11 @@ public final class GraphHelper {
         return getEdgeForLabel(vertex, edgeLabel, AtlasEdgeDirection.OUT);
     }
 
+    /**
+     * Returns the active edge for the given edge label or, when there is no active edge, the latest deleted edge.
+     * As deleted edges are needed when there is no active edge, all edges of the label are read in a single query;
+     * use getActiveEdgeByLabel() when only an active edge is of interest.
+     */
     public AtlasEdge getEdgeForLabel(AtlasVertex vertex, String edgeLabel, AtlasEdgeDirection edgeDirection) {
         Iterator<AtlasEdge> iterator = getAdjacentEdgesByLabel(vertex, edgeDirection, edgeLabel);
         AtlasEdge latestDeletedEdge = null;
@@ -526,6 +531,75 @@ public final class GraphHelper {
         return latestDeletedEdge;
     }
 
+    /**
+     * Returns an active edge for the given edge label. The edge state is part of the vertex-centric index on
+     * relationship edge labels, hence this doesn't iterate over all the edges of vertices having a large number of edges.
+     * Unlike getEdgeForLabel(), deleted edges are not returned
+     * @param vertex
+     * @param direction
+     * @param edgeLabel
+     * @return
+     */
+    public static AtlasEdge getActiveEdgeByLabel(AtlasVertex vertex, AtlasEdgeDirection direction, String edgeLabel) {
+        AtlasPerfMetrics.MetricRecorder metric = RequestContext.get().startMetricRecord("getActiveEdgeByLabel");
+        AtlasEdge                       ret    = null;
+
+        if (vertex != null && edgeLabel != null) {
+            Iterable edges = vertex.query().direction(direction).label(edgeLabel).has(STATE_PROPERTY_KEY, ACTIVE.name()).edges(1);
+
+            if (edges != null) {
+                Iterator<AtlasEdge> iterator = edges.iterator();
+
+                ret = iterator.hasNext() ? iterator.next() : null;
+            }
+        }
+
+        RequestContext.get().endMetricRecord(metric);
+
+        return ret;
+    }
+
+    /**
+     * Returns the edges for the given edge label between the given vertices. The adjacent vertex is looked up
+     * in the adjacency list of the vertex, instead of iterating over all the edges of the label.
+     * @param vertex
+     * @param edgeLabel
+     * @param edgeDirection
+     * @param adjacentVertex
+     * @return
+     */
+    public static Iterator<AtlasEdge> getEdgesForLabel(AtlasVertex vertex, String edgeLabel, AtlasRelationshipEdgeDirection edgeDirection, AtlasVertex adjacentVertex) {
+        AtlasPerfMetrics.MetricRecorder metric = RequestContext.get().startMetricRecord("getEdgesForLabelAndAdjacentVertex");
+        Iterator<AtlasEdge>             ret    = null;
+
+        if (vertex != null && edgeLabel != null && adjacentVertex != null) {
+            final AtlasEdgeDirection direction;
+
+            switch (edgeDirection) {
+                case IN:
+                    direction = AtlasEdgeDirection.IN;
+                    break;
+
+                case OUT:
+                    direction = AtlasEdgeDirection.OUT;
+                    break;
+
+                case BOTH:
+                default:
+                    direction = AtlasEdgeDirection.BOTH;
+                    break;
+            }
+
+            Iterable edges = vertex.query().direction(direction).label(edgeLabel).adjacent(adjacentVertex).edges();
+
+            ret = edges != null ? edges.iterator() : null;
+        }
+
+        RequestContext.get().endMetricRecord(metric);
+
+        return ret;
+    }
+
     public static String vertexString(final AtlasVertex vertex) {
         StringBuilder properties = new StringBuilder();
         for (String propertyKey : vertex.getPropertyKeys()) {
@@ -1355,6 +1429,14 @@ public final class GraphHelper {
         return (List<AtlasEdge>) IteratorUtils.toList(edgesForLabel);
     }
 
+    public static List<AtlasEdge> getMapValuesUsingRelationship(AtlasVertex vertex, AtlasAttribute attribute, AtlasVertex adjacentVertex) {
+        String                         edgeLabel     = attribute.getRelationshipEdgeLabel();
+        AtlasRelationshipEdgeDirection edgeDirection = attribute.getRelationshipEdgeDirection();
+        Iterator<AtlasEdge>            edgesForLabel = getEdgesForLabel(vertex, edgeLabel, edgeDirection, adjacentVertex);
+
+        return (List<AtlasEdge>) IteratorUtils.toList(edgesForLabel);
+    }
+
     // map elements for primitive types
     public static Map<String, Object> getPrimitiveMap(AtlasVertex instanceVertex, String propertyName) {
         Map<String, Object> ret = instanceVertex.getProperty(AtlasGraphUtilsV2.encodePropertyKey(propertyName), Map.class);
@@ -1375,6 +1457,22 @@ public final class GraphHelper {
         return ret;
     }
 
+    /**
+     * Returns the elements of the collection attribute that refer to the given adjacent vertex
+     */
+    public static List<AtlasEdge> getCollectionElementsUsingRelationship(AtlasVertex vertex, AtlasAttribute attribute, AtlasVertex adjacentVertex) {
+        List<AtlasEdge>                ret;
+        String                         edgeLabel     = attribute.getRelationshipEdgeLabel();
+        AtlasRelationshipEdgeDirection edgeDirection = attribute.getRelationshipEdgeDirection();
+        Iterator<AtlasEdge>            edgesForLabel = getEdgesForLabel(vertex, edgeLabel, edgeDirection, adjacentVertex);
+
+        ret = IteratorUtils.toList(edgesForLabel);
+
+        sortCollectionElements(attribute, ret);
+
+        return ret;
+    }
+
     private static void sortCollectionElements(AtlasAttribute attribute, List<AtlasEdge> edges) {
         // sort array elements based on edge index
         if (attribute.getAttributeType() instanceof AtlasArrayType &&
@@ -33,6 +33,8 @@ import org.apache.atlas.model.typedef.AtlasStructDef;
 import org.apache.atlas.model.typedef.AtlasTypesDef;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.store.graph.v2.EntityGraphRetriever;
+import org.apache.atlas.repository.util.GuidList;
+import org.apache.atlas.repository.util.GuidSet;
 import org.apache.atlas.repository.util.UniqueList;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.util.AtlasGremlinQueryProvider;
@@ -101,6 +103,7 @@ public class ExportService {
             LOG.info("<== export(user={}, from={}): status {}: changeMarker: {}",
                     userName, requestingIP, context.result.getOperationStatus(), context.result.getChangeMarker());
             context.clear();
+            context.close();
             result.clear();
         }
 
@@ -336,11 +339,13 @@ public class ExportService {
         private static final String ATLAS_TYPE_HIVE_TABLE = "hive_table";
 
 
-        final UniqueList<String>              entityCreationOrder = new UniqueList<>();
-        final Set<String>                     guidsProcessed = new HashSet<>();
+        private final GuidList                entityCreationOrderList = new GuidList();
+        private final GuidSet                 entityCreationOrderSet  = new GuidSet();
+        final UniqueList<String>              entityCreationOrder = new UniqueList<>(entityCreationOrderList, entityCreationOrderSet);
+        final GuidSet                         guidsProcessed = new GuidSet();
         final UniqueList<String>              guidsToProcess = new UniqueList<>();
         final UniqueList<String>              lineageToProcess = new UniqueList<>();
-        final Set<String>                     lineageProcessed = new HashSet<>();
+        final GuidSet                         lineageProcessed = new GuidSet();
         final Map<String, TraversalDirection> guidDirection  = new HashMap<>();
         final Set<String>                     entityTypes         = new HashSet<>();
         final Set<String>                     classificationTypes = new HashSet<>();
@@ -418,6 +423,14 @@ public class ExportService {
             guidDirection.clear();
         }
 
+        // releases memory-mapped files held by GUID collections
+        public void close() {
+            entityCreationOrderList.close();
+            entityCreationOrderSet.close();
+            guidsProcessed.close();
+            lineageProcessed.close();
+        }
+
         public void addToBeProcessed(boolean isSuperTypeProcess, String guid, TraversalDirection direction) {
             if(isSuperTypeProcess) {
                 lineageToProcess.add(guid);
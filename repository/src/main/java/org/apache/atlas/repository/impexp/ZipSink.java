@@ -17,20 +17,21 @@
  */
 package org.apache.atlas.repository.impexp;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.impexp.AtlasExportResult;
 import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.repository.util.GuidSet;
 import org.apache.atlas.type.AtlasType;
+import org.apache.atlas.utils.AtlasJson;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -40,7 +41,7 @@ public class ZipSink {
     private static String FILE_EXTENSION_JSON = ".json";
 
     private ZipOutputStream zipOutputStream;
-    final Set<String>       guids = new HashSet<>();
+    final GuidSet           guids = new GuidSet();
 
     public ZipSink(OutputStream outputStream) {
         zipOutputStream = new ZipOutputStream(outputStream);
@@ -68,9 +69,32 @@ public class ZipSink {
         saveToZip(ZipExportFileNames.ATLAS_TYPESDEF_NAME, jsonData);
     }
 
+    /**
+     * Write the export order, streaming the GUIDs to the zip - instead of building the json for all GUIDs in memory.
+     */
     public void setExportOrder(List<String> result) throws AtlasBaseException {
-        String jsonData = convertToJSON(result);
-        saveToZip(ZipExportFileNames.ATLAS_EXPORT_ORDER_NAME, jsonData);
+        String fileName = ZipExportFileNames.ATLAS_EXPORT_ORDER_NAME.toString();
+
+        try {
+            zipOutputStream.putNextEntry(new ZipEntry(fileName + FILE_EXTENSION_JSON));
+
+            JsonGenerator generator = AtlasJson.getMapper().getFactory().createGenerator(zipOutputStream);
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            generator.writeStartArray();
+
+            for (String guid : result) {
+                generator.writeString(guid);
+            }
+
+            generator.writeEndArray();
+            generator.close();
+
+            zipOutputStream.closeEntry();
+        } catch (IOException e) {
+            throw new AtlasBaseException(String.format("Error writing file %s.", fileName), e);
+        }
     }
 
     public void close() {
@@ -81,6 +105,8 @@ public class ZipSink {
             }
         } catch (IOException e) {
             LOG.error("Error closing Zip file", e);
+        } finally {
+            guids.close();
         }
     }
 
@@ -18,13 +18,17 @@
 
 package org.apache.atlas.repository.impexp;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import org.apache.atlas.entitytransform.BaseEntityHandler;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.impexp.AtlasExportResult;
 import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.typedef.AtlasTypesDef;
 import org.apache.atlas.repository.store.graph.v2.EntityImportStream;
+import org.apache.atlas.repository.util.GuidList;
 import org.apache.atlas.type.AtlasType;
+import org.apache.atlas.utils.AtlasJson;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
@@ -38,7 +42,6 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.zip.ZipEntry;
@@ -56,7 +59,7 @@ public class ZipSourceWithBackingDirectory implements EntityImportStream {
     private ImportTransforms importTransform;
     private List<BaseEntityHandler> entityHandlers;
 
-    private ArrayList<String> creationOrder = new ArrayList<>();
+    private GuidList creationOrder = new GuidList();
     private int currentPosition;
     private int numberOfEntries;
 
@@ -204,7 +207,7 @@ public class ZipSourceWithBackingDirectory implements EntityImportStream {
 
     @Override
     public void close() {
-        creationOrder.clear();
+        creationOrder.close();
         try {
             LOG.error("Import: Removing temporary directory: {}", tempDirectory.toString());
             FileUtils.deleteDirectory(tempDirectory.toFile());
@@ -287,7 +290,7 @@ public class ZipSourceWithBackingDirectory implements EntityImportStream {
 
     private void setupIterator() {
         try {
-            creationOrder = getJsonFromEntry(ZipExportFileNames.ATLAS_EXPORT_ORDER_NAME.toString(), ArrayList.class);
+            readCreationOrder();
         } catch (AtlasBaseException e) {
             LOG.error("Error fetching: {}. Error generating order.", ZipExportFileNames.ATLAS_EXPORT_ORDER_NAME.toString(), e);
         }
@@ -295,6 +298,35 @@ public class ZipSourceWithBackingDirectory implements EntityImportStream {
         reset();
     }
 
+    /**
+     * Read the export order into creationOrder, streaming the GUIDs from the file - instead of reading the entire
+     * json into memory.
+     */
+    private void readCreationOrder() throws AtlasBaseException {
+        final String entryName = ZipExportFileNames.ATLAS_EXPORT_ORDER_NAME.toString();
+        final File   file      = getFileFromTemporaryDirectory(entryName + EXT_JSON);
+
+        if (!file.exists()) {
+            throw new AtlasBaseException(entryName + " not found!");
+        }
+
+        try (JsonParser parser = AtlasJson.getMapper().getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new AtlasBaseException(String.format("%s: expected a list of GUIDs", entryName));
+            }
+
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new AtlasBaseException(String.format("%s: unexpected end of file", entryName));
+                }
+
+                creationOrder.add(parser.getValueAsString());
+            }
+        } catch (IOException e) {
+            throw new AtlasBaseException("Error converting file to JSON.", e);
+        }
+    }
+
     private byte[] getJsonPayloadFromZipEntryStream(ZipInputStream zipInputStream) {
         try {
             byte[] buf = new byte[1024];
@@ -112,6 +112,31 @@ public class AtlasPatchRegistry {
         }
     }
 
+    public String getCheckpoint(String patchId) {
+        try {
+            AtlasVertex patchVertex = findByPatchId(patchId);
+
+            return patchVertex != null ? getEncodedProperty(patchVertex, PATCH_CHECKPOINT_PROPERTY_KEY, String.class) : null;
+        } finally {
+            graph.commit();
+        }
+    }
+
+    /**
+     * Saves progress of the patch, to resume from after a restart; null checkpoint removes the saved progress.
+     */
+    public void updateCheckpoint(String patchId, String checkpoint) {
+        try {
+            AtlasVertex patchVertex = findByPatchId(patchId);
+
+            if (patchVertex != null) {
+                setEncodedProperty(patchVertex, PATCH_CHECKPOINT_PROPERTY_KEY, checkpoint);
+            }
+        } finally {
+            graph.commit();
+        }
+    }
+
     private static String getId(String incomingId, String patchFile, int index) {
         String patchId = incomingId;
 
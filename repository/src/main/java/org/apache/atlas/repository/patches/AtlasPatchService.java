@@ -18,6 +18,7 @@
 
 package org.apache.atlas.repository.patches;
 
+import org.apache.atlas.AtlasConfiguration;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.ha.HAConfiguration;
 import org.apache.atlas.listener.ActiveStateChangeHandler;
@@ -35,13 +36,23 @@ import javax.inject.Inject;
 public class AtlasPatchService implements Service, ActiveStateChangeHandler {
     private static final Logger LOG = LoggerFactory.getLogger(AtlasPatchService.class);
 
+    private static final long STOP_WAIT_TIME_MS = 60 * 1000;
+
     private final Configuration     configuration;
     private final AtlasPatchManager patchManager;
+    private       Thread            patchThread;
+
+    private final long              stopWaitTimeMs;
 
     @Inject
     public AtlasPatchService(Configuration configuration, AtlasPatchManager patchManager) {
-        this.configuration = configuration;
-        this.patchManager  = patchManager;
+        this(configuration, patchManager, STOP_WAIT_TIME_MS);
+    }
+
+    AtlasPatchService(Configuration configuration, AtlasPatchManager patchManager, long stopWaitTimeMs) {
+        this.configuration  = configuration;
+        this.patchManager   = patchManager;
+        this.stopWaitTimeMs = stopWaitTimeMs;
     }
 
     @Override
@@ -59,6 +70,8 @@ public class AtlasPatchService implements Service, ActiveStateChangeHandler {
 
     @Override
     public void stop() {
+        stopPatchThread();
+
         LOG.info("AtlasPatchService.stop(): stopped");
     }
 
@@ -73,7 +86,9 @@ public class AtlasPatchService implements Service, ActiveStateChangeHandler {
 
     @Override
     public void instanceIsPassive() {
-        LOG.info("AtlasPatchService.instanceIsPassive(): no action needed");
+        LOG.info("AtlasPatchService.instanceIsPassive(): stopping patches running in background, if any");
+
+        stopPatchThread();
     }
 
     @Override
@@ -81,7 +96,54 @@ public class AtlasPatchService implements Service, ActiveStateChangeHandler {
         return HandlerOrder.ATLAS_PATCH_SERVICE.getOrder();
     }
 
-    void startInternal() {
+    // with atlas.patch.background.enabled=true, patches are applied in a background thread while the server starts
+    // serving requests. On interruption, patches save their progress and resume from it on next start/activation
+    synchronized void startInternal() {
+        if (AtlasConfiguration.PATCH_BACKGROUND_ENABLED.getBoolean()) {
+            if (!stopPatchThread()) {
+                LOG.error("AtlasPatchService: earlier run of patches is still in progress; patches will not be applied again");
+
+                return;
+            }
+
+            patchThread = new Thread(this::applyPatches, "atlas-patch-service");
+
+            patchThread.setDaemon(true);
+            patchThread.start();
+
+            LOG.info("AtlasPatchService: applying patches in background");
+        } else {
+            applyPatches();
+        }
+    }
+
+    // interrupts the patch thread and waits for it to save progress and exit, so that patches are not applied
+    // concurrently by two threads, or after the instance becomes passive. Returns false if the thread didn't exit in time
+    synchronized boolean stopPatchThread() {
+        if (patchThread != null) {
+            patchThread.interrupt();
+
+            try {
+                patchThread.join(stopWaitTimeMs);
+            } catch (InterruptedException excp) {
+                LOG.warn("AtlasPatchService: interrupted while waiting for patches to stop");
+
+                Thread.currentThread().interrupt();
+            }
+
+            if (patchThread.isAlive()) {
+                LOG.warn("AtlasPatchService: patches did not stop in {} ms", stopWaitTimeMs);
+
+                return false;
+            }
+
+            patchThread = null;
+        }
+
+        return true;
+    }
+
+    private void applyPatches() {
         try {
             LOG.info("AtlasPatchService: applying patches...");
 
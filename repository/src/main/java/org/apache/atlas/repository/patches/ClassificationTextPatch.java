@@ -18,21 +18,17 @@
 package org.apache.atlas.repository.patches;
 
 import org.apache.atlas.exception.AtlasBaseException;
-import org.apache.atlas.pc.WorkItemManager;
 import org.apache.atlas.repository.Constants;
 import org.apache.atlas.repository.graphdb.AtlasEdge;
 import org.apache.atlas.repository.graphdb.AtlasEdgeDirection;
-import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
-import org.apache.atlas.type.AtlasClassificationType;
 import org.apache.atlas.type.AtlasEntityType;
-import org.apache.atlas.type.AtlasTypeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.stream.StreamSupport;
 
 import static org.apache.atlas.model.patches.AtlasPatch.PatchStatus.APPLIED;
 
@@ -54,7 +50,7 @@ public class ClassificationTextPatch extends AtlasPatchHandler {
     public void apply() throws AtlasBaseException {
         ConcurrentPatchProcessor patchProcessor = new ClassificationTextPatchProcessor(context);
 
-        patchProcessor.apply();
+        patchProcessor.apply(getPatchId());
 
         setStatus(APPLIED);
 
@@ -73,41 +69,28 @@ public class ClassificationTextPatch extends AtlasPatchHandler {
         }
 
         @Override
-        public void submitVerticesToUpdate(WorkItemManager manager) {
-            AtlasTypeRegistry typeRegistry = getTypeRegistry();
-            AtlasGraph        graph        = getGraph();
-            Set<Long>         vertexIds    = new HashSet<>();
-
-            for (AtlasClassificationType classificationType : typeRegistry.getAllClassificationTypes()) {
-                LOG.info("finding classification of type {}", classificationType.getTypeName());
-
-                Iterable<AtlasVertex> iterable = graph.query().has(Constants.ENTITY_TYPE_PROPERTY_KEY, classificationType.getTypeName()).vertices();
-                int                   count    = 0;
-
-                for (Iterator<AtlasVertex> iter = iterable.iterator(); iter.hasNext(); ) {
-                    AtlasVertex         classificationVertex = iter.next();
-                    Iterable<AtlasEdge> edges                = classificationVertex.getEdges(AtlasEdgeDirection.IN);
-
-                    for (AtlasEdge edge : edges) {
-                        AtlasVertex entityVertex = edge.getOutVertex();
-                        Long        vertexId     = (Long) entityVertex.getId();
-
-                        if (vertexIds.contains(vertexId)) {
-                            continue;
-                        }
-
-                        vertexIds.add(vertexId);
+        protected Collection<String> getPartitions() {
+            return getTypeRegistry().getAllClassificationDefNames();
+        }
 
-                        manager.checkProduce(vertexId);
-                    }
+        // entities having the classification; an entity is processed only once, even if it has multiple classifications
+        @Override
+        protected Iterator<Long> getVertexIdsToUpdate(String classificationName) {
+            Iterable<AtlasVertex> classificationVertices = getGraph().query().has(Constants.ENTITY_TYPE_PROPERTY_KEY, classificationName).vertices();
 
-                    count++;
-                }
+            return StreamSupport.stream(classificationVertices.spliterator(), false)
+                                .flatMap(classificationVertex -> {
+                                    Iterable<AtlasEdge> edges = classificationVertex.getEdges(AtlasEdgeDirection.IN);
 
-                LOG.info("found {} classification of type {}", count, classificationType.getTypeName());
-            }
+                                    return StreamSupport.stream(edges.spliterator(), false);
+                                })
+                                .map(edge -> (Long) edge.getOutVertex().getId())
+                                .iterator();
+        }
 
-            LOG.info("found {} entities with classifications", vertexIds.size());
+        @Override
+        protected boolean isDeduplicateVertices() {
+            return true;
         }
 
         @Override
@@ -18,6 +18,8 @@
 package org.apache.atlas.repository.patches;
 
 import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.pc.WorkItemBuilder;
@@ -25,6 +27,8 @@ import org.apache.atlas.pc.WorkItemConsumer;
 import org.apache.atlas.pc.WorkItemManager;
 import org.apache.atlas.repository.graph.GraphBackedSearchIndexer;
 import org.apache.atlas.repository.graphdb.*;
+import org.apache.atlas.repository.patches.PatchProgressTracker.Checkpoint;
+import org.apache.atlas.repository.patches.PatchProgressTracker.PatchItem;
 import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
 import org.apache.atlas.repository.store.graph.v2.EntityGraphMapper;
 import org.apache.atlas.type.AtlasEntityType;
@@ -33,7 +37,18 @@ import org.apache.commons.configuration.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class ConcurrentPatchProcessor {
@@ -41,32 +56,43 @@ public abstract class ConcurrentPatchProcessor {
 
     private static final String NUM_WORKERS_PROPERTY = "atlas.patch.numWorkers";
     private static final String BATCH_SIZE_PROPERTY  = "atlas.patch.batchSize";
+    private static final String MIN_WORKERS_PROPERTY = "atlas.patch.minWorkers";
+    private static final String MAX_WORKERS_PROPERTY = "atlas.patch.maxWorkers";
     private static final String ATLAS_SOLR_SHARDS    = "ATLAS_SOLR_SHARDS";
     private static final String WORKER_NAME_PREFIX   = "patchWorkItem";
     private static final int    NUM_WORKERS;
+    private static final int    MIN_WORKERS;
+    private static final int    MAX_WORKERS;
     private static final int    BATCH_SIZE;
 
     private final EntityGraphMapper        entityGraphMapper;
     private final AtlasGraph               graph;
     private final GraphBackedSearchIndexer indexer;
     private final AtlasTypeRegistry        typeRegistry;
+    private final AtlasPatchRegistry       patchRegistry;
 
     static {
         int numWorkers = 3;
+        int minWorkers = numWorkers;
+        int maxWorkers = numWorkers;
         int batchSize  = 300;
 
         try {
             Configuration config = ApplicationProperties.get();
 
             numWorkers = config.getInt(NUM_WORKERS_PROPERTY, config.getInt(ATLAS_SOLR_SHARDS, 1) * 3);
+            minWorkers = config.getInt(MIN_WORKERS_PROPERTY, numWorkers);
+            maxWorkers = config.getInt(MAX_WORKERS_PROPERTY, numWorkers);
             batchSize  = config.getInt(BATCH_SIZE_PROPERTY, 300);
 
-            LOG.info("UniqueAttributePatch: {}={}, {}={}", NUM_WORKERS_PROPERTY, numWorkers, BATCH_SIZE_PROPERTY, batchSize);
+            LOG.info("UniqueAttributePatch: {}={}, {}={}, {}={}, {}={}", NUM_WORKERS_PROPERTY, numWorkers, MIN_WORKERS_PROPERTY, minWorkers, MAX_WORKERS_PROPERTY, maxWorkers, BATCH_SIZE_PROPERTY, batchSize);
         } catch (Exception e) {
             LOG.error("Error retrieving configuration.", e);
         }
 
         NUM_WORKERS = numWorkers;
+        MIN_WORKERS = minWorkers;
+        MAX_WORKERS = maxWorkers;
         BATCH_SIZE  = batchSize;
     }
 
@@ -75,6 +101,7 @@ public abstract class ConcurrentPatchProcessor {
         this.indexer           = context.getIndexer();
         this.typeRegistry      = context.getTypeRegistry();
         this.entityGraphMapper = context.getEntityGraphMapper();
+        this.patchRegistry     = context.getPatchRegistry();
     }
 
     public EntityGraphMapper getEntityGraphMapper() {
@@ -94,20 +121,87 @@ public abstract class ConcurrentPatchProcessor {
     }
 
     public void apply() throws AtlasBaseException {
+        apply(null);
+    }
+
+    /**
+     * Applies the patch, saving progress periodically in the registry entry of the given patch. If the patch was
+     * interrupted earlier, it is resumed from the last saved checkpoint.
+     * @param patchId id of the patch to save progress in; progress is not saved if null
+     */
+    public void apply(String patchId) throws AtlasBaseException {
         prepareForExecution();
-        execute();
+        execute(patchId);
     }
 
     protected abstract void prepareForExecution() throws AtlasBaseException;
-    protected abstract void submitVerticesToUpdate(WorkItemManager manager);
+
+    /**
+     * @return names of partitions of vertices to update, like names of entity-types. Partitions are processed in
+     * the order of their names, and the last processed partition and vertex are saved as checkpoint
+     */
+    protected abstract Collection<String> getPartitions();
+
+    /**
+     * @return ids of vertices to update in the partition, in any order. Vertices of a partition are submitted in
+     * the order of vertex-ids, which is used to resume from a checkpoint
+     */
+    protected abstract Iterator<Long> getVertexIdsToUpdate(String partition);
+
     protected abstract void processVertexItem(Long vertexId, AtlasVertex vertex, String typeName, AtlasEntityType entityType) throws AtlasBaseException;
 
-    private void execute() {
-        WorkItemManager manager = new WorkItemManager(new ConsumerBuilder(graph, typeRegistry, this),
-                                                      WORKER_NAME_PREFIX, BATCH_SIZE, NUM_WORKERS, false);
+    /**
+     * @return true to skip vertices already submitted from an earlier partition
+     */
+    protected boolean isDeduplicateVertices() {
+        return false;
+    }
+
+    private void execute(String patchId) throws AtlasBaseException {
+        AtlasPatchRegistry       patchRegistry     = patchId != null ? this.patchRegistry : null;
+        Checkpoint               resumeFrom        = patchRegistry != null ? Checkpoint.fromJson(patchRegistry.getCheckpoint(patchId)) : null;
+        PatchProgressTracker     tracker           = new PatchProgressTracker(resumeFrom);
+        Set<Long>                submittedIds      = isDeduplicateVertices() ? new HashSet<>() : null;
+        ScheduledExecutorService checkpointSaver   = null;
+        boolean                  isInterrupted     = false;
+        WorkItemManager          manager           = new WorkItemManager(new ConsumerBuilder(graph, typeRegistry, this, tracker),
+                                                                         WORKER_NAME_PREFIX, BATCH_SIZE, NUM_WORKERS, MIN_WORKERS, MAX_WORKERS, false);
+
+        if (resumeFrom != null) {
+            LOG.info("ConcurrentPatchProcessor.execute(patchId={}): resuming from {}", patchId, resumeFrom);
+        }
+
+        if (patchRegistry != null) {
+            long intervalSeconds = AtlasConfiguration.PATCH_CHECKPOINT_INTERVAL_SECONDS.getLong();
+
+            checkpointSaver = Executors.newSingleThreadScheduledExecutor();
+
+            checkpointSaver.scheduleWithFixedDelay(() -> saveCheckpoint(patchRegistry, patchId, tracker), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
 
         try {
-            submitVerticesToUpdate(manager);
+            List<String> partitions = new ArrayList<>(getPartitions());
+
+            Collections.sort(partitions);
+
+            for (String partition : partitions) {
+                if (resumeFrom != null && partition.compareTo(resumeFrom.getPartition()) < 0) {
+                    LOG.info("ConcurrentPatchProcessor.execute(patchId={}): skipping partition {}, completed earlier", patchId, partition);
+
+                    continue;
+                }
+
+                Long resumeAfterVertexId = resumeFrom != null && partition.equals(resumeFrom.getPartition()) ? resumeFrom.getVertexId() : null;
+
+                isInterrupted = !submitPartition(manager, tracker, partition, resumeAfterVertexId, submittedIds);
+
+                if (isInterrupted) {
+                    break;
+                }
+            }
+
+            // clear the interrupt, to let workers complete and commit the items already submitted
+            isInterrupted = Thread.interrupted() || isInterrupted;
 
             manager.drain();
         } finally {
@@ -116,66 +210,212 @@ public abstract class ConcurrentPatchProcessor {
             } catch (InterruptedException e) {
                 LOG.error("ConcurrentPatchProcessor.execute(): interrupted during WorkItemManager shutdown.", e);
             }
+
+            if (checkpointSaver != null) {
+                checkpointSaver.shutdownNow();
+
+                saveCheckpoint(patchRegistry, patchId, tracker);
+            }
+        }
+
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+
+            throw new AtlasBaseException(AtlasErrorCode.PATCH_INTERRUPTED, patchId);
+        }
+
+        if (patchRegistry != null) {
+            patchRegistry.updateCheckpoint(patchId, null);
+        }
+    }
+
+    // returns false if interrupted
+    private boolean submitPartition(WorkItemManager manager, PatchProgressTracker tracker, String partition, Long resumeAfterVertexId, Set<Long> submittedIds) {
+        LOG.info("ConcurrentPatchProcessor: processing partition {}", partition);
+
+        int  chunkSize  = Math.max(AtlasConfiguration.PATCH_VERTEX_ID_CHUNK_SIZE.getInt(), 1);
+        Long lowerBound = resumeAfterVertexId;
+        long count      = 0;
+
+        while (true) {
+            long[] vertexIds = getVertexIdsToSubmit(getVertexIdsToUpdate(partition), lowerBound, chunkSize);
+
+            if (vertexIds == null) {
+                LOG.info("ConcurrentPatchProcessor: interrupted while reading vertices of partition {}", partition);
+
+                return false;
+            }
+
+            for (long vertexId : vertexIds) {
+                if (Thread.currentThread().isInterrupted()) {
+                    LOG.info("ConcurrentPatchProcessor: interrupted while processing partition {}", partition);
+
+                    return false;
+                }
+
+                if (submittedIds != null && !submittedIds.add(vertexId)) {
+                    continue;
+                }
+
+                manager.checkProduce(tracker.submit(partition, vertexId));
+
+                count++;
+            }
+
+            if (vertexIds.length < chunkSize) {
+                break;
+            }
+
+            lowerBound = vertexIds[vertexIds.length - 1];
+
+            LOG.info("ConcurrentPatchProcessor: submitted {} vertices of partition {}; reading next chunk after vertex {}", count, partition, lowerBound);
         }
+
+        LOG.info("ConcurrentPatchProcessor: submitted {} vertices of partition {}; resumed after vertex {}", count, partition, resumeAfterVertexId);
+
+        return true;
     }
 
-    private static class ConsumerBuilder implements WorkItemBuilder<Consumer, Long> {
+    /**
+     * Vertex-ids are sorted, so that the checkpoint - the last vertex-id committed in order - is a stable resume point,
+     * regardless of the order in which the graph returns the vertices of the partition. To bound the memory used, only
+     * the smallest maxCount vertex-ids are returned; the caller reads the next chunk with the last returned vertex-id
+     * as resumeAfterVertexId. At most 2 * maxCount vertex-ids are held while reading.
+     *
+     * @return up to maxCount unique vertex-ids greater than resumeAfterVertexId, in ascending order; null if interrupted
+     */
+    static long[] getVertexIdsToSubmit(Iterator<Long> vertexIds, Long resumeAfterVertexId, int maxCount) {
+        int     maxBufferSize = (int) Math.min(2L * maxCount, Integer.MAX_VALUE - 8);
+        long[]  buffer        = new long[Math.min(1024, maxBufferSize)];
+        int     count         = 0;
+        long    upperBound    = Long.MAX_VALUE; // once maxCount vertex-ids are collected, larger ids are ignored
+        boolean isBounded     = false;
+
+        while (vertexIds.hasNext()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+
+            Long vertexId = vertexIds.next();
+
+            if (vertexId == null || (resumeAfterVertexId != null && vertexId <= resumeAfterVertexId) || (isBounded && vertexId >= upperBound)) {
+                continue;
+            }
+
+            if (count == buffer.length) {
+                if (buffer.length < maxBufferSize) {
+                    buffer = Arrays.copyOf(buffer, (int) Math.min(buffer.length * 2L, maxBufferSize));
+                } else {
+                    count = sortUnique(buffer, count, maxCount);
+
+                    if (count == maxCount) {
+                        upperBound = buffer[count - 1];
+                        isBounded  = true;
+
+                        if (vertexId >= upperBound) {
+                            continue;
+                        }
+                    }
+                }
+            }
+
+            buffer[count++] = vertexId;
+        }
+
+        return Arrays.copyOf(buffer, sortUnique(buffer, count, maxCount));
+    }
+
+    // sorts the first count elements, removes duplicates and retains up to maxCount smallest; returns the retained count
+    private static int sortUnique(long[] values, int count, int maxCount) {
+        Arrays.sort(values, 0, count);
+
+        int ret = 0;
+
+        for (int i = 0; i < count && ret < maxCount; i++) {
+            if (ret == 0 || values[i] != values[ret - 1]) {
+                values[ret++] = values[i];
+            }
+        }
+
+        return ret;
+    }
+
+    private static void saveCheckpoint(AtlasPatchRegistry patchRegistry, String patchId, PatchProgressTracker tracker) {
+        Checkpoint checkpoint = tracker.getCheckpoint();
+
+        if (checkpoint == null) {
+            return;
+        }
+
+        try {
+            patchRegistry.updateCheckpoint(patchId, checkpoint.toJson());
+
+            LOG.info("ConcurrentPatchProcessor(patchId={}): saved {}", patchId, checkpoint);
+        } catch (Throwable t) {
+            LOG.warn("ConcurrentPatchProcessor(patchId={}): failed to save {}", patchId, checkpoint, t);
+        }
+    }
+
+    private static class ConsumerBuilder implements WorkItemBuilder<Consumer, PatchItem> {
         private final AtlasTypeRegistry typeRegistry;
         private final AtlasGraph graph;
         private final ConcurrentPatchProcessor patchItemProcessor;
+        private final PatchProgressTracker tracker;
 
-        public ConsumerBuilder(AtlasGraph graph, AtlasTypeRegistry typeRegistry, ConcurrentPatchProcessor patchItemProcessor) {
+        public ConsumerBuilder(AtlasGraph graph, AtlasTypeRegistry typeRegistry, ConcurrentPatchProcessor patchItemProcessor, PatchProgressTracker tracker) {
             this.graph = graph;
             this.typeRegistry = typeRegistry;
             this.patchItemProcessor = patchItemProcessor;
+            this.tracker = tracker;
         }
 
         @Override
-        public Consumer build(BlockingQueue<Long> queue) {
-            return new Consumer(graph, typeRegistry, queue, patchItemProcessor);
+        public Consumer build(BlockingQueue<PatchItem> queue) {
+            return new Consumer(graph, typeRegistry, queue, patchItemProcessor, tracker);
         }
     }
 
-    private static class Consumer extends WorkItemConsumer<Long> {
+    private static class Consumer extends WorkItemConsumer<PatchItem> {
         private int MAX_COMMIT_RETRY_COUNT = 3;
         private final AtlasGraph graph;
         private final AtlasTypeRegistry typeRegistry;
 
         private final AtomicLong counter;
         private final ConcurrentPatchProcessor individualItemProcessor;
+        private final PatchProgressTracker tracker;
+        private final List<PatchItem> uncommittedItems = new ArrayList<>();
 
-        public Consumer(AtlasGraph graph, AtlasTypeRegistry typeRegistry, BlockingQueue<Long> queue, ConcurrentPatchProcessor individualItemProcessor) {
+        public Consumer(AtlasGraph graph, AtlasTypeRegistry typeRegistry, BlockingQueue<PatchItem> queue, ConcurrentPatchProcessor individualItemProcessor, PatchProgressTracker tracker) {
             super(queue);
 
             this.graph        = graph;
             this.typeRegistry = typeRegistry;
             this.counter = new AtomicLong(0);
             this.individualItemProcessor = individualItemProcessor;
+            this.tracker = tracker;
         }
 
         @Override
         protected void doCommit() {
-            if (counter.get() % BATCH_SIZE == 0) {
-                LOG.info("Processed: {}", counter.get());
-
-                attemptCommit();
-            }
+            attemptCommit();
         }
 
         @Override
         protected void commitDirty() {
-            attemptCommit();
+            super.commitDirty();
 
             LOG.info("Total: Commit: {}", counter.get());
-
-            super.commitDirty();
         }
 
         private void attemptCommit() {
+            boolean isCommitted = false;
+
             for (int retryCount = 1; retryCount <= MAX_COMMIT_RETRY_COUNT; retryCount++) {
                 try {
                     graph.commit();
 
+                    isCommitted = true;
+
                     break;
                 } catch(Exception ex) {
                     LOG.error("Commit exception: ", retryCount, ex);
@@ -187,10 +427,17 @@ public abstract class ConcurrentPatchProcessor {
                     }
                 }
             }
+
+            tracker.onCommit(uncommittedItems, isCommitted);
+
+            uncommittedItems.clear();
         }
 
         @Override
-        protected void processItem(Long vertexId) {
+        protected void processItem(PatchItem item) {
+            Long vertexId = item.getVertexId();
+
+            uncommittedItems.add(item);
             counter.incrementAndGet();
             AtlasVertex vertex = graph.getVertex(Long.toString(vertexId));
 
@@ -216,7 +463,12 @@ public abstract class ConcurrentPatchProcessor {
 
             try {
                 individualItemProcessor.processVertexItem(vertexId, vertex, typeName, entityType);
-                doCommit();
+
+                if (counter.get() % BATCH_SIZE == 0) {
+                    LOG.info("Processed: {}", counter.get());
+
+                    doCommitAndRecord();
+                }
             } catch (AtlasBaseException e) {
                 LOG.error("Error processing: {}", vertexId, e);
             }
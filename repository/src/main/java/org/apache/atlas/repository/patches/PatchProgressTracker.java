@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.patches;
+
+import org.apache.atlas.type.AtlasType;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks progress of a concurrent patch, to resume it after a restart.
+ *
+ * Vertices are submitted partition by partition, in the order of partition names and, within a partition, in the
+ * order of vertex-ids; they are committed by workers in any order. The checkpoint is the last vertex for which it and
+ * all vertices submitted before it have been committed. On resume, partitions before the checkpoint partition are
+ * skipped, as are vertices of the checkpoint partition with vertex-id up to that of the checkpoint vertex. As the
+ * resume point is a vertex-id, and not a position in the vertices returned by the graph, it stays valid even if the
+ * graph returns vertices in a different order, or the checkpoint vertex is deleted.
+ *
+ * If a vertex fails to commit, the checkpoint is not moved past it.
+ */
+class PatchProgressTracker {
+    private static final String KEY_PARTITION       = "partition";
+    private static final String KEY_VERTEX_ID       = "vertexId";
+    private static final String KEY_PROCESSED_COUNT = "processedCount";
+
+    private final Deque<PatchItem> pendingItems = new ArrayDeque<>();
+    private       Checkpoint       checkpoint;
+    private       long             processedCount;
+    private       boolean          isFrozen     = false;
+
+    PatchProgressTracker(Checkpoint resumeFrom) {
+        this.checkpoint     = resumeFrom;
+        this.processedCount = resumeFrom != null ? resumeFrom.getProcessedCount() : 0;
+    }
+
+    synchronized PatchItem submit(String partition, Long vertexId) {
+        PatchItem ret = new PatchItem(partition, vertexId);
+
+        pendingItems.add(ret);
+
+        return ret;
+    }
+
+    synchronized void onCommit(Collection<PatchItem> items, boolean isSuccess) {
+        for (PatchItem item : items) {
+            item.isDone   = true;
+            item.isFailed = !isSuccess;
+        }
+
+        while (!pendingItems.isEmpty() && pendingItems.peekFirst().isDone) {
+            PatchItem item = pendingItems.pollFirst();
+
+            if (item.isFailed) {
+                isFrozen = true;
+            }
+
+            if (!isFrozen) {
+                processedCount++;
+
+                checkpoint = new Checkpoint(item.partition, item.vertexId, processedCount);
+            }
+        }
+    }
+
+    synchronized Checkpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    synchronized int getPendingCount() {
+        return pendingItems.size();
+    }
+
+    static class PatchItem {
+        private final String  partition;
+        private final Long    vertexId;
+        private       boolean isDone;
+        private       boolean isFailed;
+
+        PatchItem(String partition, Long vertexId) {
+            this.partition = partition;
+            this.vertexId  = vertexId;
+        }
+
+        Long getVertexId() {
+            return vertexId;
+        }
+    }
+
+    static class Checkpoint {
+        private final String partition;
+        private final Long   vertexId;
+        private final long   processedCount;
+
+        Checkpoint(String partition, Long vertexId, long processedCount) {
+            this.partition      = partition;
+            this.vertexId       = vertexId;
+            this.processedCount = processedCount;
+        }
+
+        String getPartition() {
+            return partition;
+        }
+
+        Long getVertexId() {
+            return vertexId;
+        }
+
+        long getProcessedCount() {
+            return processedCount;
+        }
+
+        String toJson() {
+            Map<String, Object> map = new HashMap<>();
+
+            map.put(KEY_PARTITION, partition);
+            map.put(KEY_VERTEX_ID, vertexId);
+            map.put(KEY_PROCESSED_COUNT, processedCount);
+
+            return AtlasType.toJson(map);
+        }
+
+        static Checkpoint fromJson(String json) {
+            if (StringUtils.isEmpty(json)) {
+                return null;
+            }
+
+            Map map = AtlasType.fromJson(json, Map.class);
+
+            if (map == null || map.get(KEY_PARTITION) == null || map.get(KEY_VERTEX_ID) == null) {
+                return null;
+            }
+
+            Object processedCount = map.get(KEY_PROCESSED_COUNT);
+
+            return new Checkpoint((String) map.get(KEY_PARTITION), ((Number) map.get(KEY_VERTEX_ID)).longValue(), processedCount instanceof Number ? ((Number) processedCount).longValue() : 0);
+        }
+
+        @Override
+        public String toString() {
+            return "Checkpoint{partition=" + partition + ", vertexId=" + vertexId + ", processedCount=" + processedCount + "}";
+        }
+    }
+}
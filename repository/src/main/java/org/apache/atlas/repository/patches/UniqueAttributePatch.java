@@ -19,12 +19,10 @@ package org.apache.atlas.repository.patches;
 
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.typedef.AtlasStructDef.AtlasAttributeDef;
-import org.apache.atlas.pc.WorkItemManager;
 import org.apache.atlas.repository.Constants;
 import org.apache.atlas.repository.IndexException;
 import org.apache.atlas.repository.graph.GraphBackedSearchIndexer.UniqueKind;
 import org.apache.atlas.repository.graphdb.AtlasCardinality;
-import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.graphdb.AtlasGraphManagement;
 import org.apache.atlas.repository.graphdb.AtlasSchemaViolationException;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
@@ -32,7 +30,6 @@ import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
 import org.apache.atlas.repository.store.graph.v2.EntityGraphRetriever;
 import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
-import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,7 +58,7 @@ public class UniqueAttributePatch extends AtlasPatchHandler {
     public void apply() throws AtlasBaseException {
         ConcurrentPatchProcessor patchProcessor = new UniqueAttributePatchProcessor(context);
 
-        patchProcessor.apply();
+        patchProcessor.apply(getPatchId());
 
         setStatus(APPLIED);
 
@@ -80,26 +77,25 @@ public class UniqueAttributePatch extends AtlasPatchHandler {
         }
 
         @Override
-        public void submitVerticesToUpdate(WorkItemManager manager) {
-            AtlasTypeRegistry typeRegistry = getTypeRegistry();
-            AtlasGraph        graph        = getGraph();
-
-            for (AtlasEntityType entityType : typeRegistry.getAllEntityTypes()) {
-                LOG.info("finding entities of type {}", entityType.getTypeName());
-
-                Iterable<Object> iterable = graph.query().has(Constants.ENTITY_TYPE_PROPERTY_KEY, entityType.getTypeName()).vertexIds();
-                int              count    = 0;
-
-                for (Iterator<Object> iter = iterable.iterator(); iter.hasNext(); ) {
-                    Object vertexId = iter.next();
+        protected Collection<String> getPartitions() {
+            return getTypeRegistry().getAllEntityDefNames();
+        }
 
-                    manager.checkProduce((Long) vertexId);
+        @Override
+        protected Iterator<Long> getVertexIdsToUpdate(String typeName) {
+            Iterator<Object> iter = getGraph().query().has(Constants.ENTITY_TYPE_PROPERTY_KEY, typeName).vertexIds().iterator();
 
-                    count++;
+            return new Iterator<Long>() {
+                @Override
+                public boolean hasNext() {
+                    return iter.hasNext();
                 }
 
-                LOG.info("found {} entities of type {}", count, entityType.getTypeName());
-            }
+                @Override
+                public Long next() {
+                    return (Long) iter.next();
+                }
+            };
         }
 
         @Override
@@ -0,0 +1,230 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.bootstrap;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.discovery.SearchResultCache;
+import org.apache.atlas.ha.HAConfiguration;
+import org.apache.atlas.listener.ActiveStateChangeHandler;
+import org.apache.atlas.repository.Constants;
+import org.apache.atlas.repository.graph.GraphBackedSearchIndexer;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.service.Service;
+import org.apache.atlas.store.AtlasTypeDefStore;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.atlas.repository.Constants.VERTEX_TYPE_PROPERTY_KEY;
+import static org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2.VERTEX_TYPE;
+
+/*
+ * Keeps the type registry of a passive instance in sync with the typedef store, so that the instance can serve
+ * read-only requests while the active instance handles updates.
+ *
+ * Type-change listeners are notified only in the instance that updates the types, hence a passive instance checks
+ * the typedef store periodically instead: the count, total version and latest update time of typedef vertices
+ * change on every create/update/delete of a type. When any of these differ from the values at the last load, the
+ * type registry is reloaded from the typedef store. Only reads are done; bootstrap models, patches and index updates
+ * are left for the active instance - index field names of the reloaded types are resolved from the existing graph
+ * schema, and cached search results are cleared.
+ *
+ * Entity changes made through the active instance are not tracked here; search results cached in a passive instance
+ * can be stale for up to atlas.search.result.cache.ttl.seconds.
+ *
+ * The refresher runs while the instance is passive, and is stopped before types are loaded on becoming active.
+ */
+@Component
+@Order(2)
+public class TypeRegistryRefresher implements Service, ActiveStateChangeHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(TypeRegistryRefresher.class);
+
+    private static final long STOP_WAIT_TIME_MS = 60 * 1000;
+
+    private final Configuration            configuration;
+    private final AtlasTypeDefStore        typeDefStore;
+    private final AtlasGraph               graph;
+    private final GraphBackedSearchIndexer searchIndexer;
+    private final SearchResultCache        searchResultCache;
+    private final boolean                  isEnabled;
+    private final long                     refreshIntervalMs;
+    private volatile String                loadedVersion;
+    private volatile boolean               isReady = false;
+    private ScheduledExecutorService refresher;
+
+    @Inject
+    public TypeRegistryRefresher(Configuration configuration, AtlasTypeDefStore typeDefStore, AtlasGraph graph,
+                                 GraphBackedSearchIndexer searchIndexer, SearchResultCache searchResultCache) {
+        this(configuration, typeDefStore, graph, searchIndexer, searchResultCache, AtlasConfiguration.HA_PASSIVE_READ_ENABLED.getBoolean(),
+             AtlasConfiguration.HA_PASSIVE_READ_TYPEDEF_REFRESH_INTERVAL_MS.getLong());
+    }
+
+    TypeRegistryRefresher(Configuration configuration, AtlasTypeDefStore typeDefStore, AtlasGraph graph, GraphBackedSearchIndexer searchIndexer,
+                          SearchResultCache searchResultCache, boolean isEnabled, long refreshIntervalMs) {
+        this.configuration     = configuration;
+        this.typeDefStore      = typeDefStore;
+        this.graph             = graph;
+        this.searchIndexer     = searchIndexer;
+        this.searchResultCache = searchResultCache;
+        this.isEnabled         = isEnabled;
+        this.refreshIntervalMs = Math.max(refreshIntervalMs, 1000);
+    }
+
+    @Override
+    public void start() throws AtlasException {
+        if (!isEnabled || !HAConfiguration.isHAEnabled(configuration)) {
+            LOG.info("TypeRegistryRefresher: disabled");
+
+            return;
+        }
+
+        // HA instances start as passive; instanceIsActive() stops the refresher if this instance gets elected
+        startRefresher();
+    }
+
+    @Override
+    public void stop() {
+        stopRefresher();
+    }
+
+    @Override
+    public void instanceIsActive() {
+        stopRefresher();
+    }
+
+    @Override
+    public void instanceIsPassive() {
+        if (isEnabled) {
+            startRefresher();
+        }
+    }
+
+    @Override
+    public int getHandlerOrder() {
+        return HandlerOrder.TYPE_REGISTRY_REFRESHER.getOrder();
+    }
+
+    /**
+     * @return true if this passive instance has loaded types from the typedef store, and is keeping them in sync
+     */
+    public boolean isReady() {
+        return isReady;
+    }
+
+    void refresh() {
+        try {
+            String version = getTypeDefStoreVersion();
+
+            if (!version.equals(loadedVersion)) {
+                LOG.info("TypeRegistryRefresher: typedef store version changed from {} to {}; reloading types", loadedVersion, version);
+
+                typeDefStore.init();
+                searchIndexer.resolveIndexFieldNames();
+                searchResultCache.clear();
+
+                loadedVersion = version;
+                isReady       = true;
+            }
+        } catch (Throwable t) {
+            LOG.error("TypeRegistryRefresher: failed to refresh types", t);
+        } finally {
+            RequestContext.clear();
+        }
+    }
+
+    String getTypeDefStoreVersion() {
+        long count          = 0;
+        long totalVersion   = 0;
+        long lastUpdateTime = 0;
+
+        try {
+            for (Object obj : graph.query().has(VERTEX_TYPE_PROPERTY_KEY, VERTEX_TYPE).vertices()) {
+                AtlasVertex vertex     = (AtlasVertex) obj;
+                Number      version    = vertex.getProperty(Constants.VERSION_PROPERTY_KEY, Number.class);
+                Long        updateTime = vertex.getProperty(Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY, Long.class);
+
+                count++;
+
+                if (version != null) {
+                    totalVersion += version.longValue();
+                }
+
+                if (updateTime != null && updateTime > lastUpdateTime) {
+                    lastUpdateTime = updateTime;
+                }
+            }
+        } finally {
+            graph.rollback();
+        }
+
+        return count + ":" + totalVersion + ":" + lastUpdateTime;
+    }
+
+    private synchronized void startRefresher() {
+        if (refresher != null) {
+            return;
+        }
+
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread ret = new Thread(r, "atlas-typeregistry-refresher");
+
+            ret.setDaemon(true);
+
+            return ret;
+        });
+
+        refresher.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+
+        LOG.info("TypeRegistryRefresher: started. refreshIntervalMs={}", refreshIntervalMs);
+    }
+
+    private synchronized void stopRefresher() {
+        if (refresher == null) {
+            return;
+        }
+
+        isReady = false;
+
+        refresher.shutdown();
+
+        try {
+            if (!refresher.awaitTermination(STOP_WAIT_TIME_MS, TimeUnit.MILLISECONDS)) {
+                LOG.warn("TypeRegistryRefresher: refresh did not complete in {} ms", STOP_WAIT_TIME_MS);
+            }
+        } catch (InterruptedException excp) {
+            LOG.warn("TypeRegistryRefresher: interrupted while waiting for refresh to complete");
+
+            Thread.currentThread().interrupt();
+        }
+
+        refresher     = null;
+        loadedVersion = null;
+
+        LOG.info("TypeRegistryRefresher: stopped");
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.atlas.model.instance.AtlasEntityHeader;
 import org.apache.atlas.model.instance.AtlasEntityHeaders;
 import org.apache.atlas.model.instance.AtlasObjectId;
 import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.repository.store.graph.v2.EntitySink;
 import org.apache.atlas.repository.store.graph.v2.EntityStream;
 import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.bulkimport.BulkImportResponse;
@@ -94,6 +95,17 @@ public interface AtlasEntityStore {
      */
     AtlasEntitiesWithExtInfo getByIds(List<String> guid, boolean isMinExtInfo, boolean ignoreRelationships) throws AtlasBaseException;
 
+    /**
+     * Batch GET to retrieve entities by their ID, one at a time; each entity is added to the sink once retrieved,
+     * along with entities it refers to. Entities that are not found are reported before any entity is added to the sink.
+     * @param guids
+     * @param isMinExtInfo
+     * @param ignoreRelationships
+     * @param sink
+     * @throws AtlasBaseException
+     */
+    void getByIds(List<String> guids, boolean isMinExtInfo, boolean ignoreRelationships, EntitySink sink) throws AtlasBaseException;
+
     /**
      * Batch GET to retrieve entities by their uniqueIds
      * @param entityType
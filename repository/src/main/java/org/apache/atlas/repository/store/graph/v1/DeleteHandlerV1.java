@@ -207,89 +207,107 @@ public abstract class DeleteHandlerV1 {
 
             vertexInfoMap.put(guid, new GraphHelper.VertexInfo(entity, vertex));
 
-            for (AtlasStructType.AtlasAttribute attributeInfo : entityType.getOwnedRefAttributes()) {
-                String       edgeLabel    = attributeInfo.getRelationshipEdgeLabel();
-                AtlasType    attrType     = attributeInfo.getAttributeType();
-                TypeCategory typeCategory = attrType.getTypeCategory();
-
-                if (typeCategory == OBJECT_ID_TYPE) {
-                    if (attributeInfo.getAttributeDef().isSoftReferenced()) {
-                        String        softRefVal = vertex.getProperty(attributeInfo.getVertexPropertyName(), String.class);
-                        AtlasObjectId refObjId   = AtlasEntityUtil.parseSoftRefValue(softRefVal);
-                        AtlasVertex   refVertex  = refObjId != null ? AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid()) : null;
-
-                        if (refVertex != null) {
-                            vertices.push(refVertex);
-                        }
-                    } else {
-                        AtlasEdge edge = graphHelper.getEdgeForLabel(vertex, edgeLabel);
+            vertices.addAll(getOwnedReferences(vertex, entityType, isPurgeRequested));
+        }
 
-                        if (edge == null || (getState(edge) == (isPurgeRequested ? ACTIVE : DELETED))) {
-                            continue;
-                        }
+        return vertexInfoMap.values();
+    }
 
-                        vertices.push(edge.getInVertex());
-                    }
-                } else if (typeCategory == ARRAY || typeCategory == MAP) {
-                    TypeCategory elementType = null;
+    /**
+     * Get the vertices directly owned/contained by the specified entity vertex, i.e. referenced by its owned
+     * attributes. Relationship edges in state (isPurgeRequested ? ACTIVE : DELETED) are skipped.
+     *
+     * @param vertex the entity vertex
+     * @param entityType type of the entity
+     * @param isPurgeRequested true if the references are being collected for purge
+     * @return list of owned vertices
+     */
+    public List<AtlasVertex> getOwnedReferences(AtlasVertex vertex, AtlasEntityType entityType, boolean isPurgeRequested) {
+        List<AtlasVertex> ret = new ArrayList<>();
 
-                    if (typeCategory == ARRAY) {
-                        elementType = ((AtlasArrayType) attrType).getElementType().getTypeCategory();
-                    } else if (typeCategory == MAP) {
-                        elementType = ((AtlasMapType) attrType).getValueType().getTypeCategory();
+        for (AtlasStructType.AtlasAttribute attributeInfo : entityType.getOwnedRefAttributes()) {
+            String       edgeLabel    = attributeInfo.getRelationshipEdgeLabel();
+            AtlasType    attrType     = attributeInfo.getAttributeType();
+            TypeCategory typeCategory = attrType.getTypeCategory();
+
+            if (typeCategory == OBJECT_ID_TYPE) {
+                if (attributeInfo.getAttributeDef().isSoftReferenced()) {
+                    String        softRefVal = vertex.getProperty(attributeInfo.getVertexPropertyName(), String.class);
+                    AtlasObjectId refObjId   = AtlasEntityUtil.parseSoftRefValue(softRefVal);
+                    AtlasVertex   refVertex  = refObjId != null ? AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid()) : null;
+
+                    if (refVertex != null) {
+                        ret.add(refVertex);
                     }
+                } else {
+                    // for delete only an active edge is of interest, which is looked up using the vertex-centric index
+                    AtlasEdge edge = isPurgeRequested ? graphHelper.getEdgeForLabel(vertex, edgeLabel) : GraphHelper.getActiveEdgeByLabel(vertex, AtlasEdgeDirection.OUT, edgeLabel);
 
-                    if (elementType != OBJECT_ID_TYPE) {
+                    if (edge == null || (getState(edge) == (isPurgeRequested ? ACTIVE : DELETED))) {
                         continue;
                     }
 
-                    if (attributeInfo.getAttributeDef().isSoftReferenced()) {
-                        if (typeCategory == ARRAY) {
-                            List                softRefVal = vertex.getListProperty(attributeInfo.getVertexPropertyName(), List.class);
-                            List<AtlasObjectId> refObjIds  = AtlasEntityUtil.parseSoftRefValue(softRefVal);
+                    ret.add(edge.getInVertex());
+                }
+            } else if (typeCategory == ARRAY || typeCategory == MAP) {
+                TypeCategory elementType = null;
+
+                if (typeCategory == ARRAY) {
+                    elementType = ((AtlasArrayType) attrType).getElementType().getTypeCategory();
+                } else if (typeCategory == MAP) {
+                    elementType = ((AtlasMapType) attrType).getValueType().getTypeCategory();
+                }
 
-                            if (CollectionUtils.isNotEmpty(refObjIds)) {
-                                for (AtlasObjectId refObjId : refObjIds) {
-                                    AtlasVertex refVertex = AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid());
+                if (elementType != OBJECT_ID_TYPE) {
+                    continue;
+                }
 
-                                    if (refVertex != null) {
-                                        vertices.push(refVertex);
-                                    }
-                                }
-                            }
-                        } else if (typeCategory == MAP) {
-                            Map                        softRefVal = vertex.getProperty(attributeInfo.getVertexPropertyName(), Map.class);
-                            Map<String, AtlasObjectId> refObjIds  = AtlasEntityUtil.parseSoftRefValue(softRefVal);
+                if (attributeInfo.getAttributeDef().isSoftReferenced()) {
+                    if (typeCategory == ARRAY) {
+                        List                softRefVal = vertex.getListProperty(attributeInfo.getVertexPropertyName(), List.class);
+                        List<AtlasObjectId> refObjIds  = AtlasEntityUtil.parseSoftRefValue(softRefVal);
 
-                            if (MapUtils.isNotEmpty(refObjIds)) {
-                                for (AtlasObjectId refObjId : refObjIds.values()) {
-                                    AtlasVertex refVertex = AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid());
+                        if (CollectionUtils.isNotEmpty(refObjIds)) {
+                            for (AtlasObjectId refObjId : refObjIds) {
+                                AtlasVertex refVertex = AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid());
 
-                                    if (refVertex != null) {
-                                        vertices.push(refVertex);
-                                    }
+                                if (refVertex != null) {
+                                    ret.add(refVertex);
                                 }
                             }
                         }
+                    } else if (typeCategory == MAP) {
+                        Map                        softRefVal = vertex.getProperty(attributeInfo.getVertexPropertyName(), Map.class);
+                        Map<String, AtlasObjectId> refObjIds  = AtlasEntityUtil.parseSoftRefValue(softRefVal);
 
-                    } else {
-                        List<AtlasEdge> edges = getCollectionElementsUsingRelationship(vertex, attributeInfo);
+                        if (MapUtils.isNotEmpty(refObjIds)) {
+                            for (AtlasObjectId refObjId : refObjIds.values()) {
+                                AtlasVertex refVertex = AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid());
 
-                        if (CollectionUtils.isNotEmpty(edges)) {
-                            for (AtlasEdge edge : edges) {
-                                if (edge == null || (getState(edge) == (isPurgeRequested ? ACTIVE : DELETED))) {
-                                    continue;
+                                if (refVertex != null) {
+                                    ret.add(refVertex);
                                 }
+                            }
+                        }
+                    }
 
-                                vertices.push(edge.getInVertex());
+                } else {
+                    List<AtlasEdge> edges = getCollectionElementsUsingRelationship(vertex, attributeInfo);
+
+                    if (CollectionUtils.isNotEmpty(edges)) {
+                        for (AtlasEdge edge : edges) {
+                            if (edge == null || (getState(edge) == (isPurgeRequested ? ACTIVE : DELETED))) {
+                                continue;
                             }
+
+                            ret.add(edge.getInVertex());
                         }
                     }
                 }
             }
         }
 
-        return vertexInfoMap.values();
+        return ret;
     }
 
     /**
@@ -867,7 +885,9 @@ public abstract class DeleteHandlerV1 {
 
             case ARRAY: {
                 //If its array attribute, find the right edge between the two vertices and update array property
-                List<AtlasEdge> elementEdges = getCollectionElementsUsingRelationship(outVertex, attribute);
+                //all elements are needed only to check the lower bound of a required attribute
+                List<AtlasEdge> elementEdges = attrDef.getIsOptional() ? getCollectionElementsUsingRelationship(outVertex, attribute, inVertex)
+                                                                       : getCollectionElementsUsingRelationship(outVertex, attribute);
 
                 if (elementEdges != null) {
                     elementEdges = new ArrayList<>(elementEdges);
@@ -895,7 +915,8 @@ public abstract class DeleteHandlerV1 {
 
             case MAP: {
                 //If its map attribute, find the right edge between two vertices and update map property
-                List<AtlasEdge> mapEdges = getMapValuesUsingRelationship(outVertex, attribute);
+                List<AtlasEdge> mapEdges = attrDef.getIsOptional() ? getMapValuesUsingRelationship(outVertex, attribute, inVertex)
+                                                                   : getMapValuesUsingRelationship(outVertex, attribute);
 
                 if (mapEdges != null) {
                     mapEdges = new ArrayList<>(mapEdges);
@@ -21,7 +21,9 @@ package org.apache.atlas.repository.store.graph.v2;
 import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.RequestContext;
+import org.apache.atlas.discovery.SearchResultCache;
 import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.listener.ChangedEntities;
 import org.apache.atlas.listener.EntityChangeListener;
 import org.apache.atlas.listener.EntityChangeListenerV2;
 import org.apache.atlas.model.audit.EntityAuditEventV2.EntityAuditActionV2;
@@ -35,12 +37,12 @@ import org.apache.atlas.model.instance.AtlasRelationship;
 import org.apache.atlas.model.instance.EntityMutationResponse;
 import org.apache.atlas.model.instance.EntityMutations.EntityOperation;
 import org.apache.atlas.model.notification.EntityNotification;
-import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
 import org.apache.atlas.v1.model.instance.Referenceable;
 import org.apache.atlas.v1.model.instance.Struct;
 import org.apache.atlas.repository.converters.AtlasInstanceConverter;
+import org.apache.atlas.repository.graph.AsyncFullTextIndexer;
 import org.apache.atlas.repository.graph.FullTextMapperV2;
 import org.apache.atlas.repository.graph.GraphHelper;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
@@ -73,7 +75,9 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
     private final Set<EntityChangeListenerV2> entityChangeListenersV2;
     private final AtlasInstanceConverter      instanceConverter;
     private final FullTextMapperV2            fullTextMapperV2;
+    private final AsyncFullTextIndexer        asyncFullTextIndexer;
     private final AtlasTypeRegistry           atlasTypeRegistry;
+    private final SearchResultCache           searchResultCache;
     private final boolean                     isV2EntityNotificationEnabled;
 
 
@@ -82,40 +86,38 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
                                      Set<EntityChangeListenerV2> entityChangeListenersV2,
                                      AtlasInstanceConverter instanceConverter,
                                      FullTextMapperV2 fullTextMapperV2,
-                                     AtlasTypeRegistry atlasTypeRegistry) {
+                                     AsyncFullTextIndexer asyncFullTextIndexer,
+                                     AtlasTypeRegistry atlasTypeRegistry,
+                                     SearchResultCache searchResultCache) {
         this.entityChangeListeners         = entityChangeListeners;
         this.entityChangeListenersV2       = entityChangeListenersV2;
         this.instanceConverter             = instanceConverter;
         this.fullTextMapperV2              = fullTextMapperV2;
+        this.asyncFullTextIndexer          = asyncFullTextIndexer;
         this.atlasTypeRegistry             = atlasTypeRegistry;
+        this.searchResultCache             = searchResultCache;
         this.isV2EntityNotificationEnabled = AtlasRepositoryConfiguration.isV2EntityNotificationEnabled();
     }
 
     @Override
     public void onEntitiesMutated(EntityMutationResponse entityMutationResponse, boolean isImport) throws AtlasBaseException {
+        invalidateSearchResults(entityMutationResponse);
+
         if (CollectionUtils.isEmpty(entityChangeListeners)) {
             return;
         }
 
         pruneResponse(entityMutationResponse);
 
-        List<AtlasEntityHeader> createdEntities          = entityMutationResponse.getCreatedEntities();
-        List<AtlasEntityHeader> updatedEntities          = entityMutationResponse.getUpdatedEntities();
-        List<AtlasEntityHeader> partiallyUpdatedEntities = entityMutationResponse.getPartialUpdatedEntities();
-        List<AtlasEntityHeader> deletedEntities          = entityMutationResponse.getDeletedEntities();
-        List<AtlasEntityHeader> purgedEntities           = entityMutationResponse.getPurgedEntities();
+        ChangedEntities changedEntities = new ChangedEntities(entityMutationResponse, atlasTypeRegistry, fullTextMapperV2, instanceConverter);
 
-        // complete full text mapping before calling toReferenceables(), from notifyListners(), to
-        // include all vertex updates in the current graph-transaction
-        doFullTextMapping(createdEntities);
-        doFullTextMapping(updatedEntities);
-        doFullTextMapping(partiallyUpdatedEntities);
+        // complete full text mapping before notifying listeners, which read entities from changedEntities, to
+        // include all vertex updates in the current graph-transaction; unless deferred to asyncFullTextIndexer
+        doFullTextMapping(entityMutationResponse.getCreatedEntities());
+        doFullTextMapping(entityMutationResponse.getUpdatedEntities());
+        doFullTextMapping(entityMutationResponse.getPartialUpdatedEntities());
 
-        notifyListeners(createdEntities, EntityOperation.CREATE, isImport);
-        notifyListeners(updatedEntities, EntityOperation.UPDATE, isImport);
-        notifyListeners(partiallyUpdatedEntities, EntityOperation.PARTIAL_UPDATE, isImport);
-        notifyListeners(deletedEntities, EntityOperation.DELETE, isImport);
-        notifyListeners(purgedEntities, EntityOperation.PURGE, isImport);
+        notifyListeners(changedEntities, isImport);
 
         notifyPropagatedEntities();
     }
@@ -141,6 +143,8 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
 
     @Override
     public void onClassificationAddedToEntity(AtlasEntity entity, List<AtlasClassification> addedClassifications) throws AtlasBaseException {
+        invalidateSearchResults(entity.getTypeName(), addedClassifications);
+
         if (isV2EntityNotificationEnabled) {
             doFullTextMapping(entity.getGuid());
 
@@ -171,6 +175,8 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
 
     @Override
     public void onClassificationsAddedToEntities(List<AtlasEntity> entities, List<AtlasClassification> addedClassifications) throws AtlasBaseException {
+        invalidateSearchResults(entities, addedClassifications);
+
         if (isV2EntityNotificationEnabled) {
             doFullTextMappingHelper(entities);
 
@@ -207,6 +213,8 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
 
     @Override
     public void onClassificationUpdatedToEntity(AtlasEntity entity, List<AtlasClassification> updatedClassifications) throws AtlasBaseException {
+        invalidateSearchResults(entity.getTypeName(), updatedClassifications);
+
         doFullTextMapping(entity.getGuid());
 
         if (isV2EntityNotificationEnabled) {
@@ -235,6 +243,8 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
 
     @Override
     public void onClassificationDeletedFromEntity(AtlasEntity entity, List<AtlasClassification> deletedClassifications) throws AtlasBaseException {
+        invalidateSearchResults(entity.getTypeName(), deletedClassifications);
+
         doFullTextMapping(entity.getGuid());
 
         if (isV2EntityNotificationEnabled) {
@@ -263,6 +273,8 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
 
     @Override
     public void onClassificationsDeletedFromEntities(List<AtlasEntity> entities, List<AtlasClassification> deletedClassifications) throws AtlasBaseException {
+        invalidateSearchResults(entities, deletedClassifications);
+
         doFullTextMappingHelper(entities);
 
         if (isV2EntityNotificationEnabled) {
@@ -297,6 +309,8 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
 
     @Override
     public void onTermAddedToEntities(AtlasGlossaryTerm term, List<AtlasRelatedObjectId> entityIds) throws AtlasBaseException {
+        searchResultCache.onTermChange();
+
         // listeners notified on term-entity association only if v2 notifications are enabled
         if (isV2EntityNotificationEnabled) {
             for (EntityChangeListenerV2 listener : entityChangeListenersV2) {
@@ -317,6 +331,8 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
 
     @Override
     public void onTermDeletedFromEntities(AtlasGlossaryTerm term, List<AtlasRelatedObjectId> entityIds) throws AtlasBaseException {
+        searchResultCache.onTermChange();
+
         // listeners notified on term-entity disassociation only if v2 notifications are enabled
         if (isV2EntityNotificationEnabled) {
             for (EntityChangeListenerV2 listener : entityChangeListenersV2) {
@@ -337,6 +353,8 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
 
     @Override
     public void onLabelsUpdatedFromEntity(String entityGuid, Set<String> addedLabels, Set<String> deletedLabels) throws AtlasBaseException {
+        invalidateSearchResults(entityGuid);
+
         doFullTextMapping(entityGuid);
 
         if (isV2EntityNotificationEnabled) {
@@ -361,6 +379,8 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
 
     @Override
     public void onBusinessAttributesUpdated(String entityGuid, Map<String, Map<String, Object>> updatedBusinessAttributes) throws AtlasBaseException{
+        invalidateSearchResults(entityGuid);
+
         if (isV2EntityNotificationEnabled) {
             AtlasEntity entity = instanceConverter.getAndCacheEntity(entityGuid);
 
@@ -398,21 +418,83 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
         }
     }
 
-    private String getListenerName(EntityChangeListener listener) {
-        return listener.getClass().getSimpleName();
+    private void invalidateSearchResults(EntityMutationResponse entityMutationResponse) {
+        if (!searchResultCache.isEnabled() || entityMutationResponse == null) {
+            return;
+        }
+
+        invalidateSearchResults(entityMutationResponse.getCreatedEntities());
+        invalidateSearchResults(entityMutationResponse.getUpdatedEntities());
+        invalidateSearchResults(entityMutationResponse.getPartialUpdatedEntities());
+        invalidateSearchResults(entityMutationResponse.getDeletedEntities());
+        invalidateSearchResults(entityMutationResponse.getPurgedEntities());
     }
 
-    private void notifyListeners(List<AtlasEntityHeader> entityHeaders, EntityOperation operation, boolean isImport) throws AtlasBaseException {
+    private void invalidateSearchResults(List<AtlasEntityHeader> entityHeaders) {
         if (CollectionUtils.isEmpty(entityHeaders)) {
             return;
         }
 
+        for (AtlasEntityHeader entityHeader : entityHeaders) {
+            searchResultCache.onEntityChange(entityHeader.getTypeName(), entityHeader.getClassificationNames());
+        }
+    }
+
+    private void invalidateSearchResults(List<AtlasEntity> entities, List<AtlasClassification> classifications) {
+        if (!searchResultCache.isEnabled() || CollectionUtils.isEmpty(entities)) {
+            return;
+        }
+
+        for (AtlasEntity entity : entities) {
+            invalidateSearchResults(entity.getTypeName(), classifications);
+        }
+    }
+
+    private void invalidateSearchResults(String entityTypeName, List<AtlasClassification> classifications) {
+        if (!searchResultCache.isEnabled()) {
+            return;
+        }
+
+        List<String> classificationNames = new ArrayList<>();
+
+        if (classifications != null) {
+            for (AtlasClassification classification : classifications) {
+                classificationNames.add(classification.getTypeName());
+            }
+        }
+
+        searchResultCache.onEntityChange(entityTypeName, classificationNames);
+    }
+
+    private void invalidateSearchResults(String entityGuid) {
+        if (!searchResultCache.isEnabled()) {
+            return;
+        }
+
+        AtlasVertex vertex = AtlasGraphUtilsV2.findByGuid(entityGuid);
+
+        if (vertex != null) {
+            searchResultCache.onEntityChange(GraphHelper.getTypeName(vertex), GraphHelper.getTraitNames(vertex));
+        }
+    }
+
+    private String getListenerName(EntityChangeListener listener) {
+        return listener.getClass().getSimpleName();
+    }
+
+    private void notifyListeners(ChangedEntities changedEntities, boolean isImport) throws AtlasBaseException {
         MetricRecorder metric = RequestContext.get().startMetricRecord("notifyListeners");
 
         if (isV2EntityNotificationEnabled) {
-            notifyV2Listeners(entityHeaders, operation, isImport);
+            for (EntityChangeListenerV2 listener : entityChangeListenersV2) {
+                listener.onEntitiesMutated(changedEntities, isImport);
+            }
         } else {
-            notifyV1Listeners(entityHeaders, operation, isImport);
+            for (EntityOperation operation : EntityOperation.values()) {
+                if (CollectionUtils.isNotEmpty(changedEntities.getEntityHeaders(operation))) {
+                    notifyV1Listeners(changedEntities, operation, isImport);
+                }
+            }
         }
 
         RequestContext.get().endMetricRecord(metric);
@@ -432,9 +514,9 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
     }
 
 
-    private void notifyV1Listeners(List<AtlasEntityHeader> entityHeaders, EntityOperation operation, boolean isImport) throws AtlasBaseException {
+    private void notifyV1Listeners(ChangedEntities changedEntities, EntityOperation operation, boolean isImport) throws AtlasBaseException {
         if (operation != EntityOperation.PURGE && instanceConverter != null) {
-            List<Referenceable> typedRefInsts = toReferenceables(entityHeaders, operation);
+            List<Referenceable> typedRefInsts = changedEntities.getReferenceables(operation);
 
             for (EntityChangeListener listener : entityChangeListeners) {
                 try {
@@ -457,31 +539,6 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
         }
     }
 
-    private void notifyV2Listeners(List<AtlasEntityHeader> entityHeaders, EntityOperation operation, boolean isImport) throws AtlasBaseException {
-        List<AtlasEntity> entities = toAtlasEntities(entityHeaders, operation);
-
-        for (EntityChangeListenerV2 listener : entityChangeListenersV2) {
-            switch (operation) {
-                case CREATE:
-                    listener.onEntitiesAdded(entities, isImport);
-                    break;
-
-                case UPDATE:
-                case PARTIAL_UPDATE:
-                    listener.onEntitiesUpdated(entities, isImport);
-                    break;
-
-                case DELETE:
-                    listener.onEntitiesDeleted(entities, isImport);
-                    break;
-
-                case PURGE:
-                    listener.onEntitiesPurged(entities);
-                    break;
-            }
-        }
-    }
-
     private void notifyV2RelationshipListeners(List<AtlasRelationship> relationships, EntityOperation operation, boolean isImport) throws AtlasBaseException {
 
         for (EntityChangeListenerV2 listener : entityChangeListenersV2) {
@@ -503,25 +560,6 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
         }
     }
 
-    private List<Referenceable> toReferenceables(List<AtlasEntityHeader> entityHeaders, EntityOperation operation) throws AtlasBaseException {
-        List<Referenceable> ret = new ArrayList<>(entityHeaders.size());
-
-        if (instanceConverter != null) {
-            // delete notifications don't need all attributes. Hence the special handling for delete operation
-            if (operation == EntityOperation.DELETE) {
-                for (AtlasEntityHeader entityHeader : entityHeaders) {
-                    ret.add(new Referenceable(entityHeader.getGuid(), entityHeader.getTypeName(), entityHeader.getAttributes()));
-                }
-            } else {
-                for (AtlasEntityHeader entityHeader : entityHeaders) {
-                    ret.add(toReferenceable(entityHeader.getGuid()));
-                }
-            }
-        }
-
-        return ret;
-    }
-
     private List<Referenceable> toReferenceables(List<AtlasRelatedObjectId> entityIds) throws AtlasBaseException {
         List<Referenceable> ret = new ArrayList<>();
 
@@ -562,46 +600,6 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
         return ret;
     }
 
-    private List<AtlasEntity> toAtlasEntities(List<AtlasEntityHeader> entityHeaders, EntityOperation operation) throws AtlasBaseException {
-        List<AtlasEntity> ret = new ArrayList<>();
-
-        if (CollectionUtils.isNotEmpty(entityHeaders)) {
-            for (AtlasEntityHeader entityHeader : entityHeaders) {
-                String          typeName   = entityHeader.getTypeName();
-                AtlasEntityType entityType = atlasTypeRegistry.getEntityTypeByName(typeName);
-
-                if (entityType == null) {
-                    continue;
-                }
-
-                // Skip all internal types as the HARD DELETE will cause lookup errors
-                if (entityType.isInternalType()) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Skipping internal type = {}", typeName);
-                    }
-                    continue;
-                }
-
-                final AtlasEntity entity;
-
-                // delete notifications don't need all attributes. Hence the special handling for delete operation
-                if (operation == EntityOperation.DELETE || operation == EntityOperation.PURGE) {
-                    entity = new AtlasEntity(entityHeader);
-                } else {
-                    String entityGuid = entityHeader.getGuid();
-
-                    entity = fullTextMapperV2.getAndCacheEntity(entityGuid);
-                }
-
-                if (entity != null) {
-                    ret.add(entity);
-                }
-            }
-        }
-
-        return ret;
-    }
-
     private void doFullTextMapping(List<AtlasEntityHeader> entityHeaders) {
         if(AtlasRepositoryConfiguration.isFreeTextSearchEnabled() || !AtlasRepositoryConfiguration.isFullTextSearchEnabled()) {
             return;
@@ -611,14 +609,22 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
             return;
         }
 
-        MetricRecorder metric = RequestContext.get().startMetricRecord("fullTextMapping");
+        MetricRecorder metric  = RequestContext.get().startMetricRecord("fullTextMapping");
+        boolean        isAsync = asyncFullTextIndexer != null && asyncFullTextIndexer.canDefer();
 
         for (AtlasEntityHeader entityHeader : entityHeaders) {
             if(GraphHelper.isInternalType(entityHeader.getTypeName())) {
                 continue;
             }
 
-            String      guid   = entityHeader.getGuid();
+            String guid = entityHeader.getGuid();
+
+            if (isAsync) {
+                asyncFullTextIndexer.defer(guid);
+
+                continue;
+            }
+
             AtlasVertex vertex = AtlasGraphUtilsV2.findByGuid(guid);
 
             if(vertex == null) {
@@ -646,6 +652,12 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
             return;
         }
 
+        if (asyncFullTextIndexer != null && asyncFullTextIndexer.canDefer()) { // entity text, including classifications, will be recomputed
+            asyncFullTextIndexer.defer(entityId);
+
+            return;
+        }
+
         AtlasVertex atlasVertex = AtlasGraphUtilsV2.findByGuid(entityId);
         if(atlasVertex == null || GraphHelper.isInternalType(atlasVertex)) {
             return;
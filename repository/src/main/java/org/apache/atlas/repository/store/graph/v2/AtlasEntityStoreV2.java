@@ -238,6 +238,52 @@ public class AtlasEntityStoreV2 implements AtlasEntityStore {
         return ret;
     }
 
+    @Override
+    @GraphTransaction
+    public void getByIds(List<String> guids, boolean isMinExtInfo, boolean ignoreRelationships, EntitySink sink) throws AtlasBaseException {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> getByIds({}, {}, sink)", guids, isMinExtInfo);
+        }
+
+        EntityGraphRetriever entityRetriever = new EntityGraphRetriever(graph, typeRegistry, ignoreRelationships);
+        List<AtlasVertex>    entityVertices  = new ArrayList<>(guids.size());
+
+        // lookup and authorize all entities first, so that missing entities and authorization failures are reported
+        // before the sink starts writing the response
+        for (String guid : guids) {
+            AtlasVertex       entityVertex = entityRetriever.getEntityVertex(guid);
+            AtlasEntityHeader entityHeader = entityRetriever.toAtlasEntityHeaderWithClassifications(entityVertex);
+
+            try {
+                AtlasAuthorizationUtils.verifyAccess(new AtlasEntityAccessRequest(typeRegistry, AtlasPrivilege.ENTITY_READ, entityHeader), "read entity: guid=", guid);
+            } catch (AtlasBaseException e) {
+                if (RequestContext.get().isSkipFailedEntities()) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("getByIds(): ignoring failure for entity {}: error code={}, message={}", guid, e.getAtlasErrorCode(), e.getMessage());
+                    }
+
+                    continue;
+                }
+
+                throw e;
+            }
+
+            entityVertices.add(entityVertex);
+        }
+
+        int count = 0;
+
+        for (AtlasVertex entityVertex : entityVertices) {
+            sink.add(entityRetriever.toAtlasEntityWithExtInfo(entityVertex, isMinExtInfo));
+
+            count++;
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== getByIds({}, {}, sink): count={}", guids, isMinExtInfo, count);
+        }
+    }
+
     @Override
     @GraphTransaction
     public AtlasEntitiesWithExtInfo getEntitiesByUniqueAttributes(AtlasEntityType entityType, List<Map<String, Object>> uniqueAttributes , boolean isMinExtInfo, boolean ignoreRelationships) throws AtlasBaseException {
@@ -0,0 +1,403 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.authorize.AtlasAdminAccessRequest;
+import org.apache.atlas.authorize.AtlasAuthorizationUtils;
+import org.apache.atlas.authorize.AtlasPrivilege;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.TypeCategory;
+import org.apache.atlas.model.instance.AtlasBulkDeleteJob;
+import org.apache.atlas.model.instance.AtlasBulkDeleteJob.JobStatus;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasObjectId;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.repository.graph.GraphHelper;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.AtlasEntityStore;
+import org.apache.atlas.repository.store.graph.v1.DeleteHandlerDelegate;
+import org.apache.atlas.repository.store.graph.v1.DeleteHandlerV1;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.utils.LruCache;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.apache.atlas.model.instance.AtlasEntity.Status.ACTIVE;
+import static org.apache.atlas.model.instance.AtlasEntity.Status.DELETED;
+
+/*
+ * Deletes/purges entities along with the entities owned by them (for example, a hive_db with its tables and their
+ * columns) in chunks, with each chunk committed in a separate transaction. This bounds the memory and transaction
+ * size needed to delete a large containment hierarchy, which otherwise is deleted in a single transaction.
+ *
+ * Entities are deleted in dependency order: owned entities are deleted before their owners. As entities already
+ * deleted/purged are skipped while computing the entities to delete, a job that failed or was interrupted can be
+ * restarted - or resubmitted with the same entities - to continue from where it stopped.
+ *
+ * A job can be queried and restarted only by the user who submitted it, or by a user having admin-purge privilege. A
+ * restarted job runs as the user who restarted it, after the authorization done at submission is repeated for that user.
+ *
+ * Jobs are tracked only in memory of the server that runs them, and only the most recent MAX_JOBS_RETAINED jobs are
+ * retained. After a restart or failover of the server the job can no longer be queried or restarted; resubmitting
+ * it with the same entities continues from where it stopped, as described above.
+ */
+@Component
+public class BulkDeleteService {
+    private static final Logger LOG = LoggerFactory.getLogger(BulkDeleteService.class);
+
+    private static final int MAX_JOBS_RETAINED = 100;
+
+    private final AtlasGraph                          graph;
+    private final AtlasTypeRegistry                   typeRegistry;
+    private final AtlasEntityStore                    entityStore;
+    private final DeleteHandlerDelegate               deleteDelegate;
+    private final int                                 chunkSize;
+    private final Map<String, AtlasBulkDeleteJob>     jobs;
+    private final ExecutorService                     executor;
+
+    @Inject
+    public BulkDeleteService(AtlasGraph graph, AtlasTypeRegistry typeRegistry, AtlasEntityStore entityStore, DeleteHandlerDelegate deleteDelegate) {
+        this(graph, typeRegistry, entityStore, deleteDelegate, AtlasConfiguration.BULK_DELETE_CHUNK_SIZE.getInt());
+    }
+
+    BulkDeleteService(AtlasGraph graph, AtlasTypeRegistry typeRegistry, AtlasEntityStore entityStore, DeleteHandlerDelegate deleteDelegate, int chunkSize) {
+        this.graph          = graph;
+        this.typeRegistry   = typeRegistry;
+        this.entityStore    = entityStore;
+        this.deleteDelegate = deleteDelegate;
+        this.chunkSize      = Math.max(chunkSize, 1);
+        this.jobs           = Collections.synchronizedMap(new LruCache<>(MAX_JOBS_RETAINED, 0));
+        this.executor       = Executors.newSingleThreadExecutor(r -> {
+            Thread ret = new Thread(r, "atlas-bulk-delete");
+
+            ret.setDaemon(true);
+
+            return ret;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submits a job to delete, or purge, given entities and the entities owned by them in background.
+     * Authorization is performed using the current user, for every entity deleted.
+     */
+    public AtlasBulkDeleteJob submit(List<String> guids, boolean isPurge) throws AtlasBaseException {
+        if (CollectionUtils.isEmpty(guids)) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "Guid(s) not specified");
+        }
+
+        verifySubmitAccess(guids, isPurge);
+
+        AtlasBulkDeleteJob job = new AtlasBulkDeleteJob(UUID.randomUUID().toString(), new ArrayList<>(guids), isPurge, RequestContext.getCurrentUser(), chunkSize);
+
+        jobs.put(job.getJobId(), job);
+
+        submit(job);
+
+        return job;
+    }
+
+    /**
+     * Restarts a failed job, as the current user. Entities deleted by the earlier run of the job are skipped.
+     */
+    public AtlasBulkDeleteJob restart(String jobId) throws AtlasBaseException {
+        AtlasBulkDeleteJob job = getJob(jobId);
+
+        verifySubmitAccess(job.getGuids(), job.isPurge());
+
+        synchronized (job) {
+            if (job.getStatus() != JobStatus.FAILED) {
+                throw new AtlasBaseException(AtlasErrorCode.BULK_DELETE_JOB_NOT_RESTARTABLE, jobId, job.getStatus().name());
+            }
+
+            job.setStatus(JobStatus.PENDING);
+            job.setErrorMessage(null);
+            job.setEndTime(0);
+        }
+
+        submit(job);
+
+        return job;
+    }
+
+    /**
+     * Returns the job with given id, if the current user submitted the job or has admin-purge privilege.
+     */
+    public AtlasBulkDeleteJob getJob(String jobId) throws AtlasBaseException {
+        AtlasBulkDeleteJob ret = jobs.get(jobId);
+
+        if (ret == null) {
+            throw new AtlasBaseException(AtlasErrorCode.BULK_DELETE_JOB_NOT_FOUND, jobId);
+        }
+
+        String currentUser = RequestContext.getCurrentUser();
+
+        if (!StringUtils.equals(currentUser, ret.getUserName()) && !AtlasAuthorizationUtils.isAccessAllowed(new AtlasAdminAccessRequest(AtlasPrivilege.ADMIN_PURGE))) {
+            throw new AtlasBaseException(AtlasErrorCode.UNAUTHORIZED_ACCESS, currentUser, "access bulk delete job " + jobId);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Deletes, or purges, given entities and the entities owned by them in chunks, in the caller's thread.
+     * When the entities, along with the entities owned by them, fit in a chunk they are deleted in a single
+     * transaction. Otherwise each chunk is committed separately, hence a failure leaves earlier chunks deleted;
+     * calling again with the same entities continues from where it stopped. Entities that don't exist and entities
+     * whose type is not an entity-type are ignored.
+     * @param objectIds entities to delete, identified by guid or by typeName and unique attributes
+     * @param isPurge true to purge the entities, which must have been deleted earlier
+     * @param chunkListener if not null, called with the mutation response of every chunk after it is committed
+     * @return the job, with count of entities processed
+     */
+    public AtlasBulkDeleteJob execute(List<AtlasObjectId> objectIds, boolean isPurge, Consumer<EntityMutationResponse> chunkListener) throws AtlasBaseException {
+        List<String> guids = new ArrayList<>();
+
+        try {
+            for (AtlasObjectId objectId : objectIds) {
+                AtlasVertex vertex = findVertex(objectId, isPurge);
+
+                if (vertex != null) {
+                    guids.add(GraphHelper.getGuid(vertex));
+                } else if (LOG.isDebugEnabled()) {
+                    LOG.debug("Bulk delete request ignored for non-existent entity {}", objectId);
+                }
+            }
+        } finally {
+            graph.rollback();
+        }
+
+        AtlasBulkDeleteJob ret = new AtlasBulkDeleteJob(null, guids, isPurge, RequestContext.getCurrentUser(), chunkSize);
+
+        run(ret, chunkListener);
+
+        if (ret.getStatus() == JobStatus.FAILED) {
+            throw new AtlasBaseException(AtlasErrorCode.BULK_DELETE_JOB_FAILED, String.valueOf(ret.getGuids()), ret.getErrorMessage());
+        }
+
+        return ret;
+    }
+
+    /**
+     * Returns guids of given entities and the entities owned by them, with owned entities listed before their owners.
+     */
+    List<String> getDeleteOrder(List<String> guids, boolean isPurge) throws AtlasBaseException {
+        DeleteHandlerV1       deleteHandler = deleteDelegate.getHandler();
+        LinkedHashSet<String> ret           = new LinkedHashSet<>();
+        Set<String>           visited       = new HashSet<>();
+        Deque<VisitFrame>     stack         = new ArrayDeque<>();
+
+        for (String guid : guids) {
+            AtlasVertex vertex = isPurge ? AtlasGraphUtilsV2.findDeletedByGuid(graph, guid) : AtlasGraphUtilsV2.findByGuid(graph, guid);
+
+            if (vertex == null || isSkipped(vertex, isPurge) || !visited.add(guid)) {
+                continue;
+            }
+
+            stack.push(new VisitFrame(guid, vertex));
+
+            // iterative post-order traversal of the containment graph
+            while (!stack.isEmpty()) {
+                VisitFrame frame = stack.peek();
+
+                if (frame.children == null) {
+                    frame.children = deleteHandler.getOwnedReferences(frame.vertex, getEntityType(frame.vertex), isPurge).iterator();
+                }
+
+                if (frame.children.hasNext()) {
+                    AtlasVertex child     = frame.children.next();
+                    String      childGuid = GraphHelper.getGuid(child);
+
+                    if (childGuid != null && !isSkipped(child, isPurge) && visited.add(childGuid)) {
+                        stack.push(new VisitFrame(childGuid, child));
+                    }
+                } else {
+                    stack.pop();
+
+                    ret.add(frame.guid);
+                }
+            }
+        }
+
+        return new ArrayList<>(ret);
+    }
+
+    // authorization for every entity deleted is done while the job runs
+    private void verifySubmitAccess(List<String> guids, boolean isPurge) throws AtlasBaseException {
+        if (isPurge) {
+            AtlasAuthorizationUtils.verifyAccess(new AtlasAdminAccessRequest(AtlasPrivilege.ADMIN_PURGE), "purge entity: guids=", guids);
+        }
+    }
+
+    // runs the job as the current user: authorization and audit use the same identity
+    private void submit(AtlasBulkDeleteJob job) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final String         userName       = RequestContext.getCurrentUser();
+        final Set<String>    userGroups     = RequestContext.get().getUserGroups();
+
+        executor.submit(() -> {
+            try {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                RequestContext.get().setUser(userName, userGroups);
+
+                run(job, null);
+            } finally {
+                RequestContext.clear();
+                SecurityContextHolder.clearContext();
+            }
+        });
+    }
+
+    private void run(AtlasBulkDeleteJob job, Consumer<EntityMutationResponse> chunkListener) {
+        LOG.info("==> BulkDeleteService.run(jobId={}, purge={}, guids={})", job.getJobId(), job.isPurge(), job.getGuids());
+
+        synchronized (job) {
+            job.setStatus(JobStatus.IN_PROGRESS);
+            job.setStartTime(System.currentTimeMillis());
+            job.setProcessedEntityCount(0);
+            job.setProcessedChunkCount(0);
+        }
+
+        try {
+            List<String> deleteOrder;
+
+            try {
+                deleteOrder = getDeleteOrder(job.getGuids(), job.isPurge());
+            } finally {
+                graph.rollback();
+            }
+
+            int chunkCount = (deleteOrder.size() + chunkSize - 1) / chunkSize;
+
+            synchronized (job) {
+                job.setTotalEntityCount(deleteOrder.size());
+                job.setChunkCount(chunkCount);
+            }
+
+            for (int fromIdx = 0; fromIdx < deleteOrder.size(); fromIdx += chunkSize) {
+                List<String>           chunk    = new ArrayList<>(deleteOrder.subList(fromIdx, Math.min(fromIdx + chunkSize, deleteOrder.size())));
+                EntityMutationResponse response = job.isPurge() ? entityStore.purgeByIds(new HashSet<>(chunk)) : entityStore.deleteByIds(chunk);
+
+                RequestContext.get().clearCache();
+
+                if (chunkListener != null) {
+                    chunkListener.accept(response);
+                }
+
+                synchronized (job) {
+                    job.setProcessedEntityCount(job.getProcessedEntityCount() + chunk.size());
+                    job.setProcessedChunkCount(job.getProcessedChunkCount() + 1);
+                }
+
+                LOG.info("BulkDeleteService(jobId={}): processed chunk {} of {}; entities processed: {} of {}", job.getJobId(), job.getProcessedChunkCount(), chunkCount, job.getProcessedEntityCount(), deleteOrder.size());
+            }
+
+            synchronized (job) {
+                job.setStatus(JobStatus.COMPLETED);
+            }
+        } catch (Throwable t) {
+            LOG.error("BulkDeleteService(jobId={}): failed after processing {} entities", job.getJobId(), job.getProcessedEntityCount(), t);
+
+            synchronized (job) {
+                job.setStatus(JobStatus.FAILED);
+                job.setErrorMessage(t.getMessage());
+            }
+        } finally {
+            job.setEndTime(System.currentTimeMillis());
+        }
+
+        LOG.info("<== BulkDeleteService.run(jobId={}): status={}, entitiesProcessed={}, timeTakenMs={}", job.getJobId(), job.getStatus(), job.getProcessedEntityCount(), job.getEndTime() - job.getStartTime());
+    }
+
+    private AtlasVertex findVertex(AtlasObjectId objectId, boolean isPurge) throws AtlasBaseException {
+        if (StringUtils.isNotEmpty(objectId.getGuid())) {
+            return isPurge ? AtlasGraphUtilsV2.findDeletedByGuid(graph, objectId.getGuid()) : AtlasGraphUtilsV2.findByGuid(graph, objectId.getGuid());
+        }
+
+        AtlasType type = typeRegistry.getType(objectId.getTypeName());
+
+        if (!(type instanceof AtlasEntityType)) {
+            LOG.error("Bulk delete request ignored for {}: {} is not an entity-type", objectId, objectId.getTypeName());
+
+            return null;
+        }
+
+        return AtlasGraphUtilsV2.findByUniqueAttributes(graph, (AtlasEntityType) type, objectId.getUniqueAttributes());
+    }
+
+    private AtlasEntityType getEntityType(AtlasVertex vertex) throws AtlasBaseException {
+        String          typeName = GraphHelper.getTypeName(vertex);
+        AtlasEntityType ret      = typeRegistry.getEntityTypeByName(typeName);
+
+        if (ret == null) {
+            throw new AtlasBaseException(AtlasErrorCode.TYPE_NAME_INVALID, TypeCategory.ENTITY.name(), typeName);
+        }
+
+        return ret;
+    }
+
+    // deleted entities are skipped for delete; active entities are skipped for purge
+    private static boolean isSkipped(AtlasVertex vertex, boolean isPurge) {
+        AtlasEntity.Status state = GraphHelper.getStatus(vertex);
+
+        return state == (isPurge ? ACTIVE : DELETED);
+    }
+
+    private static class VisitFrame {
+        final String                guid;
+        final AtlasVertex           vertex;
+        Iterator<AtlasVertex>       children;
+
+        VisitFrame(String guid, AtlasVertex vertex) {
+            this.guid   = guid;
+            this.vertex = vertex;
+        }
+    }
+}
@@ -213,6 +213,62 @@ public class EntityGraphRetriever {
         return atlasVertex != null ? mapVertexToAtlasEntityHeader(atlasVertex, attributes) : null;
     }
 
+    /**
+     * Loads properties and edges read to build entity headers of the given vertices, with few backend queries instead
+     * of one query per property/edge of each vertex. Call this before building headers for a page of search results.
+     */
+    public void prefetchEntityHeaders(Collection<AtlasVertex> entityVertices, Set<String> attributes, boolean includeClassifications) {
+        if (CollectionUtils.isEmpty(entityVertices)) {
+            return;
+        }
+
+        // properties are needed first, to find types of the entities and hence labels of edges for the attributes
+        graph.prefetchVertices(entityVertices, Collections.emptySet());
+
+        Set<String> edgeLabels = new HashSet<>();
+
+        edgeLabels.add(TERM_ASSIGNMENT_LABEL);
+
+        if (includeClassifications) {
+            edgeLabels.add(CLASSIFICATION_LABEL);
+        }
+
+        if (CollectionUtils.isNotEmpty(attributes)) {
+            Set<String> typeNames = new HashSet<>();
+
+            for (AtlasVertex entityVertex : entityVertices) {
+                typeNames.add(getTypeName(entityVertex));
+            }
+
+            for (String typeName : typeNames) {
+                AtlasEntityType entityType = typeRegistry.getEntityTypeByName(typeName);
+
+                if (entityType == null) {
+                    continue;
+                }
+
+                for (String attrName : attributes) {
+                    AtlasAttribute attribute = entityType.getAttribute(attrName);
+
+                    if (attribute == null) {
+                        attrName  = toNonQualifiedName(attrName);
+                        attribute = entityType.getAttribute(attrName);
+
+                        if (attribute == null) {
+                            attribute = entityType.getRelationshipAttribute(attrName, null);
+                        }
+                    }
+
+                    if (attribute != null && attribute.isObjectRef()) {
+                        edgeLabels.add(attribute.getRelationshipEdgeLabel());
+                    }
+                }
+            }
+        }
+
+        graph.prefetchVertices(entityVertices, edgeLabels);
+    }
+
     public AtlasEntityHeader toAtlasEntityHeaderWithClassifications(String guid) throws AtlasBaseException {
         return toAtlasEntityHeaderWithClassifications(getEntityVertex(guid), Collections.emptySet());
     }
@@ -1429,6 +1485,9 @@ public class EntityGraphRetriever {
         List<AtlasRelatedObjectId> ret   = new ArrayList<>();
         Iterator<AtlasEdge>        edges = null;
 
+        // deleted relationships are returned as well (with relationshipStatus DELETED), hence all edges of the label are
+        // read; a lookup by the vertex-centric index on edge state would not reduce the number of edges read
+
         if (attribute.getRelationshipEdgeDirection() == IN) {
             edges = getIncomingEdgesByLabel(entityVertex, attribute.getRelationshipEdgeLabel());
         } else if (attribute.getRelationshipEdgeDirection() == OUT) {
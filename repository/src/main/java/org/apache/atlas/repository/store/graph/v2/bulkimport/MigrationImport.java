@@ -105,13 +105,14 @@ public class MigrationImport extends ImportStrategy {
 
         int batchSize = importResult.getRequest().getOptionKeyBatchSize();
         int numWorkers = getNumWorkers(importResult.getRequest().getOptionKeyNumWorkers());
+        int maxWorkers = Math.max(numWorkers, importResult.getRequest().getOptionKeyMaxWorkers());
 
         EntityConsumerBuilder consumerBuilder =
                 new EntityConsumerBuilder(typeRegistry, this.graph, entityStore, entityGraphRetriever, graphBulk,
                         entityStoreBulk, entityGraphRetrieverBulk, batchSize);
 
         LOG.info("MigrationImport: EntityCreationManager: Created!");
-        return new EntityCreationManager(consumerBuilder, batchSize, numWorkers, importResult, dataMigrationStatusService);
+        return new EntityCreationManager(consumerBuilder, batchSize, numWorkers, maxWorkers, importResult, dataMigrationStatusService);
     }
 
     private static int getNumWorkers(int numWorkersFromOptions) {
@@ -40,6 +40,7 @@ import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
 import org.apache.atlas.repository.store.graph.v2.BulkImporterImpl;
 import org.apache.atlas.repository.store.graph.v2.EntityGraphRetriever;
 import org.apache.atlas.repository.store.graph.v2.EntityImportStream;
+import org.apache.atlas.repository.util.GuidSet;
 import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.commons.collections.MapUtils;
@@ -49,7 +50,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -87,68 +87,72 @@ public class RegularImport extends ImportStrategy {
         EntityMutationResponse ret = new EntityMutationResponse();
         ret.setGuidAssignments(new HashMap<>());
 
-        Set<String> processedGuids = new HashSet<>();
+        GuidSet      processedGuids = new GuidSet();
         float        currentPercent = 0f;
         List<String> residualList   = new ArrayList<>();
 
-        EntityImportStreamWithResidualList entityImportStreamWithResidualList = new EntityImportStreamWithResidualList(entityStream, residualList);
-
-        while (entityImportStreamWithResidualList.hasNext()) {
-            AtlasEntityWithExtInfo entityWithExtInfo = entityImportStreamWithResidualList.getNextEntityWithExtInfo();
-            AtlasEntity            entity            = entityWithExtInfo != null ? entityWithExtInfo.getEntity() : null;
-
-            if (entity == null) {
-                continue;
-            }
-
-            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
-                try {
-                    AtlasEntityStreamForImport oneEntityStream = new AtlasEntityStreamForImport(entityWithExtInfo, null);
-                    EntityMutationResponse resp = entityStore.createOrUpdateForImport(oneEntityStream);
-
-                    if (resp.getGuidAssignments() != null) {
-                        ret.getGuidAssignments().putAll(resp.getGuidAssignments());
-                    }
+        try {
+            EntityImportStreamWithResidualList entityImportStreamWithResidualList = new EntityImportStreamWithResidualList(entityStream, residualList);
 
-                    currentPercent = updateImportMetrics(entityWithExtInfo, resp, importResult, processedGuids,
-                            entityStream.getPosition(),
-                            entityImportStreamWithResidualList.getStreamSize(),
-                            currentPercent);
+            while (entityImportStreamWithResidualList.hasNext()) {
+                AtlasEntityWithExtInfo entityWithExtInfo = entityImportStreamWithResidualList.getNextEntityWithExtInfo();
+                AtlasEntity            entity            = entityWithExtInfo != null ? entityWithExtInfo.getEntity() : null;
 
-                    entityStream.onImportComplete(entity.getGuid());
-                    break;
-                } catch (AtlasBaseException e) {
-                    if (!updateResidualList(e, residualList, entityWithExtInfo.getEntity().getGuid())) {
-                        throw e;
-                    }
-                    break;
-                } catch (AtlasSchemaViolationException e) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Entity: {}", entity.getGuid(), e);
-                    }
+                if (entity == null) {
+                    continue;
+                }
 
-                    if (attempt == 0) {
-                        updateVertexGuid(entityWithExtInfo);
-                    } else {
-                        LOG.error("Guid update failed: {}", entityWithExtInfo.getEntity().getGuid());
-                        throw e;
-                    }
-                } catch (Throwable e) {
-                    AtlasBaseException abe = new AtlasBaseException(e);
-                    if (!updateResidualList(abe, residualList, entityWithExtInfo.getEntity().getGuid())) {
-                        throw abe;
+                for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                    try {
+                        AtlasEntityStreamForImport oneEntityStream = new AtlasEntityStreamForImport(entityWithExtInfo, null);
+                        EntityMutationResponse resp = entityStore.createOrUpdateForImport(oneEntityStream);
+
+                        if (resp.getGuidAssignments() != null) {
+                            ret.getGuidAssignments().putAll(resp.getGuidAssignments());
+                        }
+
+                        currentPercent = updateImportMetrics(entityWithExtInfo, resp, importResult, processedGuids,
+                                entityStream.getPosition(),
+                                entityImportStreamWithResidualList.getStreamSize(),
+                                currentPercent);
+
+                        entityStream.onImportComplete(entity.getGuid());
+                        break;
+                    } catch (AtlasBaseException e) {
+                        if (!updateResidualList(e, residualList, entityWithExtInfo.getEntity().getGuid())) {
+                            throw e;
+                        }
+                        break;
+                    } catch (AtlasSchemaViolationException e) {
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("Entity: {}", entity.getGuid(), e);
+                        }
+
+                        if (attempt == 0) {
+                            updateVertexGuid(entityWithExtInfo);
+                        } else {
+                            LOG.error("Guid update failed: {}", entityWithExtInfo.getEntity().getGuid());
+                            throw e;
+                        }
+                    } catch (Throwable e) {
+                        AtlasBaseException abe = new AtlasBaseException(e);
+                        if (!updateResidualList(abe, residualList, entityWithExtInfo.getEntity().getGuid())) {
+                            throw abe;
+                        }
+
+                        LOG.warn("Exception: {}", entity.getGuid(), e);
+                        break;
+                    } finally {
+                        RequestContext.get().clearCache();
                     }
-
-                    LOG.warn("Exception: {}", entity.getGuid(), e);
-                    break;
-                } finally {
-                    RequestContext.get().clearCache();
                 }
             }
-        }
 
-        importResult.getProcessedEntities().addAll(processedGuids);
-        LOG.info("bulkImport(): done. Total number of entities (including referred entities) imported: {}", processedGuids.size());
+            importResult.getProcessedEntities().addAll(processedGuids);
+            LOG.info("bulkImport(): done. Total number of entities (including referred entities) imported: {}", processedGuids.size());
+        } finally {
+            processedGuids.close();
+        }
 
         return ret;
     }
@@ -154,7 +154,7 @@ public class EntityConsumer extends WorkItemConsumer<AtlasEntity.AtlasEntityWith
         try {
             LOG.info("Validated Entities: Commit: Starting...");
             rollbackPauseRetry(1, ex);
-            doCommit();
+            doCommitAndRecord();
         }
         finally {
             LOG.info("Validated Entities: Commit: Done!");
@@ -166,7 +166,7 @@ public class EntityConsumer extends WorkItemConsumer<AtlasEntity.AtlasEntityWith
             return;
         }
 
-        doCommit();
+        doCommitAndRecord();
     }
 
     @Override
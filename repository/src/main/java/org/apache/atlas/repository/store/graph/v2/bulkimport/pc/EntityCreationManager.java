@@ -42,8 +42,8 @@ public class EntityCreationManager<AtlasEntityWithExtInfo> extends WorkItemManag
     private float currentPercent;
     private EntityImportStream entityImportStream;
 
-    public EntityCreationManager(WorkItemBuilder builder, int batchSize, int numWorkers, AtlasImportResult importResult, DataMigrationStatusService dataMigrationStatusService) {
-        super(builder, WORKER_PREFIX, batchSize, numWorkers, true);
+    public EntityCreationManager(WorkItemBuilder builder, int batchSize, int numWorkers, int maxWorkers, AtlasImportResult importResult, DataMigrationStatusService dataMigrationStatusService) {
+        super(builder, WORKER_PREFIX, batchSize, numWorkers, numWorkers, maxWorkers, true);
         this.importResult = importResult;
         this.dataMigrationStatusService = dataMigrationStatusService;
 
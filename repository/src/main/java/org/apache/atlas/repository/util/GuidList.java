@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.util;
+
+import org.apache.atlas.AtlasConfiguration;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Append-only list of GUIDs, with much smaller memory footprint than ArrayList<String>: GUIDs are held as 128-bit
+ * values, which are moved to a memory-mapped temporary file once the number of GUIDs exceeds
+ * atlas.impexp.guids.max.heap.entries. Values that are not GUIDs in canonical form are held as is.
+ *
+ * Only add(), get() and clear() are supported for modification. close() releases the memory-mapped file right away,
+ * instead of on garbage collection.
+ */
+public class GuidList extends AbstractList<String> implements RandomAccess, Closeable {
+    private static final int MIN_CAPACITY = 1024;
+
+    private final long   maxHeapEntries;
+    private final File   spillDirectory;
+    private LongArray    values;           // 2 longs per element; for non-GUID element, the index in others
+    private int          size;
+    private BitSet       nonGuidElements;
+    private List<String> others;
+
+    public GuidList() {
+        this(AtlasConfiguration.IMPEXP_GUIDS_MAX_HEAP_ENTRIES.getLong(), GuidSet.getDefaultSpillDirectory());
+    }
+
+    /**
+     * @param maxHeapEntries  number of GUIDs beyond which the GUIDs are held in a memory-mapped file
+     * @param spillDirectory  directory for the memory-mapped file; null for the default temporary-file directory
+     */
+    public GuidList(long maxHeapEntries, File spillDirectory) {
+        this.maxHeapEntries = maxHeapEntries;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+
+        long idx = ((long) index) * 2;
+
+        if (nonGuidElements != null && nonGuidElements.get(index)) {
+            return others.get((int) values.get(idx));
+        }
+
+        return GuidSet.toGuid(values.get(idx), values.get(idx + 1));
+    }
+
+    @Override
+    public boolean add(String value) {
+        if (values == null || ((long) size) * 2 >= values.length()) {
+            grow();
+        }
+
+        long idx = ((long) size) * 2;
+
+        if (GuidSet.isGuid(value)) {
+            values.set(idx, GuidSet.getHighBits(value));
+            values.set(idx + 1, GuidSet.getLowBits(value));
+        } else {
+            if (others == null) {
+                others          = new ArrayList<>();
+                nonGuidElements = new BitSet();
+            }
+
+            values.set(idx, others.size());
+            nonGuidElements.set(size);
+            others.add(value);
+        }
+
+        size++;
+        modCount++;
+
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (values != null) {
+            values.close();
+        }
+
+        values          = null;
+        size            = 0;
+        nonGuidElements = null;
+        others          = null;
+
+        modCount++;
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    /**
+     * @return true if the GUIDs are held in a memory-mapped file
+     */
+    public boolean isOffHeap() {
+        return values != null && values.isOffHeap();
+    }
+
+    private void grow() {
+        long      capacity    = values == null ? 0 : values.length() / 2;
+        long      newCapacity = values == null ? MIN_CAPACITY : capacity * 2;
+        LongArray newValues   = LongArray.allocate(newCapacity * 2, newCapacity > maxHeapEntries, spillDirectory);
+
+        for (long i = 0; i < capacity * 2; i++) {
+            newValues.set(i, values.get(i));
+        }
+
+        if (values != null) {
+            values.close();
+        }
+
+        values = newValues;
+    }
+}
@@ -0,0 +1,375 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.util;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set of GUIDs, with much smaller memory footprint than HashSet<String>: GUIDs are held as 128-bit values in an
+ * open-addressing hash table, which is moved to a memory-mapped temporary file once the number of GUIDs exceeds
+ * atlas.impexp.guids.max.heap.entries. Values that are not GUIDs in canonical form are held in a HashSet.
+ *
+ * Elements can be removed with remove(); removal through the iterator is not supported. close() releases the memory-mapped file right away, instead of on garbage
+ * collection.
+ */
+public class GuidSet extends AbstractSet<String> implements Closeable {
+    private static final int   MIN_CAPACITY = 1024;
+    private static final float LOAD_FACTOR  = 0.6f;
+
+    private final long maxHeapEntries;
+    private final File spillDirectory;
+    private LongArray  table;          // 2 longs per slot; slot with both 0 is empty
+    private long       capacity;       // number of slots, a power of 2
+    private long       guidCount;
+    private boolean    hasZeroGuid;    // 00000000-0000-0000-0000-000000000000 can't be held in the table
+    private Set<String> others;
+
+    public GuidSet() {
+        this(AtlasConfiguration.IMPEXP_GUIDS_MAX_HEAP_ENTRIES.getLong(), getDefaultSpillDirectory());
+    }
+
+    /**
+     * @param maxHeapEntries  number of GUIDs beyond which the GUIDs are held in a memory-mapped file
+     * @param spillDirectory  directory for the memory-mapped file; null for the default temporary-file directory
+     */
+    public GuidSet(long maxHeapEntries, File spillDirectory) {
+        this.maxHeapEntries = maxHeapEntries;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public int size() {
+        long ret = guidCount + (hasZeroGuid ? 1 : 0) + (others != null ? others.size() : 0);
+
+        return (int) Math.min(ret, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof String && isGuid((String) o)) {
+            String guid = (String) o;
+            long   high = getHighBits(guid);
+            long   low  = getLowBits(guid);
+
+            if (high == 0 && low == 0) {
+                return hasZeroGuid;
+            }
+
+            return table != null && findSlot(table, capacity, high, low) != -1;
+        }
+
+        return others != null && others.contains(o);
+    }
+
+    @Override
+    public boolean add(String value) {
+        if (!isGuid(value)) {
+            if (others == null) {
+                others = new HashSet<>();
+            }
+
+            return others.add(value);
+        }
+
+        long high = getHighBits(value);
+        long low  = getLowBits(value);
+
+        if (high == 0 && low == 0) {
+            boolean ret = !hasZeroGuid;
+
+            hasZeroGuid = true;
+
+            return ret;
+        }
+
+        if (table == null || guidCount + 1 > capacity * LOAD_FACTOR) {
+            resize();
+        }
+
+        boolean ret = insert(table, capacity, high, low);
+
+        if (ret) {
+            guidCount++;
+        }
+
+        return ret;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o instanceof String && isGuid((String) o)) {
+            String guid = (String) o;
+            long   high = getHighBits(guid);
+            long   low  = getLowBits(guid);
+
+            if (high == 0 && low == 0) {
+                boolean ret = hasZeroGuid;
+
+                hasZeroGuid = false;
+
+                return ret;
+            }
+
+            long slot = table != null ? findSlot(table, capacity, high, low) : -1;
+
+            if (slot == -1) {
+                return false;
+            }
+
+            delete(table, capacity, slot);
+
+            guidCount--;
+
+            return true;
+        }
+
+        return others != null && others.remove(o);
+    }
+
+    @Override
+    public void clear() {
+        if (table != null) {
+            table.close();
+        }
+
+        table       = null;
+        capacity    = 0;
+        guidCount   = 0;
+        hasZeroGuid = false;
+        others      = null;
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new GuidIterator();
+    }
+
+    /**
+     * @return true if the GUIDs are held in a memory-mapped file
+     */
+    public boolean isOffHeap() {
+        return table != null && table.isOffHeap();
+    }
+
+    static File getDefaultSpillDirectory() {
+        String tempDirectory = AtlasConfiguration.IMPORT_TEMP_DIRECTORY.getString();
+
+        return StringUtils.isNotEmpty(tempDirectory) ? new File(tempDirectory) : null;
+    }
+
+    /**
+     * @return true if the given value is a GUID in the canonical form generated by UUID.toString(), like
+     *         "0f6c0e34-8dbf-4b9a-9c3e-1c6b2a4f5d10". Only such values can be converted to 128-bits and back as is.
+     */
+    static boolean isGuid(String value) {
+        if (value == null || value.length() != 36) {
+            return false;
+        }
+
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    static long getHighBits(String guid) {
+        return (parseHex(guid, 0, 8) << 32) | (parseHex(guid, 9, 13) << 16) | parseHex(guid, 14, 18);
+    }
+
+    static long getLowBits(String guid) {
+        return (parseHex(guid, 19, 23) << 48) | parseHex(guid, 24, 36);
+    }
+
+    static String toGuid(long high, long low) {
+        return new UUID(high, low).toString();
+    }
+
+    private static long parseHex(String str, int start, int end) {
+        long ret = 0;
+
+        for (int i = start; i < end; i++) {
+            ret = (ret << 4) | Character.digit(str.charAt(i), 16);
+        }
+
+        return ret;
+    }
+
+    private void resize() {
+        long      newCapacity = table == null ? MIN_CAPACITY : capacity * 2;
+        boolean   offHeap     = newCapacity * LOAD_FACTOR > maxHeapEntries;
+        LongArray newTable    = LongArray.allocate(newCapacity * 2, offHeap, spillDirectory);
+
+        for (long slot = 0; slot < capacity; slot++) {
+            long high = table.get(slot * 2);
+            long low  = table.get(slot * 2 + 1);
+
+            if (high != 0 || low != 0) {
+                insert(newTable, newCapacity, high, low);
+            }
+        }
+
+        if (table != null) {
+            table.close();
+        }
+
+        table    = newTable;
+        capacity = newCapacity;
+    }
+
+    private static boolean insert(LongArray table, long capacity, long high, long low) {
+        long mask = capacity - 1;
+
+        for (long slot = hash(high, low) & mask; ; slot = (slot + 1) & mask) {
+            long slotHigh = table.get(slot * 2);
+            long slotLow  = table.get(slot * 2 + 1);
+
+            if (slotHigh == 0 && slotLow == 0) {
+                table.set(slot * 2, high);
+                table.set(slot * 2 + 1, low);
+
+                return true;
+            } else if (slotHigh == high && slotLow == low) {
+                return false;
+            }
+        }
+    }
+
+    // backward-shift deletion: entries following the deleted slot in the probe sequence are moved back, so that lookups
+    // of these entries don't stop at the emptied slot
+    private static void delete(LongArray table, long capacity, long slot) {
+        long mask = capacity - 1;
+
+        for (long next = (slot + 1) & mask; ; next = (next + 1) & mask) {
+            long nextHigh = table.get(next * 2);
+            long nextLow  = table.get(next * 2 + 1);
+
+            if (nextHigh == 0 && nextLow == 0) {
+                break;
+            }
+
+            long home     = hash(nextHigh, nextLow) & mask;
+            boolean stays = slot <= next ? (slot < home && home <= next) : (slot < home || home <= next);
+
+            if (!stays) {
+                table.set(slot * 2, nextHigh);
+                table.set(slot * 2 + 1, nextLow);
+
+                slot = next;
+            }
+        }
+
+        table.set(slot * 2, 0);
+        table.set(slot * 2 + 1, 0);
+    }
+
+    private static long findSlot(LongArray table, long capacity, long high, long low) {
+        long mask = capacity - 1;
+
+        for (long slot = hash(high, low) & mask; ; slot = (slot + 1) & mask) {
+            long slotHigh = table.get(slot * 2);
+            long slotLow  = table.get(slot * 2 + 1);
+
+            if (slotHigh == high && slotLow == low) {
+                return slot;
+            } else if (slotHigh == 0 && slotLow == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private static long hash(long high, long low) {
+        long ret = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+
+        return ret ^ (ret >>> 29);
+    }
+
+    private class GuidIterator implements Iterator<String> {
+        private final long             expectedCapacity = capacity;
+        private final Iterator<String> othersIterator   = others != null ? others.iterator() : Collections.emptyIterator();
+        private long                   slot             = -1;
+        private boolean                zeroGuidPending  = hasZeroGuid;
+
+        GuidIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slot < capacity || zeroGuidPending || othersIterator.hasNext();
+        }
+
+        @Override
+        public String next() {
+            if (capacity != expectedCapacity) {
+                throw new ConcurrentModificationException();
+            }
+
+            final String ret;
+
+            if (slot < capacity) {
+                ret = toGuid(table.get(slot * 2), table.get(slot * 2 + 1));
+
+                advance();
+            } else if (zeroGuidPending) {
+                ret = toGuid(0, 0);
+
+                zeroGuidPending = false;
+            } else if (othersIterator.hasNext()) {
+                ret = othersIterator.next();
+            } else {
+                throw new NoSuchElementException();
+            }
+
+            return ret;
+        }
+
+        private void advance() {
+            for (slot++; slot < capacity; slot++) {
+                if (table.get(slot * 2) != 0 || table.get(slot * 2 + 1) != 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Fixed length array of longs, initialized to 0; held either in heap or in a memory-mapped temporary file.
+ */
+abstract class LongArray {
+    private static final Logger LOG = LoggerFactory.getLogger(LongArray.class);
+
+    abstract long length();
+
+    abstract boolean isOffHeap();
+
+    abstract long get(long idx);
+
+    abstract void set(long idx, long value);
+
+    /**
+     * Releases the memory held by the array; the array must not be used after this call.
+     */
+    abstract void close();
+
+    /**
+     * @param length       number of longs in the array
+     * @param offHeap      true to hold the array in a memory-mapped file in the given directory
+     * @param directory    directory for the memory-mapped file; null for the default temporary-file directory
+     */
+    static LongArray allocate(long length, boolean offHeap, File directory) {
+        if (offHeap) {
+            try {
+                return new MappedLongArray(length, directory);
+            } catch (IOException | RuntimeException excp) {
+                LOG.warn("failed to create memory-mapped array of {} longs in {}. Will use heap", length, directory, excp);
+            }
+        }
+
+        return new HeapLongArray(length);
+    }
+
+    private static class HeapLongArray extends LongArray {
+        private final long[] values;
+
+        HeapLongArray(long length) {
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("length " + length + " exceeds the maximum for array in heap");
+            }
+
+            this.values = new long[(int) length];
+        }
+
+        @Override
+        long length() {
+            return values.length;
+        }
+
+        @Override
+        boolean isOffHeap() {
+            return false;
+        }
+
+        @Override
+        long get(long idx) {
+            return values[(int) idx];
+        }
+
+        @Override
+        void set(long idx, long value) {
+            values[(int) idx] = value;
+        }
+
+        @Override
+        void close() {
+            // heap is released by garbage collection
+        }
+    }
+
+    private static class MappedLongArray extends LongArray {
+        private static final int SEGMENT_SHIFT = 27; // 2^27 longs, i.e. 1GB, per mapped segment
+        private static final int SEGMENT_SIZE  = 1 << SEGMENT_SHIFT;
+        private static final int SEGMENT_MASK  = SEGMENT_SIZE - 1;
+
+        private final long         length;
+        private MappedByteBuffer[] segments;
+
+        MappedLongArray(long length, File directory) throws IOException {
+            File file = File.createTempFile("atlas-longs-", ".bin", directory);
+
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+                int segmentCount = (int) ((length + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+
+                this.length   = length;
+                this.segments = new MappedByteBuffer[segmentCount];
+
+                for (int i = 0; i < segmentCount; i++) {
+                    long segmentStart  = ((long) i) << SEGMENT_SHIFT;
+                    long segmentLength = Math.min(SEGMENT_SIZE, length - segmentStart);
+
+                    segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart * Long.BYTES, segmentLength * Long.BYTES);
+                }
+            } finally {
+                // mappings stay valid after the file is deleted; space is released once the mappings are unmapped in close(),
+                // or garbage collected
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
+            }
+
+            LOG.info("created memory-mapped array of {} longs", length);
+        }
+
+        @Override
+        long length() {
+            return length;
+        }
+
+        @Override
+        boolean isOffHeap() {
+            return true;
+        }
+
+        @Override
+        long get(long idx) {
+            return segments[(int) (idx >>> SEGMENT_SHIFT)].getLong(((int) (idx & SEGMENT_MASK)) * Long.BYTES);
+        }
+
+        @Override
+        void set(long idx, long value) {
+            segments[(int) (idx >>> SEGMENT_SHIFT)].putLong(((int) (idx & SEGMENT_MASK)) * Long.BYTES, value);
+        }
+
+        @Override
+        void close() {
+            MappedByteBuffer[] segments = this.segments;
+
+            if (segments != null) {
+                this.segments = null;
+
+                for (MappedByteBuffer segment : segments) {
+                    unmap(segment);
+                }
+
+                LOG.info("released memory-mapped array of {} longs", length);
+            }
+        }
+
+        // there is no public API to unmap a buffer before it is garbage collected: use sun.misc.Unsafe.invokeCleaner() in
+        // Java 9+, and DirectBuffer.cleaner() in Java 8. If neither is accessible, the mapping is left for garbage collection
+        private static void unmap(MappedByteBuffer buffer) {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+
+                try {
+                    Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                    Field  theUnsafe     = unsafeClass.getDeclaredField("theUnsafe");
+
+                    theUnsafe.setAccessible(true);
+
+                    invokeCleaner.invoke(theUnsafe.get(null), buffer);
+                } catch (NoSuchMethodException excp) { // Java 8
+                    Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+
+                    cleanerMethod.setAccessible(true);
+
+                    Object cleaner = cleanerMethod.invoke(buffer);
+
+                    if (cleaner != null) {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                }
+            } catch (Exception | LinkageError excp) {
+                LOG.debug("failed to unmap buffer. Will be released on garbage collection", excp);
+            }
+        }
+    }
+}
@@ -24,8 +24,17 @@ import java.util.List;
 import java.util.Set;
 
 public class UniqueList<T> {
-    private final List<T> list = new ArrayList<>();
-    private final Set<T> set = new HashSet<>();
+    private final List<T> list;
+    private final Set<T> set;
+
+    public UniqueList() {
+        this(new ArrayList<>(), new HashSet<>());
+    }
+
+    public UniqueList(List<T> list, Set<T> set) {
+        this.list = list;
+        this.set  = set;
+    }
 
     public void add(T e) {
         if(set.contains(e)) {
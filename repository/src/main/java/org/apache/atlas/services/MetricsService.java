@@ -19,6 +19,7 @@ package org.apache.atlas.services;
 
 import org.apache.atlas.annotation.AtlasService;
 import org.apache.atlas.annotation.GraphTransaction;
+import org.apache.atlas.discovery.SearchResultCache;
 import org.apache.atlas.model.instance.AtlasEntity.Status;
 import org.apache.atlas.model.metrics.AtlasMetrics;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
@@ -56,6 +57,7 @@ public class MetricsService {
     // Query names
     protected static final String METRIC_COLLECTION_TIME            = "collectionTime";
     protected static final String METRIC_STATS                      = "stats";
+    protected static final String METRIC_SEARCH_RESULT_CACHE        = "searchResultCache";
     protected static final String METRIC_TYPE_COUNT                 = TYPE + "Count";
     protected static final String METRIC_TYPE_UNUSED_COUNT          = TYPE + "UnusedCount";
     protected static final String METRIC_ENTITY_COUNT               = ENTITY + "Count";
@@ -74,13 +76,15 @@ public class MetricsService {
     private final AtlasGraph        atlasGraph;
     private final AtlasTypeRegistry typeRegistry;
     private final AtlasMetricsUtil  metricsUtil;
+    private final SearchResultCache searchResultCache;
     private final String            indexSearchPrefix = AtlasGraphUtilsV2.getIndexSearchPrefix();
 
     @Inject
-    public MetricsService(final AtlasGraph graph, final AtlasTypeRegistry typeRegistry, AtlasMetricsUtil metricsUtil) {
-        this.atlasGraph   = graph;
-        this.typeRegistry = typeRegistry;
-        this.metricsUtil  = metricsUtil;
+    public MetricsService(final AtlasGraph graph, final AtlasTypeRegistry typeRegistry, AtlasMetricsUtil metricsUtil, SearchResultCache searchResultCache) {
+        this.atlasGraph        = graph;
+        this.typeRegistry      = typeRegistry;
+        this.metricsUtil       = metricsUtil;
+        this.searchResultCache = searchResultCache;
     }
 
     @SuppressWarnings("unchecked")
@@ -163,6 +167,7 @@ public class MetricsService {
 
         metrics.addMetric(GENERAL, METRIC_COLLECTION_TIME, System.currentTimeMillis());
         metrics.addMetric(GENERAL, METRIC_STATS, metricsUtil.getStats()); //add atlas server stats
+        metrics.addMetric(GENERAL, METRIC_SEARCH_RESULT_CACHE, searchResultCache.getStats());
         metrics.addMetric(GENERAL, METRIC_TYPE_COUNT, getAllTypesCount());
         metrics.addMetric(GENERAL, METRIC_TAG_COUNT, getAllTagsCount());
         metrics.addMetric(GENERAL, METRIC_TYPE_UNUSED_COUNT, unusedTypeCount);
@@ -18,6 +18,8 @@
 package org.apache.atlas.util;
 
 import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.pc.AsyncBatchPublisher;
+import org.apache.atlas.pc.WorkItemManager;
 import org.apache.atlas.repository.Constants;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
@@ -33,6 +35,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 import static org.apache.atlas.model.metrics.AtlasMetrics.*;
 import static org.apache.atlas.repository.Constants.TYPE_NAME_INTERNAL;
@@ -59,6 +62,7 @@ public class AtlasMetricsUtil {
     private final AtlasMetricsCounter     entityCreates     = new AtlasMetricsCounter("entityCreates");
     private final AtlasMetricsCounter     entityUpdates     = new AtlasMetricsCounter("entityUpdates");
     private final AtlasMetricsCounter     entityDeletes     = new AtlasMetricsCounter("entityDeletes");
+    private Supplier<Map<String, Object>> notificationBufferStatsProvider;
 
     @Inject
     public AtlasMetricsUtil(AtlasGraph graph) {
@@ -82,6 +86,14 @@ public class AtlasMetricsUtil {
         serverActiveTime = System.currentTimeMillis();
     }
 
+    /**
+     * Sets the provider of stats of buffers used by notification consumers, like buffer of split messages. Stats
+     * returned by the provider are included in getStats().
+     */
+    public void setNotificationBufferStatsProvider(Supplier<Map<String, Object>> statsProvider) {
+        this.notificationBufferStatsProvider = statsProvider;
+    }
+
     public void onNotificationProcessingComplete(String topicName, int partition, long msgOffset, NotificationStat stats) {
         messagesProcessed.incrWithMeasure(stats.timeTakenMs);
         entityCreates.incrBy(stats.entityCreates);
@@ -130,6 +142,8 @@ public class AtlasMetricsUtil {
         ret.put(STAT_SERVER_UP_TIME, millisToTimeDiff(System.currentTimeMillis() - serverStartTime));
         ret.put(STAT_SERVER_STATUS_BACKEND_STORE, getBackendStoreStatus() ? STATUS_CONNECTED : STATUS_NOT_CONNECTED);
         ret.put(STAT_SERVER_STATUS_INDEX_STORE, getIndexStoreStatus() ? STATUS_CONNECTED : STATUS_NOT_CONNECTED);
+        ret.put(STAT_SERVER_WORK_ITEM_MANAGERS, WorkItemManager.getAllStats());
+        ret.put(STAT_SERVER_NOTIFICATION_PUBLISHERS, AsyncBatchPublisher.getAllStats());
 
         Map<String, Map<String, Long>> topicDetails = new HashMap<>();
 
@@ -150,6 +164,12 @@ public class AtlasMetricsUtil {
         }
 
         ret.put(STAT_NOTIFY_TOPIC_DETAILS, topicDetails);
+
+        Supplier<Map<String, Object>> bufferStatsProvider = notificationBufferStatsProvider;
+
+        if (bufferStatsProvider != null) {
+            ret.putAll(bufferStatsProvider.get());
+        }
         ret.put(STAT_NOTIFY_LAST_MESSAGE_PROCESSED_TIME, this.messagesProcessed.getLastIncrTime().toEpochMilli());
 
         ret.put(STAT_NOTIFY_COUNT_TOTAL,         messagesProcessed.getCount(ALL));
@@ -28,6 +28,8 @@ import org.apache.atlas.discovery.AtlasDiscoveryService;
 import org.apache.atlas.discovery.AtlasLineageService;
 import org.apache.atlas.discovery.EntityDiscoveryService;
 import org.apache.atlas.discovery.EntityLineageService;
+import org.apache.atlas.discovery.SearchResultCache;
+import org.apache.atlas.discovery.SuggestionsIndexService;
 import org.apache.atlas.glossary.GlossaryService;
 import org.apache.atlas.graph.GraphSandboxUtil;
 import org.apache.atlas.listener.EntityChangeListener;
@@ -144,6 +146,8 @@ public class TestModules {
             typeDefChangeListenerMultibinder.addBinding().to(GraphBackedSearchIndexer.class).asEagerSingleton();
 
             bind(SearchTracker.class).asEagerSingleton();
+            bind(SearchResultCache.class).asEagerSingleton();
+            bind(SuggestionsIndexService.class).asEagerSingleton();
 
             bind(AtlasEntityStore.class).to(AtlasEntityStoreV2.class);
             bind(AtlasRelationshipStore.class).to(AtlasRelationshipStoreV2.class);
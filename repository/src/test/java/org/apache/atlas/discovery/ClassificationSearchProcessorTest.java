@@ -31,6 +31,7 @@ import org.apache.atlas.repository.graph.GraphBackedSearchIndexer;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
 import org.apache.atlas.repository.store.graph.v2.AtlasEntityStream;
+import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
 import org.apache.atlas.repository.store.graph.v2.EntityGraphRetriever;
 import org.apache.commons.collections.CollectionUtils;
 import org.testng.Assert;
@@ -42,6 +43,7 @@ import org.testng.annotations.Test;
 import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -117,6 +119,33 @@ public class ClassificationSearchProcessorTest extends BasicTestSetup {
         assertEquals(vertices.size(), totalClassifiedEntities - 2);
     }
 
+    @Test
+    public void searchByALLTagAndIndexSysFiltersWithCursor() throws AtlasBaseException {
+        SearchParameters params = new SearchParameters();
+        params.setClassification(ALL_CLASSIFICATION_TYPES);
+        FilterCriteria filterCriteria = getSingleFilterCondition("__timestamp", Operator.LT, String.valueOf(System.currentTimeMillis()));
+        params.setTagFilters(filterCriteria);
+        params.setLimit(3);
+
+        List<String> guids  = new ArrayList<>();
+        String       cursor = null;
+
+        do {
+            params.setCursor(cursor);
+
+            SearchContext context = new SearchContext(params, typeRegistry, graph, indexer.getVertexIndexKeys());
+
+            for (AtlasVertex vertex : new ClassificationSearchProcessor(context).execute()) {
+                guids.add(AtlasGraphUtilsV2.getIdFromVertex(vertex));
+            }
+
+            cursor = context.getNextCursor() != null ? context.getNextCursor().encode() : null;
+        } while (cursor != null);
+
+        assertEquals(guids.size(), totalClassifiedEntities);
+        assertEquals(new HashSet<>(guids).size(), guids.size());
+    }
+
     //@Test
     public void searchByNOTCLASSIFIED() throws AtlasBaseException {
         SearchParameters params = new SearchParameters();
@@ -27,6 +27,7 @@ import org.apache.atlas.repository.graph.AtlasGraphProvider;
 import org.apache.atlas.repository.graph.GraphBackedSearchIndexer;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
 import org.apache.atlas.repository.store.graph.v2.EntityGraphRetriever;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.testng.annotations.AfterClass;
@@ -41,6 +42,7 @@ import java.util.Date;
 import java.util.List;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 @Guice(modules = TestModules.TestOnlyModule.class)
@@ -355,6 +357,46 @@ public class EntitySearchProcessorTest extends BasicTestSetup {
         assertTrue(nameList.contains(expectedEntityName));
     }
 
+    @Test
+    public void searchWithCursor() throws AtlasBaseException {
+        SearchParameters params = new SearchParameters();
+        params.setTypeName(HIVE_TABLE_TYPE);
+        SearchParameters.FilterCriteria filterCriteria = getSingleFilterCondition("__classificationNames", SearchParameters.Operator.NOT_CONTAINS, METRIC_CLASSIFICATION);
+        params.setEntityFilters(filterCriteria);
+        params.setLimit(20);
+
+        SearchContext context = new SearchContext(params, typeRegistry, graph, indexer.getVertexIndexKeys());
+        List<String> expected = new ArrayList<>();
+        for (AtlasVertex vertex : new EntitySearchProcessor(context).execute()) {
+            expected.add(AtlasGraphUtilsV2.getIdFromVertex(vertex));
+        }
+
+        assertNull(context.getNextCursor());
+
+        List<String> actual = new ArrayList<>();
+        String       cursor = null;
+
+        params.setLimit(3);
+
+        do {
+            params.setCursor(cursor);
+
+            context = new SearchContext(params, typeRegistry, graph, indexer.getVertexIndexKeys());
+
+            List<AtlasVertex> vertices = new EntitySearchProcessor(context).execute();
+
+            assertTrue(vertices.size() <= 3);
+
+            for (AtlasVertex vertex : vertices) {
+                actual.add(AtlasGraphUtilsV2.getIdFromVertex(vertex));
+            }
+
+            cursor = context.getNextCursor() != null ? context.getNextCursor().encode() : null;
+        } while (cursor != null);
+
+        assertEquals(actual, expected);
+    }
+
     @AfterClass
     public void teardown() {
         AtlasGraphProvider.cleanup();
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.discovery.SearchParameters;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+public class SearchCursorTest {
+    @Test
+    public void testEncodeDecode() throws AtlasBaseException {
+        SearchParameters params = getSearchParameters();
+        SearchCursor     cursor = new SearchCursor(SearchCursor.getFingerprint(params), 300, 7);
+        SearchCursor     ret    = SearchCursor.decode(cursor.encode(), params);
+
+        assertEquals(ret.getFingerprint(), cursor.getFingerprint());
+        assertEquals(ret.getQueryOffset(), 300);
+        assertEquals(ret.getSkipCount(), 7);
+    }
+
+    @Test
+    public void testFingerprintIgnoresPagination() {
+        SearchParameters params1 = getSearchParameters();
+        SearchParameters params2 = getSearchParameters();
+
+        params2.setLimit(params1.getLimit() + 10);
+        params2.setOffset(params1.getOffset() + 10);
+        params2.setCursor("abc");
+
+        assertEquals(SearchCursor.getFingerprint(params1), SearchCursor.getFingerprint(params2));
+
+        params2.setTypeName("hive_column");
+
+        assertNotEquals(SearchCursor.getFingerprint(params1), SearchCursor.getFingerprint(params2));
+    }
+
+    @Test(expectedExceptions = AtlasBaseException.class)
+    public void testCursorForDifferentSearch() throws AtlasBaseException {
+        SearchParameters params = getSearchParameters();
+        SearchCursor     cursor = new SearchCursor(SearchCursor.getFingerprint(params), 300, 7);
+
+        params.setClassification("PII");
+
+        SearchCursor.decode(cursor.encode(), params);
+    }
+
+    @Test(expectedExceptions = AtlasBaseException.class)
+    public void testInvalidCursor() throws AtlasBaseException {
+        SearchCursor.decode("not-a-valid-cursor", getSearchParameters());
+    }
+
+    private SearchParameters getSearchParameters() {
+        SearchParameters ret = new SearchParameters();
+
+        ret.setTypeName("hive_table");
+        ret.setQuery("sales");
+        ret.setLimit(25);
+
+        return ret;
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import org.apache.atlas.model.discovery.SearchParameters;
+import org.apache.atlas.type.AtlasClassificationType;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_SEARCH_CACHE_EVICTIONS;
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_SEARCH_CACHE_HITS;
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_SEARCH_CACHE_INVALIDATIONS;
+import static org.apache.atlas.model.metrics.AtlasMetrics.STAT_SEARCH_CACHE_MISSES;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class SearchResultCacheTest {
+    private static final List<String> GUIDS = Arrays.asList("guid-1", "guid-2");
+
+    @Test
+    public void testGetPut() {
+        SearchResultCache cache   = new SearchResultCache(true, 10, 60000);
+        SearchContext     context = getSearchContext("hive_table", null, 0);
+
+        assertNull(cache.get(context));
+
+        cache.put(context, cache.getGeneration(), GUIDS, 2, null);
+
+        SearchResultCache.CachedResult result = cache.get(context);
+
+        assertNotNull(result);
+        assertEquals(result.getGuids(), GUIDS);
+        assertEquals(result.getApproximateCount(), 2);
+
+        assertNull(cache.get(getSearchContext("hive_table", null, 10)));
+
+        Map<String, Object> stats = cache.getStats();
+
+        assertEquals(stats.get(STAT_SEARCH_CACHE_HITS), 1L);
+        assertEquals(stats.get(STAT_SEARCH_CACHE_MISSES), 2L);
+    }
+
+    @Test
+    public void testDisabled() {
+        SearchResultCache cache   = new SearchResultCache(false, 10, 60000);
+        SearchContext     context = getSearchContext("hive_table", null, 0);
+
+        cache.put(context, cache.getGeneration(), GUIDS, 2, null);
+
+        assertNull(cache.get(context));
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        SearchResultCache cache   = new SearchResultCache(true, 10, 1);
+        SearchContext     context = getSearchContext("hive_table", null, 0);
+
+        cache.put(context, cache.getGeneration(), GUIDS, 2, null);
+
+        Thread.sleep(10);
+
+        assertNull(cache.get(context));
+    }
+
+    @Test
+    public void testEviction() {
+        SearchResultCache cache = new SearchResultCache(true, 2, 60000);
+
+        for (int i = 0; i < 3; i++) {
+            cache.put(getSearchContext("hive_table", null, i), cache.getGeneration(), GUIDS, 2, null);
+        }
+
+        assertNull(cache.get(getSearchContext("hive_table", null, 0)));
+        assertNotNull(cache.get(getSearchContext("hive_table", null, 2)));
+        assertEquals(cache.getStats().get(STAT_SEARCH_CACHE_EVICTIONS), 1L);
+    }
+
+    @Test
+    public void testPutSkippedAfterInvalidation() {
+        SearchResultCache cache      = new SearchResultCache(true, 10, 60000);
+        SearchContext     context    = getSearchContext("hive_table", null, 0);
+        long              generation = cache.getGeneration();
+
+        cache.invalidate(Collections.singletonMap("hive_db", null), false);
+        cache.put(context, generation, GUIDS, 2, null);
+
+        assertNull(cache.get(context));
+    }
+
+    @Test
+    public void testInvalidateByType() {
+        SearchResultCache cache        = new SearchResultCache(true, 10, 60000);
+        SearchContext     tableContext = getSearchContext("hive_table", null, 0);
+        SearchContext     dbContext    = getSearchContext("hive_db", null, 0);
+
+        cache.put(tableContext, cache.getGeneration(), GUIDS, 2, null);
+        cache.put(dbContext, cache.getGeneration(), GUIDS, 2, null);
+
+        cache.invalidate(Collections.singletonMap("hive_table", Collections.emptySet()), false);
+
+        assertNull(cache.get(tableContext));
+        assertNotNull(cache.get(dbContext));
+        assertEquals(cache.getStats().get(STAT_SEARCH_CACHE_INVALIDATIONS), 1L);
+    }
+
+    @Test
+    public void testInvalidateByClassification() {
+        SearchResultCache cache       = new SearchResultCache(true, 10, 60000);
+        SearchContext     piiContext  = getSearchContext("hive_table", "PII", 0);
+        SearchContext     tempContext = getSearchContext("hive_table", "TEMP", 0);
+
+        cache.put(piiContext, cache.getGeneration(), GUIDS, 2, null);
+        cache.put(tempContext, cache.getGeneration(), GUIDS, 2, null);
+
+        Map<String, Set<String>> changes = new HashMap<>();
+
+        changes.put("hive_table", new HashSet<>(Collections.singleton("PII")));
+
+        cache.invalidate(changes, false);
+
+        assertNull(cache.get(piiContext));
+        assertNotNull(cache.get(tempContext));
+
+        // classifications of the changed entity not known: all classification searches on the type are invalidated
+        cache.invalidate(Collections.singletonMap("hive_table", null), false);
+
+        assertNull(cache.get(tempContext));
+    }
+
+    private SearchContext getSearchContext(String typeName, String classification, int offset) {
+        SearchParameters params  = new SearchParameters();
+        SearchContext    context = mock(SearchContext.class);
+
+        params.setTypeName(typeName);
+        params.setClassification(classification);
+        params.setLimit(25);
+        params.setOffset(offset);
+
+        when(context.getSearchParameters()).thenReturn(params);
+        when(context.getEntityTypeNames()).thenReturn(Collections.singleton(typeName));
+
+        if (classification != null) {
+            AtlasClassificationType classificationType = mock(AtlasClassificationType.class);
+
+            when(context.getClassificationNames()).thenReturn(Collections.singleton(classification));
+            when(context.getClassificationTypeNames()).thenReturn(Collections.singleton(classification));
+            when(context.getClassificationTypes()).thenReturn(Collections.singleton(classificationType));
+        }
+
+        return context;
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery.QueryOperator;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery.SortOrder;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.atlas.repository.Constants.TIMESTAMP_PROPERTY_KEY;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SuggestionsIndexServiceTest {
+    @Test
+    public void verticesAreVisitedOnceInPages() {
+        // 4 vertices have timestamp 1, more than the page size
+        List<AtlasVertex>       vertices = getVertices(1, 1, 1, 1, 2, 3, 3, 4, 5, 5, 7);
+        AtlasGraph              graph    = getGraph(vertices);
+        SuggestionsIndexService service  = new SuggestionsIndexService(new PropertiesConfiguration(), graph, mock(AtlasTypeRegistry.class), 2, null);
+        List<Object>            visited  = new ArrayList<>();
+
+        assertTrue(service.visitVertices("hive_table", null, TIMESTAMP_PROPERTY_KEY, 0, vertex -> visited.add(vertex.getId())));
+
+        visited.sort(Comparator.comparing(id -> (Long) id));
+
+        assertEquals(visited, vertices.stream().map(AtlasVertex::getId).collect(Collectors.toList()));
+        verify(graph, atLeast(vertices.size() / 2)).commit();
+
+        visited.clear();
+
+        assertTrue(service.visitVertices("hive_table", null, TIMESTAMP_PROPERTY_KEY, 4, vertex -> visited.add(vertex.getId())));
+        assertEquals(visited, Arrays.asList(8L, 9L, 10L, 11L));
+    }
+
+    @Test
+    public void visitStopsOnInterrupt() {
+        SuggestionsIndexService service = new SuggestionsIndexService(new PropertiesConfiguration(), getGraph(getVertices(1, 2, 3)), mock(AtlasTypeRegistry.class), 2, null);
+
+        Thread.currentThread().interrupt();
+
+        try {
+            assertFalse(service.visitVertices("hive_table", null, TIMESTAMP_PROPERTY_KEY, 0, vertex -> { }));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void snapshotRoundTrip() throws Exception {
+        SuggestionsTrie trie     = new SuggestionsTrie(100);
+        SuggestionsTrie restored = new SuggestionsTrie(100);
+        File            file     = File.createTempFile("suggestions-index", ".snapshot");
+
+        trie.add("customer", 10);
+        trie.add("customers", 3);
+        trie.add("cust", 5);
+        trie.add("sales", 50);
+
+        try {
+            SuggestionsIndexService.writeSnapshot(trie, 12345L, file);
+
+            assertEquals(SuggestionsIndexService.readSnapshot(restored, file), Long.valueOf(12345L));
+            assertEquals(restored.getTermCount(), trie.getTermCount());
+            assertEquals(restored.getTopTerms("", 10), trie.getTopTerms("", 10));
+            assertEquals(restored.getTopTerms("cu", 10), Arrays.asList("customer", "cust", "customers"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    // vertex ids are 1, 2, ...; timestamps as given
+    private static List<AtlasVertex> getVertices(long... timestamps) {
+        List<AtlasVertex> ret = new ArrayList<>();
+
+        for (int i = 0; i < timestamps.length; i++) {
+            AtlasVertex vertex = mock(AtlasVertex.class);
+
+            when(vertex.getId()).thenReturn((long) (i + 1));
+            when(vertex.getProperty(TIMESTAMP_PROPERTY_KEY, Long.class)).thenReturn(timestamps[i]);
+
+            ret.add(vertex);
+        }
+
+        return ret;
+    }
+
+    // graph whose queries filter the given vertices by timestamp, like the index store
+    private static AtlasGraph getGraph(List<AtlasVertex> vertices) {
+        AtlasGraph graph = mock(AtlasGraph.class);
+
+        when(graph.query()).thenAnswer(invocation -> getQuery(vertices));
+
+        return graph;
+    }
+
+    private static AtlasGraphQuery getQuery(List<AtlasVertex> vertices) {
+        AtlasGraphQuery query       = mock(AtlasGraphQuery.class);
+        long[]          fromTime    = { Long.MIN_VALUE };
+        Long[]          equalToTime = { null };
+
+        when(query.has(anyString(), anyObject())).thenAnswer(invocation -> {
+            if (TIMESTAMP_PROPERTY_KEY.equals(invocation.getArguments()[0])) {
+                equalToTime[0] = (Long) invocation.getArguments()[1];
+            }
+
+            return query;
+        });
+        when(query.has(anyString(), any(QueryOperator.class), anyObject())).thenAnswer(invocation -> {
+            fromTime[0] = (Long) invocation.getArguments()[2];
+
+            return query;
+        });
+        when(query.orderBy(anyString(), any(SortOrder.class))).thenReturn(query);
+        when(query.vertices(anyInt())).thenAnswer(invocation -> vertices.stream()
+                                                                        .filter(vertex -> getTime(vertex) >= fromTime[0])
+                                                                        .sorted(Comparator.comparing(SuggestionsIndexServiceTest::getTime))
+                                                                        .limit((Integer) invocation.getArguments()[0])
+                                                                        .collect(Collectors.toList()));
+        when(query.vertices()).thenAnswer(invocation -> vertices.stream()
+                                                                .filter(vertex -> equalToTime[0] == null || getTime(vertex) == equalToTime[0])
+                                                                .collect(Collectors.toList()));
+
+        return query;
+    }
+
+    private static long getTime(AtlasVertex vertex) {
+        return (Long) vertex.getProperty(TIMESTAMP_PROPERTY_KEY, Long.class);
+    }
+}
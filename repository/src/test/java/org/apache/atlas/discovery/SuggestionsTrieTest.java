@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SuggestionsTrieTest {
+    @Test
+    public void testTopTerms() {
+        SuggestionsTrie trie = new SuggestionsTrie(100);
+
+        trie.add("customer", 10);
+        trie.add("customers", 3);
+        trie.add("cust", 5);
+        trie.add("cluster", 20);
+        trie.add("sales", 50);
+
+        assertEquals(trie.getTopTerms("cu", 5), Arrays.asList("customer", "cust", "customers"));
+        assertEquals(trie.getTopTerms("c", 2), Arrays.asList("cluster", "customer"));
+        assertEquals(trie.getTopTerms("", 1), Collections.singletonList("sales"));
+        assertEquals(trie.getTopTerms("x", 5), Collections.emptyList());
+        assertEquals(trie.getTermCount(), 5);
+    }
+
+    @Test
+    public void testRemove() {
+        SuggestionsTrie trie = new SuggestionsTrie(100);
+
+        trie.add("customer", 10);
+        trie.add("cust", 5);
+
+        trie.remove("customer", 7);
+
+        assertEquals(trie.getTopTerms("cu", 5), Arrays.asList("cust", "customer"));
+
+        trie.remove("customer", 3);
+
+        assertEquals(trie.getTopTerms("cu", 5), Collections.singletonList("cust"));
+        assertEquals(trie.getTermCount(), 1);
+
+        trie.remove("cust", 5);
+        trie.remove("unknown", 1);
+
+        assertEquals(trie.getTopTerms("", 5), Collections.emptyList());
+        assertEquals(trie.getTermCount(), 0);
+    }
+
+    @Test
+    public void testMaxTerms() {
+        SuggestionsTrie trie = new SuggestionsTrie(2);
+
+        assertTrue(trie.add("one", 1));
+        assertTrue(trie.add("two", 1));
+        assertFalse(trie.add("three", 1));
+        assertTrue(trie.add("one", 1));
+
+        assertEquals(trie.getTopTerms("t", 5), Collections.singletonList("two"));
+        assertEquals(trie.getTermCount(), 2);
+    }
+
+    @Test
+    public void testTokens() {
+        assertEquals(SuggestionsIndexService.getTokens("default.Customer_Info@cl1"), Arrays.asList("default", "customer", "info", "cl1"));
+        assertEquals(SuggestionsIndexService.getTokens("--"), Collections.emptyList());
+        assertEquals(SuggestionsIndexService.getTokens(null), Collections.emptyList());
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.listener;
+
+import org.apache.atlas.model.glossary.AtlasGlossaryTerm;
+import org.apache.atlas.model.instance.AtlasClassification;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.AtlasRelatedObjectId;
+import org.apache.atlas.model.instance.AtlasRelationship;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.model.instance.EntityMutations.EntityOperation;
+import org.apache.atlas.repository.converters.AtlasInstanceConverter;
+import org.apache.atlas.repository.graph.IFullTextMapper;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.v1.model.instance.Referenceable;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class ChangedEntitiesTest {
+    private static final String TYPE_NAME     = "hive_table";
+    private static final String INTERNAL_TYPE = "__internal";
+
+    private AtlasTypeRegistry      typeRegistry;
+    private IFullTextMapper        entityLoader;
+    private AtlasInstanceConverter instanceConverter;
+    private EntityMutationResponse response;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        AtlasEntityType entityType   = mock(AtlasEntityType.class);
+        AtlasEntityType internalType = mock(AtlasEntityType.class);
+
+        typeRegistry      = mock(AtlasTypeRegistry.class);
+        entityLoader      = mock(IFullTextMapper.class);
+        instanceConverter = mock(AtlasInstanceConverter.class);
+        response          = new EntityMutationResponse();
+
+        when(internalType.isInternalType()).thenReturn(true);
+        when(typeRegistry.getEntityTypeByName(TYPE_NAME)).thenReturn(entityType);
+        when(typeRegistry.getEntityTypeByName(INTERNAL_TYPE)).thenReturn(internalType);
+
+        for (String guid : new String[] { "guid-1", "guid-2", "guid-3" }) {
+            AtlasEntity            entity            = new AtlasEntity(TYPE_NAME);
+            AtlasEntityWithExtInfo entityWithExtInfo = new AtlasEntityWithExtInfo(entity);
+
+            entity.setGuid(guid);
+
+            when(entityLoader.getAndCacheEntity(guid)).thenReturn(entity);
+            when(instanceConverter.getAndCacheEntityExtInfo(guid)).thenReturn(entityWithExtInfo);
+            when(instanceConverter.getReferenceable(entityWithExtInfo)).thenReturn(new Referenceable(guid, TYPE_NAME, null));
+        }
+
+        response.addEntity(EntityOperation.CREATE, new AtlasEntityHeader(TYPE_NAME, "guid-1", null));
+        response.addEntity(EntityOperation.CREATE, new AtlasEntityHeader(INTERNAL_TYPE, "guid-0", null));
+        response.addEntity(EntityOperation.UPDATE, new AtlasEntityHeader(TYPE_NAME, "guid-2", null));
+        response.addEntity(EntityOperation.DELETE, new AtlasEntityHeader(TYPE_NAME, "guid-3", null));
+    }
+
+    @Test
+    public void testEntitiesMaterializedOnce() throws Exception {
+        ChangedEntities   changedEntities = new ChangedEntities(response, typeRegistry, entityLoader, instanceConverter);
+        List<AtlasEntity> created         = changedEntities.getEntities(EntityOperation.CREATE);
+
+        assertEquals(created.size(), 1);
+        assertEquals(created.get(0).getGuid(), "guid-1");
+        assertSame(changedEntities.getEntities(EntityOperation.CREATE), created);
+
+        List<AtlasEntity> deleted = changedEntities.getEntities(EntityOperation.DELETE);
+
+        assertEquals(deleted.size(), 1);
+        assertEquals(deleted.get(0).getGuid(), "guid-3");
+        assertEquals(changedEntities.getEntities(EntityOperation.PURGE), Collections.emptyList());
+
+        verify(entityLoader, times(1)).getAndCacheEntity("guid-1");
+        verify(entityLoader, never()).getAndCacheEntity("guid-3");
+    }
+
+    @Test
+    public void testReferenceablesConvertedOnce() throws Exception {
+        ChangedEntities     changedEntities = new ChangedEntities(response, typeRegistry, entityLoader, instanceConverter);
+        List<Referenceable> updated         = changedEntities.getReferenceables(EntityOperation.UPDATE);
+
+        assertEquals(updated.size(), 1);
+        assertSame(changedEntities.getReferenceable("guid-2"), updated.get(0));
+        assertSame(changedEntities.getReferenceables(EntityOperation.UPDATE), updated);
+        assertEquals(changedEntities.getReferenceables(EntityOperation.DELETE).get(0).getId()._getId(), "guid-3");
+
+        verify(instanceConverter, times(1)).getAndCacheEntityExtInfo("guid-2");
+        verify(instanceConverter, times(1)).getReferenceable(any(AtlasEntityWithExtInfo.class));
+    }
+
+    @Test
+    public void testListenerDefaultDispatch() throws Exception {
+        ChangedEntities changedEntities = new ChangedEntities(response, typeRegistry, entityLoader, instanceConverter);
+        TestListener    listener        = new TestListener();
+
+        listener.onEntitiesMutated(changedEntities, false);
+
+        assertEquals(listener.calls.size(), 3);
+        assertSame(listener.calls.get("added"), changedEntities.getEntities(EntityOperation.CREATE));
+        assertSame(listener.calls.get("updated"), changedEntities.getEntities(EntityOperation.UPDATE));
+        assertSame(listener.calls.get("deleted"), changedEntities.getEntities(EntityOperation.DELETE));
+    }
+
+    private static class TestListener implements EntityChangeListenerV2 {
+        final Map<String, List<AtlasEntity>> calls = new HashMap<>();
+
+        @Override
+        public void onEntitiesAdded(List<AtlasEntity> entities, boolean isImport) { calls.put("added", entities); }
+
+        @Override
+        public void onEntitiesUpdated(List<AtlasEntity> entities, boolean isImport) { calls.put("updated", entities); }
+
+        @Override
+        public void onEntitiesDeleted(List<AtlasEntity> entities, boolean isImport) { calls.put("deleted", entities); }
+
+        @Override
+        public void onEntitiesPurged(List<AtlasEntity> entities) { calls.put("purged", entities); }
+
+        @Override
+        public void onClassificationsAdded(AtlasEntity entity, List<AtlasClassification> classifications) { }
+
+        @Override
+        public void onClassificationsAdded(List<AtlasEntity> entities, List<AtlasClassification> classifications) { }
+
+        @Override
+        public void onClassificationsUpdated(AtlasEntity entity, List<AtlasClassification> classifications) { }
+
+        @Override
+        public void onClassificationsDeleted(AtlasEntity entity, List<AtlasClassification> classifications) { }
+
+        @Override
+        public void onClassificationsDeleted(List<AtlasEntity> entities, List<AtlasClassification> classifications) { }
+
+        @Override
+        public void onTermAdded(AtlasGlossaryTerm term, List<AtlasRelatedObjectId> entities) { }
+
+        @Override
+        public void onTermDeleted(AtlasGlossaryTerm term, List<AtlasRelatedObjectId> entities) { }
+
+        @Override
+        public void onRelationshipsAdded(List<AtlasRelationship> relationships, boolean isImport) { }
+
+        @Override
+        public void onRelationshipsUpdated(List<AtlasRelationship> relationships, boolean isImport) { }
+
+        @Override
+        public void onRelationshipsDeleted(List<AtlasRelationship> relationships, boolean isImport) { }
+
+        @Override
+        public void onRelationshipsPurged(List<AtlasRelationship> relationships) { }
+
+        @Override
+        public void onLabelsAdded(AtlasEntity entity, Set<String> labels) { }
+
+        @Override
+        public void onLabelsDeleted(AtlasEntity entity, Set<String> labels) { }
+
+        @Override
+        public void onBusinessAttributesUpdated(AtlasEntity entity, Map<String, Map<String, Object>> updatedBusinessAttributes) { }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
@@ -68,6 +69,31 @@ public class WorkItemConsumerTest {
         }
     }
 
+    // commits once every 2 items, like consumers that commit when a batch fills up
+    static class BatchCommittingConsumer extends WorkItemConsumer<Integer> {
+        private int uncommittedCount = 0;
+        private int doCommitCount    = 0;
+
+        public BatchCommittingConsumer(BlockingQueue<Integer> queue) {
+            super(queue);
+            setCountDownLatch(new CountDownLatch(1));
+        }
+
+        @Override
+        protected void doCommit() {
+            doCommitCount++;
+            uncommittedCount = 0;
+        }
+
+        @Override
+        protected void processItem(Integer item) {
+            uncommittedCount++;
+
+            if (uncommittedCount == 2) {
+                doCommitAndRecord();
+            }
+        }
+    }
 
     @Test
     public void callingRunOnEmptyQueueCallsDoesNotCallCommitDirty() {
@@ -94,4 +120,21 @@ public class WorkItemConsumerTest {
         assertTrue(ic.isCommitDirtyCalled());
         assertTrue(ic.isUpdateCommitTimeCalled());
     }
+
+    @Test
+    public void commitsWhileProcessingItemsAreRecorded() {
+        BlockingQueue<Integer> bc = new LinkedBlockingQueue<>(5);
+
+        for (int i = 0; i < 5; i++) {
+            bc.add(i);
+        }
+
+        BatchCommittingConsumer ic = new BatchCommittingConsumer(bc);
+        ic.run();
+
+        assertEquals(ic.getItemCount(), 5);
+        assertEquals(ic.doCommitCount, 3); // after items 2 and 4, and at the end
+        assertEquals(ic.getCommitCount(), 3);
+    }
+
 }
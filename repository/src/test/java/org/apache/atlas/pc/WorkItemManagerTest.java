@@ -24,10 +24,14 @@ import org.slf4j.LoggerFactory;
 import org.testng.SkipException;
 import org.testng.annotations.Test;
 
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public class WorkItemManagerTest {
     private static final Logger LOG = LoggerFactory.getLogger(WorkItemManagerTest.class);
@@ -107,6 +111,56 @@ public class WorkItemManagerTest {
         assertEquals(cb.integers.size(), numberOfItems);
     }
 
+    @Test
+    public void adjustsWorkersAndReportsStats() throws InterruptedException {
+        CountDownLatch                                gate = new CountDownLatch(1);
+        IntegerConsumerBuilder                        cb   = new IntegerConsumerBuilder() {
+            @Override
+            public IntegerConsumer build(BlockingQueue<Integer> queue) {
+                return new IntegerConsumer(queue, integers) {
+                    @Override
+                    protected void processItem(Integer item) {
+                        try {
+                            gate.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+
+                        super.processItem(item);
+                    }
+                };
+            }
+        };
+        WorkItemManager<Integer, WorkItemConsumer> wi = new WorkItemManager<>(cb, "adaptive", 5, 1, 1, 3, false);
+
+        // the only worker is blocked on the first item; the rest fill the queue
+        for (int i = 0; i < 6; i++) {
+            wi.produce(i);
+        }
+
+        assertTrue(WorkItemManager.getAllStats().containsKey(wi.getName()));
+
+        wi.adjustWorkers();
+        assertEquals(wi.getWorkerCount(), 2);
+
+        gate.countDown();
+        wi.drain();
+
+        wi.adjustWorkers();
+        assertEquals(wi.getWorkerCount(), 1);
+
+        wi.shutdown();
+
+        Map<String, Object> stats = wi.getStats();
+
+        assertEquals(cb.integers.size(), 6);
+        assertEquals(stats.get(WorkItemManager.STAT_ITEMS_PRODUCED), 6L);
+        assertEquals(stats.get(WorkItemManager.STAT_ITEMS_PROCESSED), 6L);
+        assertEquals(stats.get(WorkItemManager.STAT_ERRORS), 0L);
+        assertEquals(wi.getTrackedWorkerCount(), 1); // removed worker is not tracked once it exits; its counts are retained
+        assertFalse(WorkItemManager.getAllStats().containsKey(wi.getName()));
+    }
+
     private WorkItemManager<Integer, WorkItemConsumer> getWorkItemManger(IntegerConsumerBuilder cb, int numWorkers) {
         return new WorkItemManager<>(cb, 5, numWorkers);
     }
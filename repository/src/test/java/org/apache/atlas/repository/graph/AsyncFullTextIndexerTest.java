@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.annotation.GraphTransaction;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import static org.apache.atlas.repository.Constants.GUID_PROPERTY_KEY;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class AsyncFullTextIndexerTest {
+    private static final String GUID_1 = "guid-1";
+    private static final String GUID_2 = "guid-2";
+    private static final String GUID_3 = "guid-3";
+
+    private AtlasGraph       graph;
+    private FullTextMapperV2 fullTextMapper;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        graph          = mock(AtlasGraph.class);
+        fullTextMapper = mock(FullTextMapperV2.class);
+
+        AtlasGraphQuery query = mock(AtlasGraphQuery.class);
+
+        when(graph.query()).thenReturn(query);
+
+        for (String guid : Arrays.asList(GUID_1, GUID_2, GUID_3)) {
+            AtlasGraphQuery guidQuery = mock(AtlasGraphQuery.class);
+            AtlasVertex     vertex    = mock(AtlasVertex.class);
+
+            when(vertex.getId()).thenReturn(guid);
+            when(query.has(GUID_PROPERTY_KEY, guid)).thenReturn(guidQuery);
+            when(guidQuery.vertices()).thenReturn(Collections.singletonList(vertex));
+            when(fullTextMapper.getIndexTextForEntity(guid)).thenReturn("text of " + guid);
+        }
+    }
+
+    @Test
+    public void testCoalesceAndDrainOnStop() throws Throwable {
+        AsyncFullTextIndexer indexer = new AsyncFullTextIndexer(new PropertiesConfiguration(), graph, fullTextMapper, true, 60000, 100, 60000);
+
+        indexer.start();
+
+        indexer.enqueue(Arrays.asList(GUID_1, GUID_2));
+        indexer.enqueue(Collections.singletonList(GUID_1));
+
+        assertEquals(indexer.getQueueSize(), 2);
+        assertTrue(canDeferInTransaction(indexer));
+
+        indexer.stop(); // processes queued entities, without waiting for linger time
+
+        assertEquals(indexer.getQueueSize(), 0);
+        assertEquals(indexer.getProcessedCount(), 2);
+        assertFalse(indexer.canDefer());
+
+        verify(fullTextMapper, times(1)).getIndexTextForEntity(GUID_1);
+        verify(fullTextMapper, times(1)).getIndexTextForEntity(GUID_2);
+        verify(graph, times(1)).commit();
+    }
+
+    @Test
+    public void testBatchSize() throws Exception {
+        AsyncFullTextIndexer indexer = new AsyncFullTextIndexer(new PropertiesConfiguration(), graph, fullTextMapper, true, 60000, 2, 60000);
+
+        indexer.start();
+
+        indexer.enqueue(Arrays.asList(GUID_1, GUID_2, GUID_3));
+
+        indexer.stop();
+
+        assertEquals(indexer.getProcessedCount(), 3);
+
+        verify(graph, times(2)).commit();
+    }
+
+    @Test
+    public void testStalenessBound() throws Throwable {
+        CountDownLatch       mapStarted = new CountDownLatch(1);
+        CountDownLatch       releaseMap = new CountDownLatch(1);
+        AsyncFullTextIndexer indexer    = new AsyncFullTextIndexer(new PropertiesConfiguration(), graph, fullTextMapper, true, 0, 100, 10);
+
+        when(fullTextMapper.getIndexTextForEntity(GUID_1)).thenAnswer(invocation -> {
+            mapStarted.countDown();
+            releaseMap.await();
+
+            return "text of " + GUID_1;
+        });
+
+        indexer.start();
+
+        indexer.enqueue(Collections.singletonList(GUID_1));
+
+        mapStarted.await();
+
+        indexer.enqueue(Collections.singletonList(GUID_2));
+
+        Thread.sleep(50);
+
+        assertFalse(canDeferInTransaction(indexer)); // GUID_2 queued for longer than max staleness
+
+        releaseMap.countDown();
+
+        indexer.stop();
+
+        assertEquals(indexer.getProcessedCount(), 2);
+    }
+
+    @Test
+    public void testFailedEntityRetriedAlone() throws Exception {
+        AsyncFullTextIndexer indexer = new AsyncFullTextIndexer(new PropertiesConfiguration(), graph, fullTextMapper, true, 60000, 100, 60000);
+
+        when(fullTextMapper.getIndexTextForEntity(GUID_2)).thenThrow(new RuntimeException("test failure"));
+
+        indexer.start();
+
+        indexer.enqueue(Arrays.asList(GUID_1, GUID_2, GUID_3));
+
+        indexer.stop();
+
+        assertEquals(indexer.getProcessedCount(), 2);
+        assertEquals(indexer.getFailedCount(), 1);
+
+        verify(fullTextMapper, times(2)).getIndexTextForEntity(GUID_1);
+        verify(fullTextMapper, times(1)).getIndexTextForEntity(GUID_3);
+    }
+
+    @Test
+    public void testEnqueueAfterStop() throws Exception {
+        AsyncFullTextIndexer indexer = new AsyncFullTextIndexer(new PropertiesConfiguration(), graph, fullTextMapper, true, 60000, 100, 60000);
+
+        assertFalse(indexer.canDefer());
+
+        indexer.enqueue(Collections.singletonList(GUID_1)); // mapped in the caller's thread
+
+        assertEquals(indexer.getQueueSize(), 0);
+        assertEquals(indexer.getProcessedCount(), 1);
+
+        verify(fullTextMapper, times(1)).getIndexTextForEntity(GUID_1);
+    }
+
+    @Test
+    public void testDeferOnlyInTransaction() throws Throwable {
+        AsyncFullTextIndexer indexer = new AsyncFullTextIndexer(new PropertiesConfiguration(), graph, fullTextMapper, true, 60000, 100, 60000);
+
+        indexer.start();
+
+        // without a graph transaction there is no commit to queue deferred entities after; caller must map inline
+        assertFalse(indexer.canDefer());
+
+        runInTransaction(() -> {
+            assertTrue(indexer.canDefer());
+
+            indexer.defer(GUID_1);
+
+            assertEquals(indexer.getQueueSize(), 0); // queued only after the transaction commits
+        });
+
+        assertEquals(indexer.getQueueSize(), 1);
+        assertFalse(indexer.canDefer());
+
+        indexer.stop();
+
+        assertEquals(indexer.getProcessedCount(), 1);
+
+        verify(fullTextMapper, times(1)).getIndexTextForEntity(GUID_1);
+    }
+
+    private static boolean canDeferInTransaction(AsyncFullTextIndexer indexer) throws Throwable {
+        boolean[] ret = new boolean[1];
+
+        runInTransaction(() -> ret[0] = indexer.canDefer());
+
+        return ret[0];
+    }
+
+    // runs the given task in a transaction started by GraphTransactionInterceptor, on a graph other than the one used by the indexer
+    private static void runInTransaction(Runnable task) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+
+        when(invocation.getMethod()).thenReturn(AsyncFullTextIndexerTest.class.getDeclaredMethod("transaction"));
+        when(invocation.proceed()).thenAnswer(i -> {
+            task.run();
+
+            return null;
+        });
+
+        new GraphTransactionInterceptor(mock(AtlasGraph.class)).invoke(invocation);
+    }
+
+    @GraphTransaction
+    private static void transaction() {
+    }
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import org.apache.atlas.graph.GraphSandboxUtil;
+import org.apache.atlas.repository.graphdb.AtlasEdge;
+import org.apache.atlas.repository.graphdb.AtlasEdgeDirection;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.type.AtlasStructType.AtlasAttribute.AtlasRelationshipEdgeDirection;
+import org.apache.commons.collections.IteratorUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.apache.atlas.repository.Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.STATE_PROPERTY_KEY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class GraphHelperTest {
+    private static final String LABEL = "__test_db.tables";
+
+    private AtlasGraph  graph;
+    private GraphHelper graphHelper;
+
+    @BeforeClass
+    public void setup() {
+        GraphSandboxUtil.create();
+
+        graph       = AtlasGraphProvider.getGraphInstance();
+        graphHelper = new GraphHelper(graph);
+    }
+
+    @AfterClass
+    public void cleanup() {
+        graph.rollback();
+
+        AtlasGraphProvider.cleanup();
+    }
+
+    @Test
+    public void testActiveEdgeByLabel() {
+        AtlasVertex db     = graph.addVertex();
+        AtlasVertex table1 = graph.addVertex();
+        AtlasVertex table2 = graph.addVertex();
+        AtlasEdge   edge1  = addEdge(db, table1, "DELETED", 1);
+
+        assertNull(GraphHelper.getActiveEdgeByLabel(db, AtlasEdgeDirection.OUT, LABEL));
+        assertEquals(graphHelper.getEdgeForLabel(db, LABEL, AtlasEdgeDirection.OUT), edge1); // latest deleted edge
+
+        AtlasEdge edge2 = addEdge(db, table2, "ACTIVE", 2);
+
+        assertEquals(GraphHelper.getActiveEdgeByLabel(db, AtlasEdgeDirection.OUT, LABEL), edge2);
+        assertEquals(GraphHelper.getActiveEdgeByLabel(table2, AtlasEdgeDirection.IN, LABEL), edge2);
+        assertNull(GraphHelper.getActiveEdgeByLabel(db, AtlasEdgeDirection.IN, LABEL));
+        assertEquals(graphHelper.getEdgeForLabel(db, LABEL, AtlasEdgeDirection.OUT), edge2);
+    }
+
+    @Test
+    public void testLatestDeletedEdgeForLabel() {
+        AtlasVertex db    = graph.addVertex();
+        AtlasEdge   edge1 = addEdge(db, graph.addVertex(), "DELETED", 1);
+        AtlasEdge   edge2 = addEdge(db, graph.addVertex(), "DELETED", 3);
+
+        addEdge(db, graph.addVertex(), "DELETED", 2);
+
+        assertEquals(graphHelper.getEdgeForLabel(db, LABEL, AtlasEdgeDirection.OUT), edge2);
+        assertEquals(graphHelper.getEdgeForLabel(db, LABEL, AtlasEdgeDirection.BOTH), edge2);
+        assertNotEquals(edge1, edge2);
+    }
+
+    @Test
+    public void testEdgesForLabelAndAdjacentVertex() {
+        AtlasVertex db      = graph.addVertex();
+        AtlasVertex table1  = graph.addVertex();
+        AtlasVertex table2  = graph.addVertex();
+        AtlasEdge   active  = addEdge(db, table1, "ACTIVE", 1);
+        AtlasEdge   deleted = addEdge(db, table1, "DELETED", 2);
+
+        addEdge(db, table2, "ACTIVE", 3);
+
+        List<AtlasEdge> edges = IteratorUtils.toList(GraphHelper.getEdgesForLabel(db, LABEL, AtlasRelationshipEdgeDirection.OUT, table1));
+
+        assertEquals(edges.size(), 2);
+        assertTrue(edges.contains(active));
+        assertTrue(edges.contains(deleted));
+
+        edges = IteratorUtils.toList(GraphHelper.getEdgesForLabel(table1, LABEL, AtlasRelationshipEdgeDirection.IN, db));
+
+        assertEquals(edges.size(), 2);
+
+        edges = IteratorUtils.toList(GraphHelper.getEdgesForLabel(table2, LABEL, AtlasRelationshipEdgeDirection.BOTH, db));
+
+        assertEquals(edges.size(), 1);
+        assertEquals(edges.get(0).getInVertex(), table2);
+
+        edges = IteratorUtils.toList(GraphHelper.getEdgesForLabel(table1, LABEL, AtlasRelationshipEdgeDirection.OUT, db));
+
+        assertTrue(edges.isEmpty());
+    }
+
+    @Test
+    public void testEdgeBetweenVertices() {
+        AtlasVertex db     = graph.addVertex();
+        AtlasVertex table1 = graph.addVertex();
+        AtlasVertex table2 = graph.addVertex();
+
+        addEdge(db, table1, "DELETED", 1);
+
+        AtlasEdge active = addEdge(db, table2, "ACTIVE", 2);
+
+        assertNull(graph.getEdgeBetweenVertices(db, table1, LABEL)); // only active edges are returned
+        assertEquals(graph.getEdgeBetweenVertices(db, table2, LABEL), active);
+        assertNull(graph.getEdgeBetweenVertices(table2, db, LABEL));
+    }
+
+    private AtlasEdge addEdge(AtlasVertex outVertex, AtlasVertex inVertex, String state, long modificationTime) {
+        AtlasEdge ret = graph.addEdge(outVertex, inVertex, LABEL);
+
+        ret.setProperty(STATE_PROPERTY_KEY, state);
+        ret.setProperty(MODIFICATION_TIMESTAMP_PROPERTY_KEY, modificationTime);
+
+        return ret;
+    }
+}
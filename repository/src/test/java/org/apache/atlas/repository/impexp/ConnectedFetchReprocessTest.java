@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.impexp;
+
+import org.apache.atlas.model.impexp.AtlasExportRequest;
+import org.apache.atlas.model.impexp.AtlasExportResult;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasRelatedObjectId;
+import org.apache.atlas.model.typedef.AtlasEntityDef;
+import org.apache.atlas.model.typedef.AtlasRelationshipDef;
+import org.apache.atlas.model.typedef.AtlasRelationshipEndDef;
+import org.apache.atlas.model.typedef.AtlasStructDef.AtlasAttributeDef.Cardinality;
+import org.apache.atlas.repository.impexp.ExportService.ExportContext;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.testng.annotations.Test;
+
+import java.util.UUID;
+
+import static org.apache.atlas.repository.impexp.ExportService.TraversalDirection.INWARD;
+import static org.apache.atlas.repository.impexp.ExportService.TraversalDirection.OUTWARD;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ConnectedFetchReprocessTest {
+    private static final String TABLE_TYPE        = "test_table";
+    private static final String OTHER_TYPE        = "test_other";
+    private static final String RELATIONSHIP_TYPE = "test_other_tables";
+
+    @Test
+    public void entityReachedOutwardIsReprocessedInward() {
+        ExportContext context  = new ExportContext(new AtlasExportResult(new AtlasExportRequest(), "admin", "1.0.0.0", "localhost", 0, 0), null);
+        String        guid     = UUID.randomUUID().toString();
+        AtlasEntity   table    = new AtlasEntity(TABLE_TYPE);
+        AtlasRelatedObjectId relatedId = new AtlasRelatedObjectId();
+
+        relatedId.setGuid(guid);
+        relatedId.setTypeName(TABLE_TYPE);
+        relatedId.setRelationshipType(RELATIONSHIP_TYPE);
+
+        table.setGuid(UUID.randomUUID().toString());
+        table.setRelationshipAttribute("other", relatedId);
+
+        // the related entity was processed earlier, when reached outward
+        context.addToBeProcessed(false, guid, OUTWARD);
+        context.guidsToProcess.remove(0);
+        context.guidsProcessed.add(guid);
+        context.guidDirection.put(table.getGuid(), INWARD);
+
+        new RelationshipAttributesExtractor(getTypeRegistry()).connectedFetch(table, context);
+
+        assertFalse(context.guidsProcessed.contains(guid));
+        assertTrue(context.guidsToProcess.contains(guid));
+        assertEquals(context.guidDirection.get(guid), INWARD);
+
+        context.close();
+    }
+
+    private AtlasTypeRegistry getTypeRegistry() {
+        AtlasTypeRegistry    ret             = mock(AtlasTypeRegistry.class);
+        AtlasRelationshipDef relationshipDef = new AtlasRelationshipDef();
+
+        // edge from the table is an in-edge, as end1 is of the other type
+        relationshipDef.setEndDef1(new AtlasRelationshipEndDef(OTHER_TYPE, "tables", Cardinality.SET));
+        relationshipDef.setEndDef2(new AtlasRelationshipEndDef(TABLE_TYPE, "other", Cardinality.SINGLE));
+
+        when(ret.getEntityDefByName(TABLE_TYPE)).thenReturn(new AtlasEntityDef(TABLE_TYPE));
+        when(ret.getRelationshipDefByName(RELATIONSHIP_TYPE)).thenReturn(relationshipDef);
+
+        return ret;
+    }
+}
@@ -174,6 +174,8 @@ public class ZipSinkTest {
         assertTrue(zs.hasEntity(String.format(knownEntityGuidFormat, 0)));
 
         zs.close();
+
+        assertFalse(zs.hasEntity(String.format(knownEntityGuidFormat, 0))); // recorded GUIDs are released on close
     }
 
     @Test
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.patches;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class AtlasPatchServiceTest {
+    private static final String PATCH_BACKGROUND_ENABLED_PROPERTY = "atlas.patch.background.enabled";
+
+    @BeforeClass
+    public void setup() throws Exception {
+        ApplicationProperties.get().setProperty(PATCH_BACKGROUND_ENABLED_PROPERTY, true);
+    }
+
+    @AfterClass
+    public void cleanup() throws Exception {
+        ApplicationProperties.get().clearProperty(PATCH_BACKGROUND_ENABLED_PROPERTY);
+    }
+
+    @Test
+    public void testStopWaitsForPatchThread() throws Exception {
+        AtlasPatchManager patchManager = mock(AtlasPatchManager.class);
+        CountDownLatch    started      = new CountDownLatch(1);
+        AtomicInteger     running      = new AtomicInteger();
+        AtomicInteger     maxRunning   = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+            started.countDown();
+
+            try {
+                Thread.sleep(60 * 1000);
+            } catch (InterruptedException excp) {
+                Thread.sleep(200); // saving progress after interruption
+            } finally {
+                running.decrementAndGet();
+            }
+
+            return null;
+        }).when(patchManager).applyAll();
+
+        AtlasPatchService service = new AtlasPatchService(new PropertiesConfiguration(), patchManager, 10 * 1000);
+
+        service.startInternal();
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        service.startInternal(); // restart waits for the earlier run to exit
+
+        service.stop();
+
+        assertEquals(running.get(), 0);
+        assertEquals(maxRunning.get(), 1);
+    }
+
+    @Test
+    public void testNoRestartWhilePatchThreadIsRunning() throws Exception {
+        AtlasPatchManager patchManager = mock(AtlasPatchManager.class);
+        CountDownLatch    started      = new CountDownLatch(1);
+        CountDownLatch    release      = new CountDownLatch(1);
+        AtomicInteger     runCount     = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            runCount.incrementAndGet();
+
+            started.countDown();
+
+            // ignores interruption, like a patch committing a large batch
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException excp) {
+                    // ignore
+                }
+            }
+
+            return null;
+        }).when(patchManager).applyAll();
+
+        AtlasPatchService service = new AtlasPatchService(new PropertiesConfiguration(), patchManager, 100);
+
+        service.startInternal();
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        service.startInternal();
+
+        assertFalse(service.stopPatchThread());
+        assertEquals(runCount.get(), 1);
+
+        release.countDown();
+
+        assertTrue(service.stopPatchThread());
+    }
+}
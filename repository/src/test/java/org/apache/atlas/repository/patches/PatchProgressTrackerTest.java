@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.patches;
+
+import org.apache.atlas.repository.patches.PatchProgressTracker.Checkpoint;
+import org.apache.atlas.repository.patches.PatchProgressTracker.PatchItem;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class PatchProgressTrackerTest {
+    @Test
+    public void checkpointMovesOnlyPastContiguousCommits() {
+        PatchProgressTracker tracker = new PatchProgressTracker(null);
+        PatchItem            item1   = tracker.submit("hive_db", 1L);
+        PatchItem            item2   = tracker.submit("hive_db", 2L);
+        PatchItem            item3   = tracker.submit("hive_table", 3L);
+
+        tracker.onCommit(Arrays.asList(item2, item3), true);
+
+        assertNull(tracker.getCheckpoint());
+
+        tracker.onCommit(Collections.singletonList(item1), true);
+
+        Checkpoint checkpoint = tracker.getCheckpoint();
+
+        assertEquals(checkpoint.getPartition(), "hive_table");
+        assertEquals(checkpoint.getVertexId(), Long.valueOf(3L));
+        assertEquals(checkpoint.getProcessedCount(), 3);
+        assertEquals(tracker.getPendingCount(), 0);
+    }
+
+    @Test
+    public void checkpointDoesNotMovePastFailedCommit() {
+        PatchProgressTracker tracker = new PatchProgressTracker(new Checkpoint("hive_db", 10L, 10));
+        PatchItem            item1   = tracker.submit("hive_db", 11L);
+        PatchItem            item2   = tracker.submit("hive_db", 12L);
+        PatchItem            item3   = tracker.submit("hive_db", 13L);
+
+        tracker.onCommit(Collections.singletonList(item1), true);
+        tracker.onCommit(Collections.singletonList(item2), false);
+        tracker.onCommit(Collections.singletonList(item3), true);
+
+        Checkpoint checkpoint = tracker.getCheckpoint();
+
+        assertEquals(checkpoint.getVertexId(), Long.valueOf(11L));
+        assertEquals(checkpoint.getProcessedCount(), 11);
+        assertEquals(tracker.getPendingCount(), 0);
+    }
+
+    @Test
+    public void checkpointJsonRoundTrip() {
+        Checkpoint checkpoint = Checkpoint.fromJson(new Checkpoint("hive_column", 40964128L, 1000L).toJson());
+
+        assertEquals(checkpoint.getPartition(), "hive_column");
+        assertEquals(checkpoint.getVertexId(), Long.valueOf(40964128L));
+        assertEquals(checkpoint.getProcessedCount(), 1000L);
+
+        assertNull(Checkpoint.fromJson(null));
+        assertNull(Checkpoint.fromJson("{}"));
+    }
+
+    @Test
+    public void resumeIsIndependentOfVertexOrder() {
+        List<Long> vertexIds = Arrays.asList(40L, 10L, 30L, 20L, 50L, 30L);
+
+        assertEquals(ConcurrentPatchProcessor.getVertexIdsToSubmit(vertexIds.iterator(), null, 10), new long[] { 10, 20, 30, 40, 50 });
+        assertEquals(ConcurrentPatchProcessor.getVertexIdsToSubmit(vertexIds.iterator(), 30L, 10), new long[] { 40, 50 });
+        assertEquals(ConcurrentPatchProcessor.getVertexIdsToSubmit(vertexIds.iterator(), 25L, 10), new long[] { 30, 40, 50 }); // checkpoint vertex deleted
+    }
+
+    @Test
+    public void vertexIdsAreReadInBoundedChunks() {
+        List<Long> vertexIds = Arrays.asList(70L, 40L, 10L, 90L, 30L, 20L, 50L, 30L, 80L, 60L, 10L, 100L);
+
+        assertEquals(ConcurrentPatchProcessor.getVertexIdsToSubmit(vertexIds.iterator(), null, 3), new long[] { 10, 20, 30 });
+        assertEquals(ConcurrentPatchProcessor.getVertexIdsToSubmit(vertexIds.iterator(), 30L, 3), new long[] { 40, 50, 60 });
+        assertEquals(ConcurrentPatchProcessor.getVertexIdsToSubmit(vertexIds.iterator(), 60L, 3), new long[] { 70, 80, 90 });
+        assertEquals(ConcurrentPatchProcessor.getVertexIdsToSubmit(vertexIds.iterator(), 90L, 3), new long[] { 100 });
+        assertEquals(ConcurrentPatchProcessor.getVertexIdsToSubmit(vertexIds.iterator(), 100L, 3), new long[0]);
+        assertEquals(ConcurrentPatchProcessor.getVertexIdsToSubmit(vertexIds.iterator(), null, 1), new long[] { 10 });
+    }
+
+}
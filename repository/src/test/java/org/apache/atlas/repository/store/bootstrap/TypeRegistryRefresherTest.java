@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.bootstrap;
+
+import org.apache.atlas.discovery.SearchResultCache;
+import org.apache.atlas.ha.HAConfiguration;
+import org.apache.atlas.repository.Constants;
+import org.apache.atlas.repository.graph.GraphBackedSearchIndexer;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.store.AtlasTypeDefStore;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.atlas.repository.Constants.VERTEX_TYPE_PROPERTY_KEY;
+import static org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2.VERTEX_TYPE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TypeRegistryRefresherTest {
+    private AtlasGraph               graph;
+    private AtlasTypeDefStore        typeDefStore;
+    private GraphBackedSearchIndexer searchIndexer;
+    private SearchResultCache        searchResultCache;
+    private List<AtlasVertex>        typeVertices;
+
+    @BeforeMethod
+    public void setup() {
+        graph             = mock(AtlasGraph.class);
+        typeDefStore      = mock(AtlasTypeDefStore.class);
+        searchIndexer     = mock(GraphBackedSearchIndexer.class);
+        searchResultCache = mock(SearchResultCache.class);
+        typeVertices      = new ArrayList<>();
+
+        AtlasGraphQuery query     = mock(AtlasGraphQuery.class);
+        AtlasGraphQuery typeQuery = mock(AtlasGraphQuery.class);
+
+        when(graph.query()).thenReturn(query);
+        when(query.has(VERTEX_TYPE_PROPERTY_KEY, VERTEX_TYPE)).thenReturn(typeQuery);
+        when(typeQuery.vertices()).thenReturn(typeVertices);
+
+        addTypeVertex(1L, 1000L);
+        addTypeVertex(1L, 2000L);
+    }
+
+    @Test
+    public void testReloadOnlyOnTypeDefChange() throws Exception {
+        TypeRegistryRefresher refresher = new TypeRegistryRefresher(new PropertiesConfiguration(), typeDefStore, graph, searchIndexer, searchResultCache, true, 60000);
+
+        assertFalse(refresher.isReady());
+
+        refresher.refresh();
+
+        assertTrue(refresher.isReady());
+        verify(typeDefStore, times(1)).init();
+        verify(searchIndexer, times(1)).resolveIndexFieldNames();
+        verify(searchResultCache, times(1)).clear();
+
+        refresher.refresh();
+
+        verify(typeDefStore, times(1)).init();
+        verify(searchIndexer, times(1)).resolveIndexFieldNames();
+
+        AtlasVertex updated = typeVertices.get(0);
+
+        when(updated.getProperty(Constants.VERSION_PROPERTY_KEY, Number.class)).thenReturn(2L);
+        when(updated.getProperty(Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY, Long.class)).thenReturn(3000L);
+
+        refresher.refresh();
+
+        verify(typeDefStore, times(2)).init();
+        verify(searchIndexer, times(2)).resolveIndexFieldNames();
+        verify(searchResultCache, times(2)).clear();
+
+        addTypeVertex(1L, 1500L);
+
+        refresher.refresh();
+
+        verify(typeDefStore, times(3)).init();
+    }
+
+    @Test
+    public void testStopOnActive() throws Exception {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+
+        configuration.setProperty(HAConfiguration.ATLAS_SERVER_HA_ENABLED_KEY, true);
+
+        TypeRegistryRefresher refresher = new TypeRegistryRefresher(configuration, typeDefStore, graph, searchIndexer, searchResultCache, true, 60000);
+
+        refresher.start();
+
+        for (int i = 0; i < 100 && !refresher.isReady(); i++) {
+            Thread.sleep(50);
+        }
+
+        assertTrue(refresher.isReady());
+
+        refresher.instanceIsActive();
+
+        assertFalse(refresher.isReady());
+
+        refresher.stop();
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+
+        configuration.setProperty(HAConfiguration.ATLAS_SERVER_HA_ENABLED_KEY, true);
+
+        TypeRegistryRefresher refresher = new TypeRegistryRefresher(configuration, typeDefStore, graph, searchIndexer, searchResultCache, false, 60000);
+
+        refresher.start();
+        refresher.instanceIsPassive();
+
+        assertFalse(refresher.isReady());
+        verify(typeDefStore, never()).init();
+    }
+
+    private void addTypeVertex(Long version, Long updateTime) {
+        AtlasVertex vertex = mock(AtlasVertex.class);
+
+        when(vertex.getProperty(Constants.VERSION_PROPERTY_KEY, Number.class)).thenReturn(version);
+        when(vertex.getProperty(Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY, Long.class)).thenReturn(updateTime);
+
+        typeVertices.add(vertex);
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.TestUtilsV2;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasBulkDeleteJob;
+import org.apache.atlas.model.instance.AtlasBulkDeleteJob.JobStatus;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.AtlasObjectId;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.type.AtlasTypeUtil;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.atlas.TestUtilsV2.COLUMNS_ATTR_NAME;
+import static org.apache.atlas.TestUtilsV2.COLUMN_TYPE;
+import static org.apache.atlas.TestUtilsV2.TABLE_TYPE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class BulkDeleteServiceTest extends AtlasEntityTestBase {
+    private AtlasEntity dbEntity;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        super.setUp();
+
+        createTypesDef(new AtlasTypesDef[] { TestUtilsV2.defineHiveTypes() });
+
+        init();
+
+        dbEntity = TestUtilsV2.createDBEntity();
+
+        EntityMutationResponse response = entityStore.createOrUpdate(new AtlasEntityStream(dbEntity), false);
+
+        dbEntity.setGuid(response.getFirstCreatedEntityByTypeName(TestUtilsV2.DATABASE_TYPE).getGuid());
+    }
+
+    @BeforeMethod
+    public void initRequestContext() {
+        RequestContext.clear();
+        RequestContext.get().setUser(TestUtilsV2.TEST_USER, null);
+    }
+
+    @Test
+    public void testDeleteOrderIsLeafFirst() throws AtlasBaseException {
+        List<String>      tableAndColumns = createTableWithColumns(3);
+        String            tableGuid       = tableAndColumns.get(0);
+        BulkDeleteService service         = new BulkDeleteService(graph, typeRegistry, entityStore, deleteDelegate, 2);
+
+        List<String> deleteOrder = service.getDeleteOrder(Collections.singletonList(tableGuid), false);
+
+        assertEquals(deleteOrder.size(), tableAndColumns.size());
+        assertTrue(deleteOrder.containsAll(tableAndColumns));
+        assertEquals(deleteOrder.get(deleteOrder.size() - 1), tableGuid); // columns are deleted before the table owning them
+    }
+
+    @Test
+    public void testEachChunkIsCommitted() throws AtlasBaseException {
+        List<String>       tableAndColumns = createTableWithColumns(3);
+        BulkDeleteService  service         = new BulkDeleteService(graph, typeRegistry, entityStore, deleteDelegate, 2);
+        List<List<String>> chunks          = new ArrayList<>();
+
+        AtlasBulkDeleteJob job = service.execute(Collections.singletonList(new AtlasObjectId(tableAndColumns.get(0), TABLE_TYPE)), false, response -> {
+            List<String> deletedGuids = response.getDeletedEntities().stream().map(AtlasEntityHeader::getGuid).collect(Collectors.toList());
+
+            // chunk is committed before the listener is called, and is visible outside the chunk's transaction
+            for (String guid : deletedGuids) {
+                assertNotNull(AtlasGraphUtilsV2.findDeletedByGuid(graph, guid), guid);
+            }
+
+            chunks.add(deletedGuids);
+        });
+
+        assertEquals(job.getStatus(), JobStatus.COMPLETED);
+        assertEquals(job.getChunkCount(), 2);
+        assertEquals(job.getProcessedChunkCount(), 2);
+        assertEquals(job.getProcessedEntityCount(), tableAndColumns.size());
+        assertEquals(chunks.size(), 2);
+        assertFalse(chunks.get(0).contains(tableAndColumns.get(0)));
+
+        assertAllDeleted(tableAndColumns);
+    }
+
+    @Test
+    public void testRestartSkipsDeletedEntities() throws AtlasBaseException {
+        List<String>      tableAndColumns = createTableWithColumns(3);
+        String            tableGuid       = tableAndColumns.get(0);
+        String            deletedColumn   = tableAndColumns.get(1);
+        BulkDeleteService service         = new BulkDeleteService(graph, typeRegistry, entityStore, deleteDelegate, 2);
+
+        // simulate an earlier run that stopped after deleting a chunk
+        entityStore.deleteById(deletedColumn);
+
+        initRequestContext();
+
+        List<String> deleteOrder = service.getDeleteOrder(Collections.singletonList(tableGuid), false);
+
+        assertEquals(deleteOrder.size(), tableAndColumns.size() - 1);
+        assertFalse(deleteOrder.contains(deletedColumn));
+
+        AtlasBulkDeleteJob job = service.execute(Collections.singletonList(new AtlasObjectId(tableGuid, TABLE_TYPE)), false, null);
+
+        assertEquals(job.getStatus(), JobStatus.COMPLETED);
+        assertEquals(job.getProcessedEntityCount(), tableAndColumns.size() - 1);
+
+        assertAllDeleted(tableAndColumns);
+    }
+
+    // returns guid of the table followed by guids of its columns
+    private List<String> createTableWithColumns(int columnCount) throws AtlasBaseException {
+        AtlasEntity              table    = TestUtilsV2.createTableEntity(dbEntity);
+        AtlasEntitiesWithExtInfo entities = new AtlasEntitiesWithExtInfo(table);
+        List<AtlasObjectId>      columns  = new ArrayList<>();
+
+        for (int i = 0; i < columnCount; i++) {
+            AtlasEntity column = TestUtilsV2.createColumnEntity(table);
+
+            columns.add(AtlasTypeUtil.getAtlasObjectId(column));
+            entities.addEntity(column);
+        }
+
+        table.setAttribute(COLUMNS_ATTR_NAME, columns);
+        entities.addReferredEntity(dbEntity);
+
+        EntityMutationResponse response = entityStore.createOrUpdate(new AtlasEntityStream(entities), false);
+        List<String>           ret      = new ArrayList<>();
+
+        ret.add(response.getFirstCreatedEntityByTypeName(TABLE_TYPE).getGuid());
+
+        for (AtlasEntityHeader column : response.getCreatedEntitiesByTypeName(COLUMN_TYPE)) {
+            ret.add(column.getGuid());
+        }
+
+        assertEquals(ret.size(), columnCount + 1);
+
+        initRequestContext();
+
+        return ret;
+    }
+
+    private void assertAllDeleted(List<String> guids) throws AtlasBaseException {
+        for (String guid : guids) {
+            assertEquals(getEntityFromStore(guid).getStatus(), AtlasEntity.Status.DELETED, guid);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.model.typedef.AtlasEntityDef;
+import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.repository.Constants;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.type.AtlasTypeRegistry.AtlasTransientTypeRegistry;
+import org.apache.atlas.type.AtlasTypeUtil;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.apache.atlas.repository.Constants.CLASSIFICATION_LABEL;
+import static org.apache.atlas.repository.Constants.TERM_ASSIGNMENT_LABEL;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EntityGraphRetrieverPrefetchTest {
+    private AtlasTypeRegistry typeRegistry;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        AtlasEntityDef dbDef    = AtlasTypeUtil.createClassTypeDef("test_db", Collections.emptySet(),
+                                                                   AtlasTypeUtil.createOptionalAttrDef("name", "string"));
+        AtlasEntityDef tableDef = AtlasTypeUtil.createClassTypeDef("test_table", Collections.emptySet(),
+                                                                   AtlasTypeUtil.createOptionalAttrDef("name", "string"),
+                                                                   AtlasTypeUtil.createOptionalAttrDef("db", "test_db"));
+        AtlasTypesDef  typesDef = new AtlasTypesDef();
+
+        typesDef.setEntityDefs(Arrays.asList(dbDef, tableDef));
+
+        typeRegistry = new AtlasTypeRegistry();
+
+        AtlasTransientTypeRegistry ttr = typeRegistry.lockTypeRegistryForUpdate();
+
+        ttr.addTypes(typesDef);
+
+        typeRegistry.releaseTypeRegistryForUpdate(ttr, true);
+    }
+
+    @Test
+    public void testPrefetchEdgesForAttributes() {
+        AtlasGraph           graph     = mock(AtlasGraph.class);
+        List<AtlasVertex>    vertices  = Arrays.asList(createVertex("test_table"), createVertex("test_db"));
+        EntityGraphRetriever retriever = new EntityGraphRetriever(graph, typeRegistry);
+
+        retriever.prefetchEntityHeaders(vertices, new HashSet<>(Arrays.asList("name", "db", "unknown")), true);
+
+        verify(graph).prefetchVertices(vertices, Collections.emptySet());
+        verify(graph).prefetchVertices(vertices, new HashSet<>(Arrays.asList(TERM_ASSIGNMENT_LABEL, CLASSIFICATION_LABEL, "__test_table.db")));
+    }
+
+    @Test
+    public void testPrefetchWithoutAttributes() {
+        AtlasGraph           graph     = mock(AtlasGraph.class);
+        List<AtlasVertex>    vertices  = Arrays.asList(createVertex("test_table"));
+        EntityGraphRetriever retriever = new EntityGraphRetriever(graph, typeRegistry);
+
+        retriever.prefetchEntityHeaders(vertices, Collections.emptySet(), false);
+
+        verify(graph).prefetchVertices(vertices, Collections.singleton(TERM_ASSIGNMENT_LABEL));
+
+        retriever.prefetchEntityHeaders(Collections.emptyList(), Collections.emptySet(), false);
+
+        verify(graph, never()).prefetchVertices(Collections.emptyList(), Collections.emptySet());
+    }
+
+    private AtlasVertex createVertex(String typeName) {
+        AtlasVertex ret = mock(AtlasVertex.class);
+
+        when(ret.getProperty(Constants.ENTITY_TYPE_PROPERTY_KEY, String.class)).thenReturn(typeName);
+
+        return ret;
+    }
+}
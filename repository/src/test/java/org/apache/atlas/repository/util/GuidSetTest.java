@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.util;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class GuidSetTest {
+    private static final String ZERO_GUID = new UUID(0, 0).toString();
+
+    @Test
+    public void addGuidsAndOtherValues_SameAsHashSet() {
+        GuidSet      guidSet  = new GuidSet(1000000, null);
+        Set<String>  expected = new HashSet<>();
+        List<String> values   = getValues(5000);
+
+        for (String value : values) {
+            assertEquals(guidSet.add(value), expected.add(value), value);
+        }
+
+        for (String value : values.subList(0, 10)) { // adding again
+            assertFalse(guidSet.add(value), value);
+        }
+
+        assertEquals(guidSet.size(), expected.size());
+        assertEquals(guidSet, expected);
+        assertEquals(new HashSet<>(guidSet), expected);
+        assertTrue(guidSet.contains(ZERO_GUID));
+        assertTrue(guidSet.contains("-1"));
+        assertFalse(guidSet.contains(UUID.randomUUID().toString()));
+        assertFalse(guidSet.contains(UUID.randomUUID().toString().toUpperCase()));
+        assertFalse(guidSet.isOffHeap());
+
+        guidSet.clear();
+
+        assertTrue(guidSet.isEmpty());
+        assertFalse(guidSet.contains(ZERO_GUID));
+    }
+
+    @Test
+    public void exceedMaxHeapEntries_SpillsToFile() {
+        GuidSet      guidSet = new GuidSet(1000, null);
+        List<String> guids   = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            String guid = UUID.randomUUID().toString();
+
+            guids.add(guid);
+            guidSet.add(guid);
+        }
+
+        assertTrue(guidSet.isOffHeap());
+        assertEquals(guidSet.size(), guids.size());
+        assertTrue(guidSet.containsAll(guids));
+        assertEquals(new HashSet<>(guidSet), new HashSet<>(guids));
+
+        guidSet.close();
+
+        assertFalse(guidSet.isOffHeap());
+        assertTrue(guidSet.isEmpty());
+        assertFalse(guidSet.contains(guids.get(0)));
+    }
+
+    @Test
+    public void removeGuidsAndOtherValues_SameAsHashSet() {
+        GuidSet      guidSet  = new GuidSet(1000, null); // small heap limit, to cover removal from memory-mapped table
+        Set<String>  expected = new HashSet<>();
+        List<String> values   = getValues(5000);
+
+        guidSet.addAll(values);
+        expected.addAll(values);
+
+        for (int i = 0; i < values.size(); i += 3) { // remove a third, including the zero GUID and non-GUID values
+            String value = values.get(i);
+
+            assertEquals(guidSet.remove(value), expected.remove(value), value);
+            assertFalse(guidSet.remove(value), value);
+        }
+
+        assertFalse(guidSet.remove(UUID.randomUUID().toString()));
+        assertEquals(guidSet.size(), expected.size());
+        assertEquals(new HashSet<>(guidSet), expected);
+
+        for (String value : values) { // entries moved back on removal are still found
+            assertEquals(guidSet.contains(value), expected.contains(value), value);
+        }
+
+        for (int i = 0; i < values.size(); i += 3) { // add removed values again
+            assertTrue(guidSet.add(values.get(i)), values.get(i));
+        }
+
+        assertEquals(new HashSet<>(guidSet), new HashSet<>(values));
+
+        guidSet.close();
+    }
+
+    @Test
+    public void closeMappedArray_ReleasesMapping() {
+        LongArray array = LongArray.allocate(1024, true, null);
+
+        assertTrue(array.isOffHeap());
+
+        array.set(1023, 42);
+
+        assertEquals(array.get(1023), 42);
+
+        array.close();
+        array.close(); // second close is a no-op
+    }
+
+    @Test
+    public void guidList_RetainsOrder() {
+        GuidList     guidList = new GuidList(1000, null);
+        List<String> expected = getValues(5000);
+
+        guidList.addAll(expected);
+
+        assertTrue(guidList.isOffHeap());
+        assertEquals(guidList.size(), expected.size());
+        assertEquals(guidList, expected);
+        assertEquals(guidList.get(expected.size() - 1), expected.get(expected.size() - 1));
+
+        guidList.close();
+
+        assertTrue(guidList.isEmpty());
+        assertFalse(guidList.isOffHeap());
+    }
+
+    private List<String> getValues(int count) {
+        List<String> ret = new ArrayList<>();
+
+        ret.add(ZERO_GUID);
+        ret.add("-1");       // unassigned guid
+        ret.add(null);
+        ret.add(UUID.randomUUID().toString().toUpperCase());
+
+        for (int i = ret.size(); i < count; i++) {
+            ret.add(UUID.randomUUID().toString());
+        }
+
+        return ret;
+    }
+}
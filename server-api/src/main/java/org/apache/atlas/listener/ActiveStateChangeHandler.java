@@ -29,10 +29,13 @@ public interface ActiveStateChangeHandler {
     public enum HandlerOrder {
         AUDIT_REPOSITORY(0),
         GRAPH_BACKED_SEARCH_INDEXER(1),
+        TYPE_REGISTRY_REFRESHER(1),
         TYPEDEF_STORE_INITIALIZER(2),
         ATLAS_PATCH_SERVICE(3),
+        FULL_TEXT_INDEXER(3),
         DEFAULT_METADATA_SERVICE(4),
-        NOTIFICATION_HOOK_CONSUMER(5);
+        NOTIFICATION_HOOK_CONSUMER(5),
+        SUGGESTIONS_INDEX(6);
 
 
         private final int order;
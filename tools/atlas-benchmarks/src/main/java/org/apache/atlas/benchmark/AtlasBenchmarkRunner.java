@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the benchmarks and writes the results in JSON, for comparison across builds.
+ *
+ * Usage: java -jar atlas-benchmarks.jar [benchmark-regex [result-file]]
+ *
+ * For all other JMH options (forks, iterations, profilers, ...) use the JMH runner directly:
+ *   java -cp atlas-benchmarks.jar org.openjdk.jmh.Main -h
+ */
+public class AtlasBenchmarkRunner {
+    private static final String DEFAULT_INCLUDE     = "org\\.apache\\.atlas\\.benchmark\\..*";
+    private static final String DEFAULT_RESULT_FILE = "atlas-benchmarks.json";
+    private static final String ATLAS_DATA          = "atlas.data";
+
+    public static void main(String[] args) throws Exception {
+        String include    = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        String resultFile = args.length > 1 ? args[1] : DEFAULT_RESULT_FILE;
+        String atlasData  = getAtlasDataDirectory();
+
+        Options options = new OptionsBuilder().include(include)
+                                              .jvmArgsAppend("-D" + ATLAS_DATA + "=" + atlasData)
+                                              .resultFormat(ResultFormatType.JSON)
+                                              .result(resultFile)
+                                              .build();
+
+        new Runner(options).run();
+    }
+
+    /**
+     * @return value of system property atlas.data, which is used in atlas-application.properties of this module;
+     *         if not set, it is set to a directory under java.io.tmpdir
+     */
+    public static String getAtlasDataDirectory() {
+        String ret = System.getProperty(ATLAS_DATA);
+
+        if (ret == null) {
+            ret = new File(System.getProperty("java.io.tmpdir"), "atlas-benchmarks").getAbsolutePath();
+
+            System.setProperty(ATLAS_DATA, ret);
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark;
+
+import org.apache.atlas.TestUtilsV2;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.type.AtlasTypeRegistry.AtlasTransientTypeRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.atlas.type.AtlasTypeUtil.getAtlasObjectId;
+
+/**
+ * Types and entities shared by the benchmarks: the hive-like model used by repository tests.
+ */
+public final class BenchmarkData {
+    private BenchmarkData() { }
+
+    public static AtlasTypesDef getTypesDef() {
+        return TestUtilsV2.defineHiveTypes();
+    }
+
+    public static AtlasTypeRegistry createTypeRegistry(AtlasTypesDef typesDef) throws AtlasBaseException {
+        AtlasTypeRegistry          ret = new AtlasTypeRegistry();
+        AtlasTransientTypeRegistry ttr = ret.lockTypeRegistryForUpdate();
+        boolean                    commit = false;
+
+        try {
+            ttr.addTypes(typesDef);
+
+            commit = true;
+        } finally {
+            ret.releaseTypeRegistryForUpdate(ttr, commit);
+        }
+
+        return ret;
+    }
+
+    /**
+     * A database, a table in it and the given number of columns of the table; the table is the first entity.
+     */
+    public static AtlasEntitiesWithExtInfo createTable(String name, int columnCount) {
+        AtlasEntitiesWithExtInfo ret     = new AtlasEntitiesWithExtInfo();
+        AtlasEntity              db      = TestUtilsV2.createDBEntity(name + "_db");
+        AtlasEntity              table   = TestUtilsV2.createTableEntity(db, name);
+        List<AtlasEntity>        columns = new ArrayList<>(columnCount);
+
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(TestUtilsV2.createColumnEntity(table, name + "_col" + i));
+        }
+
+        List<Object> columnIds = new ArrayList<>(columnCount);
+
+        for (AtlasEntity column : columns) {
+            columnIds.add(getAtlasObjectId(column));
+        }
+
+        table.setAttribute("columns", columnIds);
+
+        ret.addEntity(table);
+        ret.addEntity(db);
+
+        for (AtlasEntity column : columns) {
+            ret.addEntity(column);
+        }
+
+        return ret;
+    }
+}
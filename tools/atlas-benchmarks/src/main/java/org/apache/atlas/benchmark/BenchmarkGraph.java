@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.TestModules;
+import org.apache.atlas.TestUtilsV2;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.repository.graph.AtlasGraphProvider;
+import org.apache.atlas.repository.graph.GraphBackedSearchIndexer;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.store.bootstrap.AtlasTypeDefStoreInitializer;
+import org.apache.atlas.repository.store.graph.AtlasEntityStore;
+import org.apache.atlas.store.AtlasTypeDefStore;
+import org.apache.atlas.type.AtlasTypeRegistry;
+
+/**
+ * Graph, type registry and entity store wired the same way as in repository tests, over the graph configured in
+ * atlas-application.properties of this module. Created once per JVM, as JanusGraph allows only one open instance
+ * of a graph; callers create the types they need with createTypes().
+ */
+public final class BenchmarkGraph {
+    private static BenchmarkGraph instance;
+
+    private final Injector          injector;
+    private final AtlasGraph        graph;
+    private final AtlasTypeRegistry typeRegistry;
+    private final AtlasTypeDefStore typeDefStore;
+    private final AtlasEntityStore  entityStore;
+
+    private BenchmarkGraph() throws Exception {
+        injector     = Guice.createInjector(new TestModules.TestOnlyModule());
+        graph        = injector.getInstance(AtlasGraph.class);
+        typeRegistry = injector.getInstance(AtlasTypeRegistry.class);
+        typeDefStore = injector.getInstance(AtlasTypeDefStore.class);
+        entityStore  = injector.getInstance(AtlasEntityStore.class);
+
+        setUser();
+
+        new GraphBackedSearchIndexer(typeRegistry);
+    }
+
+    public static synchronized BenchmarkGraph get() throws Exception {
+        if (instance == null) {
+            instance = new BenchmarkGraph();
+        }
+
+        return instance;
+    }
+
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance = null;
+
+            AtlasGraphProvider.cleanup();
+        }
+    }
+
+    public static void setUser() {
+        RequestContext.clear();
+        RequestContext.get().setUser(TestUtilsV2.TEST_USER, null);
+    }
+
+    /**
+     * Creates the given types that don't exist already.
+     */
+    public void createTypes(AtlasTypesDef typesDef) throws AtlasBaseException {
+        AtlasTypesDef typesToCreate = AtlasTypeDefStoreInitializer.getTypesToCreate(typesDef, typeRegistry);
+
+        if (!typesToCreate.isEmpty()) {
+            setUser();
+
+            typeDefStore.createTypesDef(typesToCreate);
+        }
+    }
+
+    public <T> T getInstance(Class<T> type) {
+        return injector.getInstance(type);
+    }
+
+    public AtlasGraph getGraph() {
+        return graph;
+    }
+
+    public AtlasTypeRegistry getTypeRegistry() {
+        return typeRegistry;
+    }
+
+    public AtlasTypeDefStore getTypeDefStore() {
+        return typeDefStore;
+    }
+
+    public AtlasEntityStore getEntityStore() {
+        return entityStore;
+    }
+}
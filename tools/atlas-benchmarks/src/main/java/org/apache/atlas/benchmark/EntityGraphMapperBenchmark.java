@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark;
+
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.repository.store.graph.AtlasEntityStore;
+import org.apache.atlas.repository.store.graph.v2.AtlasEntityStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity create and update through AtlasEntityStoreV2 and EntityGraphMapper, against an in-memory JanusGraph.
+ * Each create adds a new database, table and columns; so the graph grows during the run, as it does in a real store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EntityGraphMapperBenchmark {
+    @Param({ "10", "100" })
+    public int columnCount;
+
+    private AtlasEntityStore         entityStore;
+    private AtlasEntitiesWithExtInfo tableToUpdate;
+    private long                     counter = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkGraph benchmarkGraph = BenchmarkGraph.get();
+
+        benchmarkGraph.createTypes(BenchmarkData.getTypesDef());
+
+        entityStore   = benchmarkGraph.getEntityStore();
+        tableToUpdate = BenchmarkData.createTable("update_table_" + columnCount, columnCount);
+
+        BenchmarkGraph.setUser();
+
+        entityStore.createOrUpdate(new AtlasEntityStream(tableToUpdate), false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkGraph.shutdown();
+    }
+
+    @Benchmark
+    public EntityMutationResponse createEntities() throws AtlasBaseException {
+        AtlasEntitiesWithExtInfo entities = BenchmarkData.createTable("create_table_" + columnCount + "_" + (counter++), columnCount);
+
+        BenchmarkGraph.setUser();
+
+        return entityStore.createOrUpdate(new AtlasEntityStream(entities), false);
+    }
+
+    @Benchmark
+    public EntityMutationResponse updateEntities() throws AtlasBaseException {
+        AtlasEntity table = tableToUpdate.getEntities().get(0);
+
+        table.setAttribute("description", "updated " + (counter++));
+
+        BenchmarkGraph.setUser();
+
+        return entityStore.createOrUpdate(new AtlasEntityStream(tableToUpdate), false);
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark;
+
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
+import org.apache.atlas.model.notification.HookNotification;
+import org.apache.atlas.model.notification.HookNotification.EntityCreateRequestV2;
+import org.apache.atlas.utils.AtlasJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of REST payloads (AtlasEntityWithExtInfo) and of hook notifications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+    @Param({ "10", "100" })
+    public int columnCount;
+
+    private AtlasEntityWithExtInfo entityWithExtInfo;
+    private String                 entityWithExtInfoJson;
+    private HookNotification       hookNotification;
+    private String                 hookNotificationJson;
+
+    @Setup
+    public void setup() {
+        AtlasEntitiesWithExtInfo entities = BenchmarkData.createTable("json_table", columnCount);
+
+        entityWithExtInfo = new AtlasEntityWithExtInfo(entities.getEntities().get(0));
+
+        for (AtlasEntity entity : entities.getEntities().subList(1, entities.getEntities().size())) {
+            entityWithExtInfo.addReferredEntity(entity);
+        }
+
+        hookNotification      = new EntityCreateRequestV2("benchmark", entities);
+        entityWithExtInfoJson = AtlasJson.toJson(entityWithExtInfo);
+        hookNotificationJson  = AtlasJson.toJson(hookNotification);
+    }
+
+    @Benchmark
+    public String serializeEntityWithExtInfo() {
+        return AtlasJson.toJson(entityWithExtInfo);
+    }
+
+    @Benchmark
+    public AtlasEntityWithExtInfo deserializeEntityWithExtInfo() {
+        return AtlasJson.fromJson(entityWithExtInfoJson, AtlasEntityWithExtInfo.class);
+    }
+
+    @Benchmark
+    public String serializeHookNotification() {
+        return AtlasJson.toJson(hookNotification);
+    }
+
+    @Benchmark
+    public HookNotification deserializeHookNotification() {
+        return AtlasJson.fromJson(hookNotificationJson, HookNotification.class);
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark;
+
+import org.janusgraph.core.Cardinality;
+import org.janusgraph.core.schema.Mapping;
+import org.janusgraph.diskstorage.BaseTransaction;
+import org.janusgraph.diskstorage.BaseTransactionConfig;
+import org.janusgraph.diskstorage.BaseTransactionConfigurable;
+import org.janusgraph.diskstorage.configuration.Configuration;
+import org.janusgraph.diskstorage.indexing.IndexEntry;
+import org.janusgraph.diskstorage.indexing.IndexFeatures;
+import org.janusgraph.diskstorage.indexing.IndexMutation;
+import org.janusgraph.diskstorage.indexing.IndexProvider;
+import org.janusgraph.diskstorage.indexing.IndexQuery;
+import org.janusgraph.diskstorage.indexing.KeyInformation;
+import org.janusgraph.diskstorage.indexing.RawQuery;
+import org.janusgraph.graphdb.query.JanusGraphPredicate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Mixed-index backend for the benchmark graph that accepts and discards all index mutations, and returns no
+ * results for index queries. In a deployment the mixed index is an external Solr/Elasticsearch service, whose cost
+ * is not what these benchmarks measure; composite indexes, used to look up entities by guid and unique attributes,
+ * are stored in the graph and are not affected. JanusGraph's Lucene backend can't be used instead, as it accepts
+ * only alphanumeric index names - unlike vertex_index, edge_index and fulltext_index created by Atlas.
+ */
+public class NoOpIndexProvider implements IndexProvider {
+    private static final IndexFeatures FEATURES = new IndexFeatures.Builder().setDefaultStringMapping(Mapping.STRING)
+                                                                             .supportedStringMappings(Mapping.TEXT, Mapping.STRING, Mapping.TEXTSTRING)
+                                                                             .supportsCardinality(Cardinality.SINGLE)
+                                                                             .supportsCardinality(Cardinality.LIST)
+                                                                             .supportsCardinality(Cardinality.SET)
+                                                                             .build();
+
+    public NoOpIndexProvider(Configuration config) {
+    }
+
+    @Override
+    public void register(String store, String key, KeyInformation information, BaseTransaction tx) {
+    }
+
+    @Override
+    public void mutate(Map<String, Map<String, IndexMutation>> mutations, KeyInformation.IndexRetriever information, BaseTransaction tx) {
+    }
+
+    @Override
+    public void restore(Map<String, Map<String, List<IndexEntry>>> documents, KeyInformation.IndexRetriever information, BaseTransaction tx) {
+    }
+
+    @Override
+    public Stream<String> query(IndexQuery query, KeyInformation.IndexRetriever information, BaseTransaction tx) {
+        return Stream.empty();
+    }
+
+    @Override
+    public Stream<RawQuery.Result<String>> query(RawQuery query, KeyInformation.IndexRetriever information, BaseTransaction tx) {
+        return Stream.empty();
+    }
+
+    @Override
+    public Long totals(RawQuery query, KeyInformation.IndexRetriever information, BaseTransaction tx) {
+        return 0L;
+    }
+
+    @Override
+    public BaseTransactionConfigurable beginTransaction(BaseTransactionConfig config) {
+        return new NoOpTransaction(config);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void clearStorage() {
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public boolean supports(KeyInformation information, JanusGraphPredicate predicate) {
+        return true;
+    }
+
+    @Override
+    public boolean supports(KeyInformation information) {
+        return true;
+    }
+
+    @Override
+    public String mapKey2Field(String key, KeyInformation information) {
+        return key;
+    }
+
+    @Override
+    public IndexFeatures getFeatures() {
+        return FEATURES;
+    }
+
+    private static class NoOpTransaction implements BaseTransactionConfigurable {
+        private final BaseTransactionConfig config;
+
+        NoOpTransaction(BaseTransactionConfig config) {
+            this.config = config;
+        }
+
+        @Override
+        public BaseTransactionConfig getConfiguration() {
+            return config;
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+        }
+    }
+}
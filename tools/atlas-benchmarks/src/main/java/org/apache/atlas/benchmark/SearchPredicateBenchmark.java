@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark;
+
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.v2.AtlasEntityStream;
+import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.util.SearchPredicateUtil;
+import org.apache.commons.collections.Predicate;
+import org.apache.commons.collections.PredicateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.atlas.TestUtilsV2.COLUMN_TYPE;
+import static org.apache.atlas.TestUtilsV2.NAME;
+import static org.apache.atlas.repository.Constants.TYPE_NAME_PROPERTY_KEY;
+
+/**
+ * In-memory predicates evaluated by search processors on vertices returned by index/graph queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchPredicateBenchmark {
+    private static final int COLUMN_COUNT = 100;
+
+    private List<AtlasVertex> vertices;
+    private Predicate         eqPredicate;
+    private Predicate         containsPredicate;
+    private Predicate         compositePredicate;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkGraph           benchmarkGraph = BenchmarkGraph.get();
+        AtlasGraph               graph          = benchmarkGraph.getGraph();
+        AtlasTypeRegistry        typeRegistry   = benchmarkGraph.getTypeRegistry();
+        AtlasEntitiesWithExtInfo entities       = BenchmarkData.createTable("predicate_table", COLUMN_COUNT);
+
+        benchmarkGraph.createTypes(BenchmarkData.getTypesDef());
+
+        BenchmarkGraph.setUser();
+
+        EntityMutationResponse response = benchmarkGraph.getEntityStore().createOrUpdate(new AtlasEntityStream(entities), false);
+
+        vertices = new ArrayList<>();
+
+        for (AtlasEntityHeader header : response.getCreatedEntities()) {
+            vertices.add(AtlasGraphUtilsV2.findByGuid(graph, header.getGuid()));
+        }
+
+        AtlasEntityType columnType     = typeRegistry.getEntityTypeByName(COLUMN_TYPE);
+        String          namePropKey    = columnType.getAttribute(NAME).getVertexPropertyName();
+        String          typePropKey    = columnType.getAttribute("type").getVertexPropertyName();
+        Predicate       typeNameFilter = SearchPredicateUtil.getINPredicateGenerator().generatePredicate(TYPE_NAME_PROPERTY_KEY, columnType.getTypeAndAllSubTypes(), String.class);
+
+        eqPredicate        = SearchPredicateUtil.getEQPredicateGenerator().generatePredicate(namePropKey, "predicate_table_col42", String.class);
+        containsPredicate  = SearchPredicateUtil.getContainsPredicateGenerator().generatePredicate(namePropKey, "col4", String.class);
+        compositePredicate = PredicateUtils.allPredicate(new Predicate[] { typeNameFilter,
+                                                                           SearchPredicateUtil.getStartsWithPredicateGenerator().generatePredicate(namePropKey, "predicate_table_col", String.class),
+                                                                           SearchPredicateUtil.getEQPredicateGenerator().generatePredicate(typePropKey, "VARCHAR(32)", String.class) });
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkGraph.shutdown();
+    }
+
+    @Benchmark
+    public int evaluateEQ() {
+        return count(eqPredicate);
+    }
+
+    @Benchmark
+    public int evaluateContains() {
+        return count(containsPredicate);
+    }
+
+    @Benchmark
+    public int evaluateComposite() {
+        return count(compositePredicate);
+    }
+
+    private int count(Predicate predicate) {
+        int ret = 0;
+
+        for (AtlasVertex vertex : vertices) {
+            if (predicate.evaluate(vertex)) {
+                ret++;
+            }
+        }
+
+        return ret;
+    }
+}
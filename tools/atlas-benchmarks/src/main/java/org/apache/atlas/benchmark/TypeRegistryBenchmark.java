@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark;
+
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.atlas.TestUtilsV2.COLUMN_TYPE;
+import static org.apache.atlas.TestUtilsV2.DATABASE_TYPE;
+import static org.apache.atlas.TestUtilsV2.SUPER_TYPE_NAME;
+import static org.apache.atlas.TestUtilsV2.TABLE_TYPE;
+
+/**
+ * Type registry: resolving a set of type definitions (done on every typedef update and at startup) and type lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeRegistryBenchmark {
+    private AtlasTypesDef     typesDef;
+    private AtlasTypeRegistry typeRegistry;
+
+    @Setup
+    public void setup() throws AtlasBaseException {
+        typesDef     = BenchmarkData.getTypesDef();
+        typeRegistry = BenchmarkData.createTypeRegistry(typesDef);
+    }
+
+    @Benchmark
+    public AtlasTypeRegistry resolveTypes() throws AtlasBaseException {
+        return BenchmarkData.createTypeRegistry(typesDef);
+    }
+
+    @Benchmark
+    public void getEntityTypes(Blackhole blackhole) {
+        blackhole.consume(typeRegistry.getEntityTypeByName(DATABASE_TYPE));
+        blackhole.consume(typeRegistry.getEntityTypeByName(TABLE_TYPE));
+        blackhole.consume(typeRegistry.getEntityTypeByName(COLUMN_TYPE));
+    }
+
+    @Benchmark
+    public AtlasType getCollectionType() throws AtlasBaseException {
+        return typeRegistry.getType("array<" + TABLE_TYPE + ">");
+    }
+
+    @Benchmark
+    public boolean isSubTypeOf() {
+        AtlasEntityType tableType = typeRegistry.getEntityTypeByName(TABLE_TYPE);
+
+        return tableType.isSubTypeOf(SUPER_TYPE_NAME);
+    }
+}
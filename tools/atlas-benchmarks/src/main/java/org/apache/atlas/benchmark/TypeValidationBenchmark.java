@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark;
+
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.atlas.TestUtilsV2.TABLE_TYPE;
+
+/**
+ * Validation and normalization of entity attribute values, done for every entity in a create/update request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeValidationBenchmark {
+    @Param({ "10", "100" })
+    public int columnCount;
+
+    private AtlasEntityType tableType;
+    private AtlasEntity     table;
+
+    @Setup
+    public void setup() throws AtlasBaseException {
+        AtlasTypeRegistry        typeRegistry = BenchmarkData.createTypeRegistry(BenchmarkData.getTypesDef());
+        AtlasEntitiesWithExtInfo entities     = BenchmarkData.createTable("validation_table", columnCount);
+
+        tableType = typeRegistry.getEntityTypeByName(TABLE_TYPE);
+        table     = entities.getEntities().get(0);
+    }
+
+    @Benchmark
+    public List<String> validateValue() {
+        List<String> messages = new ArrayList<>();
+
+        if (!tableType.validateValue(table, table.getTypeName(), messages)) {
+            throw new IllegalStateException("validation failed: " + messages);
+        }
+
+        return messages;
+    }
+
+    // normalization is idempotent, so the same entity is normalized in every invocation
+    @Benchmark
+    public AtlasEntity normalizeAttributeValues() {
+        tableType.normalizeAttributeValues(table);
+
+        return table;
+    }
+}
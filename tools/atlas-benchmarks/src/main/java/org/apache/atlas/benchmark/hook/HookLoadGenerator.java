@@ -0,0 +1,259 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark.hook;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.benchmark.AtlasBenchmarkRunner;
+import org.apache.atlas.benchmark.BenchmarkGraph;
+import org.apache.atlas.benchmark.hook.HookMessageGenerator.Operation;
+import org.apache.atlas.kafka.EmbeddedKafkaServer;
+import org.apache.atlas.kafka.KafkaNotification;
+import org.apache.atlas.model.notification.HookNotification;
+import org.apache.atlas.notification.NotificationHookConsumer;
+import org.apache.atlas.notification.NotificationInterface.NotificationType;
+import org.apache.atlas.repository.converters.AtlasInstanceConverter;
+import org.apache.atlas.repository.store.bootstrap.AtlasTypeDefStoreInitializer;
+import org.apache.atlas.repository.store.graph.v2.BulkDeleteService;
+import org.apache.atlas.type.AtlasType;
+import org.apache.atlas.util.AtlasMetricsUtil;
+import org.apache.atlas.web.service.ServiceState;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of hook message ingestion: sends a generated stream of Hive hook messages to an embedded Kafka, and
+ * consumes them with NotificationHookConsumer into the benchmark graph (in-memory JanusGraph), with the types
+ * loaded from the models directory as in Atlas server. Reports throughput and the latency of each stage of
+ * ingestion - see HookLoadStats - on the console and in a JSON file.
+ *
+ * Usage: java -cp atlas-benchmarks.jar org.apache.atlas.benchmark.hook.HookLoadGenerator [options]; -h for options.
+ */
+public class HookLoadGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(HookLoadGenerator.class);
+
+    private static final int EXIT_CODE_SUCCESS = 0;
+    private static final int EXIT_CODE_FAILED  = 1;
+
+    private static final String DEFAULT_ATLAS_HOME     = "addons";
+    private static final String DEFAULT_RESULT_FILE    = "hook-load-results.json";
+    private static final int    DEFAULT_MESSAGES       = 1000;
+    private static final int    DEFAULT_WARMUP         = 100;
+    private static final int    DEFAULT_COLUMNS        = 20;
+    private static final int    DEFAULT_DATABASES      = 10;
+    private static final int    DEFAULT_TIMEOUT_SECS   = 600;
+    private static final String PROPERTY_ATLAS_HOME    = "atlas.home";
+    private static final String PROPERTY_KAFKA_DATA    = "atlas.kafka.data";
+
+    private final int    messageCount;
+    private final int    warmupCount;
+    private final double messagesPerSec;
+    private final long   timeoutMs;
+    private final String resultFile;
+
+    private final HookMessageGenerator generator;
+    private final HookLoadStats        stats;
+
+    public HookLoadGenerator(CommandLine cmd) {
+        int columnCount = Integer.parseInt(cmd.getOptionValue("c", Integer.toString(DEFAULT_COLUMNS)));
+        int dbCount     = Integer.parseInt(cmd.getOptionValue("d", Integer.toString(DEFAULT_DATABASES)));
+        long seed       = Long.parseLong(cmd.getOptionValue("s", "0"));
+        String mix      = cmd.getOptionValue("x", HookMessageGenerator.DEFAULT_MIX);
+
+        this.messageCount   = Integer.parseInt(cmd.getOptionValue("n", Integer.toString(DEFAULT_MESSAGES)));
+        this.warmupCount    = Math.min(messageCount, Integer.parseInt(cmd.getOptionValue("w", Integer.toString(DEFAULT_WARMUP))));
+        this.messagesPerSec = Double.parseDouble(cmd.getOptionValue("r", "0"));
+        this.timeoutMs      = TimeUnit.SECONDS.toMillis(Long.parseLong(cmd.getOptionValue("t", Integer.toString(DEFAULT_TIMEOUT_SECS))));
+        this.resultFile     = cmd.getOptionValue("o", DEFAULT_RESULT_FILE);
+        this.generator      = new HookMessageGenerator(mix, columnCount, dbCount, seed);
+        this.stats          = new HookLoadStats(messageCount, warmupCount);
+    }
+
+    public static void main(String[] args) {
+        int exitCode = EXIT_CODE_FAILED;
+
+        try {
+            CommandLine cmd = getCommandLine(args);
+
+            if (cmd == null) {
+                exitCode = EXIT_CODE_SUCCESS;
+            } else {
+                System.setProperty(PROPERTY_ATLAS_HOME, cmd.getOptionValue("a", System.getProperty(PROPERTY_ATLAS_HOME, DEFAULT_ATLAS_HOME)));
+
+                AtlasBenchmarkRunner.getAtlasDataDirectory();
+
+                if (new HookLoadGenerator(cmd).run()) {
+                    exitCode = EXIT_CODE_SUCCESS;
+                }
+            }
+        } catch (Exception e) {
+            LOG.error("Failed!", e);
+
+            System.out.println("Failed: " + e.getMessage());
+        }
+
+        System.exit(exitCode);
+    }
+
+    /**
+     * @return true if all messages were processed before the timeout
+     */
+    public boolean run() throws Exception {
+        Configuration conf = ApplicationProperties.get();
+
+        conf.setProperty(EmbeddedKafkaServer.PROPERTY_EMBEDDED, true);
+
+        // start with an empty topic, as the graph is empty too
+        FileUtils.deleteQuietly(new File(conf.getString(PROPERTY_KAFKA_DATA)));
+
+        EmbeddedKafkaServer      kafkaServer  = new EmbeddedKafkaServer(conf);
+        KafkaNotification        notification = new KafkaNotification(conf);
+        NotificationHookConsumer hookConsumer = null;
+        boolean                  ret;
+
+        kafkaServer.start();
+
+        try {
+            BenchmarkGraph   graph       = BenchmarkGraph.get();
+            AtlasMetricsUtil metricsUtil = graph.getInstance(AtlasMetricsUtil.class);
+
+            new AtlasTypeDefStoreInitializer(graph.getTypeDefStore(), graph.getTypeRegistry(), graph.getGraph(), conf).init();
+
+            hookConsumer = new NotificationHookConsumer(new InstrumentedNotification(notification, stats), graph.getEntityStore(), new ServiceState(conf),
+                                                        graph.getInstance(AtlasInstanceConverter.class), graph.getTypeRegistry(), metricsUtil,
+                                                        graph.getInstance(BulkDeleteService.class));
+
+            hookConsumer.start();
+
+            display("Sending %d messages (%d for warmup) at %s", messageCount, warmupCount, messagesPerSec > 0 ? (messagesPerSec + " messages/sec") : "max rate");
+
+            produce(notification);
+
+            display("Sent %d messages; waiting for the consumer to process them", messageCount);
+
+            ret = stats.awaitCompletion(timeoutMs);
+
+            if (!ret) {
+                display("Timed out waiting for the consumer: %d messages were not processed", stats.getPendingCount());
+            }
+
+            report(metricsUtil);
+        } finally {
+            if (hookConsumer != null) {
+                hookConsumer.stop();
+            }
+
+            notification.close();
+            kafkaServer.stop();
+
+            BenchmarkGraph.shutdown();
+        }
+
+        return ret;
+    }
+
+    private void produce(KafkaNotification notification) throws Exception {
+        long startNanos = System.nanoTime();
+
+        for (int seq = 0; seq < messageCount; seq++) {
+            if (messagesPerSec > 0) {
+                long waitNanos = startNanos + (long) (seq * TimeUnit.SECONDS.toNanos(1) / messagesPerSec) - System.nanoTime();
+
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            }
+
+            Operation        operation = generator.nextOperation();
+            HookNotification message   = generator.next(operation);
+
+            stats.onSendStart(seq, operation, System.nanoTime());
+
+            notification.send(NotificationType.HOOK, message);
+
+            stats.onSendEnd(seq, System.nanoTime());
+        }
+    }
+
+    private void report(AtlasMetricsUtil metricsUtil) throws Exception {
+        Map<String, Object> summary = stats.getSummary();
+        Map<String, Object> result  = new LinkedHashMap<>(summary);
+
+        result.put("atlasMetrics", metricsUtil.getStats());
+
+        FileUtils.writeStringToFile(new File(resultFile), AtlasType.toJson(result), StandardCharsets.UTF_8);
+
+        display("Throughput: %s", AtlasType.toJson(summary.get("throughput")));
+
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) summary.get("latency")).entrySet()) {
+            display("Latency (%s): %s", entry.getKey(), AtlasType.toJson(entry.getValue()));
+        }
+
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) summary.get("processLatencyByOperation")).entrySet()) {
+            display("Process latency (%s): %s", entry.getKey(), AtlasType.toJson(entry.getValue()));
+        }
+
+        display("Results written to %s", resultFile);
+    }
+
+    private static CommandLine getCommandLine(String[] args) throws ParseException {
+        Options options = new Options();
+
+        options.addOption("n", "messages", true, "Number of messages to send (default: " + DEFAULT_MESSAGES + ").");
+        options.addOption("w", "warmup", true, "Number of initial messages excluded from the results (default: " + DEFAULT_WARMUP + ").");
+        options.addOption("x", "mix", true, "Operations to generate, with relative weights (default: " + HookMessageGenerator.DEFAULT_MIX + ").");
+        options.addOption("c", "columns", true, "Number of columns in each table (default: " + DEFAULT_COLUMNS + ").");
+        options.addOption("d", "databases", true, "Number of databases the tables are created in (default: " + DEFAULT_DATABASES + ").");
+        options.addOption("r", "rate", true, "Messages to send per second; 0 to send as fast as possible (default: 0).");
+        options.addOption("s", "seed", true, "Seed for the random choice of operations and tables (default: 0).");
+        options.addOption("t", "timeout", true, "Seconds to wait for the consumer to process all messages (default: " + DEFAULT_TIMEOUT_SECS + ").");
+        options.addOption("o", "output", true, "File to write the results to, in JSON (default: " + DEFAULT_RESULT_FILE + ").");
+        options.addOption("a", "atlasHome", true, "Directory with the type definitions to load, in its models sub-directory (default: " + DEFAULT_ATLAS_HOME + ").");
+        options.addOption("h", "help", false, "Print this help.");
+
+        CommandLine ret = new DefaultParser().parse(options, args);
+
+        if (ret.hasOption("h")) {
+            new HelpFormatter().printHelp(HookLoadGenerator.class.getName(), options);
+
+            ret = null;
+        }
+
+        return ret;
+    }
+
+    private static void display(String format, Object... args) {
+        String message = String.format(format, args);
+
+        LOG.info(message);
+
+        System.out.println(message);
+    }
+}
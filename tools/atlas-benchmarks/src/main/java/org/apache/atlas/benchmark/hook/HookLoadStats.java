@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark.hook;
+
+import org.apache.atlas.benchmark.hook.HookMessageGenerator.Operation;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timings of hook messages through the stages of ingestion:
+ *  - produce:   hook side - serialize and send to Kafka, until acknowledged
+ *  - wait:      from Kafka acknowledgement until the consumer received the message (fetch and deserialization)
+ *  - process:   NotificationHookConsumer - preprocess, store entities and commit the offset
+ *  - endToEnd:  from the start of produce to the end of process
+ *
+ * Messages are identified by sequence number: the n-th message received by consumers is the n-th message sent,
+ * as hook messages are sent in order to a single-partition topic. The first warmupCount messages are excluded.
+ */
+public class HookLoadStats {
+    private static final double NANOS_PER_SEC = 1000d * 1000d * 1000d;
+
+    private final int                             messageCount;
+    private final int                             warmupCount;
+    private final Operation[]                     operations;
+    private final AtomicLongArray                 sendStartNanos;
+    private final AtomicLongArray                 sendEndNanos;
+    private final AtomicInteger                   receivedCount = new AtomicInteger();
+    private final CountDownLatch                  pendingCount;
+    private final LatencyRecorder                 produce       = new LatencyRecorder();
+    private final LatencyRecorder                 wait          = new LatencyRecorder();
+    private final LatencyRecorder                 process       = new LatencyRecorder();
+    private final LatencyRecorder                 endToEnd      = new LatencyRecorder();
+    private final Map<Operation, LatencyRecorder> processByOp   = new EnumMap<>(Operation.class);
+    private volatile long                         firstReceiveNanos;
+    private volatile long                         lastCompleteNanos;
+
+    public HookLoadStats(int messageCount, int warmupCount) {
+        this.messageCount   = messageCount;
+        this.warmupCount    = warmupCount;
+        this.operations     = new Operation[messageCount];
+        this.sendStartNanos = new AtomicLongArray(messageCount);
+        this.sendEndNanos   = new AtomicLongArray(messageCount);
+        this.pendingCount   = new CountDownLatch(messageCount);
+
+        for (Operation operation : Operation.values()) {
+            processByOp.put(operation, new LatencyRecorder());
+        }
+    }
+
+    public void onSendStart(int seq, Operation operation, long nanos) {
+        operations[seq] = operation;
+
+        sendStartNanos.set(seq, nanos);
+    }
+
+    public void onSendEnd(int seq, long nanos) {
+        sendEndNanos.set(seq, nanos);
+
+        if (seq >= warmupCount) {
+            produce.record(nanos - sendStartNanos.get(seq));
+        }
+    }
+
+    /**
+     * @return sequence number of the received message; -1 if more messages are received than were sent
+     */
+    public int onReceived(long nanos) {
+        int ret = receivedCount.getAndIncrement();
+
+        if (ret == warmupCount) {
+            firstReceiveNanos = nanos;
+        }
+
+        return ret < messageCount ? ret : -1;
+    }
+
+    public void onProcessed(int seq, long receiveNanos, long processStartNanos, long endNanos) {
+        if (seq < 0) {
+            return;
+        }
+
+        if (seq >= warmupCount) {
+            long sendEnd = sendEndNanos.get(seq);
+
+            if (sendEnd > 0) {
+                wait.record(Math.max(0, receiveNanos - sendEnd));
+            }
+
+            process.record(endNanos - processStartNanos);
+            endToEnd.record(endNanos - sendStartNanos.get(seq));
+
+            if (operations[seq] != null) {
+                processByOp.get(operations[seq]).record(endNanos - processStartNanos);
+            }
+        }
+
+        lastCompleteNanos = endNanos;
+
+        pendingCount.countDown();
+    }
+
+    public boolean awaitCompletion(long timeoutMs) throws InterruptedException {
+        return pendingCount.await(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    public long getPendingCount() {
+        return pendingCount.getCount();
+    }
+
+    public Map<String, Object> getSummary() {
+        Map<String, Object> ret            = new LinkedHashMap<>();
+        Map<String, Object> throughput     = new LinkedHashMap<>();
+        Map<String, Object> latency        = new LinkedHashMap<>();
+        Map<String, Object> processLatency = new LinkedHashMap<>();
+        int                 measuredCount  = messageCount - warmupCount;
+
+        if (measuredCount > 0) {
+            throughput.put("produceMsgsPerSec", rate(produce.getCount(), sendStartNanos.get(warmupCount), sendEndNanos.get(messageCount - 1)));
+            throughput.put("consumeMsgsPerSec", rate(process.getCount(), firstReceiveNanos, lastCompleteNanos));
+            throughput.put("endToEndMsgsPerSec", rate(process.getCount(), sendStartNanos.get(warmupCount), lastCompleteNanos));
+        }
+
+        latency.put("produce", produce.getSummary());
+        latency.put("wait", wait.getSummary());
+        latency.put("process", process.getSummary());
+        latency.put("endToEnd", endToEnd.getSummary());
+
+        for (Map.Entry<Operation, LatencyRecorder> entry : processByOp.entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                processLatency.put(entry.getKey().getShortName(), entry.getValue().getSummary());
+            }
+        }
+
+        ret.put("messages", messageCount);
+        ret.put("warmupMessages", warmupCount);
+        ret.put("unprocessedMessages", pendingCount.getCount());
+        ret.put("throughput", throughput);
+        ret.put("latency", latency);
+        ret.put("processLatencyByOperation", processLatency);
+
+        return ret;
+    }
+
+    private static double rate(int count, long startNanos, long endNanos) {
+        return (startNanos > 0 && endNanos > startNanos) ? Math.round(count * NANOS_PER_SEC / (endNanos - startNanos) * 10) / 10d : 0;
+    }
+}
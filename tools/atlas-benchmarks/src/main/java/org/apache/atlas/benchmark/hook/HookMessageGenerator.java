@@ -0,0 +1,371 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark.hook;
+
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
+import org.apache.atlas.model.instance.AtlasObjectId;
+import org.apache.atlas.model.instance.AtlasRelatedObjectId;
+import org.apache.atlas.model.notification.HookNotification;
+import org.apache.atlas.model.notification.HookNotification.EntityCreateRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityDeleteRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityPartialUpdateRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityUpdateRequestV2;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a stream of hook notifications shaped like those sent by the Hive hook, with a configurable mix of
+ * operations. Tables created by earlier messages are the targets of later CTAS/alter/rename/drop messages, so the
+ * stream must be consumed in order; operations that need an existing table create one when there is none.
+ */
+public class HookMessageGenerator {
+    public static final String DEFAULT_MIX = "create=40,ctas=20,alter=20,rename=10,drop=10";
+
+    private static final String CLUSTER_NAME        = "loadgen";
+    private static final String USER                = "loadgen";
+    private static final String ATTR_QUALIFIED_NAME = "qualifiedName";
+    private static final String ATTR_NAME           = "name";
+
+    public enum Operation {
+        CREATE("create"), CTAS("ctas"), ALTER("alter"), RENAME("rename"), DROP("drop");
+
+        private final String shortName;
+
+        Operation(String shortName) {
+            this.shortName = shortName;
+        }
+
+        public String getShortName() {
+            return shortName;
+        }
+
+        public static Operation fromShortName(String shortName) {
+            for (Operation operation : values()) {
+                if (operation.shortName.equalsIgnoreCase(shortName)) {
+                    return operation;
+                }
+            }
+
+            throw new IllegalArgumentException("unknown operation: " + shortName + "; valid operations: create, ctas, alter, rename, drop");
+        }
+    }
+
+    private final Map<Operation, Integer> mix;
+    private final int                     totalWeight;
+    private final int                     columnCount;
+    private final int                     dbCount;
+    private final Random                  random;
+    private final List<TableInfo>         tables = new ArrayList<>();
+    private       long                    nextId = 0;
+
+    public HookMessageGenerator(String mix, int columnCount, int dbCount, long seed) {
+        this.mix         = parseMix(mix);
+        this.columnCount = columnCount;
+        this.dbCount     = dbCount;
+        this.random      = new Random(seed);
+
+        int weight = 0;
+
+        for (Integer opWeight : this.mix.values()) {
+            weight += opWeight;
+        }
+
+        this.totalWeight = weight;
+    }
+
+    public static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> ret = new EnumMap<>(Operation.class);
+
+        for (String entry : StringUtils.split(mix, ',')) {
+            String[] nameWeight = StringUtils.split(entry.trim(), '=');
+
+            if (nameWeight.length != 2) {
+                throw new IllegalArgumentException("invalid mix entry: " + entry + "; expected format: operation=weight");
+            }
+
+            int weight = Integer.parseInt(nameWeight[1].trim());
+
+            if (weight > 0) {
+                ret.put(Operation.fromShortName(nameWeight[0].trim()), weight);
+            }
+        }
+
+        if (ret.isEmpty()) {
+            throw new IllegalArgumentException("mix has no operation with weight > 0: " + mix);
+        }
+
+        return ret;
+    }
+
+    /**
+     * @return the operation picked as per the mix; the message for it is available from next()
+     */
+    public Operation nextOperation() {
+        int       value = random.nextInt(totalWeight);
+        Operation ret   = null;
+
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            ret    = entry.getKey();
+            value -= entry.getValue();
+
+            if (value < 0) {
+                break;
+            }
+        }
+
+        return (ret != Operation.CREATE && tables.isEmpty()) ? Operation.CREATE : ret;
+    }
+
+    public HookNotification next(Operation operation) {
+        switch (operation) {
+            case CTAS:
+                return ctas();
+
+            case ALTER:
+                return alterTable();
+
+            case RENAME:
+                return renameTable();
+
+            case DROP:
+                return dropTable();
+
+            case CREATE:
+            default:
+                return createTable();
+        }
+    }
+
+    private HookNotification createTable() {
+        TableInfo                table = newTable();
+        AtlasEntitiesWithExtInfo ret   = new AtlasEntitiesWithExtInfo();
+
+        addTableEntities(ret, table);
+
+        tables.add(table);
+
+        return new EntityCreateRequestV2(USER, ret);
+    }
+
+    // create table target as select * from source: the target table, a process and column-lineage for each column
+    private HookNotification ctas() {
+        TableInfo                source  = randomTable();
+        TableInfo                target  = newTable();
+        AtlasEntitiesWithExtInfo ret     = new AtlasEntitiesWithExtInfo();
+        List<AtlasEntity>        columns = addTableEntities(ret, target);
+        String                   query   = "create table " + target.name + " as select * from " + source.name;
+        long                     now     = System.currentTimeMillis();
+        AtlasEntity              process = new AtlasEntity("hive_process");
+
+        process.setAttribute(ATTR_QUALIFIED_NAME, target.qualifiedName + ":" + now);
+        process.setAttribute(ATTR_NAME, query);
+        process.setAttribute("inputs", Collections.singletonList(getObjectId("hive_table", source.qualifiedName)));
+        process.setAttribute("outputs", Collections.singletonList(getObjectId("hive_table", target.qualifiedName)));
+        process.setAttribute("operationType", "CREATETABLE_AS_SELECT");
+        process.setAttribute("queryText", query);
+        process.setAttribute("queryPlan", "Not Supported");
+        process.setAttribute("queryId", "hive_" + now + "_" + target.name);
+        process.setAttribute("userName", USER);
+        process.setAttribute("startTime", new Date(now));
+        process.setAttribute("endTime", new Date(now));
+        process.setAttribute("clusterName", CLUSTER_NAME);
+
+        ret.addEntity(process);
+
+        for (int i = 0; i < columns.size(); i++) {
+            AtlasEntity column  = columns.get(i);
+            AtlasEntity lineage = new AtlasEntity("hive_column_lineage");
+
+            lineage.setAttribute(ATTR_QUALIFIED_NAME, process.getAttribute(ATTR_QUALIFIED_NAME) + ":" + column.getAttribute(ATTR_NAME));
+            lineage.setAttribute(ATTR_NAME, lineage.getAttribute(ATTR_QUALIFIED_NAME));
+            lineage.setAttribute("inputs", Collections.singletonList(getObjectId("hive_column", source.getColumnQualifiedName(i % source.columnCount))));
+            lineage.setAttribute("outputs", Collections.singletonList(getObjectId("hive_column", (String) column.getAttribute(ATTR_QUALIFIED_NAME))));
+            lineage.setAttribute("depenendencyType", "SIMPLE");
+            lineage.setRelationshipAttribute("query", new AtlasRelatedObjectId(getObjectId("hive_process", (String) process.getAttribute(ATTR_QUALIFIED_NAME)), "hive_process_column_lineage"));
+
+            ret.addEntity(lineage);
+        }
+
+        tables.add(target);
+
+        return new EntityCreateRequestV2(USER, ret);
+    }
+
+    // alter table set tblproperties: the hook sends the full table, with its columns
+    private HookNotification alterTable() {
+        TableInfo                table = randomTable();
+        AtlasEntitiesWithExtInfo ret   = new AtlasEntitiesWithExtInfo();
+
+        table.alterCount++;
+
+        addTableEntities(ret, table);
+
+        return new EntityUpdateRequestV2(USER, ret);
+    }
+
+    private HookNotification renameTable() {
+        TableInfo   table            = randomTable();
+        String      oldQualifiedName = table.qualifiedName;
+        AtlasEntity renamed          = new AtlasEntity("hive_table");
+
+        table.rename(table.name + "_r" + (nextId++));
+
+        renamed.setAttribute(ATTR_QUALIFIED_NAME, table.qualifiedName);
+        renamed.setAttribute(ATTR_NAME, table.name);
+
+        return new EntityPartialUpdateRequestV2(USER, getObjectId("hive_table", oldQualifiedName), new AtlasEntityWithExtInfo(renamed));
+    }
+
+    private HookNotification dropTable() {
+        TableInfo table = tables.remove(random.nextInt(tables.size()));
+
+        return new EntityDeleteRequestV2(USER, Collections.singletonList(getObjectId("hive_table", table.qualifiedName)));
+    }
+
+    private TableInfo newTable() {
+        long id = nextId++;
+
+        return new TableInfo("loadgen_db" + (id % dbCount), "loadgen_table" + id, columnCount);
+    }
+
+    private TableInfo randomTable() {
+        return tables.get(random.nextInt(tables.size()));
+    }
+
+    // adds the table with its storage-descriptor and columns, and its database as a referred entity
+    private List<AtlasEntity> addTableEntities(AtlasEntitiesWithExtInfo entities, TableInfo table) {
+        AtlasEntity       db      = new AtlasEntity("hive_db");
+        AtlasEntity       tbl     = new AtlasEntity("hive_table");
+        AtlasEntity       sd      = new AtlasEntity("hive_storagedesc");
+        List<AtlasEntity> columns = new ArrayList<>(table.columnCount);
+        long              now     = System.currentTimeMillis();
+
+        db.setAttribute(ATTR_QUALIFIED_NAME, table.dbName + "@" + CLUSTER_NAME);
+        db.setAttribute(ATTR_NAME, table.dbName);
+        db.setAttribute("clusterName", CLUSTER_NAME);
+        db.setAttribute("owner", USER);
+        db.setAttribute("location", "hdfs://localhost:8020/warehouse/" + table.dbName + ".db");
+
+        Map<String, String> parameters = new HashMap<>();
+
+        parameters.put("transient_lastDdlTime", Long.toString(now / 1000));
+        parameters.put("numFiles", Integer.toString(table.alterCount));
+
+        tbl.setAttribute(ATTR_QUALIFIED_NAME, table.qualifiedName);
+        tbl.setAttribute(ATTR_NAME, table.name);
+        tbl.setAttribute("owner", USER);
+        tbl.setAttribute("createTime", new Date(table.createTime));
+        tbl.setAttribute("lastAccessTime", new Date(now));
+        tbl.setAttribute("retention", 0);
+        tbl.setAttribute("parameters", parameters);
+        tbl.setAttribute("tableType", "MANAGED_TABLE");
+        tbl.setAttribute("temporary", false);
+        tbl.setRelationshipAttribute("db", new AtlasRelatedObjectId(getObjectId("hive_db", (String) db.getAttribute(ATTR_QUALIFIED_NAME)), "hive_table_db"));
+
+        sd.setAttribute(ATTR_QUALIFIED_NAME, table.qualifiedName + "_storage");
+        sd.setAttribute("location", db.getAttribute("location") + "/" + table.name);
+        sd.setAttribute("inputFormat", "org.apache.hadoop.mapred.TextInputFormat");
+        sd.setAttribute("outputFormat", "org.apache.hadoop.hive.ql.io.HiveIgnoreKeyTextOutputFormat");
+        sd.setAttribute("compressed", false);
+        sd.setAttribute("numBuckets", -1);
+        sd.setRelationshipAttribute("table", new AtlasRelatedObjectId(getObjectId(tbl), "hive_table_storagedesc"));
+
+        for (int i = 0; i < table.columnCount; i++) {
+            AtlasEntity column = new AtlasEntity("hive_column");
+
+            column.setAttribute(ATTR_QUALIFIED_NAME, table.getColumnQualifiedName(i));
+            column.setAttribute(ATTR_NAME, "col" + i);
+            column.setAttribute("type", (i % 3 == 0) ? "int" : "string");
+            column.setAttribute("position", i);
+            column.setAttribute("owner", USER);
+            column.setRelationshipAttribute("table", new AtlasRelatedObjectId(getObjectId(tbl), "hive_table_columns"));
+
+            columns.add(column);
+        }
+
+        tbl.setRelationshipAttribute("sd", new AtlasRelatedObjectId(getObjectId(sd), "hive_table_storagedesc"));
+        tbl.setRelationshipAttribute("columns", toRelatedObjectIds(columns, "hive_table_columns"));
+
+        entities.addEntity(tbl);
+        entities.addEntity(sd);
+
+        for (AtlasEntity column : columns) {
+            entities.addEntity(column);
+        }
+
+        entities.addReferredEntity(db);
+
+        return columns;
+    }
+
+    private static AtlasObjectId getObjectId(AtlasEntity entity) {
+        return new AtlasObjectId(entity.getGuid(), entity.getTypeName(), Collections.singletonMap(ATTR_QUALIFIED_NAME, entity.getAttribute(ATTR_QUALIFIED_NAME)));
+    }
+
+    private static AtlasObjectId getObjectId(String typeName, String qualifiedName) {
+        return new AtlasObjectId(typeName, ATTR_QUALIFIED_NAME, qualifiedName);
+    }
+
+    private static List<AtlasRelatedObjectId> toRelatedObjectIds(List<AtlasEntity> entities, String relationshipType) {
+        List<AtlasRelatedObjectId> ret = new ArrayList<>(entities.size());
+
+        for (AtlasEntity entity : entities) {
+            ret.add(new AtlasRelatedObjectId(getObjectId(entity), relationshipType));
+        }
+
+        return ret;
+    }
+
+    private static class TableInfo {
+        final String dbName;
+        final int    columnCount;
+        final long   createTime;
+        final String columnPrefix; // columns keep the qualifiedName they were created with, even after table rename
+        String       name;
+        String       qualifiedName;
+        int          alterCount = 0;
+
+        TableInfo(String dbName, String name, int columnCount) {
+            this.dbName       = dbName;
+            this.columnCount  = columnCount;
+            this.createTime   = System.currentTimeMillis();
+            this.columnPrefix = dbName + "." + name + ".";
+
+            rename(name);
+        }
+
+        void rename(String name) {
+            this.name          = name;
+            this.qualifiedName = dbName + "." + name + "@" + CLUSTER_NAME;
+        }
+
+        String getColumnQualifiedName(int idx) {
+            return columnPrefix + "col" + idx + "@" + CLUSTER_NAME;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark.hook;
+
+import org.apache.atlas.kafka.AtlasKafkaMessage;
+import org.apache.atlas.notification.NotificationConsumer;
+import org.apache.atlas.notification.NotificationException;
+import org.apache.atlas.notification.NotificationInterface;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * NotificationInterface given to NotificationHookConsumer, to time the messages received and committed by its
+ * consumers. A message is processed when its offset, or a later one, is committed: the hook consumer commits after
+ * each message, except for messages that failed after all retries - these complete with the next commit.
+ */
+public class InstrumentedNotification implements NotificationInterface {
+    private final NotificationInterface delegate;
+    private final HookLoadStats         stats;
+
+    public InstrumentedNotification(NotificationInterface delegate, HookLoadStats stats) {
+        this.delegate = delegate;
+        this.stats    = stats;
+    }
+
+    @Override
+    public void setCurrentUser(String user) {
+        delegate.setCurrentUser(user);
+    }
+
+    @Override
+    public <T> List<NotificationConsumer<T>> createConsumers(NotificationType notificationType, int numConsumers) {
+        List<NotificationConsumer<T>> consumers = delegate.createConsumers(notificationType, numConsumers);
+        List<NotificationConsumer<T>> ret       = new ArrayList<>(consumers.size());
+
+        for (NotificationConsumer<T> consumer : consumers) {
+            ret.add(new InstrumentedConsumer<>(consumer));
+        }
+
+        return ret;
+    }
+
+    @Override
+    public <T> void send(NotificationType type, T... messages) throws NotificationException {
+        delegate.send(type, messages);
+    }
+
+    @Override
+    public <T> void send(NotificationType type, List<T> messages) throws NotificationException {
+        delegate.send(type, messages);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    // used by a single consumer thread
+    private class InstrumentedConsumer<T> implements NotificationConsumer<T> {
+        private final NotificationConsumer<T> consumer;
+        private final List<ReceivedMessage>   received = new LinkedList<>();
+        private       long                    lastProcessedNanos;
+
+        InstrumentedConsumer(NotificationConsumer<T> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void commit(TopicPartition partition, long offset) {
+            consumer.commit(partition, offset);
+
+            long now = System.nanoTime();
+
+            for (Iterator<ReceivedMessage> iter = received.iterator(); iter.hasNext(); ) {
+                ReceivedMessage msg = iter.next();
+
+                if (msg.partition.equals(partition) && msg.offset < offset) {
+                    iter.remove();
+
+                    stats.onProcessed(msg.seq, msg.receiveNanos, Math.max(msg.receiveNanos, lastProcessedNanos), now);
+                }
+            }
+
+            lastProcessedNanos = now;
+        }
+
+        @Override
+        public void close() {
+            consumer.close();
+        }
+
+        @Override
+        public void wakeup() {
+            consumer.wakeup();
+        }
+
+        @Override
+        public List<AtlasKafkaMessage<T>> receive() {
+            return onReceive(consumer.receive());
+        }
+
+        @Override
+        public List<AtlasKafkaMessage<T>> receive(long timeoutMilliSeconds) {
+            return onReceive(consumer.receive(timeoutMilliSeconds));
+        }
+
+        private List<AtlasKafkaMessage<T>> onReceive(List<AtlasKafkaMessage<T>> messages) {
+            if (messages != null && !messages.isEmpty()) {
+                long now = System.nanoTime();
+
+                for (AtlasKafkaMessage<T> message : messages) {
+                    received.add(new ReceivedMessage(stats.onReceived(now), message.getTopicPartition(), message.getOffset(), now));
+                }
+            }
+
+            return messages;
+        }
+    }
+
+    private static class ReceivedMessage {
+        final int            seq;
+        final TopicPartition partition;
+        final long           offset;
+        final long           receiveNanos;
+
+        ReceivedMessage(int seq, TopicPartition partition, long offset, long receiveNanos) {
+            this.seq          = seq;
+            this.partition    = partition;
+            this.offset       = offset;
+            this.receiveNanos = receiveNanos;
+        }
+    }
+}
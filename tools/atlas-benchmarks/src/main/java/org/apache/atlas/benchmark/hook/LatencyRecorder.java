@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.benchmark.hook;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records latency samples, in nanoseconds, and summarizes them as percentiles in milliseconds.
+ * All samples are kept, which is fine for the message counts of a load test.
+ */
+public class LatencyRecorder {
+    private static final double NANOS_PER_MS = 1000d * 1000d;
+
+    private long[] samples = new long[1024];
+    private int    count   = 0;
+
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+
+        samples[count++] = nanos;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public Map<String, Object> getSummary() {
+        final long[] sorted;
+
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, count);
+        }
+
+        Arrays.sort(sorted);
+
+        Map<String, Object> ret = new LinkedHashMap<>();
+
+        ret.put("count", sorted.length);
+
+        if (sorted.length > 0) {
+            long total = 0;
+
+            for (long sample : sorted) {
+                total += sample;
+            }
+
+            ret.put("minMs", toMs(sorted[0]));
+            ret.put("meanMs", toMs(total / sorted.length));
+            ret.put("p50Ms", toMs(percentile(sorted, 50)));
+            ret.put("p90Ms", toMs(percentile(sorted, 90)));
+            ret.put("p95Ms", toMs(percentile(sorted, 95)));
+            ret.put("p99Ms", toMs(percentile(sorted, 99)));
+            ret.put("maxMs", toMs(sorted[sorted.length - 1]));
+        }
+
+        return ret;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int idx = (int) Math.ceil(percentile / 100d * sorted.length) - 1;
+
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+
+    private static double toMs(long nanos) {
+        return Math.round(nanos / NANOS_PER_MS * 1000d) / 1000d;
+    }
+}
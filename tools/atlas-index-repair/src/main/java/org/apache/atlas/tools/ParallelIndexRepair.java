@@ -0,0 +1,537 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.tools;
+
+import org.apache.atlas.repository.Constants;
+import org.apache.commons.lang.StringUtils;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.janusgraph.core.JanusGraphEdge;
+import org.janusgraph.core.JanusGraphTransaction;
+import org.janusgraph.core.JanusGraphVertex;
+import org.janusgraph.core.schema.JanusGraphIndex;
+import org.janusgraph.diskstorage.BackendTransaction;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.indexing.IndexEntry;
+import org.janusgraph.graphdb.database.IndexSerializer;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.database.management.ManagementSystem;
+import org.janusgraph.graphdb.idmanagement.IDManager;
+import org.janusgraph.graphdb.internal.ElementCategory;
+import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
+import org.janusgraph.graphdb.types.MixedIndexType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reindexes vertices, and their outgoing edges, into the mixed indexes using multiple worker threads.
+ *
+ * Vertices to reindex are read either by scanning all vertices of the graph or from a file having one GUID per line,
+ * and are handed to the workers in batches. Each worker loads the vertices of a batch in its own transaction and
+ * pushes the documents to the index backend whenever maxDocsPerFlush documents are accumulated, and at the end of
+ * the batch. Progress is recorded in a checkpoint file after every batch, so that a failed/killed run can be resumed
+ * by running the tool again with the same checkpoint file; the checkpoint file is deleted once the run completes.
+ *
+ * A scan of all vertices is resumed from the last checkpointed vertex-id only with storage backends that return keys in
+ * order, like HBase and BerkeleyDB. Other backends, like Cassandra with a hash partitioner, return vertices in an order
+ * that a vertex-id can't be compared against; with these backends the scan restarts from the first vertex.
+ */
+public class ParallelIndexRepair {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelIndexRepair.class);
+
+    public static final int    DEFAULT_BATCH_SIZE          = 100;
+    public static final int    DEFAULT_MAX_DOCS_PER_FLUSH  = 1000;
+    public static final String DEFAULT_CHECKPOINT_FILE     = "atlas-index-repair.checkpoint";
+
+    private static final int    MAX_TRIES_ON_FAILURE       = 3;
+    private static final long   REPORT_INTERVAL_SECONDS    = 30;
+    private static final String SOURCE_ALL_VERTICES        = "ALL_VERTICES";
+    private static final String CHECKPOINT_SOURCE          = "source";
+    private static final String CHECKPOINT_LAST_VERTEX_ID  = "lastVertexId";
+    private static final String CHECKPOINT_PROCESSED_LINES = "processedLines";
+    private static final String CHECKPOINT_VERTEX_COUNT    = "vertexCount";
+    private static final String CHECKPOINT_DOCUMENT_COUNT  = "documentCount";
+
+    private final StandardJanusGraph graph;
+    private final String[]           indexNames;
+    private final int                numWorkers;
+    private final int                batchSize;
+    private final int                maxDocsPerFlush;
+    private final File               checkpointFile;
+    private final AtomicLong         vertexCount       = new AtomicLong();
+    private final AtomicLong         documentCount     = new AtomicLong();
+    private final AtomicLong         failedBatchCount  = new AtomicLong();
+    private final TreeMap<Long, Batch> completedBatches = new TreeMap<>();
+    private       long               nextBatchToCheckpoint = 0;
+    private       boolean            isCheckpointFrozen    = false;
+    private       boolean            isScanResumable       = false;
+    private       String             source;
+    private       long               startTime;
+    private       long               resumedVertexCount;
+    private       long               resumedDocumentCount;
+
+    public ParallelIndexRepair(StandardJanusGraph graph, String[] indexNames, int numWorkers, int batchSize, int maxDocsPerFlush, String checkpointFile) {
+        this.graph           = graph;
+        this.indexNames      = indexNames;
+        this.numWorkers      = numWorkers > 0 ? numWorkers : 1;
+        this.batchSize       = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        this.maxDocsPerFlush = maxDocsPerFlush > 0 ? maxDocsPerFlush : DEFAULT_MAX_DOCS_PER_FLUSH;
+        this.checkpointFile  = new File(StringUtils.isEmpty(checkpointFile) ? DEFAULT_CHECKPOINT_FILE : checkpointFile);
+    }
+
+    /**
+     * Reindexes all vertices in the graph.
+     * @return true if all batches were reindexed successfully
+     */
+    public boolean repairAll() throws Exception {
+        Properties checkpoint   = loadCheckpoint(SOURCE_ALL_VERTICES);
+        String     lastVertexId = checkpoint.getProperty(CHECKPOINT_LAST_VERTEX_ID);
+        IDManager  idManager    = graph.getIDManager();
+
+        isScanResumable = graph.getConfiguration().getStoreFeatures().isKeyOrdered();
+
+        StaticBuffer resumeKey = lastVertexId != null && isScanResumable ? idManager.getKey(Long.parseLong(lastVertexId)) : null;
+
+        if (lastVertexId != null) {
+            if (isScanResumable) {
+                RepairIndex.displayCrlf("Resuming after vertex-id " + lastVertexId);
+            } else {
+                RepairIndex.displayCrlf("Storage backend doesn't return vertices in key order; can't resume from vertex-id " + lastVertexId + ". Restarting from the first vertex");
+
+                resumedVertexCount   = 0;
+                resumedDocumentCount = 0;
+            }
+        }
+
+        return run(submitter -> {
+            JanusGraphTransaction scanTx = graph.buildTransaction().readOnly().start();
+
+            try {
+                List<Long> vertexIds = new ArrayList<>(batchSize);
+
+                for (JanusGraphVertex vertex : scanTx.query().vertices()) {
+                    long vertexId = vertex.longId();
+
+                    // with key-ordered storage, full scans return vertices in key order; skip the ones processed in an earlier run
+                    if (resumeKey != null && idManager.getKey(vertexId).compareTo(resumeKey) <= 0) {
+                        continue;
+                    }
+
+                    vertexIds.add(vertexId);
+
+                    if (vertexIds.size() == batchSize) {
+                        submitter.submit(Batch.forVertexIds(vertexIds));
+
+                        vertexIds = new ArrayList<>(batchSize);
+                    }
+                }
+
+                if (!vertexIds.isEmpty()) {
+                    submitter.submit(Batch.forVertexIds(vertexIds));
+                }
+            } finally {
+                scanTx.rollback();
+            }
+        });
+    }
+
+    /**
+     * Reindexes vertices of GUIDs listed in the given file, one GUID per line.
+     * @return true if all batches were reindexed successfully
+     */
+    public boolean repairGuids(String guidFile) throws Exception {
+        File file = new File(guidFile);
+
+        if (!file.exists()) {
+            throw new IOException(guidFile + ": file not found");
+        }
+
+        Properties checkpoint     = loadCheckpoint(file.getAbsolutePath());
+        long       processedLines = Long.parseLong(checkpoint.getProperty(CHECKPOINT_PROCESSED_LINES, "0"));
+
+        if (processedLines > 0) {
+            RepairIndex.displayCrlf("Resuming after line " + processedLines);
+        }
+
+        return run(submitter -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                List<String> guids      = new ArrayList<>(batchSize);
+                long         lineNumber = 0;
+
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    lineNumber++;
+
+                    if (lineNumber <= processedLines) {
+                        continue;
+                    }
+
+                    String guid = line.trim();
+
+                    if (guid.isEmpty()) {
+                        continue;
+                    }
+
+                    guids.add(guid);
+
+                    if (guids.size() == batchSize) {
+                        submitter.submit(Batch.forGuids(guids, lineNumber));
+
+                        guids = new ArrayList<>(batchSize);
+                    }
+                }
+
+                if (!guids.isEmpty()) {
+                    submitter.submit(Batch.forGuids(guids, lineNumber));
+                }
+            }
+        });
+    }
+
+    private boolean run(BatchProducer producer) throws Exception {
+        startTime = System.currentTimeMillis();
+
+        RepairIndex.displayCrlf(String.format("Restoring %s with %d workers: batchSize=%d, maxDocsPerFlush=%d, checkpoint=%s",
+                                              StringUtils.join(indexNames, ","), numWorkers, batchSize, maxDocsPerFlush, checkpointFile.getAbsolutePath()));
+
+        ExecutorService          workers  = Executors.newFixedThreadPool(numWorkers);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        Semaphore                inFlight = new Semaphore(numWorkers * 2);
+        long[]                   batchSeq = new long[] { 0 };
+
+        reporter.scheduleAtFixedRate(this::reportProgress, REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        try {
+            // the number of batches queued to workers is bounded, to limit memory used by the producer
+            producer.produce(batch -> {
+                inFlight.acquire();
+
+                batch.seqNo = batchSeq[0]++;
+
+                workers.execute(() -> {
+                    try {
+                        processBatch(batch);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            });
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            reporter.shutdownNow();
+        }
+
+        reportProgress();
+
+        boolean ret = failedBatchCount.get() == 0;
+
+        if (ret) {
+            Files.deleteIfExists(checkpointFile.toPath());
+        } else {
+            RepairIndex.displayCrlf(failedBatchCount.get() + " batches failed; see the log for vertices that were not reindexed");
+        }
+
+        return ret;
+    }
+
+    private void processBatch(Batch batch) {
+        for (int attemptCount = 1; attemptCount <= MAX_TRIES_ON_FAILURE; attemptCount++) {
+            ManagementSystem mgmt = (ManagementSystem) graph.openManagement();
+
+            try {
+                long docCount = reindexBatch(mgmt, batch);
+
+                vertexCount.addAndGet(batch.size());
+                documentCount.addAndGet(docCount);
+
+                break;
+            } catch (Exception e) {
+                if (attemptCount < MAX_TRIES_ON_FAILURE) {
+                    LOG.warn("Batch #{}: attempt {} failed. Will retry", batch.seqNo, attemptCount, e);
+
+                    try {
+                        Thread.sleep(2000 * attemptCount);
+                    } catch (InterruptedException excp) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else {
+                    LOG.error("Batch #{}: failed after {} attempts. Not reindexed: {}", batch.seqNo, attemptCount, batch.guids != null ? batch.guids : batch.vertexIds, e);
+
+                    failedBatchCount.incrementAndGet();
+
+                    batch.isFailed = true;
+                }
+            } finally {
+                mgmt.rollback();
+            }
+        }
+
+        onBatchComplete(batch);
+    }
+
+    private long reindexBatch(ManagementSystem mgmt, Batch batch) throws Exception {
+        StandardJanusGraphTx  tx              = mgmt.getWrappedTx();
+        BackendTransaction    mutator         = tx.getTxHandle();
+        IndexSerializer       indexSerializer = graph.getIndexSerializer();
+        List<MixedIndexType>  indexTypes      = getIndexTypes(mgmt);
+        Map<String, Map<String, Map<String, List<IndexEntry>>>> documentsPerIndex = new HashMap<>();
+        long                  ret             = 0;
+
+        for (JanusGraphVertex vertex : getVertices(tx, batch)) {
+            for (MixedIndexType indexType : indexTypes) {
+                Map<String, Map<String, List<IndexEntry>>> documentsPerStore = documentsPerIndex.computeIfAbsent(indexType.getBackingIndexName(), k -> new HashMap<>());
+
+                if (indexType.getElement() == ElementCategory.EDGE) {
+                    Iterator<JanusGraphEdge> edges = vertex.query().direction(Direction.OUT).edges().iterator();
+
+                    while (edges.hasNext()) {
+                        indexSerializer.reindexElement(edges.next(), indexType, documentsPerStore);
+                    }
+                } else {
+                    indexSerializer.reindexElement(vertex, indexType, documentsPerStore);
+                }
+            }
+
+            if (getDocumentCount(documentsPerIndex) >= maxDocsPerFlush) {
+                ret += flush(mutator, documentsPerIndex);
+            }
+        }
+
+        ret += flush(mutator, documentsPerIndex);
+
+        return ret;
+    }
+
+    private List<JanusGraphVertex> getVertices(StandardJanusGraphTx tx, Batch batch) {
+        List<JanusGraphVertex> ret = new ArrayList<>(batch.size());
+
+        if (batch.vertexIds != null) {
+            long[] vertexIds = new long[batch.vertexIds.size()];
+
+            for (int i = 0; i < vertexIds.length; i++) {
+                vertexIds[i] = batch.vertexIds.get(i);
+            }
+
+            for (JanusGraphVertex vertex : tx.getVertices(vertexIds)) {
+                ret.add(vertex);
+            }
+        } else {
+            for (String guid : batch.guids) {
+                Iterator<JanusGraphVertex> iter = tx.query().has(Constants.GUID_PROPERTY_KEY, guid).vertices().iterator();
+
+                if (iter.hasNext()) {
+                    ret.add(iter.next());
+                } else {
+                    LOG.warn("{}: no vertex found for the guid", guid);
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    private List<MixedIndexType> getIndexTypes(ManagementSystem mgmt) {
+        List<MixedIndexType> ret = new ArrayList<>(indexNames.length);
+
+        for (String indexName : indexNames) {
+            JanusGraphIndex index = mgmt.getGraphIndex(indexName);
+
+            if (index == null || !index.isMixedIndex()) {
+                LOG.warn("{}: mixed index not found. Skipping", indexName);
+
+                continue;
+            }
+
+            ret.add((MixedIndexType) mgmt.getSchemaVertex(index).asIndexType());
+        }
+
+        return ret;
+    }
+
+    private static long getDocumentCount(Map<String, Map<String, Map<String, List<IndexEntry>>>> documentsPerIndex) {
+        long ret = 0;
+
+        for (Map<String, Map<String, List<IndexEntry>>> documentsPerStore : documentsPerIndex.values()) {
+            for (Map<String, List<IndexEntry>> documents : documentsPerStore.values()) {
+                ret += documents.size();
+            }
+        }
+
+        return ret;
+    }
+
+    private static long flush(BackendTransaction mutator, Map<String, Map<String, Map<String, List<IndexEntry>>>> documentsPerIndex) throws Exception {
+        long ret = getDocumentCount(documentsPerIndex);
+
+        for (Map.Entry<String, Map<String, Map<String, List<IndexEntry>>>> entry : documentsPerIndex.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                mutator.getIndexTransaction(entry.getKey()).restore(entry.getValue());
+            }
+        }
+
+        documentsPerIndex.clear();
+
+        return ret;
+    }
+
+    // batches can complete out of order; the checkpoint moves only past batches whose predecessors have all completed.
+    // The checkpoint is not moved past a failed batch, so that the next run resumes from it
+    private synchronized void onBatchComplete(Batch batch) {
+        completedBatches.put(batch.seqNo, batch);
+
+        Batch lastBatch = null;
+
+        while (!completedBatches.isEmpty() && completedBatches.firstKey() == nextBatchToCheckpoint) {
+            Batch completedBatch = completedBatches.pollFirstEntry().getValue();
+
+            if (completedBatch.isFailed) {
+                isCheckpointFrozen = true;
+            }
+
+            if (!isCheckpointFrozen) {
+                lastBatch = completedBatch;
+            }
+
+            nextBatchToCheckpoint++;
+        }
+
+        if (lastBatch != null) {
+            Properties checkpoint = new Properties();
+
+            checkpoint.setProperty(CHECKPOINT_SOURCE, source);
+            checkpoint.setProperty(CHECKPOINT_VERTEX_COUNT, Long.toString(resumedVertexCount + vertexCount.get()));
+            checkpoint.setProperty(CHECKPOINT_DOCUMENT_COUNT, Long.toString(resumedDocumentCount + documentCount.get()));
+
+            if (lastBatch.vertexIds != null) {
+                if (!isScanResumable) { // vertex-id of an unordered scan can't be used to resume
+                    return;
+                }
+
+                checkpoint.setProperty(CHECKPOINT_LAST_VERTEX_ID, Long.toString(lastBatch.vertexIds.get(lastBatch.vertexIds.size() - 1)));
+            } else {
+                checkpoint.setProperty(CHECKPOINT_PROCESSED_LINES, Long.toString(lastBatch.lastLineNumber));
+            }
+
+            saveCheckpoint(checkpoint);
+        }
+    }
+
+    private Properties loadCheckpoint(String source) throws IOException {
+        Properties ret = new Properties();
+
+        this.source = source;
+
+        if (checkpointFile.exists()) {
+            try (InputStream in = new FileInputStream(checkpointFile)) {
+                ret.load(in);
+            }
+
+            if (!StringUtils.equals(source, ret.getProperty(CHECKPOINT_SOURCE))) {
+                throw new IOException(checkpointFile.getAbsolutePath() + ": checkpoint is for a different run (" + ret.getProperty(CHECKPOINT_SOURCE) + "). Remove the file or specify a different checkpoint file");
+            }
+
+            resumedVertexCount   = Long.parseLong(ret.getProperty(CHECKPOINT_VERTEX_COUNT, "0"));
+            resumedDocumentCount = Long.parseLong(ret.getProperty(CHECKPOINT_DOCUMENT_COUNT, "0"));
+        }
+
+        return ret;
+    }
+
+    // write to a temporary file and rename, so that a crash while writing doesn't leave a corrupt checkpoint
+    private void saveCheckpoint(Properties checkpoint) {
+        File tmpFile = new File(checkpointFile.getAbsolutePath() + ".tmp");
+
+        try {
+            try (OutputStream out = new FileOutputStream(tmpFile)) {
+                checkpoint.store(out, "atlas-index-repair checkpoint");
+            }
+
+            Files.move(tmpFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.error("failed to save checkpoint to {}", checkpointFile.getAbsolutePath(), e);
+        }
+    }
+
+    private void reportProgress() {
+        long   elapsedMs  = Math.max(System.currentTimeMillis() - startTime, 1);
+        long   docCount   = documentCount.get();
+        double docsPerSec = docCount * 1000.0 / elapsedMs;
+
+        RepairIndex.displayCrlf(String.format("Processed: vertices=%d, documents=%d (total including earlier runs: vertices=%d, documents=%d); failedBatches=%d; %.1f docs/sec",
+                                              vertexCount.get(), docCount, resumedVertexCount + vertexCount.get(), resumedDocumentCount + docCount, failedBatchCount.get(), docsPerSec));
+    }
+
+    private interface BatchSubmitter {
+        void submit(Batch batch) throws InterruptedException;
+    }
+
+    private interface BatchProducer {
+        void produce(BatchSubmitter submitter) throws Exception;
+    }
+
+    private static class Batch {
+        private final List<Long>   vertexIds;
+        private final List<String> guids;
+        private final long         lastLineNumber;
+        private       long         seqNo;
+        private       boolean      isFailed;
+
+        private Batch(List<Long> vertexIds, List<String> guids, long lastLineNumber) {
+            this.vertexIds      = vertexIds;
+            this.guids          = guids;
+            this.lastLineNumber = lastLineNumber;
+        }
+
+        static Batch forVertexIds(List<Long> vertexIds) {
+            return new Batch(vertexIds, null, 0);
+        }
+
+        static Batch forGuids(List<String> guids, long lastLineNumber) {
+            return new Batch(null, guids, lastLineNumber);
+        }
+
+        int size() {
+            return vertexIds != null ? vertexIds.size() : guids.size();
+        }
+    }
+}
@@ -32,8 +32,10 @@ import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.configuration.Configuration;
+import org.janusgraph.core.EdgeLabel;
 import org.janusgraph.core.JanusGraph;
 import org.janusgraph.core.schema.JanusGraphIndex;
+import org.janusgraph.core.schema.RelationTypeIndex;
 import org.janusgraph.core.schema.SchemaAction;
 import org.janusgraph.core.schema.SchemaStatus;
 import org.janusgraph.diskstorage.BackendTransaction;
@@ -41,11 +43,13 @@ import org.janusgraph.diskstorage.indexing.IndexEntry;
 import org.janusgraph.graphdb.database.IndexSerializer;
 import org.janusgraph.graphdb.database.StandardJanusGraph;
 import org.janusgraph.graphdb.database.management.ManagementSystem;
+import org.janusgraph.graphdb.database.management.RelationIndexStatusReport;
 import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
 import org.janusgraph.graphdb.types.MixedIndexType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -77,17 +81,31 @@ public class RepairIndex {
             CommandLine cmd = getCommandLine(args);
             String guid = cmd.getOptionValue("g");
 
-            if(guid != null && !guid.isEmpty()){
-                isSelectiveRestore = true;
-                String uid = cmd.getOptionValue("u");
-                String pwd = cmd.getOptionValue("p");
-                setupAtlasClient(uid, pwd);
-            }
+            if (cmd.hasOption("e")) {
+                setupGraph();
+
+                if (new RepairIndex().enableRelationIndexes()) {
+                    LOG.info("Completed index repair!");
+                    exitCode = EXIT_CODE_SUCCESS;
+                }
+            } else if (cmd.hasOption("t") || cmd.hasOption("f")) {
+                if (processParallel(cmd)) {
+                    LOG.info("Completed index repair!");
+                    exitCode = EXIT_CODE_SUCCESS;
+                }
+            } else {
+                if(guid != null && !guid.isEmpty()){
+                    isSelectiveRestore = true;
+                    String uid = cmd.getOptionValue("u");
+                    String pwd = cmd.getOptionValue("p");
+                    setupAtlasClient(uid, pwd);
+                }
 
-            process(guid);
+                process(guid);
 
-            LOG.info("Completed index repair!");
-            exitCode = EXIT_CODE_SUCCESS;
+                LOG.info("Completed index repair!");
+                exitCode = EXIT_CODE_SUCCESS;
+            }
         } catch (Exception e) {
             LOG.error("Failed!", e);
             display("Failed: " + e.getMessage());
@@ -110,11 +128,34 @@ public class RepairIndex {
         displayCrlf("Repair Index: Done!");
     }
 
+    private static boolean processParallel(CommandLine cmd) throws Exception {
+        int    numWorkers      = Integer.parseInt(cmd.getOptionValue("t", "1"));
+        int    batchSize       = Integer.parseInt(cmd.getOptionValue("b", Integer.toString(ParallelIndexRepair.DEFAULT_BATCH_SIZE)));
+        int    maxDocsPerFlush = Integer.parseInt(cmd.getOptionValue("d", Integer.toString(ParallelIndexRepair.DEFAULT_MAX_DOCS_PER_FLUSH)));
+        String checkpointFile  = cmd.getOptionValue("c", ParallelIndexRepair.DEFAULT_CHECKPOINT_FILE);
+        String guidFile        = cmd.getOptionValue("f");
+
+        setupGraph();
+
+        ParallelIndexRepair repair = new ParallelIndexRepair((StandardJanusGraph) graph, getIndexes(), numWorkers, batchSize, maxDocsPerFlush, checkpointFile);
+        boolean             ret    = guidFile != null ? repair.repairGuids(guidFile) : repair.repairAll();
+
+        displayCrlf(ret ? "Repair Index: Done!" : "Repair Index: completed with failures. Run again with the same checkpoint file to retry");
+
+        return ret;
+    }
+
     private static CommandLine getCommandLine(String[] args) throws ParseException {
         Options options = new Options();
         options.addOption("g", "guid", true, "guid for which update index should be executed.");
         options.addOption("u", "user", true, "User name.");
         options.addOption("p", "password", true, "Password name.");
+        options.addOption("t", "threads", true, "Number of worker threads; reindexes all vertices in parallel, with progress saved to the checkpoint file.");
+        options.addOption("f", "guidFile", true, "File with GUIDs to reindex in parallel, one GUID per line.");
+        options.addOption("b", "batchSize", true, "Number of vertices per batch in parallel mode (default: " + ParallelIndexRepair.DEFAULT_BATCH_SIZE + ").");
+        options.addOption("d", "maxDocsPerFlush", true, "Maximum number of documents to accumulate before pushing to the index backend, in parallel mode (default: " + ParallelIndexRepair.DEFAULT_MAX_DOCS_PER_FLUSH + ").");
+        options.addOption("c", "checkpoint", true, "Checkpoint file used to resume parallel mode (default: " + ParallelIndexRepair.DEFAULT_CHECKPOINT_FILE + ").");
+        options.addOption("e", "enableEdgeIndexes", false, "Reindex existing edges for vertex-centric indexes that are not yet enabled, and enable them.");
 
         return new DefaultParser().parse(options, args);
     }
@@ -154,6 +195,80 @@ public class RepairIndex {
         }
     }
 
+    /**
+     * Vertex-centric indexes added to edge labels that already have edges - like the index on state and relationship-guid
+     * of relationship edge labels, added on upgrade - are not used by queries until existing edges are reindexed. This
+     * registers such indexes, reindexes the edges and waits for the indexes to be enabled.
+     *
+     * @return false if any index could not be enabled
+     */
+    private boolean enableRelationIndexes() throws Exception {
+        List<String[]>   indexes = new ArrayList<>(); // edge label, index name
+        ManagementSystem mgmt    = (ManagementSystem) graph.openManagement();
+
+        try {
+            for (EdgeLabel edgeLabel : mgmt.getRelationTypes(EdgeLabel.class)) {
+                for (RelationTypeIndex index : mgmt.getRelationIndexes(edgeLabel)) {
+                    if (index.getIndexStatus() == SchemaStatus.INSTALLED || index.getIndexStatus() == SchemaStatus.REGISTERED) {
+                        indexes.add(new String[] { edgeLabel.name(), index.name() });
+                    }
+                }
+            }
+        } finally {
+            mgmt.rollback();
+        }
+
+        displayCrlf("Vertex-centric indexes to enable: " + indexes.size());
+
+        boolean ret = true;
+
+        for (String[] labelAndIndex : indexes) {
+            String edgeLabel = labelAndIndex[0];
+            String indexName = labelAndIndex[1];
+            long   startTime = System.currentTimeMillis();
+
+            display("Enabling: " + indexName);
+
+            if (getRelationIndexStatus(edgeLabel, indexName) == SchemaStatus.INSTALLED) {
+                updateRelationIndex(edgeLabel, indexName, SchemaAction.REGISTER_INDEX);
+
+                ManagementSystem.awaitRelationIndexStatus(graph, indexName, edgeLabel).status(SchemaStatus.REGISTERED).call();
+            }
+
+            updateRelationIndex(edgeLabel, indexName, SchemaAction.REINDEX);
+
+            RelationIndexStatusReport report = ManagementSystem.awaitRelationIndexStatus(graph, indexName, edgeLabel).status(SchemaStatus.ENABLED).call();
+
+            display(": Time taken: " + (System.currentTimeMillis() - startTime) + " ms");
+
+            if (report.getSucceeded()) {
+                displayCrlf(": Done!");
+            } else {
+                displayCrlf(": Failed! status: " + report.getActualStatus());
+
+                ret = false;
+            }
+        }
+
+        return ret;
+    }
+
+    private static SchemaStatus getRelationIndexStatus(String edgeLabel, String indexName) {
+        ManagementSystem mgmt = (ManagementSystem) graph.openManagement();
+
+        try {
+            return mgmt.getRelationIndex(mgmt.getRelationType(edgeLabel), indexName).getIndexStatus();
+        } finally {
+            mgmt.rollback();
+        }
+    }
+
+    private static void updateRelationIndex(String edgeLabel, String indexName, SchemaAction action) throws Exception {
+        ManagementSystem mgmt = (ManagementSystem) graph.openManagement();
+
+        mgmt.updateIndex(mgmt.getRelationIndex(mgmt.getRelationType(edgeLabel), indexName), action).get();
+        mgmt.commit();
+    }
 
     private void restoreSelective(String guid) throws Exception  {
         Set<String> referencedGUIDs = new HashSet<>(getEntityAndReferenceGuids(guid));
@@ -212,7 +327,7 @@ public class RepairIndex {
         displayFn(System.out::print, formatMessage);
     }
 
-    private static void displayCrlf(String... formatMessage) {
+    static void displayCrlf(String... formatMessage) {
         displayFn(System.out::println, formatMessage);
     }
 
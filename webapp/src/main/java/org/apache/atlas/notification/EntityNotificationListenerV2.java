@@ -42,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -78,7 +79,12 @@ public class EntityNotificationListenerV2 implements EntityChangeListenerV2 {
                                         NotificationInterface notificationInterface,
                                         Configuration configuration) {
         this.typeRegistry       = typeRegistry;
-        this.notificationSender = new EntityNotificationSender<>(notificationInterface, configuration);
+        this.notificationSender = new EntityNotificationSender<>(notificationInterface, configuration, "entityNotificationsV2");
+    }
+
+    @PreDestroy
+    public void stop() {
+        notificationSender.stop();
     }
 
     @Override
@@ -18,11 +18,15 @@
 package org.apache.atlas.notification;
 
 import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.pc.AsyncBatchPublisher;
+import org.apache.atlas.type.AtlasType;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.configuration.Configuration;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,18 +38,61 @@ public class EntityNotificationSender<T> {
 
     private final static boolean NOTIFY_POST_COMMIT_DEFAULT = true;
 
-    private final NotificationSender<T> notificationSender;
+    public static final String ASYNC_ENABLED_PROPERTY             = "atlas.notification.entities.async.enabled";
+    public static final String ASYNC_QUEUE_SIZE_PROPERTY          = "atlas.notification.entities.async.queue.size";
+    public static final String ASYNC_BATCH_SIZE_PROPERTY          = "atlas.notification.entities.async.batch.size";
+    public static final String ASYNC_RETRY_INTERVAL_MS_PROPERTY   = "atlas.notification.entities.async.retry.interval.ms";
+    public static final String ASYNC_SPILL_DIRECTORY_PROPERTY     = "atlas.notification.entities.async.spill.directory";
+    public static final String ASYNC_SHUTDOWN_TIMEOUT_MS_PROPERTY = "atlas.notification.entities.async.shutdown.timeout.ms";
+
+    private static final int  ASYNC_QUEUE_SIZE_DEFAULT          = 10000;
+    private static final int  ASYNC_BATCH_SIZE_DEFAULT          = 100;
+    private static final long ASYNC_RETRY_INTERVAL_MS_DEFAULT   = 30 * 1000;
+    private static final long ASYNC_SHUTDOWN_TIMEOUT_MS_DEFAULT = 30 * 1000;
+    private static final long ASYNC_POLL_TIMEOUT_MS             = 1000;
+
+    private static final String ATLAS_DATA_PROPERTY           = "atlas.data";
+    private static final String ASYNC_SPILL_DIRECTORY_DEFAULT = "notifications";
+
+    private final NotificationSender<T>  notificationSender;
+    private final AsyncBatchPublisher<T> asyncPublisher;
+    private final long                   asyncShutdownTimeoutMs;
 
     public EntityNotificationSender(NotificationInterface notificationInterface, Configuration configuration) {
-        this(notificationInterface, configuration != null ? configuration.getBoolean("atlas.notification.send.postcommit", NOTIFY_POST_COMMIT_DEFAULT) : NOTIFY_POST_COMMIT_DEFAULT);
+        this(notificationInterface, configuration, "entityNotifications");
+    }
+
+    /**
+     * @param name name of the sender; used to name the async publisher thread and its spill file
+     */
+    public EntityNotificationSender(NotificationInterface notificationInterface, Configuration configuration, String name) {
+        this(notificationInterface, configuration != null ? configuration.getBoolean("atlas.notification.send.postcommit", NOTIFY_POST_COMMIT_DEFAULT) : NOTIFY_POST_COMMIT_DEFAULT,
+             configuration != null && configuration.getBoolean(ASYNC_ENABLED_PROPERTY, false) ? createAsyncPublisher(notificationInterface, configuration, name) : null,
+             configuration != null ? configuration.getLong(ASYNC_SHUTDOWN_TIMEOUT_MS_PROPERTY, ASYNC_SHUTDOWN_TIMEOUT_MS_DEFAULT) : ASYNC_SHUTDOWN_TIMEOUT_MS_DEFAULT);
     }
 
     public EntityNotificationSender(NotificationInterface notificationInterface, boolean sendPostCommit) {
+        this(notificationInterface, sendPostCommit, null, ASYNC_SHUTDOWN_TIMEOUT_MS_DEFAULT);
+    }
+
+    EntityNotificationSender(NotificationInterface notificationInterface, boolean sendPostCommit, AsyncBatchPublisher<T> asyncPublisher, long asyncShutdownTimeoutMs) {
+        this.asyncShutdownTimeoutMs = asyncShutdownTimeoutMs;
+
         if (sendPostCommit) {
-            LOG.info("EntityNotificationSender: notifications will be sent after transaction commit");
+            this.asyncPublisher = asyncPublisher;
+
+            if (asyncPublisher != null) {
+                LOG.info("EntityNotificationSender: notifications will be sent asynchronously after transaction commit");
+
+                asyncPublisher.start();
+            } else {
+                LOG.info("EntityNotificationSender: notifications will be sent after transaction commit");
+            }
 
             this.notificationSender = new PostCommitNotificationSender(notificationInterface);
         } else {
+            this.asyncPublisher = null;
+
             LOG.info("EntityNotificationSender: notifications will be sent inline (i.e. not waiting for transaction to commit)");
 
             this.notificationSender = new InlineNotificationSender(notificationInterface);
@@ -56,6 +103,56 @@ public class EntityNotificationSender<T> {
         this.notificationSender.send(notifications);
     }
 
+    /**
+     * Sends, or spills, notifications queued for asynchronous send
+     */
+    public void stop() {
+        if (asyncPublisher != null) {
+            asyncPublisher.stop(asyncShutdownTimeoutMs);
+        }
+    }
+
+    private static <T> AsyncBatchPublisher<T> createAsyncPublisher(NotificationInterface notificationInterface, Configuration configuration, String name) {
+        File spillDirectory = getSpillDirectory(configuration);
+        File spillFile      = spillDirectory != null ? new File(spillDirectory, "atlas-" + name + ".spill") : null;
+
+        return new AsyncBatchPublisher<>(name, notifications -> notificationInterface.send(ENTITIES, notifications), new NotificationSerializer<>(),
+                                         configuration.getInt(ASYNC_QUEUE_SIZE_PROPERTY, ASYNC_QUEUE_SIZE_DEFAULT),
+                                         configuration.getInt(ASYNC_BATCH_SIZE_PROPERTY, ASYNC_BATCH_SIZE_DEFAULT),
+                                         ASYNC_POLL_TIMEOUT_MS,
+                                         configuration.getLong(ASYNC_RETRY_INTERVAL_MS_PROPERTY, ASYNC_RETRY_INTERVAL_MS_DEFAULT),
+                                         spillFile);
+    }
+
+    /**
+     * @return directory for spill files: value of atlas.notification.entities.async.spill.directory, if set - an empty
+     * value disables spill; otherwise directory "notifications" under Atlas data directory
+     */
+    static File getSpillDirectory(Configuration configuration) {
+        final File ret;
+
+        if (configuration.containsKey(ASYNC_SPILL_DIRECTORY_PROPERTY)) {
+            String spillDirectory = configuration.getString(ASYNC_SPILL_DIRECTORY_PROPERTY);
+
+            ret = StringUtils.isNotBlank(spillDirectory) ? new File(spillDirectory) : null;
+        } else {
+            String dataDirectory = System.getProperty(ATLAS_DATA_PROPERTY);
+
+            if (StringUtils.isNotBlank(dataDirectory)) {
+                ret = new File(dataDirectory, ASYNC_SPILL_DIRECTORY_DEFAULT);
+            } else {
+                LOG.warn("{} not set: spill files will be created in {}", ATLAS_DATA_PROPERTY, System.getProperty("java.io.tmpdir"));
+
+                ret = new File(System.getProperty("java.io.tmpdir"));
+            }
+        }
+
+        if (ret != null && !ret.isDirectory() && !ret.mkdirs()) {
+            LOG.warn("failed to create spill directory {}", ret);
+        }
+
+        return ret;
+    }
 
     private interface NotificationSender<T> {
         void send(List<T> notifications) throws NotificationException;
@@ -114,10 +211,22 @@ public class EntityNotificationSender<T> {
 
                 if (CollectionUtils.isNotEmpty(notifications)) {
                     if (isSuccess) {
-                        try {
-                            notificationInterface.send(ENTITIES, notifications);
-                        } catch (NotificationException excp) {
-                            LOG.error("failed to send entity notifications", excp);
+                        if (asyncPublisher != null) {
+                            try {
+                                asyncPublisher.publish((List) notifications);
+                            } catch (InterruptedException excp) {
+                                Thread.currentThread().interrupt();
+
+                                LOG.error("interrupted while queuing {} entity notifications", notifications.size(), excp);
+                            } catch (IllegalStateException excp) {
+                                LOG.error("failed to queue {} entity notifications", notifications.size(), excp);
+                            }
+                        } else {
+                            try {
+                                notificationInterface.send(ENTITIES, notifications);
+                            } catch (NotificationException excp) {
+                                LOG.error("failed to send entity notifications", excp);
+                            }
                         }
                     } else {
                         if (LOG.isDebugEnabled()) {
@@ -128,4 +237,25 @@ public class EntityNotificationSender<T> {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes notifications to the spill file as: class-name, a space, notification in JSON
+     */
+    static class NotificationSerializer<T> implements AsyncBatchPublisher.Serializer<T> {
+        @Override
+        public String serialize(T notification) {
+            return notification.getClass().getName() + " " + AtlasType.toV1Json(notification);
+        }
+
+        @Override
+        public T deserialize(String str) {
+            int idx = str.indexOf(' ');
+
+            try {
+                return (T) AtlasType.fromV1Json(str.substring(idx + 1), Class.forName(str.substring(0, idx)));
+            } catch (ClassNotFoundException excp) {
+                throw new IllegalArgumentException("invalid notification class in: " + str, excp);
+            }
+        }
+    }
+}
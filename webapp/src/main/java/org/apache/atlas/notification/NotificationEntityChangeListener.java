@@ -35,6 +35,7 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.commons.configuration.Configuration;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.util.*;
 
@@ -65,8 +66,12 @@ public class NotificationEntityChangeListener implements EntityChangeListener {
     public NotificationEntityChangeListener(NotificationInterface notificationInterface, AtlasTypeRegistry typeRegistry, Configuration configuration) {
         this.typeRegistry       = typeRegistry;
         this.configuration      = configuration;
-        this.notificationSender = new EntityNotificationSender<>(notificationInterface, configuration);
+        this.notificationSender = new EntityNotificationSender<>(notificationInterface, configuration, "entityNotificationsV1");
+    }
 
+    @PreDestroy
+    public void stop() {
+        notificationSender.stop();
     }
 
 
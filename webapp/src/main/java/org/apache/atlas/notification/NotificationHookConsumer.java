@@ -54,6 +54,7 @@ import org.apache.atlas.repository.converters.AtlasInstanceConverter;
 import org.apache.atlas.repository.store.graph.AtlasEntityStore;
 import org.apache.atlas.repository.store.graph.v2.AtlasEntityStream;
 import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
+import org.apache.atlas.repository.store.graph.v2.BulkDeleteService;
 import org.apache.atlas.service.Service;
 import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
@@ -159,6 +160,7 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
     private final AtlasInstanceConverter        instanceConverter;
     private final AtlasTypeRegistry             typeRegistry;
     private final AtlasMetricsUtil              metricsUtil;
+    private final BulkDeleteService             bulkDeleteService;
     private final int                           maxRetries;
     private final int                           failedMsgCacheSize;
     private final int                           minWaitDuration;
@@ -196,7 +198,8 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
     @Inject
     public NotificationHookConsumer(NotificationInterface notificationInterface, AtlasEntityStore atlasEntityStore,
                                     ServiceState serviceState, AtlasInstanceConverter instanceConverter,
-                                    AtlasTypeRegistry typeRegistry, AtlasMetricsUtil metricsUtil) throws AtlasException {
+                                    AtlasTypeRegistry typeRegistry, AtlasMetricsUtil metricsUtil,
+                                    BulkDeleteService bulkDeleteService) throws AtlasException {
         this.notificationInterface = notificationInterface;
         this.atlasEntityStore      = atlasEntityStore;
         this.serviceState          = serviceState;
@@ -204,6 +207,9 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
         this.typeRegistry          = typeRegistry;
         this.applicationProperties = ApplicationProperties.get();
         this.metricsUtil           = metricsUtil;
+        this.bulkDeleteService     = bulkDeleteService;
+
+        metricsUtil.setNotificationBufferStatsProvider(SplitMessageAggregator::getBufferStats);
 
         maxRetries            = applicationProperties.getInt(CONSUMER_RETRIES_PROPERTY, 3);
         failedMsgCacheSize    = applicationProperties.getInt(CONSUMER_FAILEDCACHESIZE_PROPERTY, 1);
@@ -759,22 +765,17 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
                                 final EntityDeleteRequestV2 deleteRequest = (EntityDeleteRequestV2) message;
                                 final List<AtlasObjectId>   entities      = deleteRequest.getEntities();
 
-                                try {
-                                    for (AtlasObjectId entity : entities) {
-                                        if (auditLog == null) {
-                                            auditLog = new AuditLog(messageUser, THREADNAME_PREFIX,
-                                                                    AtlasClientV2.API_V2.DELETE_ENTITY_BY_ATTRIBUTE.getMethod(),
-                                                                    String.format(AtlasClientV2.API_V2.DELETE_ENTITY_BY_ATTRIBUTE.getNormalizedPath(), entity.getTypeName()));
-                                        }
-
-                                        AtlasEntityType type = (AtlasEntityType) typeRegistry.getType(entity.getTypeName());
-
-                                        EntityMutationResponse response = atlasEntityStore.deleteByUniqueAttributes(type, entity.getUniqueAttributes());
-
-                                        stats.updateStats(response);
+                                if (CollectionUtils.isNotEmpty(entities)) {
+                                    if (auditLog == null) {
+                                        auditLog = new AuditLog(messageUser, THREADNAME_PREFIX,
+                                                                AtlasClientV2.API_V2.DELETE_ENTITY_BY_ATTRIBUTE.getMethod(),
+                                                                String.format(AtlasClientV2.API_V2.DELETE_ENTITY_BY_ATTRIBUTE.getNormalizedPath(), entities.get(0).getTypeName()));
                                     }
-                                } catch (ClassCastException cle) {
-                                    LOG.error("Failed to do delete entities {}", entities);
+
+                                    // entities are deleted, along with entities owned by them, in a single transaction when they fit in
+                                    // a chunk (atlas.entity.bulk.delete.chunk.size); otherwise each chunk is committed separately and a
+                                    // retry of the message continues from the first chunk not deleted
+                                    bulkDeleteService.execute(entities, false, stats::updateStats);
                                 }
                             }
                             break;
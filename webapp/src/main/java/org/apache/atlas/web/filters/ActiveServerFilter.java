@@ -18,6 +18,8 @@
 
 package org.apache.atlas.web.filters;
 
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.repository.store.bootstrap.TypeRegistryRefresher;
 import org.apache.atlas.web.service.ActiveInstanceState;
 import org.apache.atlas.web.service.ServiceState;
 import org.slf4j.Logger;
@@ -45,20 +47,32 @@ import java.io.IOException;
  * by identifying the currently active server. Requests to servers which are in transition are returned with
  * an error SERVICE_UNAVAILABLE. Identification of this state is carried out using
  * {@link ServiceState} and {@link ActiveInstanceState}.
+ *
+ * When atlas.server.ha.passive.read.enabled is set, read-only requests - GET requests to search, lineage, entity
+ * and types APIs, and search POSTs - are served by a passive instance once its types are loaded by
+ * {@link TypeRegistryRefresher}; other requests are redirected to the active instance.
  */
 @Component
 public class ActiveServerFilter implements Filter {
 
     private static final Logger LOG = LoggerFactory.getLogger(ActiveServerFilter.class);
     private static final String MIGRATION_STATUS_STATIC_PAGE = "migration-status.html";
+    private static final String[] PASSIVE_READ_POST_URIS = { "/v2/search/basic", "/v2/search/quick" };
 
     private final ActiveInstanceState activeInstanceState;
     private ServiceState serviceState;
+    private final TypeRegistryRefresher typeRegistryRefresher;
+    private final String[] passiveReadUris;
+    private final String[] passiveReadExcludedUris;
 
     @Inject
-    public ActiveServerFilter(ActiveInstanceState activeInstanceState, ServiceState serviceState) {
+    public ActiveServerFilter(ActiveInstanceState activeInstanceState, ServiceState serviceState,
+                              TypeRegistryRefresher typeRegistryRefresher) {
         this.activeInstanceState = activeInstanceState;
         this.serviceState = serviceState;
+        this.typeRegistryRefresher = typeRegistryRefresher;
+        this.passiveReadUris = AtlasConfiguration.HA_PASSIVE_READ_URIS.getStringArray();
+        this.passiveReadExcludedUris = AtlasConfiguration.HA_PASSIVE_READ_EXCLUDED_URIS.getStringArray();
     }
 
     @Override
@@ -96,6 +110,9 @@ public class ActiveServerFilter implements Filter {
             HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
             LOG.error("Instance in migration. Service may not be ready to return a result");
             httpServletResponse.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } else if (isPassiveReadRequest(servletRequest)) {
+            LOG.debug("Passive. Serving read-only request {}", ((HttpServletRequest)servletRequest).getRequestURI());
+            filterChain.doFilter(servletRequest, servletResponse);
         } else {
             HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
             String activeServerAddress = activeInstanceState.getActiveServerAddress();
@@ -128,6 +145,42 @@ public class ActiveServerFilter implements Filter {
         }
     }
 
+    private boolean isPassiveReadRequest(ServletRequest servletRequest) {
+        if (typeRegistryRefresher == null || !typeRegistryRefresher.isReady()) {
+            return false;
+        }
+
+        HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
+        String requestURI = httpServletRequest.getRequestURI();
+        String method = httpServletRequest.getMethod();
+
+        if (requestURI == null || method == null) {
+            return false;
+        }
+
+        for (String s : passiveReadExcludedUris) {
+            if (requestURI.contains(s)) {
+                return false;
+            }
+        }
+
+        if (method.equals(HttpMethod.GET) || method.equals(HttpMethod.HEAD)) {
+            for (String s : passiveReadUris) {
+                if (requestURI.contains(s)) {
+                    return true;
+                }
+            }
+        } else if (method.equals(HttpMethod.POST)) {
+            for (String s : PASSIVE_READ_POST_URIS) {
+                if (requestURI.endsWith(s)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     private boolean isRootURI(ServletRequest servletRequest) {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         String requestURI = httpServletRequest.getRequestURI();
@@ -178,6 +178,7 @@ public class DiscoveryREST {
      * @param classification limit the result to only entities tagged with the given classification or or its sub-types
      * @param limit          limit the result set to only include the specified number of entries
      * @param offset         start offset of the result set (useful for pagination)
+     * @param cursor         nextCursor from the previous page's result; when specified, offset is ignored
      * @return Search results
      * @throws AtlasBaseException
      * @HTTP 200 On successful FullText lookup with some results, might return an empty list if execution succeeded
@@ -193,10 +194,12 @@ public class DiscoveryREST {
                                               @QueryParam("sortOrder")              SortOrder sortOrder,
                                               @QueryParam("excludeDeletedEntities") boolean excludeDeletedEntities,
                                               @QueryParam("limit")                  int     limit,
-                                              @QueryParam("offset")                 int     offset) throws AtlasBaseException {
+                                              @QueryParam("offset")                 int     offset,
+                                              @QueryParam("cursor")                 String  cursor) throws AtlasBaseException {
         Servlets.validateQueryParamLength("typeName", typeName);
         Servlets.validateQueryParamLength("classification", classification);
         Servlets.validateQueryParamLength("sortBy", sortByAttribute);
+        Servlets.validateQueryParamLength("cursor", cursor);
         if (StringUtils.isNotEmpty(query) && query.length() > maxFullTextQueryLength) {
             throw new AtlasBaseException(AtlasErrorCode.INVALID_QUERY_LENGTH, Constants.MAX_FULLTEXT_QUERY_STR_LENGTH);
         }
@@ -216,6 +219,7 @@ public class DiscoveryREST {
             searchParameters.setExcludeDeletedEntities(excludeDeletedEntities);
             searchParameters.setLimit(limit);
             searchParameters.setOffset(offset);
+            searchParameters.setCursor(cursor);
             searchParameters.setSortBy(sortByAttribute);
             searchParameters.setSortOrder(sortOrder);
 
@@ -583,8 +587,9 @@ public class DiscoveryREST {
                                               @QueryParam("typeName")               String  typeName,
                                               @QueryParam("excludeDeletedEntities") boolean excludeDeletedEntities,
                                               @QueryParam("offset")                 int     offset,
-                                              @QueryParam("limit")                  int     limit) throws AtlasBaseException {
-
+                                              @QueryParam("limit")                  int     limit,
+                                              @QueryParam("cursor")                 String  cursor) throws AtlasBaseException {
+        Servlets.validateQueryParamLength("cursor", cursor);
 
 
         if (StringUtils.isNotEmpty(query) && query.length() > maxFullTextQueryLength) {
@@ -608,6 +613,8 @@ public class DiscoveryREST {
                                                                                     limit,
                                                                                     null); // attributes
 
+            quickSearchParameters.setCursor(cursor);
+
             return discoveryService.quickSearch(quickSearchParameters);
         } finally {
             AtlasPerfTracer.log(perf);
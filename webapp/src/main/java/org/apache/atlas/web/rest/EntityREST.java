@@ -29,6 +29,7 @@ import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.TypeCategory;
 import org.apache.atlas.model.audit.EntityAuditEventV2;
 import org.apache.atlas.model.audit.EntityAuditEventV2.EntityAuditActionV2;
+import org.apache.atlas.model.instance.AtlasBulkDeleteJob;
 import org.apache.atlas.model.instance.AtlasClassification;
 import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
 import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
@@ -41,6 +42,7 @@ import org.apache.atlas.repository.audit.EntityAuditRepository;
 import org.apache.atlas.repository.converters.AtlasInstanceConverter;
 import org.apache.atlas.repository.store.graph.AtlasEntityStore;
 import org.apache.atlas.repository.store.graph.v2.AtlasEntityStream;
+import org.apache.atlas.repository.store.graph.v2.BulkDeleteService;
 import org.apache.atlas.repository.store.graph.v2.ClassificationAssociator;
 import org.apache.atlas.repository.store.graph.v2.EntityStream;
 import org.apache.atlas.type.AtlasClassificationType;
@@ -48,6 +50,7 @@ import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.util.FileUtils;
 import org.apache.atlas.utils.AtlasPerfTracer;
+import org.apache.atlas.web.util.AtlasEntitiesStreamingOutput;
 import org.apache.atlas.web.util.Servlets;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
@@ -105,14 +108,17 @@ public class EntityREST {
     private final AtlasEntityStore       entitiesStore;
     private final EntityAuditRepository  auditRepository;
     private final AtlasInstanceConverter instanceConverter;
+    private final BulkDeleteService      bulkDeleteService;
 
     @Inject
     public EntityREST(AtlasTypeRegistry typeRegistry, AtlasEntityStore entitiesStore,
-                      EntityAuditRepository auditRepository, AtlasInstanceConverter instanceConverter) {
+                      EntityAuditRepository auditRepository, AtlasInstanceConverter instanceConverter,
+                      BulkDeleteService bulkDeleteService) {
         this.typeRegistry      = typeRegistry;
         this.entitiesStore     = entitiesStore;
         this.auditRepository   = auditRepository;
         this.instanceConverter = instanceConverter;
+        this.bulkDeleteService = bulkDeleteService;
     }
 
     /**
@@ -719,6 +725,40 @@ public class EntityREST {
         }
     }
 
+    /**
+     * Bulk API to retrieve list of entities identified by its GUIDs, streaming the entities to the response as they are
+     * retrieved instead of collecting all of them in memory. Response has the same format as GET /v2/entity/bulk.
+     */
+    @GET
+    @Path("/bulk/stream")
+    public Response getByGuidsStream(@QueryParam("guid") List<String> guids, @QueryParam("minExtInfo") @DefaultValue("false") boolean minExtInfo, @QueryParam("ignoreRelationships") @DefaultValue("false") boolean ignoreRelationships) throws AtlasBaseException {
+        if (CollectionUtils.isNotEmpty(guids)) {
+            for (String guid : guids) {
+                Servlets.validateQueryParamLength("guid", guid);
+            }
+        }
+
+        if (CollectionUtils.isEmpty(guids)) {
+            throw new AtlasBaseException(AtlasErrorCode.INSTANCE_GUID_NOT_FOUND, guids);
+        }
+
+        StreamingOutput output = new AtlasEntitiesStreamingOutput(guids, sink -> {
+            AtlasPerfTracer perf = null;
+
+            try {
+                if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                    perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "EntityREST.getByGuidsStream(" + guids + ")");
+                }
+
+                entitiesStore.getByIds(guids, minExtInfo, ignoreRelationships, sink);
+            } finally {
+                AtlasPerfTracer.log(perf);
+            }
+        });
+
+        return Response.ok(output, MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
     /**
      * Bulk API to create new entities or updates existing entities in Atlas.
      * Existing entity is matched using its unique guid if supplied or by its unique attributes eg: qualifiedName
@@ -767,6 +807,64 @@ public class EntityREST {
         }
     }
 
+    /**
+     * Submits a job to delete, or purge, entities identified by its GUIDs along with the entities owned by them.
+     * Entities are deleted in chunks, each committed in a separate transaction. The job is tracked in memory of
+     * this server only, hence it can't be queried or restarted after the server is restarted or fails over.
+     * @param guids GUIDs of the entities to delete
+     * @param purge true to purge the entities, which must have been deleted earlier
+     * @return status of the job
+     */
+    @POST
+    @Path("/bulk/delete/job")
+    public AtlasBulkDeleteJob submitBulkDeleteJob(@QueryParam("guid") final List<String> guids, @QueryParam("purge") @DefaultValue("false") boolean purge) throws AtlasBaseException {
+        if (CollectionUtils.isNotEmpty(guids)) {
+            for (String guid : guids) {
+                Servlets.validateQueryParamLength("guid", guid);
+            }
+        }
+
+        AtlasPerfTracer perf = null;
+
+        try {
+            if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "EntityREST.submitBulkDeleteJob(" + guids + ", " + purge + ")");
+            }
+
+            return bulkDeleteService.submit(guids, purge);
+        } finally {
+            AtlasPerfTracer.log(perf);
+        }
+    }
+
+    /**
+     * Gets the status of a bulk delete job; only the user who submitted the job, or a user having admin-purge
+     * privilege, can get the job
+     * @param jobId id of the job
+     * @return status of the job
+     */
+    @GET
+    @Path("/bulk/delete/job/{jobId}")
+    public AtlasBulkDeleteJob getBulkDeleteJob(@PathParam("jobId") String jobId) throws AtlasBaseException {
+        Servlets.validateQueryParamLength("jobId", jobId);
+
+        return bulkDeleteService.getJob(jobId);
+    }
+
+    /**
+     * Restarts a failed bulk delete job; entities deleted by the earlier run are skipped. Only the user who submitted
+     * the job, or a user having admin-purge privilege, can restart the job; the job is run as the restarting user
+     * @param jobId id of the job
+     * @return status of the job
+     */
+    @POST
+    @Path("/bulk/delete/job/{jobId}/restart")
+    public AtlasBulkDeleteJob restartBulkDeleteJob(@PathParam("jobId") String jobId) throws AtlasBaseException {
+        Servlets.validateQueryParamLength("jobId", jobId);
+
+        return bulkDeleteService.restart(jobId);
+    }
+
     /**
      * Bulk API to associate a tag to multiple entities
      */
@@ -0,0 +1,204 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.web.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
+import org.apache.atlas.repository.store.graph.v2.EntitySink;
+import org.apache.atlas.utils.AtlasJson;
+import org.apache.atlas.web.errors.AtlasBaseExceptionMapper;
+import org.apache.commons.collections.MapUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes entities to the response as they are retrieved, in the same JSON format as AtlasEntitiesWithExtInfo:
+ *   {"entities":[...],"referredEntities":{"guid":{...},...}}
+ *
+ * Only guids of referred entities are kept in memory; referred entities are spilled to a temporary file and are
+ * copied to the response after all entities are written. Nothing is written until the first entity is retrieved,
+ * so that errors reported before then result in the usual error response; an error after that aborts the response.
+ */
+public class AtlasEntitiesStreamingOutput implements StreamingOutput {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasEntitiesStreamingOutput.class);
+
+    public interface EntitySource {
+        void getEntities(EntitySink sink) throws AtlasBaseException;
+    }
+
+    private final Set<String>  guids;
+    private final EntitySource source;
+
+    public AtlasEntitiesStreamingOutput(Collection<String> guids, EntitySource source) {
+        this.guids  = new HashSet<>(guids);
+        this.source = source;
+    }
+
+    @Override
+    public void write(OutputStream out) throws IOException, WebApplicationException {
+        try (EntitiesWriter writer = new EntitiesWriter(out)) {
+            try {
+                source.getEntities(writer);
+            } catch (AtlasBaseException e) {
+                if (!writer.isStarted()) {
+                    throw new WebApplicationException(e, new AtlasBaseExceptionMapper().toResponse(e));
+                }
+
+                LOG.error("failed to retrieve entities after writing {} entities; aborting the response", writer.getEntityCount(), e);
+
+                throw new IOException("failed to retrieve entities after writing " + writer.getEntityCount() + " entities", e);
+            }
+
+            writer.finish();
+        }
+    }
+
+    private class EntitiesWriter implements EntitySink, Closeable {
+        private final OutputStream  out;
+        private final JsonFactory   factory       = AtlasJson.getMapper().getFactory();
+        private final Set<String>   referredGuids = new HashSet<>();
+        private       JsonGenerator generator;
+        private       File          spillFile;
+        private       JsonGenerator spillGenerator;
+        private       int           entityCount   = 0;
+
+        EntitiesWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        boolean isStarted() {
+            return generator != null;
+        }
+
+        int getEntityCount() {
+            return entityCount;
+        }
+
+        @Override
+        public void add(AtlasEntityWithExtInfo entityWithExtInfo) throws AtlasBaseException {
+            try {
+                start();
+
+                generator.writeObject(entityWithExtInfo.getEntity());
+
+                if (MapUtils.isNotEmpty(entityWithExtInfo.getReferredEntities())) {
+                    for (Map.Entry<String, AtlasEntity> entry : entityWithExtInfo.getReferredEntities().entrySet()) {
+                        String guid = entry.getKey();
+
+                        if (!guids.contains(guid) && referredGuids.add(guid)) {
+                            spill(guid, entry.getValue());
+                        }
+                    }
+                }
+
+                entityCount++;
+            } catch (IOException e) {
+                throw new AtlasBaseException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            start();
+
+            generator.writeEndArray();
+
+            if (spillGenerator != null) {
+                spillGenerator.close();
+                spillGenerator = null;
+
+                generator.writeObjectFieldStart("referredEntities");
+
+                try (InputStream in = new BufferedInputStream(new FileInputStream(spillFile));
+                     JsonParser parser = factory.createParser(in)) {
+                    // spill file has a sequence of guid and entity, as root-level values
+                    while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                        generator.writeFieldName(parser.getText());
+
+                        parser.nextToken();
+
+                        generator.copyCurrentStructure(parser);
+                    }
+                }
+
+                generator.writeEndObject();
+            }
+
+            generator.writeEndObject();
+            generator.flush();
+        }
+
+        @Override
+        public void close() {
+            if (spillGenerator != null) {
+                try {
+                    spillGenerator.close();
+                } catch (IOException e) {
+                    LOG.warn("failed to close {}", spillFile, e);
+                }
+            }
+
+            if (spillFile != null && !spillFile.delete()) {
+                LOG.warn("failed to delete {}", spillFile);
+            }
+        }
+
+        private void start() throws IOException {
+            if (generator == null) {
+                generator = factory.createGenerator(out);
+
+                // the response stream is closed by the container; an aborted response must not look complete
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("entities");
+            }
+        }
+
+        private void spill(String guid, AtlasEntity entity) throws IOException {
+            if (spillGenerator == null) {
+                spillFile      = File.createTempFile("atlas-entities-", ".json");
+                spillGenerator = factory.createGenerator(new BufferedOutputStream(new FileOutputStream(spillFile)));
+            }
+
+            spillGenerator.writeString(guid);
+            spillGenerator.writeObject(entity);
+        }
+    }
+}
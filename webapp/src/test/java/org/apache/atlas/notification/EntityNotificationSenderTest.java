@@ -0,0 +1,249 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.notification;
+
+import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.annotation.GraphTransaction;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.notification.EntityNotification.EntityNotificationV2;
+import org.apache.atlas.notification.EntityNotificationSender.NotificationSerializer;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.v1.model.instance.Referenceable;
+import org.apache.atlas.v1.model.instance.Struct;
+import org.apache.atlas.v1.model.notification.EntityNotificationV1;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.atlas.notification.NotificationInterface.NotificationType.ENTITIES;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class EntityNotificationSenderTest {
+    private File spillDirectory;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        spillDirectory = Files.createTempDirectory("atlas-notification-spill").toFile();
+    }
+
+    @AfterMethod
+    public void cleanup() throws Exception {
+        FileUtils.deleteDirectory(spillDirectory);
+    }
+
+    @Test
+    public void serializerRoundTripV1() {
+        NotificationSerializer<Object> serializer   = new NotificationSerializer<>();
+        Referenceable                  entity       = new Referenceable(UUID.randomUUID().toString(), "hive_table", Collections.singletonMap("qualifiedName", "db.table@cl1"));
+        EntityNotificationV1           notification = new EntityNotificationV1(entity, EntityNotificationV1.OperationType.TRAIT_ADD, Collections.singletonList(new Struct("PII")));
+        String                         serialized   = serializer.serialize(notification);
+
+        assertTrue(serialized.startsWith(EntityNotificationV1.class.getName() + " "));
+        assertEquals(serializer.deserialize(serialized), notification);
+    }
+
+    @Test
+    public void serializerRoundTripV2() {
+        NotificationSerializer<Object> serializer   = new NotificationSerializer<>();
+        AtlasEntityHeader              entity       = new AtlasEntityHeader("hive_table", UUID.randomUUID().toString(), Collections.singletonMap("qualifiedName", "db.table@cl1"));
+        EntityNotificationV2           notification = new EntityNotificationV2(entity, EntityNotificationV2.OperationType.ENTITY_UPDATE, System.currentTimeMillis());
+        String                         serialized   = serializer.serialize(notification);
+
+        assertTrue(serialized.startsWith(EntityNotificationV2.class.getName() + " "));
+        assertEquals(serializer.deserialize(serialized), notification);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void serializerRejectsUnknownClass() {
+        new NotificationSerializer<>().deserialize("org.apache.atlas.UnknownNotification {}");
+    }
+
+    @Test
+    public void asyncSendAfterCommit() throws Throwable {
+        NotificationInterface notificationInterface = mock(NotificationInterface.class);
+        List<Object>          sent                  = new CopyOnWriteArrayList<>();
+        List<Object>          notifications         = getNotifications();
+        CountDownLatch        allSent               = new CountDownLatch(notifications.size());
+
+        doAnswer(invocation -> {
+            for (Object notification : (List<?>) invocation.getArguments()[1]) {
+                sent.add(notification);
+                allSent.countDown();
+            }
+
+            return null;
+        }).when(notificationInterface).send(eq(ENTITIES), anyList());
+
+        EntityNotificationSender<Object> sender = new EntityNotificationSender<>(notificationInterface, getAsyncConfiguration(), "testAsyncSend");
+
+        runInTransaction(() -> {
+            sender.send(notifications);
+
+            assertTrue(sent.isEmpty()); // not sent before commit
+
+            return null;
+        });
+
+        assertTrue(allSent.await(10, TimeUnit.SECONDS));
+        assertEquals(sent, notifications);
+
+        sender.stop();
+    }
+
+    @Test
+    public void asyncSendSkippedOnRollback() throws Throwable {
+        NotificationInterface            notificationInterface = mock(NotificationInterface.class);
+        EntityNotificationSender<Object> sender                = new EntityNotificationSender<>(notificationInterface, getAsyncConfiguration(), "testAsyncRollback");
+
+        try {
+            runInTransaction(() -> {
+                sender.send(getNotifications());
+
+                throw new IllegalStateException("rollback");
+            });
+
+            fail("expected transaction to fail");
+        } catch (IllegalStateException excp) {
+            // expected
+        }
+
+        sender.stop();
+
+        verify(notificationInterface, never()).send(eq(ENTITIES), anyList());
+    }
+
+    @Test
+    public void asyncSendFailureIsSpilledAndReplayed() throws Throwable {
+        NotificationInterface notificationInterface = mock(NotificationInterface.class);
+        List<Object>          sent                  = new CopyOnWriteArrayList<>();
+        List<Object>          notifications         = getNotifications();
+        CountDownLatch        allSent               = new CountDownLatch(notifications.size());
+        AtomicInteger         sendCount             = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            if (sendCount.incrementAndGet() == 1) {
+                throw new NotificationException(new Exception("Kafka not available"));
+            }
+
+            for (Object notification : (List<?>) invocation.getArguments()[1]) {
+                sent.add(notification);
+                allSent.countDown();
+            }
+
+            return null;
+        }).when(notificationInterface).send(eq(ENTITIES), anyList());
+
+        EntityNotificationSender<Object> sender = new EntityNotificationSender<>(notificationInterface, getAsyncConfiguration(), "testAsyncSpill");
+
+        runInTransaction(() -> {
+            sender.send(notifications);
+
+            return null;
+        });
+
+        // notifications replayed from the spill file are deserialized copies
+        assertTrue(allSent.await(10, TimeUnit.SECONDS));
+        assertEquals(sent, notifications);
+
+        sender.stop();
+    }
+
+    @Test
+    public void spillDirectoryDefaultsToDataDirectory() {
+        String dataDirectory = System.getProperty("atlas.data");
+
+        try {
+            System.setProperty("atlas.data", spillDirectory.getAbsolutePath());
+
+            File directory = EntityNotificationSender.getSpillDirectory(new BaseConfiguration());
+
+            assertEquals(directory, new File(spillDirectory, "notifications"));
+            assertTrue(directory.isDirectory());
+        } finally {
+            if (dataDirectory != null) {
+                System.setProperty("atlas.data", dataDirectory);
+            } else {
+                System.clearProperty("atlas.data");
+            }
+        }
+
+        Configuration configuration = new BaseConfiguration();
+
+        configuration.setProperty(EntityNotificationSender.ASYNC_SPILL_DIRECTORY_PROPERTY, "");
+
+        assertNull(EntityNotificationSender.getSpillDirectory(configuration));
+    }
+
+    @GraphTransaction
+    public void transaction() {
+    }
+
+    private void runInTransaction(Callable<?> task) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+
+        when(invocation.getMethod()).thenReturn(EntityNotificationSenderTest.class.getMethod("transaction"));
+        when(invocation.proceed()).thenAnswer(invocationOnMock -> task.call());
+
+        new GraphTransactionInterceptor(mock(AtlasGraph.class)).invoke(invocation);
+    }
+
+    private Configuration getAsyncConfiguration() {
+        Configuration ret = new BaseConfiguration();
+
+        ret.setProperty(EntityNotificationSender.ASYNC_ENABLED_PROPERTY, true);
+        ret.setProperty(EntityNotificationSender.ASYNC_BATCH_SIZE_PROPERTY, 10);
+        ret.setProperty(EntityNotificationSender.ASYNC_RETRY_INTERVAL_MS_PROPERTY, 100);
+        ret.setProperty(EntityNotificationSender.ASYNC_SPILL_DIRECTORY_PROPERTY, spillDirectory.getAbsolutePath());
+
+        return ret;
+    }
+
+    private List<Object> getNotifications() {
+        Referenceable     entityV1 = new Referenceable(UUID.randomUUID().toString(), "hive_db", Collections.singletonMap("qualifiedName", "db@cl1"));
+        AtlasEntityHeader entityV2 = new AtlasEntityHeader("hive_table", UUID.randomUUID().toString(), Collections.singletonMap("qualifiedName", "db.table@cl1"));
+
+        return Arrays.asList(new EntityNotificationV1(entityV1, EntityNotificationV1.OperationType.ENTITY_CREATE, Collections.emptyList()),
+                             new EntityNotificationV2(entityV2, EntityNotificationV2.OperationType.ENTITY_CREATE, System.currentTimeMillis()));
+    }
+}
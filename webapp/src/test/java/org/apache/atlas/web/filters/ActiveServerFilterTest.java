@@ -18,6 +18,7 @@
 
 package org.apache.atlas.web.filters;
 
+import org.apache.atlas.repository.store.bootstrap.TypeRegistryRefresher;
 import org.apache.atlas.web.service.ActiveInstanceState;
 import org.apache.atlas.web.service.ServiceState;
 import org.mockito.Mock;
@@ -33,6 +34,7 @@ import javax.ws.rs.HttpMethod;
 
 import java.io.IOException;
 
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -55,6 +57,9 @@ public class ActiveServerFilterTest {
     @Mock
     private ServiceState serviceState;
 
+    @Mock
+    private TypeRegistryRefresher typeRegistryRefresher;
+
     @BeforeMethod
     public void setUp() {
         MockitoAnnotations.initMocks(this);
@@ -65,7 +70,7 @@ public class ActiveServerFilterTest {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.ACTIVE);
         when(servletRequest.getRequestURI()).thenReturn("api/atlas/types");
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
         activeServerFilter.doFilter(servletRequest, servletResponse, filterChain);
 
@@ -77,7 +82,7 @@ public class ActiveServerFilterTest {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
         when(servletRequest.getRequestURI()).thenReturn("api/atlas/types");
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
         when(activeInstanceState.getActiveServerAddress()).thenReturn(null);
 
@@ -91,7 +96,7 @@ public class ActiveServerFilterTest {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
         when(servletRequest.getRequestURI()).thenReturn("api/atlas/types");
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
         when(activeInstanceState.getActiveServerAddress()).thenReturn(ACTIVE_SERVER_ADDRESS);
         when(servletRequest.getRequestURI()).thenReturn("types");
@@ -111,7 +116,7 @@ public class ActiveServerFilterTest {
             when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
             when(servletRequest.getRequestURI()).thenReturn(partialUrl);
 
-            ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+            ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
             when(activeInstanceState.getActiveServerAddress()).thenReturn(ACTIVE_SERVER_ADDRESS);
             when(servletRequest.getRequestURI()).thenReturn(partialUrl);
@@ -128,7 +133,7 @@ public class ActiveServerFilterTest {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
         when(servletRequest.getRequestURI()).thenReturn("api/atlas/types");
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
         when(activeInstanceState.getActiveServerAddress()).thenReturn(ACTIVE_SERVER_ADDRESS);
         when(servletRequest.getMethod()).thenReturn(HttpMethod.GET);
@@ -145,7 +150,7 @@ public class ActiveServerFilterTest {
     public void testRedirectedRequestShouldContainEncodeQueryParameters() throws IOException, ServletException {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
         when(activeInstanceState.getActiveServerAddress()).thenReturn(ACTIVE_SERVER_ADDRESS);
         when(servletRequest.getMethod()).thenReturn(HttpMethod.GET);
@@ -165,7 +170,7 @@ public class ActiveServerFilterTest {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
         when(servletRequest.getRequestURI()).thenReturn("api/atlas/types");
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
         when(activeInstanceState.getActiveServerAddress()).thenReturn(ACTIVE_SERVER_ADDRESS);
         when(servletRequest.getMethod()).thenReturn(HttpMethod.POST);
@@ -182,7 +187,7 @@ public class ActiveServerFilterTest {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
         when(servletRequest.getRequestURI()).thenReturn("api/atlas/types");
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
         when(activeInstanceState.getActiveServerAddress()).thenReturn(ACTIVE_SERVER_ADDRESS);
         when(servletRequest.getMethod()).thenReturn(HttpMethod.PUT);
@@ -199,7 +204,7 @@ public class ActiveServerFilterTest {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
         when(servletRequest.getRequestURI()).thenReturn("api/atlas/types");
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
         when(activeInstanceState.getActiveServerAddress()).thenReturn(ACTIVE_SERVER_ADDRESS);
         when(servletRequest.getMethod()).thenReturn(HttpMethod.DELETE);
@@ -218,7 +223,7 @@ public class ActiveServerFilterTest {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.BECOMING_ACTIVE);
         when(servletRequest.getRequestURI()).thenReturn("api/atlas/types");
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
 
         activeServerFilter.doFilter(servletRequest, servletResponse, filterChain);
 
@@ -232,10 +237,70 @@ public class ActiveServerFilterTest {
         when(servletRequest.getRequestURI()).
                 thenReturn("api/atlas/admin/asmasn"); // any Admin URI is fine.
 
-        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState);
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
         activeServerFilter.doFilter(servletRequest, servletResponse, filterChain);
 
         verify(filterChain).doFilter(servletRequest, servletResponse);
         verifyZeroInteractions(activeInstanceState);
     }
+
+    @Test
+    public void testShouldServeReadRequestsIfPassiveReadReady() throws IOException, ServletException {
+        when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
+        when(typeRegistryRefresher.isReady()).thenReturn(true);
+        when(servletRequest.getMethod()).thenReturn(HttpMethod.GET);
+        when(servletRequest.getRequestURI()).thenReturn("/api/atlas/v2/lineage/6ebb039f-eaa5-4b9c-ae44-799c7910545d");
+
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
+        activeServerFilter.doFilter(servletRequest, servletResponse, filterChain);
+
+        verify(filterChain).doFilter(servletRequest, servletResponse);
+        verifyZeroInteractions(activeInstanceState);
+
+        when(servletRequest.getMethod()).thenReturn(HttpMethod.POST);
+        when(servletRequest.getRequestURI()).thenReturn("/api/atlas/v2/search/basic");
+
+        activeServerFilter.doFilter(servletRequest, servletResponse, filterChain);
+
+        verify(filterChain, times(2)).doFilter(servletRequest, servletResponse);
+        verifyZeroInteractions(activeInstanceState);
+    }
+
+    @Test
+    public void testShouldRedirectUpdateRequestsIfPassiveReadReady() throws IOException, ServletException {
+        when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
+        when(typeRegistryRefresher.isReady()).thenReturn(true);
+        when(activeInstanceState.getActiveServerAddress()).thenReturn(ACTIVE_SERVER_ADDRESS);
+        when(servletRequest.getMethod()).thenReturn(HttpMethod.POST);
+        when(servletRequest.getRequestURI()).thenReturn("api/atlas/v2/search/saved");
+
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
+        activeServerFilter.doFilter(servletRequest, servletResponse, filterChain);
+
+        verify(servletResponse).setHeader("Location", ACTIVE_SERVER_ADDRESS + "api/atlas/v2/search/saved");
+        verify(servletResponse).setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+
+        when(servletRequest.getMethod()).thenReturn(HttpMethod.GET);
+        when(servletRequest.getRequestURI()).thenReturn("api/atlas/v2/entity/bulk/delete/job/1");
+
+        activeServerFilter.doFilter(servletRequest, servletResponse, filterChain);
+
+        verify(servletResponse).sendRedirect(ACTIVE_SERVER_ADDRESS + "api/atlas/v2/entity/bulk/delete/job/1");
+        verifyZeroInteractions(filterChain);
+    }
+
+    @Test
+    public void testShouldRedirectReadRequestsUntilTypesLoaded() throws IOException, ServletException {
+        when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
+        when(typeRegistryRefresher.isReady()).thenReturn(false);
+        when(activeInstanceState.getActiveServerAddress()).thenReturn(ACTIVE_SERVER_ADDRESS);
+        when(servletRequest.getMethod()).thenReturn(HttpMethod.GET);
+        when(servletRequest.getRequestURI()).thenReturn("api/atlas/v2/types/typedefs");
+
+        ActiveServerFilter activeServerFilter = new ActiveServerFilter(activeInstanceState, serviceState, typeRegistryRefresher);
+        activeServerFilter.doFilter(servletRequest, servletResponse, filterChain);
+
+        verify(servletResponse).sendRedirect(ACTIVE_SERVER_ADDRESS + "api/atlas/v2/types/typedefs");
+        verifyZeroInteractions(filterChain);
+    }
 }
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.web.util;
+
+import org.apache.atlas.AtlasEntitiesStreamReader;
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
+import org.apache.atlas.type.AtlasType;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+public class AtlasEntitiesStreamingOutputTest {
+    @Test
+    public void testWriteEntities() throws Exception {
+        AtlasEntityWithExtInfo db     = createEntity("db1");
+        AtlasEntityWithExtInfo table1 = createEntity("table1", "db1", "column1", "column2");
+        AtlasEntityWithExtInfo table2 = createEntity("table2", "db1", "column3", "column2");
+        ByteArrayOutputStream  out    = new ByteArrayOutputStream();
+
+        new AtlasEntitiesStreamingOutput(Arrays.asList("db1", "table1", "table2"), sink -> {
+            sink.add(db);
+            sink.add(table1);
+            sink.add(table2);
+        }).write(out);
+
+        AtlasEntitiesWithExtInfo entities = AtlasType.fromJson(out.toString("UTF-8"), AtlasEntitiesWithExtInfo.class);
+
+        assertEquals(entities.getEntities().size(), 3);
+        assertEquals(entities.getEntities().get(0).getGuid(), "db1");
+        assertEquals(entities.getEntities().get(2).getGuid(), "table2");
+        assertEquals(entities.getReferredEntities().size(), 3);
+        assertEquals(entities.getReferredEntities().get("column3").getTypeName(), "hive_column");
+        assertFalse(entities.getReferredEntities().containsKey("db1"));
+
+        List<String> guids         = new ArrayList<>();
+        List<String> referredGuids = new ArrayList<>();
+
+        try (AtlasEntitiesStreamReader reader = new AtlasEntitiesStreamReader(new ByteArrayInputStream(out.toByteArray()))) {
+            for (AtlasEntity entity = reader.next(); entity != null; entity = reader.next()) {
+                (reader.isReferredEntity() ? referredGuids : guids).add(entity.getGuid());
+            }
+        }
+
+        assertEquals(guids, Arrays.asList("db1", "table1", "table2"));
+        assertEquals(referredGuids, Arrays.asList("column1", "column2", "column3"));
+    }
+
+    @Test
+    public void testWriteNoEntities() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new AtlasEntitiesStreamingOutput(Arrays.asList("db1"), sink -> { }).write(out);
+
+        try (AtlasEntitiesStreamReader reader = new AtlasEntitiesStreamReader(new ByteArrayInputStream(out.toByteArray()))) {
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testErrorBeforeFirstEntity() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            new AtlasEntitiesStreamingOutput(Arrays.asList("db1"), sink -> {
+                throw new AtlasBaseException(AtlasErrorCode.INSTANCE_GUID_NOT_FOUND, "db1");
+            }).write(out);
+
+            fail("expected WebApplicationException");
+        } catch (WebApplicationException e) {
+            assertEquals(e.getResponse().getStatus(), Response.Status.NOT_FOUND.getStatusCode());
+            assertEquals(out.size(), 0);
+        }
+    }
+
+    @Test
+    public void testErrorAfterFirstEntity() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            new AtlasEntitiesStreamingOutput(Arrays.asList("db1", "table1"), sink -> {
+                sink.add(createEntity("db1"));
+
+                throw new AtlasBaseException(AtlasErrorCode.INSTANCE_GUID_NOT_FOUND, "table1");
+            }).write(out);
+
+            fail("expected IOException");
+        } catch (IOException e) {
+            try (AtlasEntitiesStreamReader reader = new AtlasEntitiesStreamReader(new ByteArrayInputStream(out.toByteArray()))) {
+                assertEquals(reader.next().getGuid(), "db1");
+
+                reader.next();
+
+                fail("expected incomplete response");
+            } catch (IOException excp) {
+                // expected: response is truncated
+            }
+        }
+    }
+
+    private static AtlasEntityWithExtInfo createEntity(String guid, String... referredGuids) {
+        AtlasEntity entity = new AtlasEntity("hive_table");
+
+        entity.setGuid(guid);
+        entity.setAttribute("name", guid);
+
+        AtlasEntityWithExtInfo ret = new AtlasEntityWithExtInfo(entity);
+
+        for (String referredGuid : referredGuids) {
+            AtlasEntity referred = new AtlasEntity(referredGuid.startsWith("db") ? "hive_db" : "hive_column");
+
+            referred.setGuid(referredGuid);
+
+            ret.addReferredEntity(referred);
+        }
+
+        return ret;
+    }
+}